@@ -90,7 +90,7 @@ for (let typeName of Array.from(nodes.keys()).sort()) {
     @Override
     public Maybe<${returnType}> apply(Object source) {
       if (!(source instanceof ${typeName})) return Maybe.empty();
-      return Maybe.of(((${typeName}) source).${sanitize(a.name)});
+      return Maybe.of(((${typeName}) source)${typeName === 'FunctionBody' ? '.resolve()' : ''}.${sanitize(a.name)});
     }
 
     public String propertyName() {
@@ -18,7 +18,7 @@
 
 let fs = require('fs');
 
-const { ensureDir, nodes, enums, makeHeader, year } = require('../lib/utilities.js');
+const { ensureDir, nodes, enums, makeHeader, year, typeTags } = require('../lib/utilities.js');
 const { outDir } = require('../lib/out-dir.js');
 
 const astDir = 'ast/';
@@ -35,9 +35,23 @@ const enumImports = new Map([
 
 
 const extraMethods = new Map([
+  ['Node', `
+    // The TYPE of the node's concrete class, for switching on. Each concrete node class has its own number, which does
+    // not change between releases: new node classes are given new numbers.
+    public int type();
+`],
   ['Expression', `
     @Nonnull
     public Precedence getPrecedence();
+`],
+  ['FunctionBody', `
+    // The body this one stands for: itself, unless it is a placeholder for a body still to be produced, such as one
+    // whose parsing was deferred, whose own directives and statements are empty. Code which may be given such a
+    // placeholder reads the directives and statements of the body it resolves to.
+    @Nonnull
+    public FunctionBody resolve() {
+        return this;
+    }
 `],
   ['ArrayExpression', `
     @Override
@@ -341,13 +355,59 @@ import com.shapesecurity.functional.data.HashCodeBuilder;
     }
 `;
 
+  // doubles are compared with ==, under which -0.0 equals 0.0, so both must hash alike
+  let hashValue = a => a.type === 'double' ? `this.${a.name} == 0 ? 0.0 : this.${a.name}` : `this.${a.name}`;
   let hashCode = `
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "${n}");${attrs.map(a => `\n        code = HashCodeBuilder.put(code, this.${a.name});`).join('')}
+        int code = HashCodeBuilder.put(0, "${n}");${attrs.map(a => `\n        code = HashCodeBuilder.put(code, ${hashValue(a)});`).join('')}
+        return code;
+    }
+`;
+
+  if (node.children.length === 0) {
+    // Nodes cannot change, so a concrete node computes its hash code at most once, like a String, rather than over its
+    // whole subtree on every call. Since equal nodes have equal hash codes, equals can also give up as soon as it sees
+    // two which have been computed and differ.
+    let otherEquals = a => a.type === 'boolean' || a.type === 'double' ? ` && this.${a.name} == other.${a.name}` : ` && this.${a.name}.equals(other.${a.name})`;
+    equals = `
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ${n})) {
+            return false;
+        }
+        ${n} other = ${n === 'FunctionBody' ? '((FunctionBody) object).resolve(); // a placeholder compares as the body it stands for' : `(${n}) object;`}
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash)${attrs.map(otherEquals).join('')};
+    }
+`;
+
+    hashCode = `
+    private int hash;
+
+    @Override
+    public int hashCode() {
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "${n}");${attrs.map(a => `\n            code = HashCodeBuilder.put(code, ${hashValue(a)});`).join('')}
+            this.hash = code;
+        }
         return code;
     }
 `;
+  }
+
+
+  let typeTag = node.children.length === 0 ? `
+    public static final int TYPE = ${typeTags.get(n)};
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+` : '';
 
 
   let clazz = `${header}${imports}
@@ -355,7 +415,7 @@ public ${node.children.length === 0 ? '' : 'abstract '}class ${n}${exs}${imps} {
 ${fields}
 ${ctor}
 ${equals}
-${hashCode}${extra}
+${hashCode}${typeTag}${extra}
 }
 `;
   fs.writeFileSync(outDir + astDir + n + '.java', clazz, 'utf8');
@@ -18,7 +18,7 @@
 
 let fs = require('fs');
 
-const { ensureDir, nodes, makeHeader, isStatefulType, sanitize, toJavaType, year } = require('../lib/utilities.js');
+const { ensureDir, nodes, makeHeader, isStatefulType, sanitize, toJavaType, year, concreteDescendants } = require('../lib/utilities.js');
 const { outDir } = require('../lib/out-dir.js');
 
 const reducerDir = 'reducer/';
@@ -48,21 +48,21 @@ function toArgument(type, name, thunked) {
   return `${thunked && type.kind === 'node' ? '() -> ' : ''}${methodNameFor(type)}(reducer, ${name})`;
 }
 
-function nodeReducer(type, methods, thunked) {
+function nodeReducer(type, methods, thunked, parallel) {
   let node = nodes.get(type);
   let attrs = node.attributes.filter(a => isStatefulType(a.type));
   attrs.forEach(a => {
-    direct(a.type, methods, thunked);
+    direct(a.type, methods, thunked, parallel);
   });
   let args = 'node' + attrs.map(a => ', ' + toArgument(a.type, 'node.' + sanitize(a.name), thunked)).join('');
   return `reducer.reduce${type}(${args})`;
 }
 
-function directNode(name, methods, thunked) {
-  direct({ kind: 'node', argument: name }, methods, thunked);
+function directNode(name, methods, thunked, parallel) {
+  direct({ kind: 'node', argument: name }, methods, thunked, parallel);
 }
 
-function direct(type, methods, thunked) {
+function direct(type, methods, thunked, parallel) {
   let methodName = methodNameFor(type);
   if (methods.has(methodName)) return;
   methods.set(methodName, null);
@@ -70,7 +70,7 @@ function direct(type, methods, thunked) {
   let method;
   switch (type.kind) {
     case 'nullable': {
-      direct(type.argument, methods, thunked);
+      direct(type.argument, methods, thunked, parallel);
       let innerType = type.argument.kind === 'list'
         ? thunked ? 'ImmutableList<Supplier<State>>' : 'ImmutableList<State>'
         : thunked ? 'Supplier<State>' : 'State';
@@ -85,7 +85,7 @@ function direct(type, methods, thunked) {
       break;
     }
     case 'list': {
-      direct(type.argument, methods, thunked);
+      direct(type.argument, methods, thunked, parallel);
       let innerType = type.argument.kind === 'nullable'
         ? thunked ? 'Maybe<Supplier<State>>' : 'Maybe<State>'
         : thunked ? 'Supplier<State>' : 'State';
@@ -94,7 +94,10 @@ function direct(type, methods, thunked) {
     public static <State> ImmutableList<${innerType}> ${methodName}(
       @Nonnull ${thunked ? 'Thunked' : ''}Reducer<State> reducer,
       @Nonnull ${toJavaType(type)} list) {
-        return list.map(x -> ${toArgument(type.argument, 'x', thunked)});
+${parallel ? `        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> ${toArgument(type.argument, 'x', thunked)});
+        }
+` : ''}        return list.map(x -> ${toArgument(type.argument, 'x', thunked)});
       }
 `;
       break;
@@ -108,16 +111,23 @@ function direct(type, methods, thunked) {
       @Nonnull ${type.argument} node) {
 `;
       if (node.children.length > 0) {
-        node.children.forEach(child => directNode(child, methods, thunked));
-        method += '        ' + node.children.map(child => `if (node instanceof ${child}) {
-            return reduce${child}(reducer, (${child}) node);
-        }`).join(' else ') + ` else {
-            throw new RuntimeException("Not reached");
+        node.children.forEach(child => directNode(child, methods, thunked, parallel));
+        // straight to the concrete type, rather than through each of the types between
+        method += `        switch (node.type()) {
+${concreteDescendants(type.argument).map(d => `            case ${d}.TYPE:
+                return reduce${d}(reducer, (${d}) node);
+`).join('')}            default:
+                throw new RuntimeException("Not reached");
         }
 `;
 
       } else {
-        method += `        return ${nodeReducer(type.argument, methods, thunked)};
+        if (type.argument === 'FunctionBody') {
+          // a placeholder body, such as one whose parsing was deferred, stands for the body it resolves to
+          method += `        node = node.resolve();
+`;
+        }
+        method += `        return ${nodeReducer(type.argument, methods, thunked, parallel)};
 `;
       }
       method += '    }';
@@ -135,6 +145,8 @@ let baseMethods = new Map;
 directNode('Program', baseMethods, false);
 let thunkedMethods = new Map;
 directNode('Program', thunkedMethods, true);
+let parallelMethods = new Map;
+directNode('Program', parallelMethods, false, true);
 
 
 let content = thunked => `${makeHeader(__filename)}
@@ -154,5 +166,115 @@ ${Array.from((thunked ? thunkedMethods : baseMethods).keys()).sort().map(methodN
 }
 `;
 
+
+let parallelContent = `${makeHeader(__filename)}
+
+package com.shapesecurity.shift.es${year}.reducer;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es${year}.ast.*;
+import com.shapesecurity.shift.es${year}.ast.Module;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+// Reduces as Director does, with the same result, but reduces the elements of long lists, such as the statements of a
+// large script or function body, concurrently. The reducer may be called from several threads at once and in any order,
+// so it must be safe to call concurrently and must not depend on the order of its calls; a MonoidalReducer over a lawful
+// monoid, such as EarlyErrorChecker, meets both. Reductions run on the ForkJoinPool they are called from, or else on the
+// common pool.
+public final class ParallelDirector {
+    // lists shorter than this are reduced on the calling thread, as are runs of elements this long
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    @Nonnull
+    public static <State> State reduceProgram(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Program node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceProgram(reducer, node)));
+    }
+
+    @Nonnull
+    public static <State> State reduceScript(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Script node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceScript(reducer, node)));
+    }
+
+    @Nonnull
+    public static <State> State reduceModule(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Module node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceModule(reducer, node)));
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static <T, R> ImmutableList<R> reduceConcurrently(
+      @Nonnull ImmutableList<T> list,
+      @Nonnull Function<T, R> reduce) {
+        T[] elements = (T[]) new Object[list.length];
+        int i = 0;
+        for (T element : list) {
+            elements[i++] = element;
+        }
+        R[] results = (R[]) new Object[elements.length];
+        ListTask<T, R> task = new ListTask<>(elements, results, 0, elements.length, reduce);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return ImmutableList.fromBounded(results, 0, results.length);
+    }
+
+    // Reduces the elements from \`start\` to \`end\`, halving the range until it is short enough to reduce in turn.
+    private static final class ListTask<T, R> extends RecursiveAction {
+        private static final long serialVersionUID = 6394850627213781409L;
+
+        @Nonnull
+        private final T[] elements;
+        @Nonnull
+        private final R[] results;
+        private final int start;
+        private final int end;
+        @Nonnull
+        private final Function<T, R> reduce;
+
+        ListTask(@Nonnull T[] elements, @Nonnull R[] results, int start, int end, @Nonnull Function<T, R> reduce) {
+            this.elements = elements;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+            this.reduce = reduce;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= PARALLEL_THRESHOLD) {
+                for (int i = this.start; i < this.end; ++i) {
+                    this.results[i] = this.reduce.apply(this.elements[i]);
+                }
+                return;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                new ListTask<>(this.elements, this.results, this.start, middle, this.reduce),
+                new ListTask<>(this.elements, this.results, middle, this.end, this.reduce)
+            );
+        }
+    }
+${Array.from(parallelMethods.keys()).sort().map(methodName => parallelMethods.get(methodName)).join('\n')}
+}
+`;
+
 fs.writeFileSync(outDir + reducerDir + 'Director.java', content(false), 'utf8');
 fs.writeFileSync(outDir + reducerDir + 'ThunkedDirector.java', content(true), 'utf8');
+fs.writeFileSync(outDir + reducerDir + 'ParallelDirector.java', parallelContent, 'utf8');
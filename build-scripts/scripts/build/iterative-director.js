@@ -0,0 +1,344 @@
+/**
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+'use strict';
+
+let fs = require('fs');
+
+const { ensureDir, nodes, makeHeader, isStatefulType, sanitize, toJavaType, year, concreteDescendants } = require('../lib/utilities.js');
+const { outDir } = require('../lib/out-dir.js');
+
+const reducerDir = 'reducer/';
+ensureDir(outDir + reducerDir);
+
+
+// The names follow those of the methods of Director: reduceListMaybeSpreadElementExpression becomes
+// visitListMaybeSpreadElementExpression, and so on.
+function nameFor(type) {
+  switch (type.kind) {
+    case 'nullable':
+      if (type.argument.kind === 'list') {
+        return `MaybeList${type.argument.argument.argument}`;
+      }
+      return `Maybe${type.argument.argument}`;
+    case 'list':
+      if (type.argument.kind === 'nullable') {
+        return `ListMaybe${type.argument.argument.argument}`;
+      }
+      return `List${type.argument.argument}`;
+    case 'node':
+      return type.argument;
+    default:
+      throw new Error('Not reached');
+  }
+}
+
+function toConstant(name) {
+  return name.replace(/([a-z0-9])([A-Z])/g, '$1_$2').toUpperCase();
+}
+
+function statefulAttributes(typeName) {
+  return nodes.get(typeName).attributes.filter(a => isStatefulType(a.type));
+}
+
+function isLeaf(typeName) {
+  return statefulAttributes(typeName).length === 0;
+}
+
+// everything reachable from Program, keyed by name
+let types = new Map;
+
+function collect(type) {
+  let name = nameFor(type);
+  if (types.has(name)) return;
+  types.set(name, type);
+  switch (type.kind) {
+    case 'nullable':
+    case 'list':
+      collect(type.argument);
+      break;
+    case 'node':
+      nodes.get(type.argument).children.forEach(child => collect({ kind: 'node', argument: child }));
+      if (nodes.get(type.argument).children.length === 0) {
+        statefulAttributes(type.argument).forEach(a => collect(a.type));
+      }
+      break;
+    default:
+      throw new Error('Not reached');
+  }
+}
+
+collect({ kind: 'node', argument: 'Program' });
+
+let names = Array.from(types.keys()).sort();
+let nodeNames = names.filter(name => types.get(name).kind === 'node');
+let concreteNames = nodeNames.filter(name => nodes.get(name).children.length === 0);
+
+
+let entries = nodeNames.map(name => `
+    @Nonnull
+    public static <State> State reduce${name}(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ${name} node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visit${name}(node);
+        return walk.run();
+    }
+`).join('');
+
+
+let ops = [];
+concreteNames.forEach(name => {
+  if (!isLeaf(name)) {
+    ops.push(`EXPAND_${toConstant(name)}`);
+  }
+  ops.push(`FINISH_${toConstant(name)}`);
+});
+ops.push('COLLECT_LIST', 'COLLECT_LIST_MAYBE', 'NOTHING');
+
+let constants = ops.map((op, i) => `        private static final int ${op} = ${i};\n`).join('');
+
+
+let cases = [];
+concreteNames.forEach(name => {
+  if (!isLeaf(name)) {
+    cases.push(`                    case EXPAND_${toConstant(name)}:
+                        this.expand${name}((${name}) operand);
+                        break;`);
+  }
+  cases.push(`                    case FINISH_${toConstant(name)}:
+                        this.finish${name}((${name}) operand);
+                        break;`);
+});
+cases.push(`                    case COLLECT_LIST:
+                        this.collectList(((ImmutableList<?>) operand).length, false);
+                        break;
+                    case COLLECT_LIST_MAYBE:
+                        this.collectList(((ImmutableList<?>) operand).length, true);
+                        break;
+                    case NOTHING:
+                        this.pushResult(null);
+                        break;
+                    default:
+                        throw new RuntimeException("Not reached");`);
+
+
+function visitMethod(name) {
+  let type = types.get(name);
+  let body;
+  switch (type.kind) {
+    case 'nullable':
+      return `
+        private void visit${name}(@Nonnull ${toJavaType(type)} maybe) {
+            if (maybe.isJust()) {
+                this.visit${nameFor(type.argument)}(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+`;
+    case 'list':
+      // each element takes one place on the stack, so they can be visited first to last and then put in reverse
+      return `
+        private void visit${name}(@Nonnull ${toJavaType(type)} list) {
+            this.push(${type.argument.kind === 'nullable' ? 'COLLECT_LIST_MAYBE' : 'COLLECT_LIST'}, list);
+            int start = this.depth;
+            for (${toJavaType(type.argument)} element : list) {
+                this.visit${nameFor(type.argument)}(element);
+            }
+            this.reverse(start);
+        }
+`;
+    case 'node': {
+      let node = nodes.get(name);
+      if (node.children.length > 0) {
+        body = `            switch (node.type()) {
+${concreteDescendants(name).map(d => `                case ${d}.TYPE:
+                    this.visit${d}((${d}) node);
+                    break;
+`).join('')}                default:
+                    throw new RuntimeException("Not reached");
+            }
+`;
+      } else {
+        body = `            this.push(${isLeaf(name) ? 'FINISH' : 'EXPAND'}_${toConstant(name)}, node);
+`;
+        if (name === 'FunctionBody') {
+          // a placeholder body, such as one whose parsing was deferred, stands for the body it resolves to
+          body = `            node = node.resolve();
+` + body;
+        }
+      }
+      return `
+        private void visit${name}(@Nonnull ${name} node) {
+${body}        }
+`;
+    }
+    default:
+      throw new Error('Not reached');
+  }
+}
+
+function expandMethod(name) {
+  // the children are visited last to first, so that they are taken from the stack first to last
+  let visits = statefulAttributes(name).reverse().map(a => `            this.visit${nameFor(a.type)}(node.${sanitize(a.name)});
+`).join('');
+  return `
+        private void expand${name}(@Nonnull ${name} node) {
+            this.push(FINISH_${toConstant(name)}, node);
+${visits}        }
+`;
+}
+
+function finishMethod(name) {
+  let attrs = statefulAttributes(name);
+  if (attrs.length === 0) {
+    return `
+        private void finish${name}(@Nonnull ${name} node) {
+            this.pushResult(this.reducer.reduce${name}(node));
+        }
+`;
+  }
+  let args = attrs.map((a, i) => {
+    let result = `this.results[base${i === 0 ? '' : ' + ' + i}]`;
+    return a.type.kind === 'nullable' ? `, maybe(${result})` : `, (${toJavaType(a.type, 'State')}) ${result}`;
+  }).join('');
+  return `
+        private void finish${name}(@Nonnull ${name} node) {
+            int base = this.resultCount - ${attrs.length};
+            State result = this.reducer.reduce${name}(node${args});
+            this.popResults(base);
+            this.pushResult(result);
+        }
+`;
+}
+
+let methods = names.map(visitMethod).join('')
+  + concreteNames.filter(name => !isLeaf(name)).map(expandMethod).join('')
+  + concreteNames.map(finishMethod).join('');
+
+
+let content = `${makeHeader(__filename)}
+
+package com.shapesecurity.shift.es${year}.reducer;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es${year}.ast.*;
+import com.shapesecurity.shift.es${year}.ast.Module;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+// Reduces exactly as Director does, calling the reducer in the same order with the same arguments, but keeps the work
+// still to be done on a stack of its own rather than on the thread's, so that it can reduce trees of any depth.
+public final class IterativeDirector {
+${entries}
+    @SuppressWarnings("unchecked")
+    private static final class Walk<State> {
+${constants}
+        @Nonnull
+        private final Reducer<State> reducer;
+
+        // the work still to be done, last first: what to do with each node or list
+        @Nonnull
+        private int[] ops = new int[64];
+        @Nonnull
+        private Object[] operands = new Object[64];
+        private int depth = 0;
+
+        // the results of the work done, waiting to be passed to the reducer along with those of their siblings; absent
+        // optional children are null
+        @Nonnull
+        private Object[] results = new Object[64];
+        private int resultCount = 0;
+
+        Walk(@Nonnull Reducer<State> reducer) {
+            this.reducer = reducer;
+        }
+
+        @Nonnull
+        State run() {
+            while (this.depth > 0) {
+                --this.depth;
+                int op = this.ops[this.depth];
+                Object operand = this.operands[this.depth];
+                this.operands[this.depth] = null;
+                switch (op) {
+${cases.join('\n')}
+                }
+            }
+            return (State) this.results[0];
+        }
+
+        private void push(int op, Object operand) {
+            if (this.depth == this.ops.length) {
+                this.ops = Arrays.copyOf(this.ops, this.depth * 2);
+                this.operands = Arrays.copyOf(this.operands, this.depth * 2);
+            }
+            this.ops[this.depth] = op;
+            this.operands[this.depth] = operand;
+            ++this.depth;
+        }
+
+        private void pushResult(@Nullable Object result) {
+            if (this.resultCount == this.results.length) {
+                this.results = Arrays.copyOf(this.results, this.resultCount * 2);
+            }
+            this.results[this.resultCount] = result;
+            ++this.resultCount;
+        }
+
+        private void popResults(int base) {
+            for (int i = base; i < this.resultCount; ++i) {
+                this.results[i] = null;
+            }
+            this.resultCount = base;
+        }
+
+        // Reverses the order of the work pushed since the stack was \`start\` deep.
+        private void reverse(int start) {
+            for (int i = start, j = this.depth - 1; i < j; ++i, --j) {
+                int op = this.ops[i];
+                this.ops[i] = this.ops[j];
+                this.ops[j] = op;
+                Object operand = this.operands[i];
+                this.operands[i] = this.operands[j];
+                this.operands[j] = operand;
+            }
+        }
+
+        // Replaces the last \`length\` results with a list of them, each wrapped in a Maybe if \`maybes\`.
+        private void collectList(int length, boolean maybes) {
+            int base = this.resultCount - length;
+            ImmutableList<Object> list = ImmutableList.empty();
+            for (int i = this.resultCount - 1; i >= base; --i) {
+                list = list.cons(maybes ? maybe(this.results[i]) : this.results[i]);
+            }
+            this.popResults(base);
+            this.pushResult(list);
+        }
+
+        @Nonnull
+        private static <T> Maybe<T> maybe(@Nullable Object result) {
+            return result == null ? Maybe.empty() : Maybe.of((T) result);
+        }
+${methods}    }
+}
+`;
+
+fs.writeFileSync(outDir + reducerDir + 'IterativeDirector.java', content, 'utf8');
@@ -76,3 +76,51 @@ for (let typeName of Array.from(nodes.keys()).sort()) {
 content += '}\n';
 
 fs.writeFileSync(outDir + reducerDir + 'WrappedReducer.java', content, 'utf-8');
+
+
+let thunkedContent = `${makeHeader(__filename)}
+
+package com.shapesecurity.shift.es${year}.reducer;
+
+import com.shapesecurity.functional.F2;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es${year}.ast.*;
+import com.shapesecurity.shift.es${year}.ast.Module;
+import javax.annotation.Nonnull;
+import java.util.function.Supplier;
+
+// Passes each node to \`wrap\` along with its reduction by \`reducer\`, still to be done, so that \`wrap\` can act before
+// and after it, or skip it and its children altogether.
+public class WrappedThunkedReducer<T> implements ThunkedReducer<T> {
+  @Nonnull
+  private final F2<Node, Supplier<T>, T> wrap;
+
+  @Nonnull
+  private final ThunkedReducer<T> reducer;
+
+  public WrappedThunkedReducer(@Nonnull F2<Node, Supplier<T>, T> wrap, @Nonnull ThunkedReducer<T> reducer) {
+    this.wrap = wrap;
+    this.reducer = reducer;
+  }
+`;
+
+
+for (let typeName of Array.from(nodes.keys()).sort()) {
+  let type = nodes.get(typeName);
+  if (type.children.length !== 0) continue;
+
+  let attrs = type.attributes.filter(f => isStatefulType(f.type));
+  let attrStrings = attrs.map(f => `, @Nonnull ${toJavaType(f.type, 'Supplier<T>')} ${sanitize(f.name)}`);
+  thunkedContent += `
+    @Nonnull
+    @Override
+    public T reduce${typeName}(@Nonnull ${typeName} node${attrStrings.join('')}) {
+        return wrap.apply(node, () -> reducer.reduce${typeName}(node${attrs.map(f => ', ' + sanitize(f.name)).join('')}));
+    }
+`;
+}
+
+thunkedContent += '}\n';
+
+fs.writeFileSync(outDir + reducerDir + 'WrappedThunkedReducer.java', thunkedContent, 'utf-8');
@@ -0,0 +1,106 @@
+'use strict';
+
+// The number which each concrete node type's type() returns. These numbers are published as the TYPE constants of the
+// generated node classes, so once given they never change: a new node type is added at the end with the next unused
+// number, and the number of a node type removed from the spec is never given to another.
+module.exports = [
+  ['ArrayAssignmentTarget', 0],
+  ['ArrayBinding', 1],
+  ['ArrayExpression', 2],
+  ['ArrowExpression', 3],
+  ['AssignmentExpression', 4],
+  ['AssignmentTargetIdentifier', 5],
+  ['AssignmentTargetPropertyIdentifier', 6],
+  ['AssignmentTargetPropertyProperty', 7],
+  ['AssignmentTargetWithDefault', 8],
+  ['AwaitExpression', 9],
+  ['BinaryExpression', 10],
+  ['BindingIdentifier', 11],
+  ['BindingPropertyIdentifier', 12],
+  ['BindingPropertyProperty', 13],
+  ['BindingWithDefault', 14],
+  ['Block', 15],
+  ['BlockStatement', 16],
+  ['BreakStatement', 17],
+  ['CallExpression', 18],
+  ['CatchClause', 19],
+  ['ClassDeclaration', 20],
+  ['ClassElement', 21],
+  ['ClassExpression', 22],
+  ['CompoundAssignmentExpression', 23],
+  ['ComputedMemberAssignmentTarget', 24],
+  ['ComputedMemberExpression', 25],
+  ['ComputedPropertyName', 26],
+  ['ConditionalExpression', 27],
+  ['ContinueStatement', 28],
+  ['DataProperty', 29],
+  ['DebuggerStatement', 30],
+  ['Directive', 31],
+  ['DoWhileStatement', 32],
+  ['EmptyStatement', 33],
+  ['Export', 34],
+  ['ExportAllFrom', 35],
+  ['ExportDefault', 36],
+  ['ExportFrom', 37],
+  ['ExportFromSpecifier', 38],
+  ['ExportLocalSpecifier', 39],
+  ['ExportLocals', 40],
+  ['ExpressionStatement', 41],
+  ['ForAwaitStatement', 42],
+  ['ForInStatement', 43],
+  ['ForOfStatement', 44],
+  ['ForStatement', 45],
+  ['FormalParameters', 46],
+  ['FunctionBody', 47],
+  ['FunctionDeclaration', 48],
+  ['FunctionExpression', 49],
+  ['Getter', 50],
+  ['IdentifierExpression', 51],
+  ['IfStatement', 52],
+  ['Import', 53],
+  ['ImportNamespace', 54],
+  ['ImportSpecifier', 55],
+  ['LabeledStatement', 56],
+  ['LiteralBooleanExpression', 57],
+  ['LiteralInfinityExpression', 58],
+  ['LiteralNullExpression', 59],
+  ['LiteralNumericExpression', 60],
+  ['LiteralRegExpExpression', 61],
+  ['LiteralStringExpression', 62],
+  ['Method', 63],
+  ['Module', 64],
+  ['NewExpression', 65],
+  ['NewTargetExpression', 66],
+  ['ObjectAssignmentTarget', 67],
+  ['ObjectBinding', 68],
+  ['ObjectExpression', 69],
+  ['ReturnStatement', 70],
+  ['Script', 71],
+  ['Setter', 72],
+  ['ShorthandProperty', 73],
+  ['SpreadElement', 74],
+  ['SpreadProperty', 75],
+  ['StaticMemberAssignmentTarget', 76],
+  ['StaticMemberExpression', 77],
+  ['StaticPropertyName', 78],
+  ['Super', 79],
+  ['SwitchCase', 80],
+  ['SwitchDefault', 81],
+  ['SwitchStatement', 82],
+  ['SwitchStatementWithDefault', 83],
+  ['TemplateElement', 84],
+  ['TemplateExpression', 85],
+  ['ThisExpression', 86],
+  ['ThrowStatement', 87],
+  ['TryCatchStatement', 88],
+  ['TryFinallyStatement', 89],
+  ['UnaryExpression', 90],
+  ['UpdateExpression', 91],
+  ['VariableDeclaration', 92],
+  ['VariableDeclarationStatement', 93],
+  ['VariableDeclarator', 94],
+  ['WhileStatement', 95],
+  ['WithStatement', 96],
+  ['YieldExpression', 97],
+  ['YieldGeneratorExpression', 98],
+];
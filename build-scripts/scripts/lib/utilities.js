@@ -56,6 +56,28 @@ function toJavaType(type, nodeType) {
 
 const year = require('shift-spec/package.json').version.split('.')[0];
 
+// The number which each concrete node type's type() returns, from the table in type-tags.js.
+const typeTags = new Map(require('./type-tags.js'));
+if (new Set(typeTags.values()).size !== typeTags.size) {
+  throw new Error('Two node types have the same number in type-tags.js');
+}
+Array.from(nodes.keys()).filter(n => nodes.get(n).children.length === 0).forEach(n => {
+  if (!typeTags.has(n)) {
+    throw new Error(`${n} has no number in type-tags.js: add it at the end, with the next unused number`);
+  }
+});
+
+// The concrete node types which are subtypes of the given one, in alphabetical order.
+function concreteDescendants(name) {
+  let node = nodes.get(name);
+  if (node.children.length === 0) {
+    return [name];
+  }
+  let descendants = new Set;
+  node.children.forEach(child => concreteDescendants(child).forEach(d => descendants.add(d)));
+  return Array.from(descendants).sort();
+}
+
 
 function makeHeader(filename) {
   return `// Generated by ${path.basename(filename)}
@@ -91,4 +113,6 @@ module.exports = {
   toJavaType,
   ensureDir,
   year,
+  typeTags,
+  concreteDescendants,
 };
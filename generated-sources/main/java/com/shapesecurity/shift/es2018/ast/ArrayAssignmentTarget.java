@@ -39,16 +39,36 @@ public class ArrayAssignmentTarget implements Node, AssignmentTargetPattern {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ArrayAssignmentTarget && this.elements.equals(((ArrayAssignmentTarget) object).elements) && this.rest.equals(((ArrayAssignmentTarget) object).rest);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ArrayAssignmentTarget)) {
+            return false;
+        }
+        ArrayAssignmentTarget other = (ArrayAssignmentTarget) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.elements.equals(other.elements) && this.rest.equals(other.rest);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ArrayAssignmentTarget");
-        code = HashCodeBuilder.put(code, this.elements);
-        code = HashCodeBuilder.put(code, this.rest);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ArrayAssignmentTarget");
+            code = HashCodeBuilder.put(code, this.elements);
+            code = HashCodeBuilder.put(code, this.rest);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 0;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -39,16 +39,36 @@ public class ArrayBinding implements Node, BindingPattern {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ArrayBinding && this.elements.equals(((ArrayBinding) object).elements) && this.rest.equals(((ArrayBinding) object).rest);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ArrayBinding)) {
+            return false;
+        }
+        ArrayBinding other = (ArrayBinding) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.elements.equals(other.elements) && this.rest.equals(other.rest);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ArrayBinding");
-        code = HashCodeBuilder.put(code, this.elements);
-        code = HashCodeBuilder.put(code, this.rest);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ArrayBinding");
+            code = HashCodeBuilder.put(code, this.elements);
+            code = HashCodeBuilder.put(code, this.rest);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 1;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -36,17 +36,37 @@ public class ArrayExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ArrayExpression && this.elements.equals(((ArrayExpression) object).elements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ArrayExpression)) {
+            return false;
+        }
+        ArrayExpression other = (ArrayExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.elements.equals(other.elements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ArrayExpression");
-        code = HashCodeBuilder.put(code, this.elements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ArrayExpression");
+            code = HashCodeBuilder.put(code, this.elements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 2;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -42,19 +42,39 @@ public class ArrowExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ArrowExpression && this.isAsync == ((ArrowExpression) object).isAsync && this.params.equals(((ArrowExpression) object).params) && this.body.equals(((ArrowExpression) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ArrowExpression)) {
+            return false;
+        }
+        ArrowExpression other = (ArrowExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isAsync == other.isAsync && this.params.equals(other.params) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ArrowExpression");
-        code = HashCodeBuilder.put(code, this.isAsync);
-        code = HashCodeBuilder.put(code, this.params);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ArrowExpression");
+            code = HashCodeBuilder.put(code, this.isAsync);
+            code = HashCodeBuilder.put(code, this.params);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 3;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
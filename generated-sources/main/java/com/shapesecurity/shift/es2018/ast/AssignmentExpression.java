@@ -38,18 +38,38 @@ public class AssignmentExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AssignmentExpression && this.binding.equals(((AssignmentExpression) object).binding) && this.expression.equals(((AssignmentExpression) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AssignmentExpression)) {
+            return false;
+        }
+        AssignmentExpression other = (AssignmentExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AssignmentExpression");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AssignmentExpression");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 4;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -31,15 +31,35 @@ public class AssignmentTargetIdentifier extends VariableReference implements Sim
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AssignmentTargetIdentifier && this.name.equals(((AssignmentTargetIdentifier) object).name);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AssignmentTargetIdentifier)) {
+            return false;
+        }
+        AssignmentTargetIdentifier other = (AssignmentTargetIdentifier) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AssignmentTargetIdentifier");
-        code = HashCodeBuilder.put(code, this.name);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AssignmentTargetIdentifier");
+            code = HashCodeBuilder.put(code, this.name);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 5;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class AssignmentTargetPropertyIdentifier implements AssignmentTargetPrope
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AssignmentTargetPropertyIdentifier && this.binding.equals(((AssignmentTargetPropertyIdentifier) object).binding) && this.init.equals(((AssignmentTargetPropertyIdentifier) object).init);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AssignmentTargetPropertyIdentifier)) {
+            return false;
+        }
+        AssignmentTargetPropertyIdentifier other = (AssignmentTargetPropertyIdentifier) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.init.equals(other.init);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AssignmentTargetPropertyIdentifier");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.init);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AssignmentTargetPropertyIdentifier");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.init);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 6;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
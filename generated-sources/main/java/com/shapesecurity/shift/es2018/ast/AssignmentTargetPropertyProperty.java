@@ -37,16 +37,36 @@ public class AssignmentTargetPropertyProperty implements AssignmentTargetPropert
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AssignmentTargetPropertyProperty && this.name.equals(((AssignmentTargetPropertyProperty) object).name) && this.binding.equals(((AssignmentTargetPropertyProperty) object).binding);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AssignmentTargetPropertyProperty)) {
+            return false;
+        }
+        AssignmentTargetPropertyProperty other = (AssignmentTargetPropertyProperty) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.binding.equals(other.binding);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AssignmentTargetPropertyProperty");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.binding);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AssignmentTargetPropertyProperty");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.binding);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 7;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
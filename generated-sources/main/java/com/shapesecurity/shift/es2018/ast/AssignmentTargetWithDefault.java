@@ -37,16 +37,36 @@ public class AssignmentTargetWithDefault implements Node, AssignmentTargetAssign
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AssignmentTargetWithDefault && this.binding.equals(((AssignmentTargetWithDefault) object).binding) && this.init.equals(((AssignmentTargetWithDefault) object).init);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AssignmentTargetWithDefault)) {
+            return false;
+        }
+        AssignmentTargetWithDefault other = (AssignmentTargetWithDefault) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.init.equals(other.init);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AssignmentTargetWithDefault");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.init);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AssignmentTargetWithDefault");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.init);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 8;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
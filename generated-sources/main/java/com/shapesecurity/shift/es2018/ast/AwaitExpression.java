@@ -34,17 +34,37 @@ public class AwaitExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof AwaitExpression && this.expression.equals(((AwaitExpression) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AwaitExpression)) {
+            return false;
+        }
+        AwaitExpression other = (AwaitExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "AwaitExpression");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "AwaitExpression");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 9;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -43,19 +43,39 @@ public class BinaryExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BinaryExpression && this.left.equals(((BinaryExpression) object).left) && this.operator.equals(((BinaryExpression) object).operator) && this.right.equals(((BinaryExpression) object).right);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BinaryExpression)) {
+            return false;
+        }
+        BinaryExpression other = (BinaryExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.left.equals(other.left) && this.operator.equals(other.operator) && this.right.equals(other.right);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BinaryExpression");
-        code = HashCodeBuilder.put(code, this.left);
-        code = HashCodeBuilder.put(code, this.operator);
-        code = HashCodeBuilder.put(code, this.right);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BinaryExpression");
+            code = HashCodeBuilder.put(code, this.left);
+            code = HashCodeBuilder.put(code, this.operator);
+            code = HashCodeBuilder.put(code, this.right);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 10;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
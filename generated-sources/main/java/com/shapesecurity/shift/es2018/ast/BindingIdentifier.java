@@ -31,15 +31,35 @@ public class BindingIdentifier extends VariableReference implements Binding {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BindingIdentifier && this.name.equals(((BindingIdentifier) object).name);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BindingIdentifier)) {
+            return false;
+        }
+        BindingIdentifier other = (BindingIdentifier) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BindingIdentifier");
-        code = HashCodeBuilder.put(code, this.name);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BindingIdentifier");
+            code = HashCodeBuilder.put(code, this.name);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 11;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
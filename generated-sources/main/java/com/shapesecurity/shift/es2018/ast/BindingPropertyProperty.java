@@ -37,16 +37,36 @@ public class BindingPropertyProperty implements BindingProperty {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BindingPropertyProperty && this.name.equals(((BindingPropertyProperty) object).name) && this.binding.equals(((BindingPropertyProperty) object).binding);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BindingPropertyProperty)) {
+            return false;
+        }
+        BindingPropertyProperty other = (BindingPropertyProperty) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.binding.equals(other.binding);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BindingPropertyProperty");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.binding);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BindingPropertyProperty");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.binding);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 13;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -37,16 +37,36 @@ public class BindingWithDefault implements Node, Parameter, BindingBindingWithDe
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BindingWithDefault && this.binding.equals(((BindingWithDefault) object).binding) && this.init.equals(((BindingWithDefault) object).init);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BindingWithDefault)) {
+            return false;
+        }
+        BindingWithDefault other = (BindingWithDefault) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.init.equals(other.init);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BindingWithDefault");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.init);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BindingWithDefault");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.init);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 14;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -34,15 +34,35 @@ public class Block implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Block && this.statements.equals(((Block) object).statements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Block)) {
+            return false;
+        }
+        Block other = (Block) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.statements.equals(other.statements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Block");
-        code = HashCodeBuilder.put(code, this.statements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Block");
+            code = HashCodeBuilder.put(code, this.statements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 15;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
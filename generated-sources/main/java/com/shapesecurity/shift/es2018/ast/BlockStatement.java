@@ -33,15 +33,35 @@ public class BlockStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BlockStatement && this.block.equals(((BlockStatement) object).block);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BlockStatement)) {
+            return false;
+        }
+        BlockStatement other = (BlockStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.block.equals(other.block);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BlockStatement");
-        code = HashCodeBuilder.put(code, this.block);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BlockStatement");
+            code = HashCodeBuilder.put(code, this.block);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 16;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
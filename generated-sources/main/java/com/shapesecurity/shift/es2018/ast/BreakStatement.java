@@ -34,15 +34,35 @@ public class BreakStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof BreakStatement && this.label.equals(((BreakStatement) object).label);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof BreakStatement)) {
+            return false;
+        }
+        BreakStatement other = (BreakStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.label.equals(other.label);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "BreakStatement");
-        code = HashCodeBuilder.put(code, this.label);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "BreakStatement");
+            code = HashCodeBuilder.put(code, this.label);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 17;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
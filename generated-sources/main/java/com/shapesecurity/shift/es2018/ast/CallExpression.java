@@ -39,18 +39,38 @@ public class CallExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof CallExpression && this.callee.equals(((CallExpression) object).callee) && this.arguments.equals(((CallExpression) object).arguments);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof CallExpression)) {
+            return false;
+        }
+        CallExpression other = (CallExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.callee.equals(other.callee) && this.arguments.equals(other.arguments);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "CallExpression");
-        code = HashCodeBuilder.put(code, this.callee);
-        code = HashCodeBuilder.put(code, this.arguments);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "CallExpression");
+            code = HashCodeBuilder.put(code, this.callee);
+            code = HashCodeBuilder.put(code, this.arguments);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 18;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
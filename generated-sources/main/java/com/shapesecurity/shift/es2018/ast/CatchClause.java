@@ -37,16 +37,36 @@ public class CatchClause implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof CatchClause && this.binding.equals(((CatchClause) object).binding) && this.body.equals(((CatchClause) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof CatchClause)) {
+            return false;
+        }
+        CatchClause other = (CatchClause) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "CatchClause");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "CatchClause");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 19;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
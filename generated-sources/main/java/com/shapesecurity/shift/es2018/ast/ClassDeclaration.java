@@ -36,17 +36,37 @@ public class ClassDeclaration extends Class implements Statement, FunctionDeclar
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ClassDeclaration && this.name.equals(((ClassDeclaration) object).name) && this._super.equals(((ClassDeclaration) object)._super) && this.elements.equals(((ClassDeclaration) object).elements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ClassDeclaration)) {
+            return false;
+        }
+        ClassDeclaration other = (ClassDeclaration) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this._super.equals(other._super) && this.elements.equals(other.elements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ClassDeclaration");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this._super);
-        code = HashCodeBuilder.put(code, this.elements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ClassDeclaration");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this._super);
+            code = HashCodeBuilder.put(code, this.elements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 20;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
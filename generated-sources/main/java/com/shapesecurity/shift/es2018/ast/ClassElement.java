@@ -37,16 +37,36 @@ public class ClassElement implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ClassElement && this.isStatic == ((ClassElement) object).isStatic && this.method.equals(((ClassElement) object).method);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ClassElement)) {
+            return false;
+        }
+        ClassElement other = (ClassElement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isStatic == other.isStatic && this.method.equals(other.method);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ClassElement");
-        code = HashCodeBuilder.put(code, this.isStatic);
-        code = HashCodeBuilder.put(code, this.method);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ClassElement");
+            code = HashCodeBuilder.put(code, this.isStatic);
+            code = HashCodeBuilder.put(code, this.method);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 21;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -37,19 +37,39 @@ public class ClassExpression extends Class implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ClassExpression && this.name.equals(((ClassExpression) object).name) && this._super.equals(((ClassExpression) object)._super) && this.elements.equals(((ClassExpression) object).elements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ClassExpression)) {
+            return false;
+        }
+        ClassExpression other = (ClassExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this._super.equals(other._super) && this.elements.equals(other.elements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ClassExpression");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this._super);
-        code = HashCodeBuilder.put(code, this.elements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ClassExpression");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this._super);
+            code = HashCodeBuilder.put(code, this.elements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 22;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
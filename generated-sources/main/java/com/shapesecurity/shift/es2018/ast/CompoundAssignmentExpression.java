@@ -43,19 +43,39 @@ public class CompoundAssignmentExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof CompoundAssignmentExpression && this.binding.equals(((CompoundAssignmentExpression) object).binding) && this.operator.equals(((CompoundAssignmentExpression) object).operator) && this.expression.equals(((CompoundAssignmentExpression) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof CompoundAssignmentExpression)) {
+            return false;
+        }
+        CompoundAssignmentExpression other = (CompoundAssignmentExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.operator.equals(other.operator) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "CompoundAssignmentExpression");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.operator);
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "CompoundAssignmentExpression");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.operator);
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 23;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -34,16 +34,36 @@ public class ComputedMemberAssignmentTarget extends MemberAssignmentTarget {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ComputedMemberAssignmentTarget && this.object.equals(((ComputedMemberAssignmentTarget) object).object) && this.expression.equals(((ComputedMemberAssignmentTarget) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ComputedMemberAssignmentTarget)) {
+            return false;
+        }
+        ComputedMemberAssignmentTarget other = (ComputedMemberAssignmentTarget) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.object.equals(other.object) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ComputedMemberAssignmentTarget");
-        code = HashCodeBuilder.put(code, this.object);
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ComputedMemberAssignmentTarget");
+            code = HashCodeBuilder.put(code, this.object);
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 24;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
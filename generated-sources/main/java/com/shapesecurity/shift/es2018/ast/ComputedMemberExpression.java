@@ -34,16 +34,36 @@ public class ComputedMemberExpression extends MemberExpression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ComputedMemberExpression && this.object.equals(((ComputedMemberExpression) object).object) && this.expression.equals(((ComputedMemberExpression) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ComputedMemberExpression)) {
+            return false;
+        }
+        ComputedMemberExpression other = (ComputedMemberExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.object.equals(other.object) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ComputedMemberExpression");
-        code = HashCodeBuilder.put(code, this.object);
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ComputedMemberExpression");
+            code = HashCodeBuilder.put(code, this.object);
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 25;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
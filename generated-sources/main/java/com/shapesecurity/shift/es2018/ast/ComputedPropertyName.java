@@ -33,15 +33,35 @@ public class ComputedPropertyName implements PropertyName {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ComputedPropertyName && this.expression.equals(((ComputedPropertyName) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ComputedPropertyName)) {
+            return false;
+        }
+        ComputedPropertyName other = (ComputedPropertyName) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ComputedPropertyName");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ComputedPropertyName");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 26;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -42,19 +42,39 @@ public class ConditionalExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ConditionalExpression && this.test.equals(((ConditionalExpression) object).test) && this.consequent.equals(((ConditionalExpression) object).consequent) && this.alternate.equals(((ConditionalExpression) object).alternate);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ConditionalExpression)) {
+            return false;
+        }
+        ConditionalExpression other = (ConditionalExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.test.equals(other.test) && this.consequent.equals(other.consequent) && this.alternate.equals(other.alternate);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ConditionalExpression");
-        code = HashCodeBuilder.put(code, this.test);
-        code = HashCodeBuilder.put(code, this.consequent);
-        code = HashCodeBuilder.put(code, this.alternate);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ConditionalExpression");
+            code = HashCodeBuilder.put(code, this.test);
+            code = HashCodeBuilder.put(code, this.consequent);
+            code = HashCodeBuilder.put(code, this.alternate);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 27;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
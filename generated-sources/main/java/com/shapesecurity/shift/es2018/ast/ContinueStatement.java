@@ -34,15 +34,35 @@ public class ContinueStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ContinueStatement && this.label.equals(((ContinueStatement) object).label);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ContinueStatement)) {
+            return false;
+        }
+        ContinueStatement other = (ContinueStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.label.equals(other.label);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ContinueStatement");
-        code = HashCodeBuilder.put(code, this.label);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ContinueStatement");
+            code = HashCodeBuilder.put(code, this.label);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 28;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -34,16 +34,36 @@ public class DataProperty extends NamedObjectProperty {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof DataProperty && this.name.equals(((DataProperty) object).name) && this.expression.equals(((DataProperty) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof DataProperty)) {
+            return false;
+        }
+        DataProperty other = (DataProperty) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "DataProperty");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "DataProperty");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 29;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
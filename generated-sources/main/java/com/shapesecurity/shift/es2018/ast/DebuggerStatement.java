@@ -29,14 +29,34 @@ public class DebuggerStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof DebuggerStatement;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof DebuggerStatement)) {
+            return false;
+        }
+        DebuggerStatement other = (DebuggerStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "DebuggerStatement");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "DebuggerStatement");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 30;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class Directive implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Directive && this.rawValue.equals(((Directive) object).rawValue);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Directive)) {
+            return false;
+        }
+        Directive other = (Directive) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.rawValue.equals(other.rawValue);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Directive");
-        code = HashCodeBuilder.put(code, this.rawValue);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Directive");
+            code = HashCodeBuilder.put(code, this.rawValue);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 31;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -34,16 +34,36 @@ public class DoWhileStatement extends IterationStatement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof DoWhileStatement && this.body.equals(((DoWhileStatement) object).body) && this.test.equals(((DoWhileStatement) object).test);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof DoWhileStatement)) {
+            return false;
+        }
+        DoWhileStatement other = (DoWhileStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.body.equals(other.body) && this.test.equals(other.test);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "DoWhileStatement");
-        code = HashCodeBuilder.put(code, this.body);
-        code = HashCodeBuilder.put(code, this.test);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "DoWhileStatement");
+            code = HashCodeBuilder.put(code, this.body);
+            code = HashCodeBuilder.put(code, this.test);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 32;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -29,14 +29,34 @@ public class EmptyStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof EmptyStatement;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof EmptyStatement)) {
+            return false;
+        }
+        EmptyStatement other = (EmptyStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "EmptyStatement");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "EmptyStatement");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 33;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class ExportAllFrom implements ExportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ExportAllFrom && this.moduleSpecifier.equals(((ExportAllFrom) object).moduleSpecifier);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ExportAllFrom)) {
+            return false;
+        }
+        ExportAllFrom other = (ExportAllFrom) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.moduleSpecifier.equals(other.moduleSpecifier);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ExportAllFrom");
-        code = HashCodeBuilder.put(code, this.moduleSpecifier);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ExportAllFrom");
+            code = HashCodeBuilder.put(code, this.moduleSpecifier);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 35;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class ExportDefault implements ExportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ExportDefault && this.body.equals(((ExportDefault) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ExportDefault)) {
+            return false;
+        }
+        ExportDefault other = (ExportDefault) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ExportDefault");
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ExportDefault");
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 36;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class ExportFrom implements ExportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ExportFrom && this.namedExports.equals(((ExportFrom) object).namedExports) && this.moduleSpecifier.equals(((ExportFrom) object).moduleSpecifier);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ExportFrom)) {
+            return false;
+        }
+        ExportFrom other = (ExportFrom) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.namedExports.equals(other.namedExports) && this.moduleSpecifier.equals(other.moduleSpecifier);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ExportFrom");
-        code = HashCodeBuilder.put(code, this.namedExports);
-        code = HashCodeBuilder.put(code, this.moduleSpecifier);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ExportFrom");
+            code = HashCodeBuilder.put(code, this.namedExports);
+            code = HashCodeBuilder.put(code, this.moduleSpecifier);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 37;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
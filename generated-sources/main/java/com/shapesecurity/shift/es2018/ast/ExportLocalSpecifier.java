@@ -38,16 +38,36 @@ public class ExportLocalSpecifier implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ExportLocalSpecifier && this.name.equals(((ExportLocalSpecifier) object).name) && this.exportedName.equals(((ExportLocalSpecifier) object).exportedName);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ExportLocalSpecifier)) {
+            return false;
+        }
+        ExportLocalSpecifier other = (ExportLocalSpecifier) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.exportedName.equals(other.exportedName);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ExportLocalSpecifier");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.exportedName);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ExportLocalSpecifier");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.exportedName);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 39;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
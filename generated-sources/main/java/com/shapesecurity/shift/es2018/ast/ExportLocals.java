@@ -34,15 +34,35 @@ public class ExportLocals implements ExportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ExportLocals && this.namedExports.equals(((ExportLocals) object).namedExports);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ExportLocals)) {
+            return false;
+        }
+        ExportLocals other = (ExportLocals) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.namedExports.equals(other.namedExports);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ExportLocals");
-        code = HashCodeBuilder.put(code, this.namedExports);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ExportLocals");
+            code = HashCodeBuilder.put(code, this.namedExports);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 40;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
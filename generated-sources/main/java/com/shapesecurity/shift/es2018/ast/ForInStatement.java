@@ -38,17 +38,37 @@ public class ForInStatement extends IterationStatement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ForInStatement && this.left.equals(((ForInStatement) object).left) && this.right.equals(((ForInStatement) object).right) && this.body.equals(((ForInStatement) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ForInStatement)) {
+            return false;
+        }
+        ForInStatement other = (ForInStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.left.equals(other.left) && this.right.equals(other.right) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ForInStatement");
-        code = HashCodeBuilder.put(code, this.left);
-        code = HashCodeBuilder.put(code, this.right);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ForInStatement");
+            code = HashCodeBuilder.put(code, this.left);
+            code = HashCodeBuilder.put(code, this.right);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 43;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
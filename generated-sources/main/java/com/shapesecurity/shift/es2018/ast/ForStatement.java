@@ -43,18 +43,38 @@ public class ForStatement extends IterationStatement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ForStatement && this.init.equals(((ForStatement) object).init) && this.test.equals(((ForStatement) object).test) && this.update.equals(((ForStatement) object).update) && this.body.equals(((ForStatement) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ForStatement)) {
+            return false;
+        }
+        ForStatement other = (ForStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.init.equals(other.init) && this.test.equals(other.test) && this.update.equals(other.update) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ForStatement");
-        code = HashCodeBuilder.put(code, this.init);
-        code = HashCodeBuilder.put(code, this.test);
-        code = HashCodeBuilder.put(code, this.update);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ForStatement");
+            code = HashCodeBuilder.put(code, this.init);
+            code = HashCodeBuilder.put(code, this.test);
+            code = HashCodeBuilder.put(code, this.update);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 45;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
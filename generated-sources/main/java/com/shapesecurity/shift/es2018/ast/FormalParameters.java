@@ -39,16 +39,36 @@ public class FormalParameters implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof FormalParameters && this.items.equals(((FormalParameters) object).items) && this.rest.equals(((FormalParameters) object).rest);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FormalParameters)) {
+            return false;
+        }
+        FormalParameters other = (FormalParameters) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.items.equals(other.items) && this.rest.equals(other.rest);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "FormalParameters");
-        code = HashCodeBuilder.put(code, this.items);
-        code = HashCodeBuilder.put(code, this.rest);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "FormalParameters");
+            code = HashCodeBuilder.put(code, this.items);
+            code = HashCodeBuilder.put(code, this.rest);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 46;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,44 @@ public class FunctionBody implements Node, FunctionBodyExpression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof FunctionBody && this.directives.equals(((FunctionBody) object).directives) && this.statements.equals(((FunctionBody) object).statements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FunctionBody)) {
+            return false;
+        }
+        FunctionBody other = ((FunctionBody) object).resolve(); // a placeholder compares as the body it stands for
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.directives.equals(other.directives) && this.statements.equals(other.statements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "FunctionBody");
-        code = HashCodeBuilder.put(code, this.directives);
-        code = HashCodeBuilder.put(code, this.statements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "FunctionBody");
+            code = HashCodeBuilder.put(code, this.directives);
+            code = HashCodeBuilder.put(code, this.statements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 47;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
+    // The body this one stands for: itself, unless it is a placeholder for a body still to be produced, such as one
+    // whose parsing was deferred, whose own directives and statements are empty. Code which may be given such a
+    // placeholder reads the directives and statements of the body it resolves to.
+    @Nonnull
+    public FunctionBody resolve() {
+        return this;
+    }
+
 }
@@ -34,19 +34,39 @@ public class FunctionDeclaration extends Function implements Statement, Function
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof FunctionDeclaration && this.isAsync == ((FunctionDeclaration) object).isAsync && this.isGenerator == ((FunctionDeclaration) object).isGenerator && this.name.equals(((FunctionDeclaration) object).name) && this.params.equals(((FunctionDeclaration) object).params) && this.body.equals(((FunctionDeclaration) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FunctionDeclaration)) {
+            return false;
+        }
+        FunctionDeclaration other = (FunctionDeclaration) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isAsync == other.isAsync && this.isGenerator == other.isGenerator && this.name.equals(other.name) && this.params.equals(other.params) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "FunctionDeclaration");
-        code = HashCodeBuilder.put(code, this.isAsync);
-        code = HashCodeBuilder.put(code, this.isGenerator);
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.params);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "FunctionDeclaration");
+            code = HashCodeBuilder.put(code, this.isAsync);
+            code = HashCodeBuilder.put(code, this.isGenerator);
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.params);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 48;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
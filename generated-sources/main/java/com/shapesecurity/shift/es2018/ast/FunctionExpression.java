@@ -36,21 +36,41 @@ public class FunctionExpression extends Function implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof FunctionExpression && this.isAsync == ((FunctionExpression) object).isAsync && this.isGenerator == ((FunctionExpression) object).isGenerator && this.name.equals(((FunctionExpression) object).name) && this.params.equals(((FunctionExpression) object).params) && this.body.equals(((FunctionExpression) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FunctionExpression)) {
+            return false;
+        }
+        FunctionExpression other = (FunctionExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isAsync == other.isAsync && this.isGenerator == other.isGenerator && this.name.equals(other.name) && this.params.equals(other.params) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "FunctionExpression");
-        code = HashCodeBuilder.put(code, this.isAsync);
-        code = HashCodeBuilder.put(code, this.isGenerator);
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.params);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "FunctionExpression");
+            code = HashCodeBuilder.put(code, this.isAsync);
+            code = HashCodeBuilder.put(code, this.isGenerator);
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.params);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 49;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -31,16 +31,36 @@ public class Getter extends MethodDefinition {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Getter && this.name.equals(((Getter) object).name) && this.body.equals(((Getter) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Getter)) {
+            return false;
+        }
+        Getter other = (Getter) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Getter");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Getter");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 50;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
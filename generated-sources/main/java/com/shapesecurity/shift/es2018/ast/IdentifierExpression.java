@@ -32,17 +32,37 @@ public class IdentifierExpression extends VariableReference implements Expressio
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof IdentifierExpression && this.name.equals(((IdentifierExpression) object).name);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof IdentifierExpression)) {
+            return false;
+        }
+        IdentifierExpression other = (IdentifierExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "IdentifierExpression");
-        code = HashCodeBuilder.put(code, this.name);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "IdentifierExpression");
+            code = HashCodeBuilder.put(code, this.name);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 51;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
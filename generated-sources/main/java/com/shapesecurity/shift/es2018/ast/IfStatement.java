@@ -42,17 +42,37 @@ public class IfStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof IfStatement && this.test.equals(((IfStatement) object).test) && this.consequent.equals(((IfStatement) object).consequent) && this.alternate.equals(((IfStatement) object).alternate);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof IfStatement)) {
+            return false;
+        }
+        IfStatement other = (IfStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.test.equals(other.test) && this.consequent.equals(other.consequent) && this.alternate.equals(other.alternate);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "IfStatement");
-        code = HashCodeBuilder.put(code, this.test);
-        code = HashCodeBuilder.put(code, this.consequent);
-        code = HashCodeBuilder.put(code, this.alternate);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "IfStatement");
+            code = HashCodeBuilder.put(code, this.test);
+            code = HashCodeBuilder.put(code, this.consequent);
+            code = HashCodeBuilder.put(code, this.alternate);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 52;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -40,17 +40,37 @@ public class Import extends ImportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Import && this.defaultBinding.equals(((Import) object).defaultBinding) && this.namedImports.equals(((Import) object).namedImports) && this.moduleSpecifier.equals(((Import) object).moduleSpecifier);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Import)) {
+            return false;
+        }
+        Import other = (Import) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.defaultBinding.equals(other.defaultBinding) && this.namedImports.equals(other.namedImports) && this.moduleSpecifier.equals(other.moduleSpecifier);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Import");
-        code = HashCodeBuilder.put(code, this.defaultBinding);
-        code = HashCodeBuilder.put(code, this.namedImports);
-        code = HashCodeBuilder.put(code, this.moduleSpecifier);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Import");
+            code = HashCodeBuilder.put(code, this.defaultBinding);
+            code = HashCodeBuilder.put(code, this.namedImports);
+            code = HashCodeBuilder.put(code, this.moduleSpecifier);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 53;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -39,17 +39,37 @@ public class ImportNamespace extends ImportDeclaration {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ImportNamespace && this.defaultBinding.equals(((ImportNamespace) object).defaultBinding) && this.namespaceBinding.equals(((ImportNamespace) object).namespaceBinding) && this.moduleSpecifier.equals(((ImportNamespace) object).moduleSpecifier);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ImportNamespace)) {
+            return false;
+        }
+        ImportNamespace other = (ImportNamespace) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.defaultBinding.equals(other.defaultBinding) && this.namespaceBinding.equals(other.namespaceBinding) && this.moduleSpecifier.equals(other.moduleSpecifier);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ImportNamespace");
-        code = HashCodeBuilder.put(code, this.defaultBinding);
-        code = HashCodeBuilder.put(code, this.namespaceBinding);
-        code = HashCodeBuilder.put(code, this.moduleSpecifier);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ImportNamespace");
+            code = HashCodeBuilder.put(code, this.defaultBinding);
+            code = HashCodeBuilder.put(code, this.namespaceBinding);
+            code = HashCodeBuilder.put(code, this.moduleSpecifier);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 54;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class ImportSpecifier implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ImportSpecifier && this.name.equals(((ImportSpecifier) object).name) && this.binding.equals(((ImportSpecifier) object).binding);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ImportSpecifier)) {
+            return false;
+        }
+        ImportSpecifier other = (ImportSpecifier) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.binding.equals(other.binding);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ImportSpecifier");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.binding);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ImportSpecifier");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.binding);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 55;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -37,16 +37,36 @@ public class LabeledStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LabeledStatement && this.label.equals(((LabeledStatement) object).label) && this.body.equals(((LabeledStatement) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LabeledStatement)) {
+            return false;
+        }
+        LabeledStatement other = (LabeledStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.label.equals(other.label) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LabeledStatement");
-        code = HashCodeBuilder.put(code, this.label);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LabeledStatement");
+            code = HashCodeBuilder.put(code, this.label);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 56;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
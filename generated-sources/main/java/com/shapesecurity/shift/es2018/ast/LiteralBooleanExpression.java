@@ -34,17 +34,37 @@ public class LiteralBooleanExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralBooleanExpression && this.value == ((LiteralBooleanExpression) object).value;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralBooleanExpression)) {
+            return false;
+        }
+        LiteralBooleanExpression other = (LiteralBooleanExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.value == other.value;
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralBooleanExpression");
-        code = HashCodeBuilder.put(code, this.value);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralBooleanExpression");
+            code = HashCodeBuilder.put(code, this.value);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 57;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -30,16 +30,36 @@ public class LiteralInfinityExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralInfinityExpression;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralInfinityExpression)) {
+            return false;
+        }
+        LiteralInfinityExpression other = (LiteralInfinityExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralInfinityExpression");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralInfinityExpression");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 58;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -30,16 +30,36 @@ public class LiteralNullExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralNullExpression;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralNullExpression)) {
+            return false;
+        }
+        LiteralNullExpression other = (LiteralNullExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralNullExpression");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralNullExpression");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 59;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -34,17 +34,37 @@ public class LiteralNumericExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralNumericExpression && this.value == ((LiteralNumericExpression) object).value;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralNumericExpression)) {
+            return false;
+        }
+        LiteralNumericExpression other = (LiteralNumericExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.value == other.value;
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralNumericExpression");
-        code = HashCodeBuilder.put(code, this.value);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralNumericExpression");
+            code = HashCodeBuilder.put(code, this.value == 0 ? 0.0 : this.value);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 60;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -58,23 +58,43 @@ public class LiteralRegExpExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralRegExpExpression && this.pattern.equals(((LiteralRegExpExpression) object).pattern) && this.global == ((LiteralRegExpExpression) object).global && this.ignoreCase == ((LiteralRegExpExpression) object).ignoreCase && this.multiLine == ((LiteralRegExpExpression) object).multiLine && this.dotAll == ((LiteralRegExpExpression) object).dotAll && this.unicode == ((LiteralRegExpExpression) object).unicode && this.sticky == ((LiteralRegExpExpression) object).sticky;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralRegExpExpression)) {
+            return false;
+        }
+        LiteralRegExpExpression other = (LiteralRegExpExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.pattern.equals(other.pattern) && this.global == other.global && this.ignoreCase == other.ignoreCase && this.multiLine == other.multiLine && this.dotAll == other.dotAll && this.unicode == other.unicode && this.sticky == other.sticky;
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralRegExpExpression");
-        code = HashCodeBuilder.put(code, this.pattern);
-        code = HashCodeBuilder.put(code, this.global);
-        code = HashCodeBuilder.put(code, this.ignoreCase);
-        code = HashCodeBuilder.put(code, this.multiLine);
-        code = HashCodeBuilder.put(code, this.dotAll);
-        code = HashCodeBuilder.put(code, this.unicode);
-        code = HashCodeBuilder.put(code, this.sticky);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralRegExpExpression");
+            code = HashCodeBuilder.put(code, this.pattern);
+            code = HashCodeBuilder.put(code, this.global);
+            code = HashCodeBuilder.put(code, this.ignoreCase);
+            code = HashCodeBuilder.put(code, this.multiLine);
+            code = HashCodeBuilder.put(code, this.dotAll);
+            code = HashCodeBuilder.put(code, this.unicode);
+            code = HashCodeBuilder.put(code, this.sticky);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 61;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -34,17 +34,37 @@ public class LiteralStringExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof LiteralStringExpression && this.value.equals(((LiteralStringExpression) object).value);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LiteralStringExpression)) {
+            return false;
+        }
+        LiteralStringExpression other = (LiteralStringExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.value.equals(other.value);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "LiteralStringExpression");
-        code = HashCodeBuilder.put(code, this.value);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "LiteralStringExpression");
+            code = HashCodeBuilder.put(code, this.value);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 62;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -42,19 +42,39 @@ public class Method extends MethodDefinition {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Method && this.isAsync == ((Method) object).isAsync && this.isGenerator == ((Method) object).isGenerator && this.name.equals(((Method) object).name) && this.params.equals(((Method) object).params) && this.body.equals(((Method) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Method)) {
+            return false;
+        }
+        Method other = (Method) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isAsync == other.isAsync && this.isGenerator == other.isGenerator && this.name.equals(other.name) && this.params.equals(other.params) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Method");
-        code = HashCodeBuilder.put(code, this.isAsync);
-        code = HashCodeBuilder.put(code, this.isGenerator);
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.params);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Method");
+            code = HashCodeBuilder.put(code, this.isAsync);
+            code = HashCodeBuilder.put(code, this.isGenerator);
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.params);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 63;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
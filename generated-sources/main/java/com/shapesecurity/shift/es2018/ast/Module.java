@@ -38,16 +38,36 @@ public class Module implements Program {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Module && this.directives.equals(((Module) object).directives) && this.items.equals(((Module) object).items);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Module)) {
+            return false;
+        }
+        Module other = (Module) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.directives.equals(other.directives) && this.items.equals(other.items);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Module");
-        code = HashCodeBuilder.put(code, this.directives);
-        code = HashCodeBuilder.put(code, this.items);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Module");
+            code = HashCodeBuilder.put(code, this.directives);
+            code = HashCodeBuilder.put(code, this.items);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 64;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
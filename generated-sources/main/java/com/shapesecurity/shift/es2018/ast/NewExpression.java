@@ -39,18 +39,38 @@ public class NewExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof NewExpression && this.callee.equals(((NewExpression) object).callee) && this.arguments.equals(((NewExpression) object).arguments);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof NewExpression)) {
+            return false;
+        }
+        NewExpression other = (NewExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.callee.equals(other.callee) && this.arguments.equals(other.arguments);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "NewExpression");
-        code = HashCodeBuilder.put(code, this.callee);
-        code = HashCodeBuilder.put(code, this.arguments);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "NewExpression");
+            code = HashCodeBuilder.put(code, this.callee);
+            code = HashCodeBuilder.put(code, this.arguments);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 65;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -30,16 +30,36 @@ public class NewTargetExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof NewTargetExpression;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof NewTargetExpression)) {
+            return false;
+        }
+        NewTargetExpression other = (NewTargetExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "NewTargetExpression");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "NewTargetExpression");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 66;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -18,4 +18,8 @@
 
 package com.shapesecurity.shift.es2018.ast;
 
-public interface Node {}
+public interface Node {
+    // The TYPE of the node's concrete class, for switching on. Each concrete node class has its own number, which does
+    // not change between releases: new node classes are given new numbers.
+    public int type();
+}
@@ -39,16 +39,36 @@ public class ObjectBinding implements Node, BindingPattern {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ObjectBinding && this.properties.equals(((ObjectBinding) object).properties) && this.rest.equals(((ObjectBinding) object).rest);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ObjectBinding)) {
+            return false;
+        }
+        ObjectBinding other = (ObjectBinding) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.properties.equals(other.properties) && this.rest.equals(other.rest);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ObjectBinding");
-        code = HashCodeBuilder.put(code, this.properties);
-        code = HashCodeBuilder.put(code, this.rest);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ObjectBinding");
+            code = HashCodeBuilder.put(code, this.properties);
+            code = HashCodeBuilder.put(code, this.rest);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 68;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -35,17 +35,37 @@ public class ObjectExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ObjectExpression && this.properties.equals(((ObjectExpression) object).properties);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ObjectExpression)) {
+            return false;
+        }
+        ObjectExpression other = (ObjectExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.properties.equals(other.properties);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ObjectExpression");
-        code = HashCodeBuilder.put(code, this.properties);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ObjectExpression");
+            code = HashCodeBuilder.put(code, this.properties);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 69;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
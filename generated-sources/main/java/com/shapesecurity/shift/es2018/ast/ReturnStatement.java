@@ -34,15 +34,35 @@ public class ReturnStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ReturnStatement && this.expression.equals(((ReturnStatement) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ReturnStatement)) {
+            return false;
+        }
+        ReturnStatement other = (ReturnStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ReturnStatement");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ReturnStatement");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 70;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class Script implements Program {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Script && this.directives.equals(((Script) object).directives) && this.statements.equals(((Script) object).statements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Script)) {
+            return false;
+        }
+        Script other = (Script) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.directives.equals(other.directives) && this.statements.equals(other.statements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Script");
-        code = HashCodeBuilder.put(code, this.directives);
-        code = HashCodeBuilder.put(code, this.statements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Script");
+            code = HashCodeBuilder.put(code, this.directives);
+            code = HashCodeBuilder.put(code, this.statements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 71;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -34,17 +34,37 @@ public class Setter extends MethodDefinition {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Setter && this.name.equals(((Setter) object).name) && this.param.equals(((Setter) object).param) && this.body.equals(((Setter) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Setter)) {
+            return false;
+        }
+        Setter other = (Setter) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name) && this.param.equals(other.param) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Setter");
-        code = HashCodeBuilder.put(code, this.name);
-        code = HashCodeBuilder.put(code, this.param);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Setter");
+            code = HashCodeBuilder.put(code, this.name);
+            code = HashCodeBuilder.put(code, this.param);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 72;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class ShorthandProperty implements ObjectProperty {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ShorthandProperty && this.name.equals(((ShorthandProperty) object).name);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ShorthandProperty)) {
+            return false;
+        }
+        ShorthandProperty other = (ShorthandProperty) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.name.equals(other.name);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ShorthandProperty");
-        code = HashCodeBuilder.put(code, this.name);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ShorthandProperty");
+            code = HashCodeBuilder.put(code, this.name);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 73;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class SpreadElement implements Node, SpreadElementExpression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SpreadElement && this.expression.equals(((SpreadElement) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SpreadElement)) {
+            return false;
+        }
+        SpreadElement other = (SpreadElement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SpreadElement");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SpreadElement");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 74;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
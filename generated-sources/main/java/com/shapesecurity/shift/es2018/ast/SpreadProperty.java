@@ -33,15 +33,35 @@ public class SpreadProperty implements ObjectProperty {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SpreadProperty && this.expression.equals(((SpreadProperty) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SpreadProperty)) {
+            return false;
+        }
+        SpreadProperty other = (SpreadProperty) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SpreadProperty");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SpreadProperty");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 75;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
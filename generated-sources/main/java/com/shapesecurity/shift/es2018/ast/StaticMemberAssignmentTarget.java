@@ -34,16 +34,36 @@ public class StaticMemberAssignmentTarget extends MemberAssignmentTarget {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof StaticMemberAssignmentTarget && this.object.equals(((StaticMemberAssignmentTarget) object).object) && this.property.equals(((StaticMemberAssignmentTarget) object).property);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof StaticMemberAssignmentTarget)) {
+            return false;
+        }
+        StaticMemberAssignmentTarget other = (StaticMemberAssignmentTarget) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.object.equals(other.object) && this.property.equals(other.property);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "StaticMemberAssignmentTarget");
-        code = HashCodeBuilder.put(code, this.object);
-        code = HashCodeBuilder.put(code, this.property);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "StaticMemberAssignmentTarget");
+            code = HashCodeBuilder.put(code, this.object);
+            code = HashCodeBuilder.put(code, this.property);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 76;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
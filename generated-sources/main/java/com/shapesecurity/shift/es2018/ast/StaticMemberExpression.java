@@ -34,16 +34,36 @@ public class StaticMemberExpression extends MemberExpression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof StaticMemberExpression && this.object.equals(((StaticMemberExpression) object).object) && this.property.equals(((StaticMemberExpression) object).property);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof StaticMemberExpression)) {
+            return false;
+        }
+        StaticMemberExpression other = (StaticMemberExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.object.equals(other.object) && this.property.equals(other.property);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "StaticMemberExpression");
-        code = HashCodeBuilder.put(code, this.object);
-        code = HashCodeBuilder.put(code, this.property);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "StaticMemberExpression");
+            code = HashCodeBuilder.put(code, this.object);
+            code = HashCodeBuilder.put(code, this.property);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 77;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -33,15 +33,35 @@ public class StaticPropertyName implements PropertyName {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof StaticPropertyName && this.value.equals(((StaticPropertyName) object).value);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof StaticPropertyName)) {
+            return false;
+        }
+        StaticPropertyName other = (StaticPropertyName) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.value.equals(other.value);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "StaticPropertyName");
-        code = HashCodeBuilder.put(code, this.value);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "StaticPropertyName");
+            code = HashCodeBuilder.put(code, this.value);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 78;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -29,14 +29,34 @@ public class Super implements Node, ExpressionSuper {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof Super;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Super)) {
+            return false;
+        }
+        Super other = (Super) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "Super");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "Super");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 79;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class SwitchCase implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SwitchCase && this.test.equals(((SwitchCase) object).test) && this.consequent.equals(((SwitchCase) object).consequent);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SwitchCase)) {
+            return false;
+        }
+        SwitchCase other = (SwitchCase) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.test.equals(other.test) && this.consequent.equals(other.consequent);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SwitchCase");
-        code = HashCodeBuilder.put(code, this.test);
-        code = HashCodeBuilder.put(code, this.consequent);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SwitchCase");
+            code = HashCodeBuilder.put(code, this.test);
+            code = HashCodeBuilder.put(code, this.consequent);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 80;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -34,15 +34,35 @@ public class SwitchDefault implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SwitchDefault && this.consequent.equals(((SwitchDefault) object).consequent);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SwitchDefault)) {
+            return false;
+        }
+        SwitchDefault other = (SwitchDefault) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.consequent.equals(other.consequent);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SwitchDefault");
-        code = HashCodeBuilder.put(code, this.consequent);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SwitchDefault");
+            code = HashCodeBuilder.put(code, this.consequent);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 81;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class SwitchStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SwitchStatement && this.discriminant.equals(((SwitchStatement) object).discriminant) && this.cases.equals(((SwitchStatement) object).cases);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SwitchStatement)) {
+            return false;
+        }
+        SwitchStatement other = (SwitchStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.discriminant.equals(other.discriminant) && this.cases.equals(other.cases);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SwitchStatement");
-        code = HashCodeBuilder.put(code, this.discriminant);
-        code = HashCodeBuilder.put(code, this.cases);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SwitchStatement");
+            code = HashCodeBuilder.put(code, this.discriminant);
+            code = HashCodeBuilder.put(code, this.cases);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 82;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
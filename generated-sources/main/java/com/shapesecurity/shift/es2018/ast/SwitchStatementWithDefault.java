@@ -46,18 +46,38 @@ public class SwitchStatementWithDefault implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof SwitchStatementWithDefault && this.discriminant.equals(((SwitchStatementWithDefault) object).discriminant) && this.preDefaultCases.equals(((SwitchStatementWithDefault) object).preDefaultCases) && this.defaultCase.equals(((SwitchStatementWithDefault) object).defaultCase) && this.postDefaultCases.equals(((SwitchStatementWithDefault) object).postDefaultCases);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SwitchStatementWithDefault)) {
+            return false;
+        }
+        SwitchStatementWithDefault other = (SwitchStatementWithDefault) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.discriminant.equals(other.discriminant) && this.preDefaultCases.equals(other.preDefaultCases) && this.defaultCase.equals(other.defaultCase) && this.postDefaultCases.equals(other.postDefaultCases);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "SwitchStatementWithDefault");
-        code = HashCodeBuilder.put(code, this.discriminant);
-        code = HashCodeBuilder.put(code, this.preDefaultCases);
-        code = HashCodeBuilder.put(code, this.defaultCase);
-        code = HashCodeBuilder.put(code, this.postDefaultCases);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "SwitchStatementWithDefault");
+            code = HashCodeBuilder.put(code, this.discriminant);
+            code = HashCodeBuilder.put(code, this.preDefaultCases);
+            code = HashCodeBuilder.put(code, this.defaultCase);
+            code = HashCodeBuilder.put(code, this.postDefaultCases);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 83;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
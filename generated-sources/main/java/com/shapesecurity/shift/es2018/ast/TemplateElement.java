@@ -33,15 +33,35 @@ public class TemplateElement implements Node, ExpressionTemplateElement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof TemplateElement && this.rawValue.equals(((TemplateElement) object).rawValue);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TemplateElement)) {
+            return false;
+        }
+        TemplateElement other = (TemplateElement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.rawValue.equals(other.rawValue);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "TemplateElement");
-        code = HashCodeBuilder.put(code, this.rawValue);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "TemplateElement");
+            code = HashCodeBuilder.put(code, this.rawValue);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 84;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
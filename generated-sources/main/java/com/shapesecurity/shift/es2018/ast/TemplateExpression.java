@@ -40,18 +40,38 @@ public class TemplateExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof TemplateExpression && this.tag.equals(((TemplateExpression) object).tag) && this.elements.equals(((TemplateExpression) object).elements);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TemplateExpression)) {
+            return false;
+        }
+        TemplateExpression other = (TemplateExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.tag.equals(other.tag) && this.elements.equals(other.elements);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "TemplateExpression");
-        code = HashCodeBuilder.put(code, this.tag);
-        code = HashCodeBuilder.put(code, this.elements);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "TemplateExpression");
+            code = HashCodeBuilder.put(code, this.tag);
+            code = HashCodeBuilder.put(code, this.elements);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 85;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
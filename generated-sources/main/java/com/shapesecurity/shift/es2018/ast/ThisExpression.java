@@ -30,16 +30,36 @@ public class ThisExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ThisExpression;
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ThisExpression)) {
+            return false;
+        }
+        ThisExpression other = (ThisExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ThisExpression");
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ThisExpression");
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 86;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
@@ -33,15 +33,35 @@ public class ThrowStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof ThrowStatement && this.expression.equals(((ThrowStatement) object).expression);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ThrowStatement)) {
+            return false;
+        }
+        ThrowStatement other = (ThrowStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.expression.equals(other.expression);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "ThrowStatement");
-        code = HashCodeBuilder.put(code, this.expression);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "ThrowStatement");
+            code = HashCodeBuilder.put(code, this.expression);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 87;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
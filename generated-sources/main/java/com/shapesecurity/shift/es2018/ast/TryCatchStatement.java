@@ -37,16 +37,36 @@ public class TryCatchStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof TryCatchStatement && this.body.equals(((TryCatchStatement) object).body) && this.catchClause.equals(((TryCatchStatement) object).catchClause);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TryCatchStatement)) {
+            return false;
+        }
+        TryCatchStatement other = (TryCatchStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.body.equals(other.body) && this.catchClause.equals(other.catchClause);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "TryCatchStatement");
-        code = HashCodeBuilder.put(code, this.body);
-        code = HashCodeBuilder.put(code, this.catchClause);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "TryCatchStatement");
+            code = HashCodeBuilder.put(code, this.body);
+            code = HashCodeBuilder.put(code, this.catchClause);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 88;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -42,17 +42,37 @@ public class TryFinallyStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof TryFinallyStatement && this.body.equals(((TryFinallyStatement) object).body) && this.catchClause.equals(((TryFinallyStatement) object).catchClause) && this.finalizer.equals(((TryFinallyStatement) object).finalizer);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TryFinallyStatement)) {
+            return false;
+        }
+        TryFinallyStatement other = (TryFinallyStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.body.equals(other.body) && this.catchClause.equals(other.catchClause) && this.finalizer.equals(other.finalizer);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "TryFinallyStatement");
-        code = HashCodeBuilder.put(code, this.body);
-        code = HashCodeBuilder.put(code, this.catchClause);
-        code = HashCodeBuilder.put(code, this.finalizer);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "TryFinallyStatement");
+            code = HashCodeBuilder.put(code, this.body);
+            code = HashCodeBuilder.put(code, this.catchClause);
+            code = HashCodeBuilder.put(code, this.finalizer);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 89;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
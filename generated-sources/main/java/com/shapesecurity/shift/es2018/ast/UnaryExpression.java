@@ -39,18 +39,38 @@ public class UnaryExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof UnaryExpression && this.operator.equals(((UnaryExpression) object).operator) && this.operand.equals(((UnaryExpression) object).operand);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof UnaryExpression)) {
+            return false;
+        }
+        UnaryExpression other = (UnaryExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.operator.equals(other.operator) && this.operand.equals(other.operand);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "UnaryExpression");
-        code = HashCodeBuilder.put(code, this.operator);
-        code = HashCodeBuilder.put(code, this.operand);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "UnaryExpression");
+            code = HashCodeBuilder.put(code, this.operator);
+            code = HashCodeBuilder.put(code, this.operand);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 90;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
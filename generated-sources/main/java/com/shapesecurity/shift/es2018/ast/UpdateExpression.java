@@ -43,19 +43,39 @@ public class UpdateExpression implements Expression {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof UpdateExpression && this.isPrefix == ((UpdateExpression) object).isPrefix && this.operator.equals(((UpdateExpression) object).operator) && this.operand.equals(((UpdateExpression) object).operand);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof UpdateExpression)) {
+            return false;
+        }
+        UpdateExpression other = (UpdateExpression) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.isPrefix == other.isPrefix && this.operator.equals(other.operator) && this.operand.equals(other.operand);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "UpdateExpression");
-        code = HashCodeBuilder.put(code, this.isPrefix);
-        code = HashCodeBuilder.put(code, this.operator);
-        code = HashCodeBuilder.put(code, this.operand);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "UpdateExpression");
+            code = HashCodeBuilder.put(code, this.isPrefix);
+            code = HashCodeBuilder.put(code, this.operator);
+            code = HashCodeBuilder.put(code, this.operand);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 91;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
     @Override
     @Nonnull
     public Precedence getPrecedence() {
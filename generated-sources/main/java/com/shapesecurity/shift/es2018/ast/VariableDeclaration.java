@@ -39,16 +39,36 @@ public class VariableDeclaration implements Node, FunctionDeclarationClassDeclar
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof VariableDeclaration && this.kind.equals(((VariableDeclaration) object).kind) && this.declarators.equals(((VariableDeclaration) object).declarators);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof VariableDeclaration)) {
+            return false;
+        }
+        VariableDeclaration other = (VariableDeclaration) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.kind.equals(other.kind) && this.declarators.equals(other.declarators);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "VariableDeclaration");
-        code = HashCodeBuilder.put(code, this.kind);
-        code = HashCodeBuilder.put(code, this.declarators);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "VariableDeclaration");
+            code = HashCodeBuilder.put(code, this.kind);
+            code = HashCodeBuilder.put(code, this.declarators);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 92;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
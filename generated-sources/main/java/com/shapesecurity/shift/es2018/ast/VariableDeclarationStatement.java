@@ -33,15 +33,35 @@ public class VariableDeclarationStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof VariableDeclarationStatement && this.declaration.equals(((VariableDeclarationStatement) object).declaration);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof VariableDeclarationStatement)) {
+            return false;
+        }
+        VariableDeclarationStatement other = (VariableDeclarationStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.declaration.equals(other.declaration);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "VariableDeclarationStatement");
-        code = HashCodeBuilder.put(code, this.declaration);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "VariableDeclarationStatement");
+            code = HashCodeBuilder.put(code, this.declaration);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 93;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -38,16 +38,36 @@ public class VariableDeclarator implements Node {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof VariableDeclarator && this.binding.equals(((VariableDeclarator) object).binding) && this.init.equals(((VariableDeclarator) object).init);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof VariableDeclarator)) {
+            return false;
+        }
+        VariableDeclarator other = (VariableDeclarator) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.binding.equals(other.binding) && this.init.equals(other.init);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "VariableDeclarator");
-        code = HashCodeBuilder.put(code, this.binding);
-        code = HashCodeBuilder.put(code, this.init);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "VariableDeclarator");
+            code = HashCodeBuilder.put(code, this.binding);
+            code = HashCodeBuilder.put(code, this.init);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 94;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
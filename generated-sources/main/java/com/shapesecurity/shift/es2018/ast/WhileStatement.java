@@ -34,16 +34,36 @@ public class WhileStatement extends IterationStatement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof WhileStatement && this.test.equals(((WhileStatement) object).test) && this.body.equals(((WhileStatement) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof WhileStatement)) {
+            return false;
+        }
+        WhileStatement other = (WhileStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.test.equals(other.test) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "WhileStatement");
-        code = HashCodeBuilder.put(code, this.test);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "WhileStatement");
+            code = HashCodeBuilder.put(code, this.test);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 95;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
@@ -37,16 +37,36 @@ public class WithStatement implements Statement {
 
     @Override
     public boolean equals(Object object) {
-        return object instanceof WithStatement && this.object.equals(((WithStatement) object).object) && this.body.equals(((WithStatement) object).body);
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof WithStatement)) {
+            return false;
+        }
+        WithStatement other = (WithStatement) object;
+        return (this.hash == 0 || other.hash == 0 || this.hash == other.hash) && this.object.equals(other.object) && this.body.equals(other.body);
     }
 
 
+    private int hash;
+
     @Override
     public int hashCode() {
-        int code = HashCodeBuilder.put(0, "WithStatement");
-        code = HashCodeBuilder.put(code, this.object);
-        code = HashCodeBuilder.put(code, this.body);
+        int code = this.hash;
+        if (code == 0) {
+            code = HashCodeBuilder.put(0, "WithStatement");
+            code = HashCodeBuilder.put(code, this.object);
+            code = HashCodeBuilder.put(code, this.body);
+            this.hash = code;
+        }
         return code;
     }
 
+    public static final int TYPE = 96;
+
+    @Override
+    public int type() {
+        return TYPE;
+    }
+
 }
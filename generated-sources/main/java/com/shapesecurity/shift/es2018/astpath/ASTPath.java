@@ -1625,7 +1625,7 @@ public abstract class ASTPath<S, T> implements ObjectPath<S, T> {
     @Override
     public Maybe<ImmutableList<Directive>> apply(Object source) {
       if (!(source instanceof FunctionBody)) return Maybe.empty();
-      return Maybe.of(((FunctionBody) source).directives);
+      return Maybe.of(((FunctionBody) source).resolve().directives);
     }
 
     public String propertyName() {
@@ -1639,7 +1639,7 @@ public abstract class ASTPath<S, T> implements ObjectPath<S, T> {
     @Override
     public Maybe<ImmutableList<Statement>> apply(Object source) {
       if (!(source instanceof FunctionBody)) return Maybe.empty();
-      return Maybe.of(((FunctionBody) source).statements);
+      return Maybe.of(((FunctionBody) source).resolve().statements);
     }
 
     public String propertyName() {
@@ -67,12 +67,19 @@ public final class Director {
     public static <State> State reduceAssignmentTarget(
       @Nonnull Reducer<State> reducer,
       @Nonnull AssignmentTarget node) {
-        if (node instanceof AssignmentTargetPattern) {
-            return reduceAssignmentTargetPattern(reducer, (AssignmentTargetPattern) node);
-        } else if (node instanceof SimpleAssignmentTarget) {
-            return reduceSimpleAssignmentTarget(reducer, (SimpleAssignmentTarget) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -80,12 +87,21 @@ public final class Director {
     public static <State> State reduceAssignmentTargetAssignmentTargetWithDefault(
       @Nonnull Reducer<State> reducer,
       @Nonnull AssignmentTargetAssignmentTargetWithDefault node) {
-        if (node instanceof AssignmentTarget) {
-            return reduceAssignmentTarget(reducer, (AssignmentTarget) node);
-        } else if (node instanceof AssignmentTargetWithDefault) {
-            return reduceAssignmentTargetWithDefault(reducer, (AssignmentTargetWithDefault) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case AssignmentTargetWithDefault.TYPE:
+                return reduceAssignmentTargetWithDefault(reducer, (AssignmentTargetWithDefault) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -100,12 +116,13 @@ public final class Director {
     public static <State> State reduceAssignmentTargetPattern(
       @Nonnull Reducer<State> reducer,
       @Nonnull AssignmentTargetPattern node) {
-        if (node instanceof ObjectAssignmentTarget) {
-            return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
-        } else if (node instanceof ArrayAssignmentTarget) {
-            return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -113,12 +130,13 @@ public final class Director {
     public static <State> State reduceAssignmentTargetProperty(
       @Nonnull Reducer<State> reducer,
       @Nonnull AssignmentTargetProperty node) {
-        if (node instanceof AssignmentTargetPropertyIdentifier) {
-            return reduceAssignmentTargetPropertyIdentifier(reducer, (AssignmentTargetPropertyIdentifier) node);
-        } else if (node instanceof AssignmentTargetPropertyProperty) {
-            return reduceAssignmentTargetPropertyProperty(reducer, (AssignmentTargetPropertyProperty) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case AssignmentTargetPropertyIdentifier.TYPE:
+                return reduceAssignmentTargetPropertyIdentifier(reducer, (AssignmentTargetPropertyIdentifier) node);
+            case AssignmentTargetPropertyProperty.TYPE:
+                return reduceAssignmentTargetPropertyProperty(reducer, (AssignmentTargetPropertyProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -161,12 +179,15 @@ public final class Director {
     public static <State> State reduceBinding(
       @Nonnull Reducer<State> reducer,
       @Nonnull Binding node) {
-        if (node instanceof BindingPattern) {
-            return reduceBindingPattern(reducer, (BindingPattern) node);
-        } else if (node instanceof BindingIdentifier) {
-            return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -174,12 +195,17 @@ public final class Director {
     public static <State> State reduceBindingBindingWithDefault(
       @Nonnull Reducer<State> reducer,
       @Nonnull BindingBindingWithDefault node) {
-        if (node instanceof Binding) {
-            return reduceBinding(reducer, (Binding) node);
-        } else if (node instanceof BindingWithDefault) {
-            return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case BindingWithDefault.TYPE:
+                return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -194,12 +220,13 @@ public final class Director {
     public static <State> State reduceBindingPattern(
       @Nonnull Reducer<State> reducer,
       @Nonnull BindingPattern node) {
-        if (node instanceof ObjectBinding) {
-            return reduceObjectBinding(reducer, (ObjectBinding) node);
-        } else if (node instanceof ArrayBinding) {
-            return reduceArrayBinding(reducer, (ArrayBinding) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -207,12 +234,13 @@ public final class Director {
     public static <State> State reduceBindingProperty(
       @Nonnull Reducer<State> reducer,
       @Nonnull BindingProperty node) {
-        if (node instanceof BindingPropertyIdentifier) {
-            return reduceBindingPropertyIdentifier(reducer, (BindingPropertyIdentifier) node);
-        } else if (node instanceof BindingPropertyProperty) {
-            return reduceBindingPropertyProperty(reducer, (BindingPropertyProperty) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case BindingPropertyIdentifier.TYPE:
+                return reduceBindingPropertyIdentifier(reducer, (BindingPropertyIdentifier) node);
+            case BindingPropertyProperty.TYPE:
+                return reduceBindingPropertyProperty(reducer, (BindingPropertyProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -388,18 +416,19 @@ public final class Director {
     public static <State> State reduceExportDeclaration(
       @Nonnull Reducer<State> reducer,
       @Nonnull ExportDeclaration node) {
-        if (node instanceof ExportAllFrom) {
-            return reduceExportAllFrom(reducer, (ExportAllFrom) node);
-        } else if (node instanceof ExportFrom) {
-            return reduceExportFrom(reducer, (ExportFrom) node);
-        } else if (node instanceof ExportLocals) {
-            return reduceExportLocals(reducer, (ExportLocals) node);
-        } else if (node instanceof Export) {
-            return reduceExport(reducer, (Export) node);
-        } else if (node instanceof ExportDefault) {
-            return reduceExportDefault(reducer, (ExportDefault) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case Export.TYPE:
+                return reduceExport(reducer, (Export) node);
+            case ExportAllFrom.TYPE:
+                return reduceExportAllFrom(reducer, (ExportAllFrom) node);
+            case ExportDefault.TYPE:
+                return reduceExportDefault(reducer, (ExportDefault) node);
+            case ExportFrom.TYPE:
+                return reduceExportFrom(reducer, (ExportFrom) node);
+            case ExportLocals.TYPE:
+                return reduceExportLocals(reducer, (ExportLocals) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -442,62 +471,65 @@ public final class Director {
     public static <State> State reduceExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull Expression node) {
-        if (node instanceof MemberExpression) {
-            return reduceMemberExpression(reducer, (MemberExpression) node);
-        } else if (node instanceof ClassExpression) {
-            return reduceClassExpression(reducer, (ClassExpression) node);
-        } else if (node instanceof LiteralBooleanExpression) {
-            return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
-        } else if (node instanceof LiteralInfinityExpression) {
-            return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
-        } else if (node instanceof LiteralNullExpression) {
-            return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
-        } else if (node instanceof LiteralNumericExpression) {
-            return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
-        } else if (node instanceof LiteralRegExpExpression) {
-            return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
-        } else if (node instanceof LiteralStringExpression) {
-            return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
-        } else if (node instanceof ArrayExpression) {
-            return reduceArrayExpression(reducer, (ArrayExpression) node);
-        } else if (node instanceof ArrowExpression) {
-            return reduceArrowExpression(reducer, (ArrowExpression) node);
-        } else if (node instanceof AssignmentExpression) {
-            return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
-        } else if (node instanceof BinaryExpression) {
-            return reduceBinaryExpression(reducer, (BinaryExpression) node);
-        } else if (node instanceof CallExpression) {
-            return reduceCallExpression(reducer, (CallExpression) node);
-        } else if (node instanceof CompoundAssignmentExpression) {
-            return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
-        } else if (node instanceof ConditionalExpression) {
-            return reduceConditionalExpression(reducer, (ConditionalExpression) node);
-        } else if (node instanceof FunctionExpression) {
-            return reduceFunctionExpression(reducer, (FunctionExpression) node);
-        } else if (node instanceof IdentifierExpression) {
-            return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
-        } else if (node instanceof NewExpression) {
-            return reduceNewExpression(reducer, (NewExpression) node);
-        } else if (node instanceof NewTargetExpression) {
-            return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
-        } else if (node instanceof ObjectExpression) {
-            return reduceObjectExpression(reducer, (ObjectExpression) node);
-        } else if (node instanceof UnaryExpression) {
-            return reduceUnaryExpression(reducer, (UnaryExpression) node);
-        } else if (node instanceof TemplateExpression) {
-            return reduceTemplateExpression(reducer, (TemplateExpression) node);
-        } else if (node instanceof ThisExpression) {
-            return reduceThisExpression(reducer, (ThisExpression) node);
-        } else if (node instanceof UpdateExpression) {
-            return reduceUpdateExpression(reducer, (UpdateExpression) node);
-        } else if (node instanceof YieldExpression) {
-            return reduceYieldExpression(reducer, (YieldExpression) node);
-        } else if (node instanceof YieldGeneratorExpression) {
-            return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
-        } else if (node instanceof AwaitExpression) {
-            return reduceAwaitExpression(reducer, (AwaitExpression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -512,12 +544,67 @@ public final class Director {
     public static <State> State reduceExpressionSuper(
       @Nonnull Reducer<State> reducer,
       @Nonnull ExpressionSuper node) {
-        if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else if (node instanceof Super) {
-            return reduceSuper(reducer, (Super) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case Super.TYPE:
+                return reduceSuper(reducer, (Super) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -525,12 +612,67 @@ public final class Director {
     public static <State> State reduceExpressionTemplateElement(
       @Nonnull Reducer<State> reducer,
       @Nonnull ExpressionTemplateElement node) {
-        if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else if (node instanceof TemplateElement) {
-            return reduceTemplateElement(reducer, (TemplateElement) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateElement.TYPE:
+                return reduceTemplateElement(reducer, (TemplateElement) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -573,6 +715,7 @@ public final class Director {
     public static <State> State reduceFunctionBody(
       @Nonnull Reducer<State> reducer,
       @Nonnull FunctionBody node) {
+        node = node.resolve();
         return reducer.reduceFunctionBody(node, reduceListDirective(reducer, node.directives), reduceListStatement(reducer, node.statements));
     }
 
@@ -580,12 +723,67 @@ public final class Director {
     public static <State> State reduceFunctionBodyExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull FunctionBodyExpression node) {
-        if (node instanceof FunctionBody) {
-            return reduceFunctionBody(reducer, (FunctionBody) node);
-        } else if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionBody.TYPE:
+                return reduceFunctionBody(reducer, (FunctionBody) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -600,14 +798,69 @@ public final class Director {
     public static <State> State reduceFunctionDeclarationClassDeclarationExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull FunctionDeclarationClassDeclarationExpression node) {
-        if (node instanceof FunctionDeclaration) {
-            return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
-        } else if (node instanceof ClassDeclaration) {
-            return reduceClassDeclaration(reducer, (ClassDeclaration) node);
-        } else if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -615,14 +868,15 @@ public final class Director {
     public static <State> State reduceFunctionDeclarationClassDeclarationVariableDeclaration(
       @Nonnull Reducer<State> reducer,
       @Nonnull FunctionDeclarationClassDeclarationVariableDeclaration node) {
-        if (node instanceof FunctionDeclaration) {
-            return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
-        } else if (node instanceof ClassDeclaration) {
-            return reduceClassDeclaration(reducer, (ClassDeclaration) node);
-        } else if (node instanceof VariableDeclaration) {
-            return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -665,12 +919,13 @@ public final class Director {
     public static <State> State reduceImportDeclaration(
       @Nonnull Reducer<State> reducer,
       @Nonnull ImportDeclaration node) {
-        if (node instanceof Import) {
-            return reduceImport(reducer, (Import) node);
-        } else if (node instanceof ImportNamespace) {
-            return reduceImportNamespace(reducer, (ImportNamespace) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case Import.TYPE:
+                return reduceImport(reducer, (Import) node);
+            case ImportNamespace.TYPE:
+                return reduceImportNamespace(reducer, (ImportNamespace) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -678,14 +933,71 @@ public final class Director {
     public static <State> State reduceImportDeclarationExportDeclarationStatement(
       @Nonnull Reducer<State> reducer,
       @Nonnull ImportDeclarationExportDeclarationStatement node) {
-        if (node instanceof ImportDeclaration) {
-            return reduceImportDeclaration(reducer, (ImportDeclaration) node);
-        } else if (node instanceof ExportDeclaration) {
-            return reduceExportDeclaration(reducer, (ExportDeclaration) node);
-        } else if (node instanceof Statement) {
-            return reduceStatement(reducer, (Statement) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case BlockStatement.TYPE:
+                return reduceBlockStatement(reducer, (BlockStatement) node);
+            case BreakStatement.TYPE:
+                return reduceBreakStatement(reducer, (BreakStatement) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ContinueStatement.TYPE:
+                return reduceContinueStatement(reducer, (ContinueStatement) node);
+            case DebuggerStatement.TYPE:
+                return reduceDebuggerStatement(reducer, (DebuggerStatement) node);
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case EmptyStatement.TYPE:
+                return reduceEmptyStatement(reducer, (EmptyStatement) node);
+            case Export.TYPE:
+                return reduceExport(reducer, (Export) node);
+            case ExportAllFrom.TYPE:
+                return reduceExportAllFrom(reducer, (ExportAllFrom) node);
+            case ExportDefault.TYPE:
+                return reduceExportDefault(reducer, (ExportDefault) node);
+            case ExportFrom.TYPE:
+                return reduceExportFrom(reducer, (ExportFrom) node);
+            case ExportLocals.TYPE:
+                return reduceExportLocals(reducer, (ExportLocals) node);
+            case ExpressionStatement.TYPE:
+                return reduceExpressionStatement(reducer, (ExpressionStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case IfStatement.TYPE:
+                return reduceIfStatement(reducer, (IfStatement) node);
+            case Import.TYPE:
+                return reduceImport(reducer, (Import) node);
+            case ImportNamespace.TYPE:
+                return reduceImportNamespace(reducer, (ImportNamespace) node);
+            case LabeledStatement.TYPE:
+                return reduceLabeledStatement(reducer, (LabeledStatement) node);
+            case ReturnStatement.TYPE:
+                return reduceReturnStatement(reducer, (ReturnStatement) node);
+            case SwitchStatement.TYPE:
+                return reduceSwitchStatement(reducer, (SwitchStatement) node);
+            case SwitchStatementWithDefault.TYPE:
+                return reduceSwitchStatementWithDefault(reducer, (SwitchStatementWithDefault) node);
+            case ThrowStatement.TYPE:
+                return reduceThrowStatement(reducer, (ThrowStatement) node);
+            case TryCatchStatement.TYPE:
+                return reduceTryCatchStatement(reducer, (TryCatchStatement) node);
+            case TryFinallyStatement.TYPE:
+                return reduceTryFinallyStatement(reducer, (TryFinallyStatement) node);
+            case VariableDeclarationStatement.TYPE:
+                return reduceVariableDeclarationStatement(reducer, (VariableDeclarationStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            case WithStatement.TYPE:
+                return reduceWithStatement(reducer, (WithStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -707,20 +1019,21 @@ public final class Director {
     public static <State> State reduceIterationStatement(
       @Nonnull Reducer<State> reducer,
       @Nonnull IterationStatement node) {
-        if (node instanceof DoWhileStatement) {
-            return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
-        } else if (node instanceof ForInStatement) {
-            return reduceForInStatement(reducer, (ForInStatement) node);
-        } else if (node instanceof ForOfStatement) {
-            return reduceForOfStatement(reducer, (ForOfStatement) node);
-        } else if (node instanceof ForAwaitStatement) {
-            return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
-        } else if (node instanceof ForStatement) {
-            return reduceForStatement(reducer, (ForStatement) node);
-        } else if (node instanceof WhileStatement) {
-            return reduceWhileStatement(reducer, (WhileStatement) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1001,12 +1314,13 @@ public final class Director {
     public static <State> State reduceMemberAssignmentTarget(
       @Nonnull Reducer<State> reducer,
       @Nonnull MemberAssignmentTarget node) {
-        if (node instanceof ComputedMemberAssignmentTarget) {
-            return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
-        } else if (node instanceof StaticMemberAssignmentTarget) {
-            return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1014,12 +1328,13 @@ public final class Director {
     public static <State> State reduceMemberExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull MemberExpression node) {
-        if (node instanceof ComputedMemberExpression) {
-            return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
-        } else if (node instanceof StaticMemberExpression) {
-            return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1034,14 +1349,15 @@ public final class Director {
     public static <State> State reduceMethodDefinition(
       @Nonnull Reducer<State> reducer,
       @Nonnull MethodDefinition node) {
-        if (node instanceof Method) {
-            return reduceMethod(reducer, (Method) node);
-        } else if (node instanceof Getter) {
-            return reduceGetter(reducer, (Getter) node);
-        } else if (node instanceof Setter) {
-            return reduceSetter(reducer, (Setter) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1056,12 +1372,17 @@ public final class Director {
     public static <State> State reduceNamedObjectProperty(
       @Nonnull Reducer<State> reducer,
       @Nonnull NamedObjectProperty node) {
-        if (node instanceof MethodDefinition) {
-            return reduceMethodDefinition(reducer, (MethodDefinition) node);
-        } else if (node instanceof DataProperty) {
-            return reduceDataProperty(reducer, (DataProperty) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case DataProperty.TYPE:
+                return reduceDataProperty(reducer, (DataProperty) node);
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1104,14 +1425,21 @@ public final class Director {
     public static <State> State reduceObjectProperty(
       @Nonnull Reducer<State> reducer,
       @Nonnull ObjectProperty node) {
-        if (node instanceof NamedObjectProperty) {
-            return reduceNamedObjectProperty(reducer, (NamedObjectProperty) node);
-        } else if (node instanceof ShorthandProperty) {
-            return reduceShorthandProperty(reducer, (ShorthandProperty) node);
-        } else if (node instanceof SpreadProperty) {
-            return reduceSpreadProperty(reducer, (SpreadProperty) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case DataProperty.TYPE:
+                return reduceDataProperty(reducer, (DataProperty) node);
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            case ShorthandProperty.TYPE:
+                return reduceShorthandProperty(reducer, (ShorthandProperty) node);
+            case SpreadProperty.TYPE:
+                return reduceSpreadProperty(reducer, (SpreadProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1119,12 +1447,17 @@ public final class Director {
     public static <State> State reduceParameter(
       @Nonnull Reducer<State> reducer,
       @Nonnull Parameter node) {
-        if (node instanceof Binding) {
-            return reduceBinding(reducer, (Binding) node);
-        } else if (node instanceof BindingWithDefault) {
-            return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case BindingWithDefault.TYPE:
+                return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1132,12 +1465,13 @@ public final class Director {
     public static <State> State reduceProgram(
       @Nonnull Reducer<State> reducer,
       @Nonnull Program node) {
-        if (node instanceof Module) {
-            return reduceModule(reducer, (Module) node);
-        } else if (node instanceof Script) {
-            return reduceScript(reducer, (Script) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case Module.TYPE:
+                return reduceModule(reducer, (Module) node);
+            case Script.TYPE:
+                return reduceScript(reducer, (Script) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1145,12 +1479,13 @@ public final class Director {
     public static <State> State reducePropertyName(
       @Nonnull Reducer<State> reducer,
       @Nonnull PropertyName node) {
-        if (node instanceof ComputedPropertyName) {
-            return reduceComputedPropertyName(reducer, (ComputedPropertyName) node);
-        } else if (node instanceof StaticPropertyName) {
-            return reduceStaticPropertyName(reducer, (StaticPropertyName) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ComputedPropertyName.TYPE:
+                return reduceComputedPropertyName(reducer, (ComputedPropertyName) node);
+            case StaticPropertyName.TYPE:
+                return reduceStaticPropertyName(reducer, (StaticPropertyName) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1186,12 +1521,15 @@ public final class Director {
     public static <State> State reduceSimpleAssignmentTarget(
       @Nonnull Reducer<State> reducer,
       @Nonnull SimpleAssignmentTarget node) {
-        if (node instanceof AssignmentTargetIdentifier) {
-            return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
-        } else if (node instanceof MemberAssignmentTarget) {
-            return reduceMemberAssignmentTarget(reducer, (MemberAssignmentTarget) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1206,12 +1544,67 @@ public final class Director {
     public static <State> State reduceSpreadElementExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull SpreadElementExpression node) {
-        if (node instanceof SpreadElement) {
-            return reduceSpreadElement(reducer, (SpreadElement) node);
-        } else if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case SpreadElement.TYPE:
+                return reduceSpreadElement(reducer, (SpreadElement) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1226,46 +1619,57 @@ public final class Director {
     public static <State> State reduceStatement(
       @Nonnull Reducer<State> reducer,
       @Nonnull Statement node) {
-        if (node instanceof IterationStatement) {
-            return reduceIterationStatement(reducer, (IterationStatement) node);
-        } else if (node instanceof ClassDeclaration) {
-            return reduceClassDeclaration(reducer, (ClassDeclaration) node);
-        } else if (node instanceof BlockStatement) {
-            return reduceBlockStatement(reducer, (BlockStatement) node);
-        } else if (node instanceof BreakStatement) {
-            return reduceBreakStatement(reducer, (BreakStatement) node);
-        } else if (node instanceof ContinueStatement) {
-            return reduceContinueStatement(reducer, (ContinueStatement) node);
-        } else if (node instanceof DebuggerStatement) {
-            return reduceDebuggerStatement(reducer, (DebuggerStatement) node);
-        } else if (node instanceof EmptyStatement) {
-            return reduceEmptyStatement(reducer, (EmptyStatement) node);
-        } else if (node instanceof ExpressionStatement) {
-            return reduceExpressionStatement(reducer, (ExpressionStatement) node);
-        } else if (node instanceof IfStatement) {
-            return reduceIfStatement(reducer, (IfStatement) node);
-        } else if (node instanceof LabeledStatement) {
-            return reduceLabeledStatement(reducer, (LabeledStatement) node);
-        } else if (node instanceof ReturnStatement) {
-            return reduceReturnStatement(reducer, (ReturnStatement) node);
-        } else if (node instanceof SwitchStatement) {
-            return reduceSwitchStatement(reducer, (SwitchStatement) node);
-        } else if (node instanceof SwitchStatementWithDefault) {
-            return reduceSwitchStatementWithDefault(reducer, (SwitchStatementWithDefault) node);
-        } else if (node instanceof ThrowStatement) {
-            return reduceThrowStatement(reducer, (ThrowStatement) node);
-        } else if (node instanceof TryCatchStatement) {
-            return reduceTryCatchStatement(reducer, (TryCatchStatement) node);
-        } else if (node instanceof TryFinallyStatement) {
-            return reduceTryFinallyStatement(reducer, (TryFinallyStatement) node);
-        } else if (node instanceof VariableDeclarationStatement) {
-            return reduceVariableDeclarationStatement(reducer, (VariableDeclarationStatement) node);
-        } else if (node instanceof WithStatement) {
-            return reduceWithStatement(reducer, (WithStatement) node);
-        } else if (node instanceof FunctionDeclaration) {
-            return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case BlockStatement.TYPE:
+                return reduceBlockStatement(reducer, (BlockStatement) node);
+            case BreakStatement.TYPE:
+                return reduceBreakStatement(reducer, (BreakStatement) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ContinueStatement.TYPE:
+                return reduceContinueStatement(reducer, (ContinueStatement) node);
+            case DebuggerStatement.TYPE:
+                return reduceDebuggerStatement(reducer, (DebuggerStatement) node);
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case EmptyStatement.TYPE:
+                return reduceEmptyStatement(reducer, (EmptyStatement) node);
+            case ExpressionStatement.TYPE:
+                return reduceExpressionStatement(reducer, (ExpressionStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case IfStatement.TYPE:
+                return reduceIfStatement(reducer, (IfStatement) node);
+            case LabeledStatement.TYPE:
+                return reduceLabeledStatement(reducer, (LabeledStatement) node);
+            case ReturnStatement.TYPE:
+                return reduceReturnStatement(reducer, (ReturnStatement) node);
+            case SwitchStatement.TYPE:
+                return reduceSwitchStatement(reducer, (SwitchStatement) node);
+            case SwitchStatementWithDefault.TYPE:
+                return reduceSwitchStatementWithDefault(reducer, (SwitchStatementWithDefault) node);
+            case ThrowStatement.TYPE:
+                return reduceThrowStatement(reducer, (ThrowStatement) node);
+            case TryCatchStatement.TYPE:
+                return reduceTryCatchStatement(reducer, (TryCatchStatement) node);
+            case TryFinallyStatement.TYPE:
+                return reduceTryFinallyStatement(reducer, (TryFinallyStatement) node);
+            case VariableDeclarationStatement.TYPE:
+                return reduceVariableDeclarationStatement(reducer, (VariableDeclarationStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            case WithStatement.TYPE:
+                return reduceWithStatement(reducer, (WithStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1392,12 +1796,21 @@ public final class Director {
     public static <State> State reduceVariableDeclarationAssignmentTarget(
       @Nonnull Reducer<State> reducer,
       @Nonnull VariableDeclarationAssignmentTarget node) {
-        if (node instanceof VariableDeclaration) {
-            return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
-        } else if (node instanceof AssignmentTarget) {
-            return reduceAssignmentTarget(reducer, (AssignmentTarget) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -1405,12 +1818,67 @@ public final class Director {
     public static <State> State reduceVariableDeclarationExpression(
       @Nonnull Reducer<State> reducer,
       @Nonnull VariableDeclarationExpression node) {
-        if (node instanceof VariableDeclaration) {
-            return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
-        } else if (node instanceof Expression) {
-            return reduceExpression(reducer, (Expression) node);
-        } else {
-            throw new RuntimeException("Not reached");
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
         }
     }
 
@@ -0,0 +1,4958 @@
+// Generated by iterative-director.js
+/**
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.shapesecurity.shift.es2018.reducer;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.*;
+import com.shapesecurity.shift.es2018.ast.Module;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+// Reduces exactly as Director does, calling the reducer in the same order with the same arguments, but keeps the work
+// still to be done on a stack of its own rather than on the thread's, so that it can reduce trees of any depth.
+public final class IterativeDirector {
+
+    @Nonnull
+    public static <State> State reduceArrayAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitArrayAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceArrayBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayBinding node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitArrayBinding(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceArrayExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitArrayExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceArrowExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrowExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitArrowExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetAssignmentTargetWithDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetAssignmentTargetWithDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetIdentifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetIdentifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPattern(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPattern node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetPattern(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPropertyIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPropertyIdentifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetPropertyIdentifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPropertyProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPropertyProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetPropertyProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetWithDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAssignmentTargetWithDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceAwaitExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AwaitExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitAwaitExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBinaryExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BinaryExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBinaryExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Binding node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBinding(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingBindingWithDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingBindingWithDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingIdentifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingIdentifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPattern(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPattern node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingPattern(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPropertyIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPropertyIdentifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingPropertyIdentifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPropertyProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPropertyProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingPropertyProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingWithDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBindingWithDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBlock(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Block node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBlock(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBlockStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BlockStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBlockStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceBreakStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BreakStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitBreakStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceCallExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CallExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitCallExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceCatchClause(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CatchClause node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitCatchClause(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceClassDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitClassDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceClassElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassElement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitClassElement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceClassExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitClassExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceCompoundAssignmentExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CompoundAssignmentExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitCompoundAssignmentExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedMemberAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitComputedMemberAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedMemberExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitComputedMemberExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedPropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedPropertyName node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitComputedPropertyName(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceConditionalExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ConditionalExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitConditionalExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceContinueStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ContinueStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitContinueStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceDataProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DataProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitDataProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceDebuggerStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DebuggerStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitDebuggerStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceDirective(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Directive node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitDirective(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceDoWhileStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DoWhileStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitDoWhileStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceEmptyStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull EmptyStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitEmptyStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExport(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Export node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExport(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportAllFrom(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportAllFrom node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportAllFrom(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportFrom(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportFrom node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportFrom(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportFromSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportFromSpecifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportFromSpecifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportLocalSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportLocalSpecifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportLocalSpecifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExportLocals(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportLocals node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExportLocals(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Expression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExpressionStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionSuper(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionSuper node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExpressionSuper(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionTemplateElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionTemplateElement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitExpressionTemplateElement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceForAwaitStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForAwaitStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitForAwaitStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceForInStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForInStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitForInStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceForOfStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForOfStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitForOfStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceForStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitForStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFormalParameters(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FormalParameters node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFormalParameters(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionBody(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionBody node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionBody(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionBodyExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionBodyExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionBodyExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclarationClassDeclarationExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclarationClassDeclarationExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionDeclarationClassDeclarationExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclarationClassDeclarationVariableDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclarationClassDeclarationVariableDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionDeclarationClassDeclarationVariableDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitFunctionExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceGetter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Getter node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitGetter(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceIdentifierExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IdentifierExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitIdentifierExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceIfStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IfStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitIfStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceImport(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Import node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitImport(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceImportDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitImportDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceImportDeclarationExportDeclarationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportDeclarationExportDeclarationStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitImportDeclarationExportDeclarationStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceImportNamespace(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportNamespace node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitImportNamespace(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceImportSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportSpecifier node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitImportSpecifier(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceIterationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IterationStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitIterationStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLabeledStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LabeledStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLabeledStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralBooleanExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralBooleanExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralBooleanExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralInfinityExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralInfinityExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralInfinityExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralNullExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralNullExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralNullExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralNumericExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralNumericExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralNumericExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralRegExpExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralRegExpExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralRegExpExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralStringExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralStringExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitLiteralStringExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MemberAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitMemberAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MemberExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitMemberExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceMethod(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Method node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitMethod(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceMethodDefinition(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MethodDefinition node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitMethodDefinition(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceModule(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Module node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitModule(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceNamedObjectProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NamedObjectProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitNamedObjectProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceNewExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NewExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitNewExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceNewTargetExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NewTargetExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitNewTargetExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitObjectAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectBinding node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitObjectBinding(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitObjectExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitObjectProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceParameter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Parameter node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitParameter(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceProgram(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Program node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitProgram(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reducePropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull PropertyName node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitPropertyName(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceReturnStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ReturnStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitReturnStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceScript(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Script node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitScript(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSetter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Setter node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSetter(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceShorthandProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ShorthandProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitShorthandProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSimpleAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SimpleAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSimpleAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadElement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSpreadElement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadElementExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadElementExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSpreadElementExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadProperty node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSpreadProperty(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Statement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticMemberAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitStaticMemberAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticMemberExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitStaticMemberExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticPropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticPropertyName node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitStaticPropertyName(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSuper(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Super node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSuper(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchCase(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchCase node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSwitchCase(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSwitchDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSwitchStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchStatementWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchStatementWithDefault node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitSwitchStatementWithDefault(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceTemplateElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TemplateElement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitTemplateElement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceTemplateExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TemplateExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitTemplateExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceThisExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ThisExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitThisExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceThrowStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ThrowStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitThrowStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceTryCatchStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TryCatchStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitTryCatchStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceTryFinallyStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TryFinallyStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitTryFinallyStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceUnaryExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull UnaryExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitUnaryExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceUpdateExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull UpdateExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitUpdateExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclaration node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitVariableDeclaration(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationAssignmentTarget node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitVariableDeclarationAssignmentTarget(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitVariableDeclarationExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitVariableDeclarationStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarator(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarator node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitVariableDeclarator(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceWhileStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull WhileStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitWhileStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceWithStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull WithStatement node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitWithStatement(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceYieldExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull YieldExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitYieldExpression(node);
+        return walk.run();
+    }
+
+    @Nonnull
+    public static <State> State reduceYieldGeneratorExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull YieldGeneratorExpression node) {
+        Walk<State> walk = new Walk<>(reducer);
+        walk.visitYieldGeneratorExpression(node);
+        return walk.run();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class Walk<State> {
+        private static final int EXPAND_ARRAY_ASSIGNMENT_TARGET = 0;
+        private static final int FINISH_ARRAY_ASSIGNMENT_TARGET = 1;
+        private static final int EXPAND_ARRAY_BINDING = 2;
+        private static final int FINISH_ARRAY_BINDING = 3;
+        private static final int EXPAND_ARRAY_EXPRESSION = 4;
+        private static final int FINISH_ARRAY_EXPRESSION = 5;
+        private static final int EXPAND_ARROW_EXPRESSION = 6;
+        private static final int FINISH_ARROW_EXPRESSION = 7;
+        private static final int EXPAND_ASSIGNMENT_EXPRESSION = 8;
+        private static final int FINISH_ASSIGNMENT_EXPRESSION = 9;
+        private static final int FINISH_ASSIGNMENT_TARGET_IDENTIFIER = 10;
+        private static final int EXPAND_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER = 11;
+        private static final int FINISH_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER = 12;
+        private static final int EXPAND_ASSIGNMENT_TARGET_PROPERTY_PROPERTY = 13;
+        private static final int FINISH_ASSIGNMENT_TARGET_PROPERTY_PROPERTY = 14;
+        private static final int EXPAND_ASSIGNMENT_TARGET_WITH_DEFAULT = 15;
+        private static final int FINISH_ASSIGNMENT_TARGET_WITH_DEFAULT = 16;
+        private static final int EXPAND_AWAIT_EXPRESSION = 17;
+        private static final int FINISH_AWAIT_EXPRESSION = 18;
+        private static final int EXPAND_BINARY_EXPRESSION = 19;
+        private static final int FINISH_BINARY_EXPRESSION = 20;
+        private static final int FINISH_BINDING_IDENTIFIER = 21;
+        private static final int EXPAND_BINDING_PROPERTY_IDENTIFIER = 22;
+        private static final int FINISH_BINDING_PROPERTY_IDENTIFIER = 23;
+        private static final int EXPAND_BINDING_PROPERTY_PROPERTY = 24;
+        private static final int FINISH_BINDING_PROPERTY_PROPERTY = 25;
+        private static final int EXPAND_BINDING_WITH_DEFAULT = 26;
+        private static final int FINISH_BINDING_WITH_DEFAULT = 27;
+        private static final int EXPAND_BLOCK = 28;
+        private static final int FINISH_BLOCK = 29;
+        private static final int EXPAND_BLOCK_STATEMENT = 30;
+        private static final int FINISH_BLOCK_STATEMENT = 31;
+        private static final int FINISH_BREAK_STATEMENT = 32;
+        private static final int EXPAND_CALL_EXPRESSION = 33;
+        private static final int FINISH_CALL_EXPRESSION = 34;
+        private static final int EXPAND_CATCH_CLAUSE = 35;
+        private static final int FINISH_CATCH_CLAUSE = 36;
+        private static final int EXPAND_CLASS_DECLARATION = 37;
+        private static final int FINISH_CLASS_DECLARATION = 38;
+        private static final int EXPAND_CLASS_ELEMENT = 39;
+        private static final int FINISH_CLASS_ELEMENT = 40;
+        private static final int EXPAND_CLASS_EXPRESSION = 41;
+        private static final int FINISH_CLASS_EXPRESSION = 42;
+        private static final int EXPAND_COMPOUND_ASSIGNMENT_EXPRESSION = 43;
+        private static final int FINISH_COMPOUND_ASSIGNMENT_EXPRESSION = 44;
+        private static final int EXPAND_COMPUTED_MEMBER_ASSIGNMENT_TARGET = 45;
+        private static final int FINISH_COMPUTED_MEMBER_ASSIGNMENT_TARGET = 46;
+        private static final int EXPAND_COMPUTED_MEMBER_EXPRESSION = 47;
+        private static final int FINISH_COMPUTED_MEMBER_EXPRESSION = 48;
+        private static final int EXPAND_COMPUTED_PROPERTY_NAME = 49;
+        private static final int FINISH_COMPUTED_PROPERTY_NAME = 50;
+        private static final int EXPAND_CONDITIONAL_EXPRESSION = 51;
+        private static final int FINISH_CONDITIONAL_EXPRESSION = 52;
+        private static final int FINISH_CONTINUE_STATEMENT = 53;
+        private static final int EXPAND_DATA_PROPERTY = 54;
+        private static final int FINISH_DATA_PROPERTY = 55;
+        private static final int FINISH_DEBUGGER_STATEMENT = 56;
+        private static final int FINISH_DIRECTIVE = 57;
+        private static final int EXPAND_DO_WHILE_STATEMENT = 58;
+        private static final int FINISH_DO_WHILE_STATEMENT = 59;
+        private static final int FINISH_EMPTY_STATEMENT = 60;
+        private static final int EXPAND_EXPORT = 61;
+        private static final int FINISH_EXPORT = 62;
+        private static final int FINISH_EXPORT_ALL_FROM = 63;
+        private static final int EXPAND_EXPORT_DEFAULT = 64;
+        private static final int FINISH_EXPORT_DEFAULT = 65;
+        private static final int EXPAND_EXPORT_FROM = 66;
+        private static final int FINISH_EXPORT_FROM = 67;
+        private static final int FINISH_EXPORT_FROM_SPECIFIER = 68;
+        private static final int EXPAND_EXPORT_LOCAL_SPECIFIER = 69;
+        private static final int FINISH_EXPORT_LOCAL_SPECIFIER = 70;
+        private static final int EXPAND_EXPORT_LOCALS = 71;
+        private static final int FINISH_EXPORT_LOCALS = 72;
+        private static final int EXPAND_EXPRESSION_STATEMENT = 73;
+        private static final int FINISH_EXPRESSION_STATEMENT = 74;
+        private static final int EXPAND_FOR_AWAIT_STATEMENT = 75;
+        private static final int FINISH_FOR_AWAIT_STATEMENT = 76;
+        private static final int EXPAND_FOR_IN_STATEMENT = 77;
+        private static final int FINISH_FOR_IN_STATEMENT = 78;
+        private static final int EXPAND_FOR_OF_STATEMENT = 79;
+        private static final int FINISH_FOR_OF_STATEMENT = 80;
+        private static final int EXPAND_FOR_STATEMENT = 81;
+        private static final int FINISH_FOR_STATEMENT = 82;
+        private static final int EXPAND_FORMAL_PARAMETERS = 83;
+        private static final int FINISH_FORMAL_PARAMETERS = 84;
+        private static final int EXPAND_FUNCTION_BODY = 85;
+        private static final int FINISH_FUNCTION_BODY = 86;
+        private static final int EXPAND_FUNCTION_DECLARATION = 87;
+        private static final int FINISH_FUNCTION_DECLARATION = 88;
+        private static final int EXPAND_FUNCTION_EXPRESSION = 89;
+        private static final int FINISH_FUNCTION_EXPRESSION = 90;
+        private static final int EXPAND_GETTER = 91;
+        private static final int FINISH_GETTER = 92;
+        private static final int FINISH_IDENTIFIER_EXPRESSION = 93;
+        private static final int EXPAND_IF_STATEMENT = 94;
+        private static final int FINISH_IF_STATEMENT = 95;
+        private static final int EXPAND_IMPORT = 96;
+        private static final int FINISH_IMPORT = 97;
+        private static final int EXPAND_IMPORT_NAMESPACE = 98;
+        private static final int FINISH_IMPORT_NAMESPACE = 99;
+        private static final int EXPAND_IMPORT_SPECIFIER = 100;
+        private static final int FINISH_IMPORT_SPECIFIER = 101;
+        private static final int EXPAND_LABELED_STATEMENT = 102;
+        private static final int FINISH_LABELED_STATEMENT = 103;
+        private static final int FINISH_LITERAL_BOOLEAN_EXPRESSION = 104;
+        private static final int FINISH_LITERAL_INFINITY_EXPRESSION = 105;
+        private static final int FINISH_LITERAL_NULL_EXPRESSION = 106;
+        private static final int FINISH_LITERAL_NUMERIC_EXPRESSION = 107;
+        private static final int FINISH_LITERAL_REG_EXP_EXPRESSION = 108;
+        private static final int FINISH_LITERAL_STRING_EXPRESSION = 109;
+        private static final int EXPAND_METHOD = 110;
+        private static final int FINISH_METHOD = 111;
+        private static final int EXPAND_MODULE = 112;
+        private static final int FINISH_MODULE = 113;
+        private static final int EXPAND_NEW_EXPRESSION = 114;
+        private static final int FINISH_NEW_EXPRESSION = 115;
+        private static final int FINISH_NEW_TARGET_EXPRESSION = 116;
+        private static final int EXPAND_OBJECT_ASSIGNMENT_TARGET = 117;
+        private static final int FINISH_OBJECT_ASSIGNMENT_TARGET = 118;
+        private static final int EXPAND_OBJECT_BINDING = 119;
+        private static final int FINISH_OBJECT_BINDING = 120;
+        private static final int EXPAND_OBJECT_EXPRESSION = 121;
+        private static final int FINISH_OBJECT_EXPRESSION = 122;
+        private static final int EXPAND_RETURN_STATEMENT = 123;
+        private static final int FINISH_RETURN_STATEMENT = 124;
+        private static final int EXPAND_SCRIPT = 125;
+        private static final int FINISH_SCRIPT = 126;
+        private static final int EXPAND_SETTER = 127;
+        private static final int FINISH_SETTER = 128;
+        private static final int EXPAND_SHORTHAND_PROPERTY = 129;
+        private static final int FINISH_SHORTHAND_PROPERTY = 130;
+        private static final int EXPAND_SPREAD_ELEMENT = 131;
+        private static final int FINISH_SPREAD_ELEMENT = 132;
+        private static final int EXPAND_SPREAD_PROPERTY = 133;
+        private static final int FINISH_SPREAD_PROPERTY = 134;
+        private static final int EXPAND_STATIC_MEMBER_ASSIGNMENT_TARGET = 135;
+        private static final int FINISH_STATIC_MEMBER_ASSIGNMENT_TARGET = 136;
+        private static final int EXPAND_STATIC_MEMBER_EXPRESSION = 137;
+        private static final int FINISH_STATIC_MEMBER_EXPRESSION = 138;
+        private static final int FINISH_STATIC_PROPERTY_NAME = 139;
+        private static final int FINISH_SUPER = 140;
+        private static final int EXPAND_SWITCH_CASE = 141;
+        private static final int FINISH_SWITCH_CASE = 142;
+        private static final int EXPAND_SWITCH_DEFAULT = 143;
+        private static final int FINISH_SWITCH_DEFAULT = 144;
+        private static final int EXPAND_SWITCH_STATEMENT = 145;
+        private static final int FINISH_SWITCH_STATEMENT = 146;
+        private static final int EXPAND_SWITCH_STATEMENT_WITH_DEFAULT = 147;
+        private static final int FINISH_SWITCH_STATEMENT_WITH_DEFAULT = 148;
+        private static final int FINISH_TEMPLATE_ELEMENT = 149;
+        private static final int EXPAND_TEMPLATE_EXPRESSION = 150;
+        private static final int FINISH_TEMPLATE_EXPRESSION = 151;
+        private static final int FINISH_THIS_EXPRESSION = 152;
+        private static final int EXPAND_THROW_STATEMENT = 153;
+        private static final int FINISH_THROW_STATEMENT = 154;
+        private static final int EXPAND_TRY_CATCH_STATEMENT = 155;
+        private static final int FINISH_TRY_CATCH_STATEMENT = 156;
+        private static final int EXPAND_TRY_FINALLY_STATEMENT = 157;
+        private static final int FINISH_TRY_FINALLY_STATEMENT = 158;
+        private static final int EXPAND_UNARY_EXPRESSION = 159;
+        private static final int FINISH_UNARY_EXPRESSION = 160;
+        private static final int EXPAND_UPDATE_EXPRESSION = 161;
+        private static final int FINISH_UPDATE_EXPRESSION = 162;
+        private static final int EXPAND_VARIABLE_DECLARATION = 163;
+        private static final int FINISH_VARIABLE_DECLARATION = 164;
+        private static final int EXPAND_VARIABLE_DECLARATION_STATEMENT = 165;
+        private static final int FINISH_VARIABLE_DECLARATION_STATEMENT = 166;
+        private static final int EXPAND_VARIABLE_DECLARATOR = 167;
+        private static final int FINISH_VARIABLE_DECLARATOR = 168;
+        private static final int EXPAND_WHILE_STATEMENT = 169;
+        private static final int FINISH_WHILE_STATEMENT = 170;
+        private static final int EXPAND_WITH_STATEMENT = 171;
+        private static final int FINISH_WITH_STATEMENT = 172;
+        private static final int EXPAND_YIELD_EXPRESSION = 173;
+        private static final int FINISH_YIELD_EXPRESSION = 174;
+        private static final int EXPAND_YIELD_GENERATOR_EXPRESSION = 175;
+        private static final int FINISH_YIELD_GENERATOR_EXPRESSION = 176;
+        private static final int COLLECT_LIST = 177;
+        private static final int COLLECT_LIST_MAYBE = 178;
+        private static final int NOTHING = 179;
+
+        @Nonnull
+        private final Reducer<State> reducer;
+
+        // the work still to be done, last first: what to do with each node or list
+        @Nonnull
+        private int[] ops = new int[64];
+        @Nonnull
+        private Object[] operands = new Object[64];
+        private int depth = 0;
+
+        // the results of the work done, waiting to be passed to the reducer along with those of their siblings; absent
+        // optional children are null
+        @Nonnull
+        private Object[] results = new Object[64];
+        private int resultCount = 0;
+
+        Walk(@Nonnull Reducer<State> reducer) {
+            this.reducer = reducer;
+        }
+
+        @Nonnull
+        State run() {
+            while (this.depth > 0) {
+                --this.depth;
+                int op = this.ops[this.depth];
+                Object operand = this.operands[this.depth];
+                this.operands[this.depth] = null;
+                switch (op) {
+                    case EXPAND_ARRAY_ASSIGNMENT_TARGET:
+                        this.expandArrayAssignmentTarget((ArrayAssignmentTarget) operand);
+                        break;
+                    case FINISH_ARRAY_ASSIGNMENT_TARGET:
+                        this.finishArrayAssignmentTarget((ArrayAssignmentTarget) operand);
+                        break;
+                    case EXPAND_ARRAY_BINDING:
+                        this.expandArrayBinding((ArrayBinding) operand);
+                        break;
+                    case FINISH_ARRAY_BINDING:
+                        this.finishArrayBinding((ArrayBinding) operand);
+                        break;
+                    case EXPAND_ARRAY_EXPRESSION:
+                        this.expandArrayExpression((ArrayExpression) operand);
+                        break;
+                    case FINISH_ARRAY_EXPRESSION:
+                        this.finishArrayExpression((ArrayExpression) operand);
+                        break;
+                    case EXPAND_ARROW_EXPRESSION:
+                        this.expandArrowExpression((ArrowExpression) operand);
+                        break;
+                    case FINISH_ARROW_EXPRESSION:
+                        this.finishArrowExpression((ArrowExpression) operand);
+                        break;
+                    case EXPAND_ASSIGNMENT_EXPRESSION:
+                        this.expandAssignmentExpression((AssignmentExpression) operand);
+                        break;
+                    case FINISH_ASSIGNMENT_EXPRESSION:
+                        this.finishAssignmentExpression((AssignmentExpression) operand);
+                        break;
+                    case FINISH_ASSIGNMENT_TARGET_IDENTIFIER:
+                        this.finishAssignmentTargetIdentifier((AssignmentTargetIdentifier) operand);
+                        break;
+                    case EXPAND_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER:
+                        this.expandAssignmentTargetPropertyIdentifier((AssignmentTargetPropertyIdentifier) operand);
+                        break;
+                    case FINISH_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER:
+                        this.finishAssignmentTargetPropertyIdentifier((AssignmentTargetPropertyIdentifier) operand);
+                        break;
+                    case EXPAND_ASSIGNMENT_TARGET_PROPERTY_PROPERTY:
+                        this.expandAssignmentTargetPropertyProperty((AssignmentTargetPropertyProperty) operand);
+                        break;
+                    case FINISH_ASSIGNMENT_TARGET_PROPERTY_PROPERTY:
+                        this.finishAssignmentTargetPropertyProperty((AssignmentTargetPropertyProperty) operand);
+                        break;
+                    case EXPAND_ASSIGNMENT_TARGET_WITH_DEFAULT:
+                        this.expandAssignmentTargetWithDefault((AssignmentTargetWithDefault) operand);
+                        break;
+                    case FINISH_ASSIGNMENT_TARGET_WITH_DEFAULT:
+                        this.finishAssignmentTargetWithDefault((AssignmentTargetWithDefault) operand);
+                        break;
+                    case EXPAND_AWAIT_EXPRESSION:
+                        this.expandAwaitExpression((AwaitExpression) operand);
+                        break;
+                    case FINISH_AWAIT_EXPRESSION:
+                        this.finishAwaitExpression((AwaitExpression) operand);
+                        break;
+                    case EXPAND_BINARY_EXPRESSION:
+                        this.expandBinaryExpression((BinaryExpression) operand);
+                        break;
+                    case FINISH_BINARY_EXPRESSION:
+                        this.finishBinaryExpression((BinaryExpression) operand);
+                        break;
+                    case FINISH_BINDING_IDENTIFIER:
+                        this.finishBindingIdentifier((BindingIdentifier) operand);
+                        break;
+                    case EXPAND_BINDING_PROPERTY_IDENTIFIER:
+                        this.expandBindingPropertyIdentifier((BindingPropertyIdentifier) operand);
+                        break;
+                    case FINISH_BINDING_PROPERTY_IDENTIFIER:
+                        this.finishBindingPropertyIdentifier((BindingPropertyIdentifier) operand);
+                        break;
+                    case EXPAND_BINDING_PROPERTY_PROPERTY:
+                        this.expandBindingPropertyProperty((BindingPropertyProperty) operand);
+                        break;
+                    case FINISH_BINDING_PROPERTY_PROPERTY:
+                        this.finishBindingPropertyProperty((BindingPropertyProperty) operand);
+                        break;
+                    case EXPAND_BINDING_WITH_DEFAULT:
+                        this.expandBindingWithDefault((BindingWithDefault) operand);
+                        break;
+                    case FINISH_BINDING_WITH_DEFAULT:
+                        this.finishBindingWithDefault((BindingWithDefault) operand);
+                        break;
+                    case EXPAND_BLOCK:
+                        this.expandBlock((Block) operand);
+                        break;
+                    case FINISH_BLOCK:
+                        this.finishBlock((Block) operand);
+                        break;
+                    case EXPAND_BLOCK_STATEMENT:
+                        this.expandBlockStatement((BlockStatement) operand);
+                        break;
+                    case FINISH_BLOCK_STATEMENT:
+                        this.finishBlockStatement((BlockStatement) operand);
+                        break;
+                    case FINISH_BREAK_STATEMENT:
+                        this.finishBreakStatement((BreakStatement) operand);
+                        break;
+                    case EXPAND_CALL_EXPRESSION:
+                        this.expandCallExpression((CallExpression) operand);
+                        break;
+                    case FINISH_CALL_EXPRESSION:
+                        this.finishCallExpression((CallExpression) operand);
+                        break;
+                    case EXPAND_CATCH_CLAUSE:
+                        this.expandCatchClause((CatchClause) operand);
+                        break;
+                    case FINISH_CATCH_CLAUSE:
+                        this.finishCatchClause((CatchClause) operand);
+                        break;
+                    case EXPAND_CLASS_DECLARATION:
+                        this.expandClassDeclaration((ClassDeclaration) operand);
+                        break;
+                    case FINISH_CLASS_DECLARATION:
+                        this.finishClassDeclaration((ClassDeclaration) operand);
+                        break;
+                    case EXPAND_CLASS_ELEMENT:
+                        this.expandClassElement((ClassElement) operand);
+                        break;
+                    case FINISH_CLASS_ELEMENT:
+                        this.finishClassElement((ClassElement) operand);
+                        break;
+                    case EXPAND_CLASS_EXPRESSION:
+                        this.expandClassExpression((ClassExpression) operand);
+                        break;
+                    case FINISH_CLASS_EXPRESSION:
+                        this.finishClassExpression((ClassExpression) operand);
+                        break;
+                    case EXPAND_COMPOUND_ASSIGNMENT_EXPRESSION:
+                        this.expandCompoundAssignmentExpression((CompoundAssignmentExpression) operand);
+                        break;
+                    case FINISH_COMPOUND_ASSIGNMENT_EXPRESSION:
+                        this.finishCompoundAssignmentExpression((CompoundAssignmentExpression) operand);
+                        break;
+                    case EXPAND_COMPUTED_MEMBER_ASSIGNMENT_TARGET:
+                        this.expandComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) operand);
+                        break;
+                    case FINISH_COMPUTED_MEMBER_ASSIGNMENT_TARGET:
+                        this.finishComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) operand);
+                        break;
+                    case EXPAND_COMPUTED_MEMBER_EXPRESSION:
+                        this.expandComputedMemberExpression((ComputedMemberExpression) operand);
+                        break;
+                    case FINISH_COMPUTED_MEMBER_EXPRESSION:
+                        this.finishComputedMemberExpression((ComputedMemberExpression) operand);
+                        break;
+                    case EXPAND_COMPUTED_PROPERTY_NAME:
+                        this.expandComputedPropertyName((ComputedPropertyName) operand);
+                        break;
+                    case FINISH_COMPUTED_PROPERTY_NAME:
+                        this.finishComputedPropertyName((ComputedPropertyName) operand);
+                        break;
+                    case EXPAND_CONDITIONAL_EXPRESSION:
+                        this.expandConditionalExpression((ConditionalExpression) operand);
+                        break;
+                    case FINISH_CONDITIONAL_EXPRESSION:
+                        this.finishConditionalExpression((ConditionalExpression) operand);
+                        break;
+                    case FINISH_CONTINUE_STATEMENT:
+                        this.finishContinueStatement((ContinueStatement) operand);
+                        break;
+                    case EXPAND_DATA_PROPERTY:
+                        this.expandDataProperty((DataProperty) operand);
+                        break;
+                    case FINISH_DATA_PROPERTY:
+                        this.finishDataProperty((DataProperty) operand);
+                        break;
+                    case FINISH_DEBUGGER_STATEMENT:
+                        this.finishDebuggerStatement((DebuggerStatement) operand);
+                        break;
+                    case FINISH_DIRECTIVE:
+                        this.finishDirective((Directive) operand);
+                        break;
+                    case EXPAND_DO_WHILE_STATEMENT:
+                        this.expandDoWhileStatement((DoWhileStatement) operand);
+                        break;
+                    case FINISH_DO_WHILE_STATEMENT:
+                        this.finishDoWhileStatement((DoWhileStatement) operand);
+                        break;
+                    case FINISH_EMPTY_STATEMENT:
+                        this.finishEmptyStatement((EmptyStatement) operand);
+                        break;
+                    case EXPAND_EXPORT:
+                        this.expandExport((Export) operand);
+                        break;
+                    case FINISH_EXPORT:
+                        this.finishExport((Export) operand);
+                        break;
+                    case FINISH_EXPORT_ALL_FROM:
+                        this.finishExportAllFrom((ExportAllFrom) operand);
+                        break;
+                    case EXPAND_EXPORT_DEFAULT:
+                        this.expandExportDefault((ExportDefault) operand);
+                        break;
+                    case FINISH_EXPORT_DEFAULT:
+                        this.finishExportDefault((ExportDefault) operand);
+                        break;
+                    case EXPAND_EXPORT_FROM:
+                        this.expandExportFrom((ExportFrom) operand);
+                        break;
+                    case FINISH_EXPORT_FROM:
+                        this.finishExportFrom((ExportFrom) operand);
+                        break;
+                    case FINISH_EXPORT_FROM_SPECIFIER:
+                        this.finishExportFromSpecifier((ExportFromSpecifier) operand);
+                        break;
+                    case EXPAND_EXPORT_LOCAL_SPECIFIER:
+                        this.expandExportLocalSpecifier((ExportLocalSpecifier) operand);
+                        break;
+                    case FINISH_EXPORT_LOCAL_SPECIFIER:
+                        this.finishExportLocalSpecifier((ExportLocalSpecifier) operand);
+                        break;
+                    case EXPAND_EXPORT_LOCALS:
+                        this.expandExportLocals((ExportLocals) operand);
+                        break;
+                    case FINISH_EXPORT_LOCALS:
+                        this.finishExportLocals((ExportLocals) operand);
+                        break;
+                    case EXPAND_EXPRESSION_STATEMENT:
+                        this.expandExpressionStatement((ExpressionStatement) operand);
+                        break;
+                    case FINISH_EXPRESSION_STATEMENT:
+                        this.finishExpressionStatement((ExpressionStatement) operand);
+                        break;
+                    case EXPAND_FOR_AWAIT_STATEMENT:
+                        this.expandForAwaitStatement((ForAwaitStatement) operand);
+                        break;
+                    case FINISH_FOR_AWAIT_STATEMENT:
+                        this.finishForAwaitStatement((ForAwaitStatement) operand);
+                        break;
+                    case EXPAND_FOR_IN_STATEMENT:
+                        this.expandForInStatement((ForInStatement) operand);
+                        break;
+                    case FINISH_FOR_IN_STATEMENT:
+                        this.finishForInStatement((ForInStatement) operand);
+                        break;
+                    case EXPAND_FOR_OF_STATEMENT:
+                        this.expandForOfStatement((ForOfStatement) operand);
+                        break;
+                    case FINISH_FOR_OF_STATEMENT:
+                        this.finishForOfStatement((ForOfStatement) operand);
+                        break;
+                    case EXPAND_FOR_STATEMENT:
+                        this.expandForStatement((ForStatement) operand);
+                        break;
+                    case FINISH_FOR_STATEMENT:
+                        this.finishForStatement((ForStatement) operand);
+                        break;
+                    case EXPAND_FORMAL_PARAMETERS:
+                        this.expandFormalParameters((FormalParameters) operand);
+                        break;
+                    case FINISH_FORMAL_PARAMETERS:
+                        this.finishFormalParameters((FormalParameters) operand);
+                        break;
+                    case EXPAND_FUNCTION_BODY:
+                        this.expandFunctionBody((FunctionBody) operand);
+                        break;
+                    case FINISH_FUNCTION_BODY:
+                        this.finishFunctionBody((FunctionBody) operand);
+                        break;
+                    case EXPAND_FUNCTION_DECLARATION:
+                        this.expandFunctionDeclaration((FunctionDeclaration) operand);
+                        break;
+                    case FINISH_FUNCTION_DECLARATION:
+                        this.finishFunctionDeclaration((FunctionDeclaration) operand);
+                        break;
+                    case EXPAND_FUNCTION_EXPRESSION:
+                        this.expandFunctionExpression((FunctionExpression) operand);
+                        break;
+                    case FINISH_FUNCTION_EXPRESSION:
+                        this.finishFunctionExpression((FunctionExpression) operand);
+                        break;
+                    case EXPAND_GETTER:
+                        this.expandGetter((Getter) operand);
+                        break;
+                    case FINISH_GETTER:
+                        this.finishGetter((Getter) operand);
+                        break;
+                    case FINISH_IDENTIFIER_EXPRESSION:
+                        this.finishIdentifierExpression((IdentifierExpression) operand);
+                        break;
+                    case EXPAND_IF_STATEMENT:
+                        this.expandIfStatement((IfStatement) operand);
+                        break;
+                    case FINISH_IF_STATEMENT:
+                        this.finishIfStatement((IfStatement) operand);
+                        break;
+                    case EXPAND_IMPORT:
+                        this.expandImport((Import) operand);
+                        break;
+                    case FINISH_IMPORT:
+                        this.finishImport((Import) operand);
+                        break;
+                    case EXPAND_IMPORT_NAMESPACE:
+                        this.expandImportNamespace((ImportNamespace) operand);
+                        break;
+                    case FINISH_IMPORT_NAMESPACE:
+                        this.finishImportNamespace((ImportNamespace) operand);
+                        break;
+                    case EXPAND_IMPORT_SPECIFIER:
+                        this.expandImportSpecifier((ImportSpecifier) operand);
+                        break;
+                    case FINISH_IMPORT_SPECIFIER:
+                        this.finishImportSpecifier((ImportSpecifier) operand);
+                        break;
+                    case EXPAND_LABELED_STATEMENT:
+                        this.expandLabeledStatement((LabeledStatement) operand);
+                        break;
+                    case FINISH_LABELED_STATEMENT:
+                        this.finishLabeledStatement((LabeledStatement) operand);
+                        break;
+                    case FINISH_LITERAL_BOOLEAN_EXPRESSION:
+                        this.finishLiteralBooleanExpression((LiteralBooleanExpression) operand);
+                        break;
+                    case FINISH_LITERAL_INFINITY_EXPRESSION:
+                        this.finishLiteralInfinityExpression((LiteralInfinityExpression) operand);
+                        break;
+                    case FINISH_LITERAL_NULL_EXPRESSION:
+                        this.finishLiteralNullExpression((LiteralNullExpression) operand);
+                        break;
+                    case FINISH_LITERAL_NUMERIC_EXPRESSION:
+                        this.finishLiteralNumericExpression((LiteralNumericExpression) operand);
+                        break;
+                    case FINISH_LITERAL_REG_EXP_EXPRESSION:
+                        this.finishLiteralRegExpExpression((LiteralRegExpExpression) operand);
+                        break;
+                    case FINISH_LITERAL_STRING_EXPRESSION:
+                        this.finishLiteralStringExpression((LiteralStringExpression) operand);
+                        break;
+                    case EXPAND_METHOD:
+                        this.expandMethod((Method) operand);
+                        break;
+                    case FINISH_METHOD:
+                        this.finishMethod((Method) operand);
+                        break;
+                    case EXPAND_MODULE:
+                        this.expandModule((Module) operand);
+                        break;
+                    case FINISH_MODULE:
+                        this.finishModule((Module) operand);
+                        break;
+                    case EXPAND_NEW_EXPRESSION:
+                        this.expandNewExpression((NewExpression) operand);
+                        break;
+                    case FINISH_NEW_EXPRESSION:
+                        this.finishNewExpression((NewExpression) operand);
+                        break;
+                    case FINISH_NEW_TARGET_EXPRESSION:
+                        this.finishNewTargetExpression((NewTargetExpression) operand);
+                        break;
+                    case EXPAND_OBJECT_ASSIGNMENT_TARGET:
+                        this.expandObjectAssignmentTarget((ObjectAssignmentTarget) operand);
+                        break;
+                    case FINISH_OBJECT_ASSIGNMENT_TARGET:
+                        this.finishObjectAssignmentTarget((ObjectAssignmentTarget) operand);
+                        break;
+                    case EXPAND_OBJECT_BINDING:
+                        this.expandObjectBinding((ObjectBinding) operand);
+                        break;
+                    case FINISH_OBJECT_BINDING:
+                        this.finishObjectBinding((ObjectBinding) operand);
+                        break;
+                    case EXPAND_OBJECT_EXPRESSION:
+                        this.expandObjectExpression((ObjectExpression) operand);
+                        break;
+                    case FINISH_OBJECT_EXPRESSION:
+                        this.finishObjectExpression((ObjectExpression) operand);
+                        break;
+                    case EXPAND_RETURN_STATEMENT:
+                        this.expandReturnStatement((ReturnStatement) operand);
+                        break;
+                    case FINISH_RETURN_STATEMENT:
+                        this.finishReturnStatement((ReturnStatement) operand);
+                        break;
+                    case EXPAND_SCRIPT:
+                        this.expandScript((Script) operand);
+                        break;
+                    case FINISH_SCRIPT:
+                        this.finishScript((Script) operand);
+                        break;
+                    case EXPAND_SETTER:
+                        this.expandSetter((Setter) operand);
+                        break;
+                    case FINISH_SETTER:
+                        this.finishSetter((Setter) operand);
+                        break;
+                    case EXPAND_SHORTHAND_PROPERTY:
+                        this.expandShorthandProperty((ShorthandProperty) operand);
+                        break;
+                    case FINISH_SHORTHAND_PROPERTY:
+                        this.finishShorthandProperty((ShorthandProperty) operand);
+                        break;
+                    case EXPAND_SPREAD_ELEMENT:
+                        this.expandSpreadElement((SpreadElement) operand);
+                        break;
+                    case FINISH_SPREAD_ELEMENT:
+                        this.finishSpreadElement((SpreadElement) operand);
+                        break;
+                    case EXPAND_SPREAD_PROPERTY:
+                        this.expandSpreadProperty((SpreadProperty) operand);
+                        break;
+                    case FINISH_SPREAD_PROPERTY:
+                        this.finishSpreadProperty((SpreadProperty) operand);
+                        break;
+                    case EXPAND_STATIC_MEMBER_ASSIGNMENT_TARGET:
+                        this.expandStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) operand);
+                        break;
+                    case FINISH_STATIC_MEMBER_ASSIGNMENT_TARGET:
+                        this.finishStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) operand);
+                        break;
+                    case EXPAND_STATIC_MEMBER_EXPRESSION:
+                        this.expandStaticMemberExpression((StaticMemberExpression) operand);
+                        break;
+                    case FINISH_STATIC_MEMBER_EXPRESSION:
+                        this.finishStaticMemberExpression((StaticMemberExpression) operand);
+                        break;
+                    case FINISH_STATIC_PROPERTY_NAME:
+                        this.finishStaticPropertyName((StaticPropertyName) operand);
+                        break;
+                    case FINISH_SUPER:
+                        this.finishSuper((Super) operand);
+                        break;
+                    case EXPAND_SWITCH_CASE:
+                        this.expandSwitchCase((SwitchCase) operand);
+                        break;
+                    case FINISH_SWITCH_CASE:
+                        this.finishSwitchCase((SwitchCase) operand);
+                        break;
+                    case EXPAND_SWITCH_DEFAULT:
+                        this.expandSwitchDefault((SwitchDefault) operand);
+                        break;
+                    case FINISH_SWITCH_DEFAULT:
+                        this.finishSwitchDefault((SwitchDefault) operand);
+                        break;
+                    case EXPAND_SWITCH_STATEMENT:
+                        this.expandSwitchStatement((SwitchStatement) operand);
+                        break;
+                    case FINISH_SWITCH_STATEMENT:
+                        this.finishSwitchStatement((SwitchStatement) operand);
+                        break;
+                    case EXPAND_SWITCH_STATEMENT_WITH_DEFAULT:
+                        this.expandSwitchStatementWithDefault((SwitchStatementWithDefault) operand);
+                        break;
+                    case FINISH_SWITCH_STATEMENT_WITH_DEFAULT:
+                        this.finishSwitchStatementWithDefault((SwitchStatementWithDefault) operand);
+                        break;
+                    case FINISH_TEMPLATE_ELEMENT:
+                        this.finishTemplateElement((TemplateElement) operand);
+                        break;
+                    case EXPAND_TEMPLATE_EXPRESSION:
+                        this.expandTemplateExpression((TemplateExpression) operand);
+                        break;
+                    case FINISH_TEMPLATE_EXPRESSION:
+                        this.finishTemplateExpression((TemplateExpression) operand);
+                        break;
+                    case FINISH_THIS_EXPRESSION:
+                        this.finishThisExpression((ThisExpression) operand);
+                        break;
+                    case EXPAND_THROW_STATEMENT:
+                        this.expandThrowStatement((ThrowStatement) operand);
+                        break;
+                    case FINISH_THROW_STATEMENT:
+                        this.finishThrowStatement((ThrowStatement) operand);
+                        break;
+                    case EXPAND_TRY_CATCH_STATEMENT:
+                        this.expandTryCatchStatement((TryCatchStatement) operand);
+                        break;
+                    case FINISH_TRY_CATCH_STATEMENT:
+                        this.finishTryCatchStatement((TryCatchStatement) operand);
+                        break;
+                    case EXPAND_TRY_FINALLY_STATEMENT:
+                        this.expandTryFinallyStatement((TryFinallyStatement) operand);
+                        break;
+                    case FINISH_TRY_FINALLY_STATEMENT:
+                        this.finishTryFinallyStatement((TryFinallyStatement) operand);
+                        break;
+                    case EXPAND_UNARY_EXPRESSION:
+                        this.expandUnaryExpression((UnaryExpression) operand);
+                        break;
+                    case FINISH_UNARY_EXPRESSION:
+                        this.finishUnaryExpression((UnaryExpression) operand);
+                        break;
+                    case EXPAND_UPDATE_EXPRESSION:
+                        this.expandUpdateExpression((UpdateExpression) operand);
+                        break;
+                    case FINISH_UPDATE_EXPRESSION:
+                        this.finishUpdateExpression((UpdateExpression) operand);
+                        break;
+                    case EXPAND_VARIABLE_DECLARATION:
+                        this.expandVariableDeclaration((VariableDeclaration) operand);
+                        break;
+                    case FINISH_VARIABLE_DECLARATION:
+                        this.finishVariableDeclaration((VariableDeclaration) operand);
+                        break;
+                    case EXPAND_VARIABLE_DECLARATION_STATEMENT:
+                        this.expandVariableDeclarationStatement((VariableDeclarationStatement) operand);
+                        break;
+                    case FINISH_VARIABLE_DECLARATION_STATEMENT:
+                        this.finishVariableDeclarationStatement((VariableDeclarationStatement) operand);
+                        break;
+                    case EXPAND_VARIABLE_DECLARATOR:
+                        this.expandVariableDeclarator((VariableDeclarator) operand);
+                        break;
+                    case FINISH_VARIABLE_DECLARATOR:
+                        this.finishVariableDeclarator((VariableDeclarator) operand);
+                        break;
+                    case EXPAND_WHILE_STATEMENT:
+                        this.expandWhileStatement((WhileStatement) operand);
+                        break;
+                    case FINISH_WHILE_STATEMENT:
+                        this.finishWhileStatement((WhileStatement) operand);
+                        break;
+                    case EXPAND_WITH_STATEMENT:
+                        this.expandWithStatement((WithStatement) operand);
+                        break;
+                    case FINISH_WITH_STATEMENT:
+                        this.finishWithStatement((WithStatement) operand);
+                        break;
+                    case EXPAND_YIELD_EXPRESSION:
+                        this.expandYieldExpression((YieldExpression) operand);
+                        break;
+                    case FINISH_YIELD_EXPRESSION:
+                        this.finishYieldExpression((YieldExpression) operand);
+                        break;
+                    case EXPAND_YIELD_GENERATOR_EXPRESSION:
+                        this.expandYieldGeneratorExpression((YieldGeneratorExpression) operand);
+                        break;
+                    case FINISH_YIELD_GENERATOR_EXPRESSION:
+                        this.finishYieldGeneratorExpression((YieldGeneratorExpression) operand);
+                        break;
+                    case COLLECT_LIST:
+                        this.collectList(((ImmutableList<?>) operand).length, false);
+                        break;
+                    case COLLECT_LIST_MAYBE:
+                        this.collectList(((ImmutableList<?>) operand).length, true);
+                        break;
+                    case NOTHING:
+                        this.pushResult(null);
+                        break;
+                    default:
+                        throw new RuntimeException("Not reached");
+                }
+            }
+            return (State) this.results[0];
+        }
+
+        private void push(int op, Object operand) {
+            if (this.depth == this.ops.length) {
+                this.ops = Arrays.copyOf(this.ops, this.depth * 2);
+                this.operands = Arrays.copyOf(this.operands, this.depth * 2);
+            }
+            this.ops[this.depth] = op;
+            this.operands[this.depth] = operand;
+            ++this.depth;
+        }
+
+        private void pushResult(@Nullable Object result) {
+            if (this.resultCount == this.results.length) {
+                this.results = Arrays.copyOf(this.results, this.resultCount * 2);
+            }
+            this.results[this.resultCount] = result;
+            ++this.resultCount;
+        }
+
+        private void popResults(int base) {
+            for (int i = base; i < this.resultCount; ++i) {
+                this.results[i] = null;
+            }
+            this.resultCount = base;
+        }
+
+        // Reverses the order of the work pushed since the stack was `start` deep.
+        private void reverse(int start) {
+            for (int i = start, j = this.depth - 1; i < j; ++i, --j) {
+                int op = this.ops[i];
+                this.ops[i] = this.ops[j];
+                this.ops[j] = op;
+                Object operand = this.operands[i];
+                this.operands[i] = this.operands[j];
+                this.operands[j] = operand;
+            }
+        }
+
+        // Replaces the last `length` results with a list of them, each wrapped in a Maybe if `maybes`.
+        private void collectList(int length, boolean maybes) {
+            int base = this.resultCount - length;
+            ImmutableList<Object> list = ImmutableList.empty();
+            for (int i = this.resultCount - 1; i >= base; --i) {
+                list = list.cons(maybes ? maybe(this.results[i]) : this.results[i]);
+            }
+            this.popResults(base);
+            this.pushResult(list);
+        }
+
+        @Nonnull
+        private static <T> Maybe<T> maybe(@Nullable Object result) {
+            return result == null ? Maybe.empty() : Maybe.of((T) result);
+        }
+
+        private void visitArrayAssignmentTarget(@Nonnull ArrayAssignmentTarget node) {
+            this.push(EXPAND_ARRAY_ASSIGNMENT_TARGET, node);
+        }
+
+        private void visitArrayBinding(@Nonnull ArrayBinding node) {
+            this.push(EXPAND_ARRAY_BINDING, node);
+        }
+
+        private void visitArrayExpression(@Nonnull ArrayExpression node) {
+            this.push(EXPAND_ARRAY_EXPRESSION, node);
+        }
+
+        private void visitArrowExpression(@Nonnull ArrowExpression node) {
+            this.push(EXPAND_ARROW_EXPRESSION, node);
+        }
+
+        private void visitAssignmentExpression(@Nonnull AssignmentExpression node) {
+            this.push(EXPAND_ASSIGNMENT_EXPRESSION, node);
+        }
+
+        private void visitAssignmentTarget(@Nonnull AssignmentTarget node) {
+            switch (node.type()) {
+                case ArrayAssignmentTarget.TYPE:
+                    this.visitArrayAssignmentTarget((ArrayAssignmentTarget) node);
+                    break;
+                case AssignmentTargetIdentifier.TYPE:
+                    this.visitAssignmentTargetIdentifier((AssignmentTargetIdentifier) node);
+                    break;
+                case ComputedMemberAssignmentTarget.TYPE:
+                    this.visitComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) node);
+                    break;
+                case ObjectAssignmentTarget.TYPE:
+                    this.visitObjectAssignmentTarget((ObjectAssignmentTarget) node);
+                    break;
+                case StaticMemberAssignmentTarget.TYPE:
+                    this.visitStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitAssignmentTargetAssignmentTargetWithDefault(@Nonnull AssignmentTargetAssignmentTargetWithDefault node) {
+            switch (node.type()) {
+                case ArrayAssignmentTarget.TYPE:
+                    this.visitArrayAssignmentTarget((ArrayAssignmentTarget) node);
+                    break;
+                case AssignmentTargetIdentifier.TYPE:
+                    this.visitAssignmentTargetIdentifier((AssignmentTargetIdentifier) node);
+                    break;
+                case AssignmentTargetWithDefault.TYPE:
+                    this.visitAssignmentTargetWithDefault((AssignmentTargetWithDefault) node);
+                    break;
+                case ComputedMemberAssignmentTarget.TYPE:
+                    this.visitComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) node);
+                    break;
+                case ObjectAssignmentTarget.TYPE:
+                    this.visitObjectAssignmentTarget((ObjectAssignmentTarget) node);
+                    break;
+                case StaticMemberAssignmentTarget.TYPE:
+                    this.visitStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitAssignmentTargetIdentifier(@Nonnull AssignmentTargetIdentifier node) {
+            this.push(FINISH_ASSIGNMENT_TARGET_IDENTIFIER, node);
+        }
+
+        private void visitAssignmentTargetPattern(@Nonnull AssignmentTargetPattern node) {
+            switch (node.type()) {
+                case ArrayAssignmentTarget.TYPE:
+                    this.visitArrayAssignmentTarget((ArrayAssignmentTarget) node);
+                    break;
+                case ObjectAssignmentTarget.TYPE:
+                    this.visitObjectAssignmentTarget((ObjectAssignmentTarget) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitAssignmentTargetProperty(@Nonnull AssignmentTargetProperty node) {
+            switch (node.type()) {
+                case AssignmentTargetPropertyIdentifier.TYPE:
+                    this.visitAssignmentTargetPropertyIdentifier((AssignmentTargetPropertyIdentifier) node);
+                    break;
+                case AssignmentTargetPropertyProperty.TYPE:
+                    this.visitAssignmentTargetPropertyProperty((AssignmentTargetPropertyProperty) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitAssignmentTargetPropertyIdentifier(@Nonnull AssignmentTargetPropertyIdentifier node) {
+            this.push(EXPAND_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER, node);
+        }
+
+        private void visitAssignmentTargetPropertyProperty(@Nonnull AssignmentTargetPropertyProperty node) {
+            this.push(EXPAND_ASSIGNMENT_TARGET_PROPERTY_PROPERTY, node);
+        }
+
+        private void visitAssignmentTargetWithDefault(@Nonnull AssignmentTargetWithDefault node) {
+            this.push(EXPAND_ASSIGNMENT_TARGET_WITH_DEFAULT, node);
+        }
+
+        private void visitAwaitExpression(@Nonnull AwaitExpression node) {
+            this.push(EXPAND_AWAIT_EXPRESSION, node);
+        }
+
+        private void visitBinaryExpression(@Nonnull BinaryExpression node) {
+            this.push(EXPAND_BINARY_EXPRESSION, node);
+        }
+
+        private void visitBinding(@Nonnull Binding node) {
+            switch (node.type()) {
+                case ArrayBinding.TYPE:
+                    this.visitArrayBinding((ArrayBinding) node);
+                    break;
+                case BindingIdentifier.TYPE:
+                    this.visitBindingIdentifier((BindingIdentifier) node);
+                    break;
+                case ObjectBinding.TYPE:
+                    this.visitObjectBinding((ObjectBinding) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitBindingBindingWithDefault(@Nonnull BindingBindingWithDefault node) {
+            switch (node.type()) {
+                case ArrayBinding.TYPE:
+                    this.visitArrayBinding((ArrayBinding) node);
+                    break;
+                case BindingIdentifier.TYPE:
+                    this.visitBindingIdentifier((BindingIdentifier) node);
+                    break;
+                case BindingWithDefault.TYPE:
+                    this.visitBindingWithDefault((BindingWithDefault) node);
+                    break;
+                case ObjectBinding.TYPE:
+                    this.visitObjectBinding((ObjectBinding) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitBindingIdentifier(@Nonnull BindingIdentifier node) {
+            this.push(FINISH_BINDING_IDENTIFIER, node);
+        }
+
+        private void visitBindingPattern(@Nonnull BindingPattern node) {
+            switch (node.type()) {
+                case ArrayBinding.TYPE:
+                    this.visitArrayBinding((ArrayBinding) node);
+                    break;
+                case ObjectBinding.TYPE:
+                    this.visitObjectBinding((ObjectBinding) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitBindingProperty(@Nonnull BindingProperty node) {
+            switch (node.type()) {
+                case BindingPropertyIdentifier.TYPE:
+                    this.visitBindingPropertyIdentifier((BindingPropertyIdentifier) node);
+                    break;
+                case BindingPropertyProperty.TYPE:
+                    this.visitBindingPropertyProperty((BindingPropertyProperty) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitBindingPropertyIdentifier(@Nonnull BindingPropertyIdentifier node) {
+            this.push(EXPAND_BINDING_PROPERTY_IDENTIFIER, node);
+        }
+
+        private void visitBindingPropertyProperty(@Nonnull BindingPropertyProperty node) {
+            this.push(EXPAND_BINDING_PROPERTY_PROPERTY, node);
+        }
+
+        private void visitBindingWithDefault(@Nonnull BindingWithDefault node) {
+            this.push(EXPAND_BINDING_WITH_DEFAULT, node);
+        }
+
+        private void visitBlock(@Nonnull Block node) {
+            this.push(EXPAND_BLOCK, node);
+        }
+
+        private void visitBlockStatement(@Nonnull BlockStatement node) {
+            this.push(EXPAND_BLOCK_STATEMENT, node);
+        }
+
+        private void visitBreakStatement(@Nonnull BreakStatement node) {
+            this.push(FINISH_BREAK_STATEMENT, node);
+        }
+
+        private void visitCallExpression(@Nonnull CallExpression node) {
+            this.push(EXPAND_CALL_EXPRESSION, node);
+        }
+
+        private void visitCatchClause(@Nonnull CatchClause node) {
+            this.push(EXPAND_CATCH_CLAUSE, node);
+        }
+
+        private void visitClassDeclaration(@Nonnull ClassDeclaration node) {
+            this.push(EXPAND_CLASS_DECLARATION, node);
+        }
+
+        private void visitClassElement(@Nonnull ClassElement node) {
+            this.push(EXPAND_CLASS_ELEMENT, node);
+        }
+
+        private void visitClassExpression(@Nonnull ClassExpression node) {
+            this.push(EXPAND_CLASS_EXPRESSION, node);
+        }
+
+        private void visitCompoundAssignmentExpression(@Nonnull CompoundAssignmentExpression node) {
+            this.push(EXPAND_COMPOUND_ASSIGNMENT_EXPRESSION, node);
+        }
+
+        private void visitComputedMemberAssignmentTarget(@Nonnull ComputedMemberAssignmentTarget node) {
+            this.push(EXPAND_COMPUTED_MEMBER_ASSIGNMENT_TARGET, node);
+        }
+
+        private void visitComputedMemberExpression(@Nonnull ComputedMemberExpression node) {
+            this.push(EXPAND_COMPUTED_MEMBER_EXPRESSION, node);
+        }
+
+        private void visitComputedPropertyName(@Nonnull ComputedPropertyName node) {
+            this.push(EXPAND_COMPUTED_PROPERTY_NAME, node);
+        }
+
+        private void visitConditionalExpression(@Nonnull ConditionalExpression node) {
+            this.push(EXPAND_CONDITIONAL_EXPRESSION, node);
+        }
+
+        private void visitContinueStatement(@Nonnull ContinueStatement node) {
+            this.push(FINISH_CONTINUE_STATEMENT, node);
+        }
+
+        private void visitDataProperty(@Nonnull DataProperty node) {
+            this.push(EXPAND_DATA_PROPERTY, node);
+        }
+
+        private void visitDebuggerStatement(@Nonnull DebuggerStatement node) {
+            this.push(FINISH_DEBUGGER_STATEMENT, node);
+        }
+
+        private void visitDirective(@Nonnull Directive node) {
+            this.push(FINISH_DIRECTIVE, node);
+        }
+
+        private void visitDoWhileStatement(@Nonnull DoWhileStatement node) {
+            this.push(EXPAND_DO_WHILE_STATEMENT, node);
+        }
+
+        private void visitEmptyStatement(@Nonnull EmptyStatement node) {
+            this.push(FINISH_EMPTY_STATEMENT, node);
+        }
+
+        private void visitExport(@Nonnull Export node) {
+            this.push(EXPAND_EXPORT, node);
+        }
+
+        private void visitExportAllFrom(@Nonnull ExportAllFrom node) {
+            this.push(FINISH_EXPORT_ALL_FROM, node);
+        }
+
+        private void visitExportDeclaration(@Nonnull ExportDeclaration node) {
+            switch (node.type()) {
+                case Export.TYPE:
+                    this.visitExport((Export) node);
+                    break;
+                case ExportAllFrom.TYPE:
+                    this.visitExportAllFrom((ExportAllFrom) node);
+                    break;
+                case ExportDefault.TYPE:
+                    this.visitExportDefault((ExportDefault) node);
+                    break;
+                case ExportFrom.TYPE:
+                    this.visitExportFrom((ExportFrom) node);
+                    break;
+                case ExportLocals.TYPE:
+                    this.visitExportLocals((ExportLocals) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitExportDefault(@Nonnull ExportDefault node) {
+            this.push(EXPAND_EXPORT_DEFAULT, node);
+        }
+
+        private void visitExportFrom(@Nonnull ExportFrom node) {
+            this.push(EXPAND_EXPORT_FROM, node);
+        }
+
+        private void visitExportFromSpecifier(@Nonnull ExportFromSpecifier node) {
+            this.push(FINISH_EXPORT_FROM_SPECIFIER, node);
+        }
+
+        private void visitExportLocalSpecifier(@Nonnull ExportLocalSpecifier node) {
+            this.push(EXPAND_EXPORT_LOCAL_SPECIFIER, node);
+        }
+
+        private void visitExportLocals(@Nonnull ExportLocals node) {
+            this.push(EXPAND_EXPORT_LOCALS, node);
+        }
+
+        private void visitExpression(@Nonnull Expression node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitExpressionStatement(@Nonnull ExpressionStatement node) {
+            this.push(EXPAND_EXPRESSION_STATEMENT, node);
+        }
+
+        private void visitExpressionSuper(@Nonnull ExpressionSuper node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case Super.TYPE:
+                    this.visitSuper((Super) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitExpressionTemplateElement(@Nonnull ExpressionTemplateElement node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateElement.TYPE:
+                    this.visitTemplateElement((TemplateElement) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitForAwaitStatement(@Nonnull ForAwaitStatement node) {
+            this.push(EXPAND_FOR_AWAIT_STATEMENT, node);
+        }
+
+        private void visitForInStatement(@Nonnull ForInStatement node) {
+            this.push(EXPAND_FOR_IN_STATEMENT, node);
+        }
+
+        private void visitForOfStatement(@Nonnull ForOfStatement node) {
+            this.push(EXPAND_FOR_OF_STATEMENT, node);
+        }
+
+        private void visitForStatement(@Nonnull ForStatement node) {
+            this.push(EXPAND_FOR_STATEMENT, node);
+        }
+
+        private void visitFormalParameters(@Nonnull FormalParameters node) {
+            this.push(EXPAND_FORMAL_PARAMETERS, node);
+        }
+
+        private void visitFunctionBody(@Nonnull FunctionBody node) {
+            node = node.resolve();
+            this.push(EXPAND_FUNCTION_BODY, node);
+        }
+
+        private void visitFunctionBodyExpression(@Nonnull FunctionBodyExpression node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionBody.TYPE:
+                    this.visitFunctionBody((FunctionBody) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitFunctionDeclaration(@Nonnull FunctionDeclaration node) {
+            this.push(EXPAND_FUNCTION_DECLARATION, node);
+        }
+
+        private void visitFunctionDeclarationClassDeclarationExpression(@Nonnull FunctionDeclarationClassDeclarationExpression node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassDeclaration.TYPE:
+                    this.visitClassDeclaration((ClassDeclaration) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionDeclaration.TYPE:
+                    this.visitFunctionDeclaration((FunctionDeclaration) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitFunctionDeclarationClassDeclarationVariableDeclaration(@Nonnull FunctionDeclarationClassDeclarationVariableDeclaration node) {
+            switch (node.type()) {
+                case ClassDeclaration.TYPE:
+                    this.visitClassDeclaration((ClassDeclaration) node);
+                    break;
+                case FunctionDeclaration.TYPE:
+                    this.visitFunctionDeclaration((FunctionDeclaration) node);
+                    break;
+                case VariableDeclaration.TYPE:
+                    this.visitVariableDeclaration((VariableDeclaration) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitFunctionExpression(@Nonnull FunctionExpression node) {
+            this.push(EXPAND_FUNCTION_EXPRESSION, node);
+        }
+
+        private void visitGetter(@Nonnull Getter node) {
+            this.push(EXPAND_GETTER, node);
+        }
+
+        private void visitIdentifierExpression(@Nonnull IdentifierExpression node) {
+            this.push(FINISH_IDENTIFIER_EXPRESSION, node);
+        }
+
+        private void visitIfStatement(@Nonnull IfStatement node) {
+            this.push(EXPAND_IF_STATEMENT, node);
+        }
+
+        private void visitImport(@Nonnull Import node) {
+            this.push(EXPAND_IMPORT, node);
+        }
+
+        private void visitImportDeclaration(@Nonnull ImportDeclaration node) {
+            switch (node.type()) {
+                case Import.TYPE:
+                    this.visitImport((Import) node);
+                    break;
+                case ImportNamespace.TYPE:
+                    this.visitImportNamespace((ImportNamespace) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitImportDeclarationExportDeclarationStatement(@Nonnull ImportDeclarationExportDeclarationStatement node) {
+            switch (node.type()) {
+                case BlockStatement.TYPE:
+                    this.visitBlockStatement((BlockStatement) node);
+                    break;
+                case BreakStatement.TYPE:
+                    this.visitBreakStatement((BreakStatement) node);
+                    break;
+                case ClassDeclaration.TYPE:
+                    this.visitClassDeclaration((ClassDeclaration) node);
+                    break;
+                case ContinueStatement.TYPE:
+                    this.visitContinueStatement((ContinueStatement) node);
+                    break;
+                case DebuggerStatement.TYPE:
+                    this.visitDebuggerStatement((DebuggerStatement) node);
+                    break;
+                case DoWhileStatement.TYPE:
+                    this.visitDoWhileStatement((DoWhileStatement) node);
+                    break;
+                case EmptyStatement.TYPE:
+                    this.visitEmptyStatement((EmptyStatement) node);
+                    break;
+                case Export.TYPE:
+                    this.visitExport((Export) node);
+                    break;
+                case ExportAllFrom.TYPE:
+                    this.visitExportAllFrom((ExportAllFrom) node);
+                    break;
+                case ExportDefault.TYPE:
+                    this.visitExportDefault((ExportDefault) node);
+                    break;
+                case ExportFrom.TYPE:
+                    this.visitExportFrom((ExportFrom) node);
+                    break;
+                case ExportLocals.TYPE:
+                    this.visitExportLocals((ExportLocals) node);
+                    break;
+                case ExpressionStatement.TYPE:
+                    this.visitExpressionStatement((ExpressionStatement) node);
+                    break;
+                case ForAwaitStatement.TYPE:
+                    this.visitForAwaitStatement((ForAwaitStatement) node);
+                    break;
+                case ForInStatement.TYPE:
+                    this.visitForInStatement((ForInStatement) node);
+                    break;
+                case ForOfStatement.TYPE:
+                    this.visitForOfStatement((ForOfStatement) node);
+                    break;
+                case ForStatement.TYPE:
+                    this.visitForStatement((ForStatement) node);
+                    break;
+                case FunctionDeclaration.TYPE:
+                    this.visitFunctionDeclaration((FunctionDeclaration) node);
+                    break;
+                case IfStatement.TYPE:
+                    this.visitIfStatement((IfStatement) node);
+                    break;
+                case Import.TYPE:
+                    this.visitImport((Import) node);
+                    break;
+                case ImportNamespace.TYPE:
+                    this.visitImportNamespace((ImportNamespace) node);
+                    break;
+                case LabeledStatement.TYPE:
+                    this.visitLabeledStatement((LabeledStatement) node);
+                    break;
+                case ReturnStatement.TYPE:
+                    this.visitReturnStatement((ReturnStatement) node);
+                    break;
+                case SwitchStatement.TYPE:
+                    this.visitSwitchStatement((SwitchStatement) node);
+                    break;
+                case SwitchStatementWithDefault.TYPE:
+                    this.visitSwitchStatementWithDefault((SwitchStatementWithDefault) node);
+                    break;
+                case ThrowStatement.TYPE:
+                    this.visitThrowStatement((ThrowStatement) node);
+                    break;
+                case TryCatchStatement.TYPE:
+                    this.visitTryCatchStatement((TryCatchStatement) node);
+                    break;
+                case TryFinallyStatement.TYPE:
+                    this.visitTryFinallyStatement((TryFinallyStatement) node);
+                    break;
+                case VariableDeclarationStatement.TYPE:
+                    this.visitVariableDeclarationStatement((VariableDeclarationStatement) node);
+                    break;
+                case WhileStatement.TYPE:
+                    this.visitWhileStatement((WhileStatement) node);
+                    break;
+                case WithStatement.TYPE:
+                    this.visitWithStatement((WithStatement) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitImportNamespace(@Nonnull ImportNamespace node) {
+            this.push(EXPAND_IMPORT_NAMESPACE, node);
+        }
+
+        private void visitImportSpecifier(@Nonnull ImportSpecifier node) {
+            this.push(EXPAND_IMPORT_SPECIFIER, node);
+        }
+
+        private void visitIterationStatement(@Nonnull IterationStatement node) {
+            switch (node.type()) {
+                case DoWhileStatement.TYPE:
+                    this.visitDoWhileStatement((DoWhileStatement) node);
+                    break;
+                case ForAwaitStatement.TYPE:
+                    this.visitForAwaitStatement((ForAwaitStatement) node);
+                    break;
+                case ForInStatement.TYPE:
+                    this.visitForInStatement((ForInStatement) node);
+                    break;
+                case ForOfStatement.TYPE:
+                    this.visitForOfStatement((ForOfStatement) node);
+                    break;
+                case ForStatement.TYPE:
+                    this.visitForStatement((ForStatement) node);
+                    break;
+                case WhileStatement.TYPE:
+                    this.visitWhileStatement((WhileStatement) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitLabeledStatement(@Nonnull LabeledStatement node) {
+            this.push(EXPAND_LABELED_STATEMENT, node);
+        }
+
+        private void visitListAssignmentTargetProperty(@Nonnull ImmutableList<AssignmentTargetProperty> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (AssignmentTargetProperty element : list) {
+                this.visitAssignmentTargetProperty(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListBindingProperty(@Nonnull ImmutableList<BindingProperty> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (BindingProperty element : list) {
+                this.visitBindingProperty(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListClassElement(@Nonnull ImmutableList<ClassElement> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ClassElement element : list) {
+                this.visitClassElement(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListDirective(@Nonnull ImmutableList<Directive> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (Directive element : list) {
+                this.visitDirective(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListExportFromSpecifier(@Nonnull ImmutableList<ExportFromSpecifier> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ExportFromSpecifier element : list) {
+                this.visitExportFromSpecifier(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListExportLocalSpecifier(@Nonnull ImmutableList<ExportLocalSpecifier> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ExportLocalSpecifier element : list) {
+                this.visitExportLocalSpecifier(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListExpressionTemplateElement(@Nonnull ImmutableList<ExpressionTemplateElement> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ExpressionTemplateElement element : list) {
+                this.visitExpressionTemplateElement(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListImportDeclarationExportDeclarationStatement(@Nonnull ImmutableList<ImportDeclarationExportDeclarationStatement> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ImportDeclarationExportDeclarationStatement element : list) {
+                this.visitImportDeclarationExportDeclarationStatement(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListImportSpecifier(@Nonnull ImmutableList<ImportSpecifier> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ImportSpecifier element : list) {
+                this.visitImportSpecifier(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListMaybeAssignmentTargetAssignmentTargetWithDefault(@Nonnull ImmutableList<Maybe<AssignmentTargetAssignmentTargetWithDefault>> list) {
+            this.push(COLLECT_LIST_MAYBE, list);
+            int start = this.depth;
+            for (Maybe<AssignmentTargetAssignmentTargetWithDefault> element : list) {
+                this.visitMaybeAssignmentTargetAssignmentTargetWithDefault(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListMaybeBindingBindingWithDefault(@Nonnull ImmutableList<Maybe<BindingBindingWithDefault>> list) {
+            this.push(COLLECT_LIST_MAYBE, list);
+            int start = this.depth;
+            for (Maybe<BindingBindingWithDefault> element : list) {
+                this.visitMaybeBindingBindingWithDefault(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListMaybeSpreadElementExpression(@Nonnull ImmutableList<Maybe<SpreadElementExpression>> list) {
+            this.push(COLLECT_LIST_MAYBE, list);
+            int start = this.depth;
+            for (Maybe<SpreadElementExpression> element : list) {
+                this.visitMaybeSpreadElementExpression(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListObjectProperty(@Nonnull ImmutableList<ObjectProperty> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (ObjectProperty element : list) {
+                this.visitObjectProperty(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListParameter(@Nonnull ImmutableList<Parameter> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (Parameter element : list) {
+                this.visitParameter(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListSpreadElementExpression(@Nonnull ImmutableList<SpreadElementExpression> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (SpreadElementExpression element : list) {
+                this.visitSpreadElementExpression(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListStatement(@Nonnull ImmutableList<Statement> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (Statement element : list) {
+                this.visitStatement(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListSwitchCase(@Nonnull ImmutableList<SwitchCase> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (SwitchCase element : list) {
+                this.visitSwitchCase(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitListVariableDeclarator(@Nonnull ImmutableList<VariableDeclarator> list) {
+            this.push(COLLECT_LIST, list);
+            int start = this.depth;
+            for (VariableDeclarator element : list) {
+                this.visitVariableDeclarator(element);
+            }
+            this.reverse(start);
+        }
+
+        private void visitLiteralBooleanExpression(@Nonnull LiteralBooleanExpression node) {
+            this.push(FINISH_LITERAL_BOOLEAN_EXPRESSION, node);
+        }
+
+        private void visitLiteralInfinityExpression(@Nonnull LiteralInfinityExpression node) {
+            this.push(FINISH_LITERAL_INFINITY_EXPRESSION, node);
+        }
+
+        private void visitLiteralNullExpression(@Nonnull LiteralNullExpression node) {
+            this.push(FINISH_LITERAL_NULL_EXPRESSION, node);
+        }
+
+        private void visitLiteralNumericExpression(@Nonnull LiteralNumericExpression node) {
+            this.push(FINISH_LITERAL_NUMERIC_EXPRESSION, node);
+        }
+
+        private void visitLiteralRegExpExpression(@Nonnull LiteralRegExpExpression node) {
+            this.push(FINISH_LITERAL_REG_EXP_EXPRESSION, node);
+        }
+
+        private void visitLiteralStringExpression(@Nonnull LiteralStringExpression node) {
+            this.push(FINISH_LITERAL_STRING_EXPRESSION, node);
+        }
+
+        private void visitMaybeAssignmentTarget(@Nonnull Maybe<AssignmentTarget> maybe) {
+            if (maybe.isJust()) {
+                this.visitAssignmentTarget(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeAssignmentTargetAssignmentTargetWithDefault(@Nonnull Maybe<AssignmentTargetAssignmentTargetWithDefault> maybe) {
+            if (maybe.isJust()) {
+                this.visitAssignmentTargetAssignmentTargetWithDefault(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeBinding(@Nonnull Maybe<Binding> maybe) {
+            if (maybe.isJust()) {
+                this.visitBinding(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeBindingBindingWithDefault(@Nonnull Maybe<BindingBindingWithDefault> maybe) {
+            if (maybe.isJust()) {
+                this.visitBindingBindingWithDefault(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeBindingIdentifier(@Nonnull Maybe<BindingIdentifier> maybe) {
+            if (maybe.isJust()) {
+                this.visitBindingIdentifier(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeCatchClause(@Nonnull Maybe<CatchClause> maybe) {
+            if (maybe.isJust()) {
+                this.visitCatchClause(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeExpression(@Nonnull Maybe<Expression> maybe) {
+            if (maybe.isJust()) {
+                this.visitExpression(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeSpreadElementExpression(@Nonnull Maybe<SpreadElementExpression> maybe) {
+            if (maybe.isJust()) {
+                this.visitSpreadElementExpression(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeStatement(@Nonnull Maybe<Statement> maybe) {
+            if (maybe.isJust()) {
+                this.visitStatement(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMaybeVariableDeclarationExpression(@Nonnull Maybe<VariableDeclarationExpression> maybe) {
+            if (maybe.isJust()) {
+                this.visitVariableDeclarationExpression(maybe.fromJust());
+            } else {
+                this.push(NOTHING, null);
+            }
+        }
+
+        private void visitMemberAssignmentTarget(@Nonnull MemberAssignmentTarget node) {
+            switch (node.type()) {
+                case ComputedMemberAssignmentTarget.TYPE:
+                    this.visitComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) node);
+                    break;
+                case StaticMemberAssignmentTarget.TYPE:
+                    this.visitStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitMemberExpression(@Nonnull MemberExpression node) {
+            switch (node.type()) {
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitMethod(@Nonnull Method node) {
+            this.push(EXPAND_METHOD, node);
+        }
+
+        private void visitMethodDefinition(@Nonnull MethodDefinition node) {
+            switch (node.type()) {
+                case Getter.TYPE:
+                    this.visitGetter((Getter) node);
+                    break;
+                case Method.TYPE:
+                    this.visitMethod((Method) node);
+                    break;
+                case Setter.TYPE:
+                    this.visitSetter((Setter) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitModule(@Nonnull Module node) {
+            this.push(EXPAND_MODULE, node);
+        }
+
+        private void visitNamedObjectProperty(@Nonnull NamedObjectProperty node) {
+            switch (node.type()) {
+                case DataProperty.TYPE:
+                    this.visitDataProperty((DataProperty) node);
+                    break;
+                case Getter.TYPE:
+                    this.visitGetter((Getter) node);
+                    break;
+                case Method.TYPE:
+                    this.visitMethod((Method) node);
+                    break;
+                case Setter.TYPE:
+                    this.visitSetter((Setter) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitNewExpression(@Nonnull NewExpression node) {
+            this.push(EXPAND_NEW_EXPRESSION, node);
+        }
+
+        private void visitNewTargetExpression(@Nonnull NewTargetExpression node) {
+            this.push(FINISH_NEW_TARGET_EXPRESSION, node);
+        }
+
+        private void visitObjectAssignmentTarget(@Nonnull ObjectAssignmentTarget node) {
+            this.push(EXPAND_OBJECT_ASSIGNMENT_TARGET, node);
+        }
+
+        private void visitObjectBinding(@Nonnull ObjectBinding node) {
+            this.push(EXPAND_OBJECT_BINDING, node);
+        }
+
+        private void visitObjectExpression(@Nonnull ObjectExpression node) {
+            this.push(EXPAND_OBJECT_EXPRESSION, node);
+        }
+
+        private void visitObjectProperty(@Nonnull ObjectProperty node) {
+            switch (node.type()) {
+                case DataProperty.TYPE:
+                    this.visitDataProperty((DataProperty) node);
+                    break;
+                case Getter.TYPE:
+                    this.visitGetter((Getter) node);
+                    break;
+                case Method.TYPE:
+                    this.visitMethod((Method) node);
+                    break;
+                case Setter.TYPE:
+                    this.visitSetter((Setter) node);
+                    break;
+                case ShorthandProperty.TYPE:
+                    this.visitShorthandProperty((ShorthandProperty) node);
+                    break;
+                case SpreadProperty.TYPE:
+                    this.visitSpreadProperty((SpreadProperty) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitParameter(@Nonnull Parameter node) {
+            switch (node.type()) {
+                case ArrayBinding.TYPE:
+                    this.visitArrayBinding((ArrayBinding) node);
+                    break;
+                case BindingIdentifier.TYPE:
+                    this.visitBindingIdentifier((BindingIdentifier) node);
+                    break;
+                case BindingWithDefault.TYPE:
+                    this.visitBindingWithDefault((BindingWithDefault) node);
+                    break;
+                case ObjectBinding.TYPE:
+                    this.visitObjectBinding((ObjectBinding) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitProgram(@Nonnull Program node) {
+            switch (node.type()) {
+                case Module.TYPE:
+                    this.visitModule((Module) node);
+                    break;
+                case Script.TYPE:
+                    this.visitScript((Script) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitPropertyName(@Nonnull PropertyName node) {
+            switch (node.type()) {
+                case ComputedPropertyName.TYPE:
+                    this.visitComputedPropertyName((ComputedPropertyName) node);
+                    break;
+                case StaticPropertyName.TYPE:
+                    this.visitStaticPropertyName((StaticPropertyName) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitReturnStatement(@Nonnull ReturnStatement node) {
+            this.push(EXPAND_RETURN_STATEMENT, node);
+        }
+
+        private void visitScript(@Nonnull Script node) {
+            this.push(EXPAND_SCRIPT, node);
+        }
+
+        private void visitSetter(@Nonnull Setter node) {
+            this.push(EXPAND_SETTER, node);
+        }
+
+        private void visitShorthandProperty(@Nonnull ShorthandProperty node) {
+            this.push(EXPAND_SHORTHAND_PROPERTY, node);
+        }
+
+        private void visitSimpleAssignmentTarget(@Nonnull SimpleAssignmentTarget node) {
+            switch (node.type()) {
+                case AssignmentTargetIdentifier.TYPE:
+                    this.visitAssignmentTargetIdentifier((AssignmentTargetIdentifier) node);
+                    break;
+                case ComputedMemberAssignmentTarget.TYPE:
+                    this.visitComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) node);
+                    break;
+                case StaticMemberAssignmentTarget.TYPE:
+                    this.visitStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitSpreadElement(@Nonnull SpreadElement node) {
+            this.push(EXPAND_SPREAD_ELEMENT, node);
+        }
+
+        private void visitSpreadElementExpression(@Nonnull SpreadElementExpression node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case SpreadElement.TYPE:
+                    this.visitSpreadElement((SpreadElement) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitSpreadProperty(@Nonnull SpreadProperty node) {
+            this.push(EXPAND_SPREAD_PROPERTY, node);
+        }
+
+        private void visitStatement(@Nonnull Statement node) {
+            switch (node.type()) {
+                case BlockStatement.TYPE:
+                    this.visitBlockStatement((BlockStatement) node);
+                    break;
+                case BreakStatement.TYPE:
+                    this.visitBreakStatement((BreakStatement) node);
+                    break;
+                case ClassDeclaration.TYPE:
+                    this.visitClassDeclaration((ClassDeclaration) node);
+                    break;
+                case ContinueStatement.TYPE:
+                    this.visitContinueStatement((ContinueStatement) node);
+                    break;
+                case DebuggerStatement.TYPE:
+                    this.visitDebuggerStatement((DebuggerStatement) node);
+                    break;
+                case DoWhileStatement.TYPE:
+                    this.visitDoWhileStatement((DoWhileStatement) node);
+                    break;
+                case EmptyStatement.TYPE:
+                    this.visitEmptyStatement((EmptyStatement) node);
+                    break;
+                case ExpressionStatement.TYPE:
+                    this.visitExpressionStatement((ExpressionStatement) node);
+                    break;
+                case ForAwaitStatement.TYPE:
+                    this.visitForAwaitStatement((ForAwaitStatement) node);
+                    break;
+                case ForInStatement.TYPE:
+                    this.visitForInStatement((ForInStatement) node);
+                    break;
+                case ForOfStatement.TYPE:
+                    this.visitForOfStatement((ForOfStatement) node);
+                    break;
+                case ForStatement.TYPE:
+                    this.visitForStatement((ForStatement) node);
+                    break;
+                case FunctionDeclaration.TYPE:
+                    this.visitFunctionDeclaration((FunctionDeclaration) node);
+                    break;
+                case IfStatement.TYPE:
+                    this.visitIfStatement((IfStatement) node);
+                    break;
+                case LabeledStatement.TYPE:
+                    this.visitLabeledStatement((LabeledStatement) node);
+                    break;
+                case ReturnStatement.TYPE:
+                    this.visitReturnStatement((ReturnStatement) node);
+                    break;
+                case SwitchStatement.TYPE:
+                    this.visitSwitchStatement((SwitchStatement) node);
+                    break;
+                case SwitchStatementWithDefault.TYPE:
+                    this.visitSwitchStatementWithDefault((SwitchStatementWithDefault) node);
+                    break;
+                case ThrowStatement.TYPE:
+                    this.visitThrowStatement((ThrowStatement) node);
+                    break;
+                case TryCatchStatement.TYPE:
+                    this.visitTryCatchStatement((TryCatchStatement) node);
+                    break;
+                case TryFinallyStatement.TYPE:
+                    this.visitTryFinallyStatement((TryFinallyStatement) node);
+                    break;
+                case VariableDeclarationStatement.TYPE:
+                    this.visitVariableDeclarationStatement((VariableDeclarationStatement) node);
+                    break;
+                case WhileStatement.TYPE:
+                    this.visitWhileStatement((WhileStatement) node);
+                    break;
+                case WithStatement.TYPE:
+                    this.visitWithStatement((WithStatement) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitStaticMemberAssignmentTarget(@Nonnull StaticMemberAssignmentTarget node) {
+            this.push(EXPAND_STATIC_MEMBER_ASSIGNMENT_TARGET, node);
+        }
+
+        private void visitStaticMemberExpression(@Nonnull StaticMemberExpression node) {
+            this.push(EXPAND_STATIC_MEMBER_EXPRESSION, node);
+        }
+
+        private void visitStaticPropertyName(@Nonnull StaticPropertyName node) {
+            this.push(FINISH_STATIC_PROPERTY_NAME, node);
+        }
+
+        private void visitSuper(@Nonnull Super node) {
+            this.push(FINISH_SUPER, node);
+        }
+
+        private void visitSwitchCase(@Nonnull SwitchCase node) {
+            this.push(EXPAND_SWITCH_CASE, node);
+        }
+
+        private void visitSwitchDefault(@Nonnull SwitchDefault node) {
+            this.push(EXPAND_SWITCH_DEFAULT, node);
+        }
+
+        private void visitSwitchStatement(@Nonnull SwitchStatement node) {
+            this.push(EXPAND_SWITCH_STATEMENT, node);
+        }
+
+        private void visitSwitchStatementWithDefault(@Nonnull SwitchStatementWithDefault node) {
+            this.push(EXPAND_SWITCH_STATEMENT_WITH_DEFAULT, node);
+        }
+
+        private void visitTemplateElement(@Nonnull TemplateElement node) {
+            this.push(FINISH_TEMPLATE_ELEMENT, node);
+        }
+
+        private void visitTemplateExpression(@Nonnull TemplateExpression node) {
+            this.push(EXPAND_TEMPLATE_EXPRESSION, node);
+        }
+
+        private void visitThisExpression(@Nonnull ThisExpression node) {
+            this.push(FINISH_THIS_EXPRESSION, node);
+        }
+
+        private void visitThrowStatement(@Nonnull ThrowStatement node) {
+            this.push(EXPAND_THROW_STATEMENT, node);
+        }
+
+        private void visitTryCatchStatement(@Nonnull TryCatchStatement node) {
+            this.push(EXPAND_TRY_CATCH_STATEMENT, node);
+        }
+
+        private void visitTryFinallyStatement(@Nonnull TryFinallyStatement node) {
+            this.push(EXPAND_TRY_FINALLY_STATEMENT, node);
+        }
+
+        private void visitUnaryExpression(@Nonnull UnaryExpression node) {
+            this.push(EXPAND_UNARY_EXPRESSION, node);
+        }
+
+        private void visitUpdateExpression(@Nonnull UpdateExpression node) {
+            this.push(EXPAND_UPDATE_EXPRESSION, node);
+        }
+
+        private void visitVariableDeclaration(@Nonnull VariableDeclaration node) {
+            this.push(EXPAND_VARIABLE_DECLARATION, node);
+        }
+
+        private void visitVariableDeclarationAssignmentTarget(@Nonnull VariableDeclarationAssignmentTarget node) {
+            switch (node.type()) {
+                case ArrayAssignmentTarget.TYPE:
+                    this.visitArrayAssignmentTarget((ArrayAssignmentTarget) node);
+                    break;
+                case AssignmentTargetIdentifier.TYPE:
+                    this.visitAssignmentTargetIdentifier((AssignmentTargetIdentifier) node);
+                    break;
+                case ComputedMemberAssignmentTarget.TYPE:
+                    this.visitComputedMemberAssignmentTarget((ComputedMemberAssignmentTarget) node);
+                    break;
+                case ObjectAssignmentTarget.TYPE:
+                    this.visitObjectAssignmentTarget((ObjectAssignmentTarget) node);
+                    break;
+                case StaticMemberAssignmentTarget.TYPE:
+                    this.visitStaticMemberAssignmentTarget((StaticMemberAssignmentTarget) node);
+                    break;
+                case VariableDeclaration.TYPE:
+                    this.visitVariableDeclaration((VariableDeclaration) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitVariableDeclarationExpression(@Nonnull VariableDeclarationExpression node) {
+            switch (node.type()) {
+                case ArrayExpression.TYPE:
+                    this.visitArrayExpression((ArrayExpression) node);
+                    break;
+                case ArrowExpression.TYPE:
+                    this.visitArrowExpression((ArrowExpression) node);
+                    break;
+                case AssignmentExpression.TYPE:
+                    this.visitAssignmentExpression((AssignmentExpression) node);
+                    break;
+                case AwaitExpression.TYPE:
+                    this.visitAwaitExpression((AwaitExpression) node);
+                    break;
+                case BinaryExpression.TYPE:
+                    this.visitBinaryExpression((BinaryExpression) node);
+                    break;
+                case CallExpression.TYPE:
+                    this.visitCallExpression((CallExpression) node);
+                    break;
+                case ClassExpression.TYPE:
+                    this.visitClassExpression((ClassExpression) node);
+                    break;
+                case CompoundAssignmentExpression.TYPE:
+                    this.visitCompoundAssignmentExpression((CompoundAssignmentExpression) node);
+                    break;
+                case ComputedMemberExpression.TYPE:
+                    this.visitComputedMemberExpression((ComputedMemberExpression) node);
+                    break;
+                case ConditionalExpression.TYPE:
+                    this.visitConditionalExpression((ConditionalExpression) node);
+                    break;
+                case FunctionExpression.TYPE:
+                    this.visitFunctionExpression((FunctionExpression) node);
+                    break;
+                case IdentifierExpression.TYPE:
+                    this.visitIdentifierExpression((IdentifierExpression) node);
+                    break;
+                case LiteralBooleanExpression.TYPE:
+                    this.visitLiteralBooleanExpression((LiteralBooleanExpression) node);
+                    break;
+                case LiteralInfinityExpression.TYPE:
+                    this.visitLiteralInfinityExpression((LiteralInfinityExpression) node);
+                    break;
+                case LiteralNullExpression.TYPE:
+                    this.visitLiteralNullExpression((LiteralNullExpression) node);
+                    break;
+                case LiteralNumericExpression.TYPE:
+                    this.visitLiteralNumericExpression((LiteralNumericExpression) node);
+                    break;
+                case LiteralRegExpExpression.TYPE:
+                    this.visitLiteralRegExpExpression((LiteralRegExpExpression) node);
+                    break;
+                case LiteralStringExpression.TYPE:
+                    this.visitLiteralStringExpression((LiteralStringExpression) node);
+                    break;
+                case NewExpression.TYPE:
+                    this.visitNewExpression((NewExpression) node);
+                    break;
+                case NewTargetExpression.TYPE:
+                    this.visitNewTargetExpression((NewTargetExpression) node);
+                    break;
+                case ObjectExpression.TYPE:
+                    this.visitObjectExpression((ObjectExpression) node);
+                    break;
+                case StaticMemberExpression.TYPE:
+                    this.visitStaticMemberExpression((StaticMemberExpression) node);
+                    break;
+                case TemplateExpression.TYPE:
+                    this.visitTemplateExpression((TemplateExpression) node);
+                    break;
+                case ThisExpression.TYPE:
+                    this.visitThisExpression((ThisExpression) node);
+                    break;
+                case UnaryExpression.TYPE:
+                    this.visitUnaryExpression((UnaryExpression) node);
+                    break;
+                case UpdateExpression.TYPE:
+                    this.visitUpdateExpression((UpdateExpression) node);
+                    break;
+                case VariableDeclaration.TYPE:
+                    this.visitVariableDeclaration((VariableDeclaration) node);
+                    break;
+                case YieldExpression.TYPE:
+                    this.visitYieldExpression((YieldExpression) node);
+                    break;
+                case YieldGeneratorExpression.TYPE:
+                    this.visitYieldGeneratorExpression((YieldGeneratorExpression) node);
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+        }
+
+        private void visitVariableDeclarationStatement(@Nonnull VariableDeclarationStatement node) {
+            this.push(EXPAND_VARIABLE_DECLARATION_STATEMENT, node);
+        }
+
+        private void visitVariableDeclarator(@Nonnull VariableDeclarator node) {
+            this.push(EXPAND_VARIABLE_DECLARATOR, node);
+        }
+
+        private void visitWhileStatement(@Nonnull WhileStatement node) {
+            this.push(EXPAND_WHILE_STATEMENT, node);
+        }
+
+        private void visitWithStatement(@Nonnull WithStatement node) {
+            this.push(EXPAND_WITH_STATEMENT, node);
+        }
+
+        private void visitYieldExpression(@Nonnull YieldExpression node) {
+            this.push(EXPAND_YIELD_EXPRESSION, node);
+        }
+
+        private void visitYieldGeneratorExpression(@Nonnull YieldGeneratorExpression node) {
+            this.push(EXPAND_YIELD_GENERATOR_EXPRESSION, node);
+        }
+
+        private void expandArrayAssignmentTarget(@Nonnull ArrayAssignmentTarget node) {
+            this.push(FINISH_ARRAY_ASSIGNMENT_TARGET, node);
+            this.visitMaybeAssignmentTarget(node.rest);
+            this.visitListMaybeAssignmentTargetAssignmentTargetWithDefault(node.elements);
+        }
+
+        private void expandArrayBinding(@Nonnull ArrayBinding node) {
+            this.push(FINISH_ARRAY_BINDING, node);
+            this.visitMaybeBinding(node.rest);
+            this.visitListMaybeBindingBindingWithDefault(node.elements);
+        }
+
+        private void expandArrayExpression(@Nonnull ArrayExpression node) {
+            this.push(FINISH_ARRAY_EXPRESSION, node);
+            this.visitListMaybeSpreadElementExpression(node.elements);
+        }
+
+        private void expandArrowExpression(@Nonnull ArrowExpression node) {
+            this.push(FINISH_ARROW_EXPRESSION, node);
+            this.visitFunctionBodyExpression(node.body);
+            this.visitFormalParameters(node.params);
+        }
+
+        private void expandAssignmentExpression(@Nonnull AssignmentExpression node) {
+            this.push(FINISH_ASSIGNMENT_EXPRESSION, node);
+            this.visitExpression(node.expression);
+            this.visitAssignmentTarget(node.binding);
+        }
+
+        private void expandAssignmentTargetPropertyIdentifier(@Nonnull AssignmentTargetPropertyIdentifier node) {
+            this.push(FINISH_ASSIGNMENT_TARGET_PROPERTY_IDENTIFIER, node);
+            this.visitMaybeExpression(node.init);
+            this.visitAssignmentTargetIdentifier(node.binding);
+        }
+
+        private void expandAssignmentTargetPropertyProperty(@Nonnull AssignmentTargetPropertyProperty node) {
+            this.push(FINISH_ASSIGNMENT_TARGET_PROPERTY_PROPERTY, node);
+            this.visitAssignmentTargetAssignmentTargetWithDefault(node.binding);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandAssignmentTargetWithDefault(@Nonnull AssignmentTargetWithDefault node) {
+            this.push(FINISH_ASSIGNMENT_TARGET_WITH_DEFAULT, node);
+            this.visitExpression(node.init);
+            this.visitAssignmentTarget(node.binding);
+        }
+
+        private void expandAwaitExpression(@Nonnull AwaitExpression node) {
+            this.push(FINISH_AWAIT_EXPRESSION, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandBinaryExpression(@Nonnull BinaryExpression node) {
+            this.push(FINISH_BINARY_EXPRESSION, node);
+            this.visitExpression(node.right);
+            this.visitExpression(node.left);
+        }
+
+        private void expandBindingPropertyIdentifier(@Nonnull BindingPropertyIdentifier node) {
+            this.push(FINISH_BINDING_PROPERTY_IDENTIFIER, node);
+            this.visitMaybeExpression(node.init);
+            this.visitBindingIdentifier(node.binding);
+        }
+
+        private void expandBindingPropertyProperty(@Nonnull BindingPropertyProperty node) {
+            this.push(FINISH_BINDING_PROPERTY_PROPERTY, node);
+            this.visitBindingBindingWithDefault(node.binding);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandBindingWithDefault(@Nonnull BindingWithDefault node) {
+            this.push(FINISH_BINDING_WITH_DEFAULT, node);
+            this.visitExpression(node.init);
+            this.visitBinding(node.binding);
+        }
+
+        private void expandBlock(@Nonnull Block node) {
+            this.push(FINISH_BLOCK, node);
+            this.visitListStatement(node.statements);
+        }
+
+        private void expandBlockStatement(@Nonnull BlockStatement node) {
+            this.push(FINISH_BLOCK_STATEMENT, node);
+            this.visitBlock(node.block);
+        }
+
+        private void expandCallExpression(@Nonnull CallExpression node) {
+            this.push(FINISH_CALL_EXPRESSION, node);
+            this.visitListSpreadElementExpression(node.arguments);
+            this.visitExpressionSuper(node.callee);
+        }
+
+        private void expandCatchClause(@Nonnull CatchClause node) {
+            this.push(FINISH_CATCH_CLAUSE, node);
+            this.visitBlock(node.body);
+            this.visitBinding(node.binding);
+        }
+
+        private void expandClassDeclaration(@Nonnull ClassDeclaration node) {
+            this.push(FINISH_CLASS_DECLARATION, node);
+            this.visitListClassElement(node.elements);
+            this.visitMaybeExpression(node._super);
+            this.visitBindingIdentifier(node.name);
+        }
+
+        private void expandClassElement(@Nonnull ClassElement node) {
+            this.push(FINISH_CLASS_ELEMENT, node);
+            this.visitMethodDefinition(node.method);
+        }
+
+        private void expandClassExpression(@Nonnull ClassExpression node) {
+            this.push(FINISH_CLASS_EXPRESSION, node);
+            this.visitListClassElement(node.elements);
+            this.visitMaybeExpression(node._super);
+            this.visitMaybeBindingIdentifier(node.name);
+        }
+
+        private void expandCompoundAssignmentExpression(@Nonnull CompoundAssignmentExpression node) {
+            this.push(FINISH_COMPOUND_ASSIGNMENT_EXPRESSION, node);
+            this.visitExpression(node.expression);
+            this.visitSimpleAssignmentTarget(node.binding);
+        }
+
+        private void expandComputedMemberAssignmentTarget(@Nonnull ComputedMemberAssignmentTarget node) {
+            this.push(FINISH_COMPUTED_MEMBER_ASSIGNMENT_TARGET, node);
+            this.visitExpression(node.expression);
+            this.visitExpressionSuper(node.object);
+        }
+
+        private void expandComputedMemberExpression(@Nonnull ComputedMemberExpression node) {
+            this.push(FINISH_COMPUTED_MEMBER_EXPRESSION, node);
+            this.visitExpression(node.expression);
+            this.visitExpressionSuper(node.object);
+        }
+
+        private void expandComputedPropertyName(@Nonnull ComputedPropertyName node) {
+            this.push(FINISH_COMPUTED_PROPERTY_NAME, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandConditionalExpression(@Nonnull ConditionalExpression node) {
+            this.push(FINISH_CONDITIONAL_EXPRESSION, node);
+            this.visitExpression(node.alternate);
+            this.visitExpression(node.consequent);
+            this.visitExpression(node.test);
+        }
+
+        private void expandDataProperty(@Nonnull DataProperty node) {
+            this.push(FINISH_DATA_PROPERTY, node);
+            this.visitExpression(node.expression);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandDoWhileStatement(@Nonnull DoWhileStatement node) {
+            this.push(FINISH_DO_WHILE_STATEMENT, node);
+            this.visitExpression(node.test);
+            this.visitStatement(node.body);
+        }
+
+        private void expandExport(@Nonnull Export node) {
+            this.push(FINISH_EXPORT, node);
+            this.visitFunctionDeclarationClassDeclarationVariableDeclaration(node.declaration);
+        }
+
+        private void expandExportDefault(@Nonnull ExportDefault node) {
+            this.push(FINISH_EXPORT_DEFAULT, node);
+            this.visitFunctionDeclarationClassDeclarationExpression(node.body);
+        }
+
+        private void expandExportFrom(@Nonnull ExportFrom node) {
+            this.push(FINISH_EXPORT_FROM, node);
+            this.visitListExportFromSpecifier(node.namedExports);
+        }
+
+        private void expandExportLocalSpecifier(@Nonnull ExportLocalSpecifier node) {
+            this.push(FINISH_EXPORT_LOCAL_SPECIFIER, node);
+            this.visitIdentifierExpression(node.name);
+        }
+
+        private void expandExportLocals(@Nonnull ExportLocals node) {
+            this.push(FINISH_EXPORT_LOCALS, node);
+            this.visitListExportLocalSpecifier(node.namedExports);
+        }
+
+        private void expandExpressionStatement(@Nonnull ExpressionStatement node) {
+            this.push(FINISH_EXPRESSION_STATEMENT, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandForAwaitStatement(@Nonnull ForAwaitStatement node) {
+            this.push(FINISH_FOR_AWAIT_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitExpression(node.right);
+            this.visitVariableDeclarationAssignmentTarget(node.left);
+        }
+
+        private void expandForInStatement(@Nonnull ForInStatement node) {
+            this.push(FINISH_FOR_IN_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitExpression(node.right);
+            this.visitVariableDeclarationAssignmentTarget(node.left);
+        }
+
+        private void expandForOfStatement(@Nonnull ForOfStatement node) {
+            this.push(FINISH_FOR_OF_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitExpression(node.right);
+            this.visitVariableDeclarationAssignmentTarget(node.left);
+        }
+
+        private void expandForStatement(@Nonnull ForStatement node) {
+            this.push(FINISH_FOR_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitMaybeExpression(node.update);
+            this.visitMaybeExpression(node.test);
+            this.visitMaybeVariableDeclarationExpression(node.init);
+        }
+
+        private void expandFormalParameters(@Nonnull FormalParameters node) {
+            this.push(FINISH_FORMAL_PARAMETERS, node);
+            this.visitMaybeBinding(node.rest);
+            this.visitListParameter(node.items);
+        }
+
+        private void expandFunctionBody(@Nonnull FunctionBody node) {
+            this.push(FINISH_FUNCTION_BODY, node);
+            this.visitListStatement(node.statements);
+            this.visitListDirective(node.directives);
+        }
+
+        private void expandFunctionDeclaration(@Nonnull FunctionDeclaration node) {
+            this.push(FINISH_FUNCTION_DECLARATION, node);
+            this.visitFunctionBody(node.body);
+            this.visitFormalParameters(node.params);
+            this.visitBindingIdentifier(node.name);
+        }
+
+        private void expandFunctionExpression(@Nonnull FunctionExpression node) {
+            this.push(FINISH_FUNCTION_EXPRESSION, node);
+            this.visitFunctionBody(node.body);
+            this.visitFormalParameters(node.params);
+            this.visitMaybeBindingIdentifier(node.name);
+        }
+
+        private void expandGetter(@Nonnull Getter node) {
+            this.push(FINISH_GETTER, node);
+            this.visitFunctionBody(node.body);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandIfStatement(@Nonnull IfStatement node) {
+            this.push(FINISH_IF_STATEMENT, node);
+            this.visitMaybeStatement(node.alternate);
+            this.visitStatement(node.consequent);
+            this.visitExpression(node.test);
+        }
+
+        private void expandImport(@Nonnull Import node) {
+            this.push(FINISH_IMPORT, node);
+            this.visitListImportSpecifier(node.namedImports);
+            this.visitMaybeBindingIdentifier(node.defaultBinding);
+        }
+
+        private void expandImportNamespace(@Nonnull ImportNamespace node) {
+            this.push(FINISH_IMPORT_NAMESPACE, node);
+            this.visitBindingIdentifier(node.namespaceBinding);
+            this.visitMaybeBindingIdentifier(node.defaultBinding);
+        }
+
+        private void expandImportSpecifier(@Nonnull ImportSpecifier node) {
+            this.push(FINISH_IMPORT_SPECIFIER, node);
+            this.visitBindingIdentifier(node.binding);
+        }
+
+        private void expandLabeledStatement(@Nonnull LabeledStatement node) {
+            this.push(FINISH_LABELED_STATEMENT, node);
+            this.visitStatement(node.body);
+        }
+
+        private void expandMethod(@Nonnull Method node) {
+            this.push(FINISH_METHOD, node);
+            this.visitFunctionBody(node.body);
+            this.visitFormalParameters(node.params);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandModule(@Nonnull Module node) {
+            this.push(FINISH_MODULE, node);
+            this.visitListImportDeclarationExportDeclarationStatement(node.items);
+            this.visitListDirective(node.directives);
+        }
+
+        private void expandNewExpression(@Nonnull NewExpression node) {
+            this.push(FINISH_NEW_EXPRESSION, node);
+            this.visitListSpreadElementExpression(node.arguments);
+            this.visitExpression(node.callee);
+        }
+
+        private void expandObjectAssignmentTarget(@Nonnull ObjectAssignmentTarget node) {
+            this.push(FINISH_OBJECT_ASSIGNMENT_TARGET, node);
+            this.visitMaybeAssignmentTarget(node.rest);
+            this.visitListAssignmentTargetProperty(node.properties);
+        }
+
+        private void expandObjectBinding(@Nonnull ObjectBinding node) {
+            this.push(FINISH_OBJECT_BINDING, node);
+            this.visitMaybeBinding(node.rest);
+            this.visitListBindingProperty(node.properties);
+        }
+
+        private void expandObjectExpression(@Nonnull ObjectExpression node) {
+            this.push(FINISH_OBJECT_EXPRESSION, node);
+            this.visitListObjectProperty(node.properties);
+        }
+
+        private void expandReturnStatement(@Nonnull ReturnStatement node) {
+            this.push(FINISH_RETURN_STATEMENT, node);
+            this.visitMaybeExpression(node.expression);
+        }
+
+        private void expandScript(@Nonnull Script node) {
+            this.push(FINISH_SCRIPT, node);
+            this.visitListStatement(node.statements);
+            this.visitListDirective(node.directives);
+        }
+
+        private void expandSetter(@Nonnull Setter node) {
+            this.push(FINISH_SETTER, node);
+            this.visitFunctionBody(node.body);
+            this.visitParameter(node.param);
+            this.visitPropertyName(node.name);
+        }
+
+        private void expandShorthandProperty(@Nonnull ShorthandProperty node) {
+            this.push(FINISH_SHORTHAND_PROPERTY, node);
+            this.visitIdentifierExpression(node.name);
+        }
+
+        private void expandSpreadElement(@Nonnull SpreadElement node) {
+            this.push(FINISH_SPREAD_ELEMENT, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandSpreadProperty(@Nonnull SpreadProperty node) {
+            this.push(FINISH_SPREAD_PROPERTY, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandStaticMemberAssignmentTarget(@Nonnull StaticMemberAssignmentTarget node) {
+            this.push(FINISH_STATIC_MEMBER_ASSIGNMENT_TARGET, node);
+            this.visitExpressionSuper(node.object);
+        }
+
+        private void expandStaticMemberExpression(@Nonnull StaticMemberExpression node) {
+            this.push(FINISH_STATIC_MEMBER_EXPRESSION, node);
+            this.visitExpressionSuper(node.object);
+        }
+
+        private void expandSwitchCase(@Nonnull SwitchCase node) {
+            this.push(FINISH_SWITCH_CASE, node);
+            this.visitListStatement(node.consequent);
+            this.visitExpression(node.test);
+        }
+
+        private void expandSwitchDefault(@Nonnull SwitchDefault node) {
+            this.push(FINISH_SWITCH_DEFAULT, node);
+            this.visitListStatement(node.consequent);
+        }
+
+        private void expandSwitchStatement(@Nonnull SwitchStatement node) {
+            this.push(FINISH_SWITCH_STATEMENT, node);
+            this.visitListSwitchCase(node.cases);
+            this.visitExpression(node.discriminant);
+        }
+
+        private void expandSwitchStatementWithDefault(@Nonnull SwitchStatementWithDefault node) {
+            this.push(FINISH_SWITCH_STATEMENT_WITH_DEFAULT, node);
+            this.visitListSwitchCase(node.postDefaultCases);
+            this.visitSwitchDefault(node.defaultCase);
+            this.visitListSwitchCase(node.preDefaultCases);
+            this.visitExpression(node.discriminant);
+        }
+
+        private void expandTemplateExpression(@Nonnull TemplateExpression node) {
+            this.push(FINISH_TEMPLATE_EXPRESSION, node);
+            this.visitListExpressionTemplateElement(node.elements);
+            this.visitMaybeExpression(node.tag);
+        }
+
+        private void expandThrowStatement(@Nonnull ThrowStatement node) {
+            this.push(FINISH_THROW_STATEMENT, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void expandTryCatchStatement(@Nonnull TryCatchStatement node) {
+            this.push(FINISH_TRY_CATCH_STATEMENT, node);
+            this.visitCatchClause(node.catchClause);
+            this.visitBlock(node.body);
+        }
+
+        private void expandTryFinallyStatement(@Nonnull TryFinallyStatement node) {
+            this.push(FINISH_TRY_FINALLY_STATEMENT, node);
+            this.visitBlock(node.finalizer);
+            this.visitMaybeCatchClause(node.catchClause);
+            this.visitBlock(node.body);
+        }
+
+        private void expandUnaryExpression(@Nonnull UnaryExpression node) {
+            this.push(FINISH_UNARY_EXPRESSION, node);
+            this.visitExpression(node.operand);
+        }
+
+        private void expandUpdateExpression(@Nonnull UpdateExpression node) {
+            this.push(FINISH_UPDATE_EXPRESSION, node);
+            this.visitSimpleAssignmentTarget(node.operand);
+        }
+
+        private void expandVariableDeclaration(@Nonnull VariableDeclaration node) {
+            this.push(FINISH_VARIABLE_DECLARATION, node);
+            this.visitListVariableDeclarator(node.declarators);
+        }
+
+        private void expandVariableDeclarationStatement(@Nonnull VariableDeclarationStatement node) {
+            this.push(FINISH_VARIABLE_DECLARATION_STATEMENT, node);
+            this.visitVariableDeclaration(node.declaration);
+        }
+
+        private void expandVariableDeclarator(@Nonnull VariableDeclarator node) {
+            this.push(FINISH_VARIABLE_DECLARATOR, node);
+            this.visitMaybeExpression(node.init);
+            this.visitBinding(node.binding);
+        }
+
+        private void expandWhileStatement(@Nonnull WhileStatement node) {
+            this.push(FINISH_WHILE_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitExpression(node.test);
+        }
+
+        private void expandWithStatement(@Nonnull WithStatement node) {
+            this.push(FINISH_WITH_STATEMENT, node);
+            this.visitStatement(node.body);
+            this.visitExpression(node.object);
+        }
+
+        private void expandYieldExpression(@Nonnull YieldExpression node) {
+            this.push(FINISH_YIELD_EXPRESSION, node);
+            this.visitMaybeExpression(node.expression);
+        }
+
+        private void expandYieldGeneratorExpression(@Nonnull YieldGeneratorExpression node) {
+            this.push(FINISH_YIELD_GENERATOR_EXPRESSION, node);
+            this.visitExpression(node.expression);
+        }
+
+        private void finishArrayAssignmentTarget(@Nonnull ArrayAssignmentTarget node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceArrayAssignmentTarget(node, (ImmutableList<Maybe<State>>) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishArrayBinding(@Nonnull ArrayBinding node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceArrayBinding(node, (ImmutableList<Maybe<State>>) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishArrayExpression(@Nonnull ArrayExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceArrayExpression(node, (ImmutableList<Maybe<State>>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishArrowExpression(@Nonnull ArrowExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceArrowExpression(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishAssignmentExpression(@Nonnull AssignmentExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceAssignmentExpression(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishAssignmentTargetIdentifier(@Nonnull AssignmentTargetIdentifier node) {
+            this.pushResult(this.reducer.reduceAssignmentTargetIdentifier(node));
+        }
+
+        private void finishAssignmentTargetPropertyIdentifier(@Nonnull AssignmentTargetPropertyIdentifier node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceAssignmentTargetPropertyIdentifier(node, (State) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishAssignmentTargetPropertyProperty(@Nonnull AssignmentTargetPropertyProperty node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceAssignmentTargetPropertyProperty(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishAssignmentTargetWithDefault(@Nonnull AssignmentTargetWithDefault node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceAssignmentTargetWithDefault(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishAwaitExpression(@Nonnull AwaitExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceAwaitExpression(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBinaryExpression(@Nonnull BinaryExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceBinaryExpression(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBindingIdentifier(@Nonnull BindingIdentifier node) {
+            this.pushResult(this.reducer.reduceBindingIdentifier(node));
+        }
+
+        private void finishBindingPropertyIdentifier(@Nonnull BindingPropertyIdentifier node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceBindingPropertyIdentifier(node, (State) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBindingPropertyProperty(@Nonnull BindingPropertyProperty node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceBindingPropertyProperty(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBindingWithDefault(@Nonnull BindingWithDefault node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceBindingWithDefault(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBlock(@Nonnull Block node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceBlock(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBlockStatement(@Nonnull BlockStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceBlockStatement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishBreakStatement(@Nonnull BreakStatement node) {
+            this.pushResult(this.reducer.reduceBreakStatement(node));
+        }
+
+        private void finishCallExpression(@Nonnull CallExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceCallExpression(node, (State) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishCatchClause(@Nonnull CatchClause node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceCatchClause(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishClassDeclaration(@Nonnull ClassDeclaration node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceClassDeclaration(node, (State) this.results[base], maybe(this.results[base + 1]), (ImmutableList<State>) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishClassElement(@Nonnull ClassElement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceClassElement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishClassExpression(@Nonnull ClassExpression node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceClassExpression(node, maybe(this.results[base]), maybe(this.results[base + 1]), (ImmutableList<State>) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishCompoundAssignmentExpression(@Nonnull CompoundAssignmentExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceCompoundAssignmentExpression(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishComputedMemberAssignmentTarget(@Nonnull ComputedMemberAssignmentTarget node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceComputedMemberAssignmentTarget(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishComputedMemberExpression(@Nonnull ComputedMemberExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceComputedMemberExpression(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishComputedPropertyName(@Nonnull ComputedPropertyName node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceComputedPropertyName(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishConditionalExpression(@Nonnull ConditionalExpression node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceConditionalExpression(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishContinueStatement(@Nonnull ContinueStatement node) {
+            this.pushResult(this.reducer.reduceContinueStatement(node));
+        }
+
+        private void finishDataProperty(@Nonnull DataProperty node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceDataProperty(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishDebuggerStatement(@Nonnull DebuggerStatement node) {
+            this.pushResult(this.reducer.reduceDebuggerStatement(node));
+        }
+
+        private void finishDirective(@Nonnull Directive node) {
+            this.pushResult(this.reducer.reduceDirective(node));
+        }
+
+        private void finishDoWhileStatement(@Nonnull DoWhileStatement node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceDoWhileStatement(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishEmptyStatement(@Nonnull EmptyStatement node) {
+            this.pushResult(this.reducer.reduceEmptyStatement(node));
+        }
+
+        private void finishExport(@Nonnull Export node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExport(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishExportAllFrom(@Nonnull ExportAllFrom node) {
+            this.pushResult(this.reducer.reduceExportAllFrom(node));
+        }
+
+        private void finishExportDefault(@Nonnull ExportDefault node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExportDefault(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishExportFrom(@Nonnull ExportFrom node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExportFrom(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishExportFromSpecifier(@Nonnull ExportFromSpecifier node) {
+            this.pushResult(this.reducer.reduceExportFromSpecifier(node));
+        }
+
+        private void finishExportLocalSpecifier(@Nonnull ExportLocalSpecifier node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExportLocalSpecifier(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishExportLocals(@Nonnull ExportLocals node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExportLocals(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishExpressionStatement(@Nonnull ExpressionStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceExpressionStatement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishForAwaitStatement(@Nonnull ForAwaitStatement node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceForAwaitStatement(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishForInStatement(@Nonnull ForInStatement node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceForInStatement(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishForOfStatement(@Nonnull ForOfStatement node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceForOfStatement(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishForStatement(@Nonnull ForStatement node) {
+            int base = this.resultCount - 4;
+            State result = this.reducer.reduceForStatement(node, maybe(this.results[base]), maybe(this.results[base + 1]), maybe(this.results[base + 2]), (State) this.results[base + 3]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishFormalParameters(@Nonnull FormalParameters node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceFormalParameters(node, (ImmutableList<State>) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishFunctionBody(@Nonnull FunctionBody node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceFunctionBody(node, (ImmutableList<State>) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishFunctionDeclaration(@Nonnull FunctionDeclaration node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceFunctionDeclaration(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishFunctionExpression(@Nonnull FunctionExpression node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceFunctionExpression(node, maybe(this.results[base]), (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishGetter(@Nonnull Getter node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceGetter(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishIdentifierExpression(@Nonnull IdentifierExpression node) {
+            this.pushResult(this.reducer.reduceIdentifierExpression(node));
+        }
+
+        private void finishIfStatement(@Nonnull IfStatement node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceIfStatement(node, (State) this.results[base], (State) this.results[base + 1], maybe(this.results[base + 2]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishImport(@Nonnull Import node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceImport(node, maybe(this.results[base]), (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishImportNamespace(@Nonnull ImportNamespace node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceImportNamespace(node, maybe(this.results[base]), (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishImportSpecifier(@Nonnull ImportSpecifier node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceImportSpecifier(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishLabeledStatement(@Nonnull LabeledStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceLabeledStatement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishLiteralBooleanExpression(@Nonnull LiteralBooleanExpression node) {
+            this.pushResult(this.reducer.reduceLiteralBooleanExpression(node));
+        }
+
+        private void finishLiteralInfinityExpression(@Nonnull LiteralInfinityExpression node) {
+            this.pushResult(this.reducer.reduceLiteralInfinityExpression(node));
+        }
+
+        private void finishLiteralNullExpression(@Nonnull LiteralNullExpression node) {
+            this.pushResult(this.reducer.reduceLiteralNullExpression(node));
+        }
+
+        private void finishLiteralNumericExpression(@Nonnull LiteralNumericExpression node) {
+            this.pushResult(this.reducer.reduceLiteralNumericExpression(node));
+        }
+
+        private void finishLiteralRegExpExpression(@Nonnull LiteralRegExpExpression node) {
+            this.pushResult(this.reducer.reduceLiteralRegExpExpression(node));
+        }
+
+        private void finishLiteralStringExpression(@Nonnull LiteralStringExpression node) {
+            this.pushResult(this.reducer.reduceLiteralStringExpression(node));
+        }
+
+        private void finishMethod(@Nonnull Method node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceMethod(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishModule(@Nonnull Module node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceModule(node, (ImmutableList<State>) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishNewExpression(@Nonnull NewExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceNewExpression(node, (State) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishNewTargetExpression(@Nonnull NewTargetExpression node) {
+            this.pushResult(this.reducer.reduceNewTargetExpression(node));
+        }
+
+        private void finishObjectAssignmentTarget(@Nonnull ObjectAssignmentTarget node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceObjectAssignmentTarget(node, (ImmutableList<State>) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishObjectBinding(@Nonnull ObjectBinding node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceObjectBinding(node, (ImmutableList<State>) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishObjectExpression(@Nonnull ObjectExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceObjectExpression(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishReturnStatement(@Nonnull ReturnStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceReturnStatement(node, maybe(this.results[base]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishScript(@Nonnull Script node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceScript(node, (ImmutableList<State>) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSetter(@Nonnull Setter node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceSetter(node, (State) this.results[base], (State) this.results[base + 1], (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishShorthandProperty(@Nonnull ShorthandProperty node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceShorthandProperty(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSpreadElement(@Nonnull SpreadElement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceSpreadElement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSpreadProperty(@Nonnull SpreadProperty node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceSpreadProperty(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishStaticMemberAssignmentTarget(@Nonnull StaticMemberAssignmentTarget node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceStaticMemberAssignmentTarget(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishStaticMemberExpression(@Nonnull StaticMemberExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceStaticMemberExpression(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishStaticPropertyName(@Nonnull StaticPropertyName node) {
+            this.pushResult(this.reducer.reduceStaticPropertyName(node));
+        }
+
+        private void finishSuper(@Nonnull Super node) {
+            this.pushResult(this.reducer.reduceSuper(node));
+        }
+
+        private void finishSwitchCase(@Nonnull SwitchCase node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceSwitchCase(node, (State) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSwitchDefault(@Nonnull SwitchDefault node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceSwitchDefault(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSwitchStatement(@Nonnull SwitchStatement node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceSwitchStatement(node, (State) this.results[base], (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishSwitchStatementWithDefault(@Nonnull SwitchStatementWithDefault node) {
+            int base = this.resultCount - 4;
+            State result = this.reducer.reduceSwitchStatementWithDefault(node, (State) this.results[base], (ImmutableList<State>) this.results[base + 1], (State) this.results[base + 2], (ImmutableList<State>) this.results[base + 3]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishTemplateElement(@Nonnull TemplateElement node) {
+            this.pushResult(this.reducer.reduceTemplateElement(node));
+        }
+
+        private void finishTemplateExpression(@Nonnull TemplateExpression node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceTemplateExpression(node, maybe(this.results[base]), (ImmutableList<State>) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishThisExpression(@Nonnull ThisExpression node) {
+            this.pushResult(this.reducer.reduceThisExpression(node));
+        }
+
+        private void finishThrowStatement(@Nonnull ThrowStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceThrowStatement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishTryCatchStatement(@Nonnull TryCatchStatement node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceTryCatchStatement(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishTryFinallyStatement(@Nonnull TryFinallyStatement node) {
+            int base = this.resultCount - 3;
+            State result = this.reducer.reduceTryFinallyStatement(node, (State) this.results[base], maybe(this.results[base + 1]), (State) this.results[base + 2]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishUnaryExpression(@Nonnull UnaryExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceUnaryExpression(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishUpdateExpression(@Nonnull UpdateExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceUpdateExpression(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishVariableDeclaration(@Nonnull VariableDeclaration node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceVariableDeclaration(node, (ImmutableList<State>) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishVariableDeclarationStatement(@Nonnull VariableDeclarationStatement node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceVariableDeclarationStatement(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishVariableDeclarator(@Nonnull VariableDeclarator node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceVariableDeclarator(node, (State) this.results[base], maybe(this.results[base + 1]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishWhileStatement(@Nonnull WhileStatement node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceWhileStatement(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishWithStatement(@Nonnull WithStatement node) {
+            int base = this.resultCount - 2;
+            State result = this.reducer.reduceWithStatement(node, (State) this.results[base], (State) this.results[base + 1]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishYieldExpression(@Nonnull YieldExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceYieldExpression(node, maybe(this.results[base]));
+            this.popResults(base);
+            this.pushResult(result);
+        }
+
+        private void finishYieldGeneratorExpression(@Nonnull YieldGeneratorExpression node) {
+            int base = this.resultCount - 1;
+            State result = this.reducer.reduceYieldGeneratorExpression(node, (State) this.results[base]);
+            this.popResults(base);
+            this.pushResult(result);
+        }
+    }
+}
@@ -0,0 +1,2071 @@
+// Generated by director.js
+/**
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.shapesecurity.shift.es2018.reducer;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.*;
+import com.shapesecurity.shift.es2018.ast.Module;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+// Reduces as Director does, with the same result, but reduces the elements of long lists, such as the statements of a
+// large script or function body, concurrently. The reducer may be called from several threads at once and in any order,
+// so it must be safe to call concurrently and must not depend on the order of its calls; a MonoidalReducer over a lawful
+// monoid, such as EarlyErrorChecker, meets both. Reductions run on the ForkJoinPool they are called from, or else on the
+// common pool.
+public final class ParallelDirector {
+    // lists shorter than this are reduced on the calling thread, as are runs of elements this long
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    @Nonnull
+    public static <State> State reduceProgram(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Program node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceProgram(reducer, node)));
+    }
+
+    @Nonnull
+    public static <State> State reduceScript(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Script node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceScript(reducer, node)));
+    }
+
+    @Nonnull
+    public static <State> State reduceModule(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Module node,
+      @Nonnull ForkJoinPool pool) {
+        return pool.invoke(ForkJoinTask.adapt(() -> reduceModule(reducer, node)));
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static <T, R> ImmutableList<R> reduceConcurrently(
+      @Nonnull ImmutableList<T> list,
+      @Nonnull Function<T, R> reduce) {
+        T[] elements = (T[]) new Object[list.length];
+        int i = 0;
+        for (T element : list) {
+            elements[i++] = element;
+        }
+        R[] results = (R[]) new Object[elements.length];
+        ListTask<T, R> task = new ListTask<>(elements, results, 0, elements.length, reduce);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return ImmutableList.fromBounded(results, 0, results.length);
+    }
+
+    // Reduces the elements from `start` to `end`, halving the range until it is short enough to reduce in turn.
+    private static final class ListTask<T, R> extends RecursiveAction {
+        private static final long serialVersionUID = 6394850627213781409L;
+
+        @Nonnull
+        private final T[] elements;
+        @Nonnull
+        private final R[] results;
+        private final int start;
+        private final int end;
+        @Nonnull
+        private final Function<T, R> reduce;
+
+        ListTask(@Nonnull T[] elements, @Nonnull R[] results, int start, int end, @Nonnull Function<T, R> reduce) {
+            this.elements = elements;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+            this.reduce = reduce;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= PARALLEL_THRESHOLD) {
+                for (int i = this.start; i < this.end; ++i) {
+                    this.results[i] = this.reduce.apply(this.elements[i]);
+                }
+                return;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                new ListTask<>(this.elements, this.results, this.start, middle, this.reduce),
+                new ListTask<>(this.elements, this.results, middle, this.end, this.reduce)
+            );
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceArrayAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayAssignmentTarget node) {
+        return reducer.reduceArrayAssignmentTarget(node, reduceListMaybeAssignmentTargetAssignmentTargetWithDefault(reducer, node.elements), reduceMaybeAssignmentTarget(reducer, node.rest));
+    }
+
+    @Nonnull
+    public static <State> State reduceArrayBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayBinding node) {
+        return reducer.reduceArrayBinding(node, reduceListMaybeBindingBindingWithDefault(reducer, node.elements), reduceMaybeBinding(reducer, node.rest));
+    }
+
+    @Nonnull
+    public static <State> State reduceArrayExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrayExpression node) {
+        return reducer.reduceArrayExpression(node, reduceListMaybeSpreadElementExpression(reducer, node.elements));
+    }
+
+    @Nonnull
+    public static <State> State reduceArrowExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ArrowExpression node) {
+        return reducer.reduceArrowExpression(node, reduceFormalParameters(reducer, node.params), reduceFunctionBodyExpression(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentExpression node) {
+        return reducer.reduceAssignmentExpression(node, reduceAssignmentTarget(reducer, node.binding), reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTarget node) {
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetAssignmentTargetWithDefault node) {
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case AssignmentTargetWithDefault.TYPE:
+                return reduceAssignmentTargetWithDefault(reducer, (AssignmentTargetWithDefault) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetIdentifier node) {
+        return reducer.reduceAssignmentTargetIdentifier(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPattern(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPattern node) {
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetProperty node) {
+        switch (node.type()) {
+            case AssignmentTargetPropertyIdentifier.TYPE:
+                return reduceAssignmentTargetPropertyIdentifier(reducer, (AssignmentTargetPropertyIdentifier) node);
+            case AssignmentTargetPropertyProperty.TYPE:
+                return reduceAssignmentTargetPropertyProperty(reducer, (AssignmentTargetPropertyProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPropertyIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPropertyIdentifier node) {
+        return reducer.reduceAssignmentTargetPropertyIdentifier(node, reduceAssignmentTargetIdentifier(reducer, node.binding), reduceMaybeExpression(reducer, node.init));
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetPropertyProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetPropertyProperty node) {
+        return reducer.reduceAssignmentTargetPropertyProperty(node, reducePropertyName(reducer, node.name), reduceAssignmentTargetAssignmentTargetWithDefault(reducer, node.binding));
+    }
+
+    @Nonnull
+    public static <State> State reduceAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AssignmentTargetWithDefault node) {
+        return reducer.reduceAssignmentTargetWithDefault(node, reduceAssignmentTarget(reducer, node.binding), reduceExpression(reducer, node.init));
+    }
+
+    @Nonnull
+    public static <State> State reduceAwaitExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull AwaitExpression node) {
+        return reducer.reduceAwaitExpression(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceBinaryExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BinaryExpression node) {
+        return reducer.reduceBinaryExpression(node, reduceExpression(reducer, node.left), reduceExpression(reducer, node.right));
+    }
+
+    @Nonnull
+    public static <State> State reduceBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Binding node) {
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingBindingWithDefault node) {
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case BindingWithDefault.TYPE:
+                return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingIdentifier node) {
+        return reducer.reduceBindingIdentifier(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPattern(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPattern node) {
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingProperty node) {
+        switch (node.type()) {
+            case BindingPropertyIdentifier.TYPE:
+                return reduceBindingPropertyIdentifier(reducer, (BindingPropertyIdentifier) node);
+            case BindingPropertyProperty.TYPE:
+                return reduceBindingPropertyProperty(reducer, (BindingPropertyProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPropertyIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPropertyIdentifier node) {
+        return reducer.reduceBindingPropertyIdentifier(node, reduceBindingIdentifier(reducer, node.binding), reduceMaybeExpression(reducer, node.init));
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingPropertyProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingPropertyProperty node) {
+        return reducer.reduceBindingPropertyProperty(node, reducePropertyName(reducer, node.name), reduceBindingBindingWithDefault(reducer, node.binding));
+    }
+
+    @Nonnull
+    public static <State> State reduceBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BindingWithDefault node) {
+        return reducer.reduceBindingWithDefault(node, reduceBinding(reducer, node.binding), reduceExpression(reducer, node.init));
+    }
+
+    @Nonnull
+    public static <State> State reduceBlock(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Block node) {
+        return reducer.reduceBlock(node, reduceListStatement(reducer, node.statements));
+    }
+
+    @Nonnull
+    public static <State> State reduceBlockStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BlockStatement node) {
+        return reducer.reduceBlockStatement(node, reduceBlock(reducer, node.block));
+    }
+
+    @Nonnull
+    public static <State> State reduceBreakStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull BreakStatement node) {
+        return reducer.reduceBreakStatement(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceCallExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CallExpression node) {
+        return reducer.reduceCallExpression(node, reduceExpressionSuper(reducer, node.callee), reduceListSpreadElementExpression(reducer, node.arguments));
+    }
+
+    @Nonnull
+    public static <State> State reduceCatchClause(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CatchClause node) {
+        return reducer.reduceCatchClause(node, reduceBinding(reducer, node.binding), reduceBlock(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceClassDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassDeclaration node) {
+        return reducer.reduceClassDeclaration(node, reduceBindingIdentifier(reducer, node.name), reduceMaybeExpression(reducer, node._super), reduceListClassElement(reducer, node.elements));
+    }
+
+    @Nonnull
+    public static <State> State reduceClassElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassElement node) {
+        return reducer.reduceClassElement(node, reduceMethodDefinition(reducer, node.method));
+    }
+
+    @Nonnull
+    public static <State> State reduceClassExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ClassExpression node) {
+        return reducer.reduceClassExpression(node, reduceMaybeBindingIdentifier(reducer, node.name), reduceMaybeExpression(reducer, node._super), reduceListClassElement(reducer, node.elements));
+    }
+
+    @Nonnull
+    public static <State> State reduceCompoundAssignmentExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull CompoundAssignmentExpression node) {
+        return reducer.reduceCompoundAssignmentExpression(node, reduceSimpleAssignmentTarget(reducer, node.binding), reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedMemberAssignmentTarget node) {
+        return reducer.reduceComputedMemberAssignmentTarget(node, reduceExpressionSuper(reducer, node.object), reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedMemberExpression node) {
+        return reducer.reduceComputedMemberExpression(node, reduceExpressionSuper(reducer, node.object), reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceComputedPropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ComputedPropertyName node) {
+        return reducer.reduceComputedPropertyName(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceConditionalExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ConditionalExpression node) {
+        return reducer.reduceConditionalExpression(node, reduceExpression(reducer, node.test), reduceExpression(reducer, node.consequent), reduceExpression(reducer, node.alternate));
+    }
+
+    @Nonnull
+    public static <State> State reduceContinueStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ContinueStatement node) {
+        return reducer.reduceContinueStatement(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceDataProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DataProperty node) {
+        return reducer.reduceDataProperty(node, reducePropertyName(reducer, node.name), reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceDebuggerStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DebuggerStatement node) {
+        return reducer.reduceDebuggerStatement(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceDirective(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Directive node) {
+        return reducer.reduceDirective(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceDoWhileStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull DoWhileStatement node) {
+        return reducer.reduceDoWhileStatement(node, reduceStatement(reducer, node.body), reduceExpression(reducer, node.test));
+    }
+
+    @Nonnull
+    public static <State> State reduceEmptyStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull EmptyStatement node) {
+        return reducer.reduceEmptyStatement(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceExport(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Export node) {
+        return reducer.reduceExport(node, reduceFunctionDeclarationClassDeclarationVariableDeclaration(reducer, node.declaration));
+    }
+
+    @Nonnull
+    public static <State> State reduceExportAllFrom(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportAllFrom node) {
+        return reducer.reduceExportAllFrom(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceExportDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportDeclaration node) {
+        switch (node.type()) {
+            case Export.TYPE:
+                return reduceExport(reducer, (Export) node);
+            case ExportAllFrom.TYPE:
+                return reduceExportAllFrom(reducer, (ExportAllFrom) node);
+            case ExportDefault.TYPE:
+                return reduceExportDefault(reducer, (ExportDefault) node);
+            case ExportFrom.TYPE:
+                return reduceExportFrom(reducer, (ExportFrom) node);
+            case ExportLocals.TYPE:
+                return reduceExportLocals(reducer, (ExportLocals) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceExportDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportDefault node) {
+        return reducer.reduceExportDefault(node, reduceFunctionDeclarationClassDeclarationExpression(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceExportFrom(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportFrom node) {
+        return reducer.reduceExportFrom(node, reduceListExportFromSpecifier(reducer, node.namedExports));
+    }
+
+    @Nonnull
+    public static <State> State reduceExportFromSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportFromSpecifier node) {
+        return reducer.reduceExportFromSpecifier(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceExportLocalSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportLocalSpecifier node) {
+        return reducer.reduceExportLocalSpecifier(node, reduceIdentifierExpression(reducer, node.name));
+    }
+
+    @Nonnull
+    public static <State> State reduceExportLocals(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExportLocals node) {
+        return reducer.reduceExportLocals(node, reduceListExportLocalSpecifier(reducer, node.namedExports));
+    }
+
+    @Nonnull
+    public static <State> State reduceExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Expression node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionStatement node) {
+        return reducer.reduceExpressionStatement(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionSuper(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionSuper node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case Super.TYPE:
+                return reduceSuper(reducer, (Super) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceExpressionTemplateElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ExpressionTemplateElement node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateElement.TYPE:
+                return reduceTemplateElement(reducer, (TemplateElement) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceForAwaitStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForAwaitStatement node) {
+        return reducer.reduceForAwaitStatement(node, reduceVariableDeclarationAssignmentTarget(reducer, node.left), reduceExpression(reducer, node.right), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceForInStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForInStatement node) {
+        return reducer.reduceForInStatement(node, reduceVariableDeclarationAssignmentTarget(reducer, node.left), reduceExpression(reducer, node.right), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceForOfStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForOfStatement node) {
+        return reducer.reduceForOfStatement(node, reduceVariableDeclarationAssignmentTarget(reducer, node.left), reduceExpression(reducer, node.right), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceForStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ForStatement node) {
+        return reducer.reduceForStatement(node, reduceMaybeVariableDeclarationExpression(reducer, node.init), reduceMaybeExpression(reducer, node.test), reduceMaybeExpression(reducer, node.update), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceFormalParameters(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FormalParameters node) {
+        return reducer.reduceFormalParameters(node, reduceListParameter(reducer, node.items), reduceMaybeBinding(reducer, node.rest));
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionBody(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionBody node) {
+        node = node.resolve();
+        return reducer.reduceFunctionBody(node, reduceListDirective(reducer, node.directives), reduceListStatement(reducer, node.statements));
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionBodyExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionBodyExpression node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionBody.TYPE:
+                return reduceFunctionBody(reducer, (FunctionBody) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclaration node) {
+        return reducer.reduceFunctionDeclaration(node, reduceBindingIdentifier(reducer, node.name), reduceFormalParameters(reducer, node.params), reduceFunctionBody(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclarationClassDeclarationExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclarationClassDeclarationExpression node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionDeclarationClassDeclarationVariableDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionDeclarationClassDeclarationVariableDeclaration node) {
+        switch (node.type()) {
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceFunctionExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull FunctionExpression node) {
+        return reducer.reduceFunctionExpression(node, reduceMaybeBindingIdentifier(reducer, node.name), reduceFormalParameters(reducer, node.params), reduceFunctionBody(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceGetter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Getter node) {
+        return reducer.reduceGetter(node, reducePropertyName(reducer, node.name), reduceFunctionBody(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceIdentifierExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IdentifierExpression node) {
+        return reducer.reduceIdentifierExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceIfStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IfStatement node) {
+        return reducer.reduceIfStatement(node, reduceExpression(reducer, node.test), reduceStatement(reducer, node.consequent), reduceMaybeStatement(reducer, node.alternate));
+    }
+
+    @Nonnull
+    public static <State> State reduceImport(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Import node) {
+        return reducer.reduceImport(node, reduceMaybeBindingIdentifier(reducer, node.defaultBinding), reduceListImportSpecifier(reducer, node.namedImports));
+    }
+
+    @Nonnull
+    public static <State> State reduceImportDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportDeclaration node) {
+        switch (node.type()) {
+            case Import.TYPE:
+                return reduceImport(reducer, (Import) node);
+            case ImportNamespace.TYPE:
+                return reduceImportNamespace(reducer, (ImportNamespace) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceImportDeclarationExportDeclarationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportDeclarationExportDeclarationStatement node) {
+        switch (node.type()) {
+            case BlockStatement.TYPE:
+                return reduceBlockStatement(reducer, (BlockStatement) node);
+            case BreakStatement.TYPE:
+                return reduceBreakStatement(reducer, (BreakStatement) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ContinueStatement.TYPE:
+                return reduceContinueStatement(reducer, (ContinueStatement) node);
+            case DebuggerStatement.TYPE:
+                return reduceDebuggerStatement(reducer, (DebuggerStatement) node);
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case EmptyStatement.TYPE:
+                return reduceEmptyStatement(reducer, (EmptyStatement) node);
+            case Export.TYPE:
+                return reduceExport(reducer, (Export) node);
+            case ExportAllFrom.TYPE:
+                return reduceExportAllFrom(reducer, (ExportAllFrom) node);
+            case ExportDefault.TYPE:
+                return reduceExportDefault(reducer, (ExportDefault) node);
+            case ExportFrom.TYPE:
+                return reduceExportFrom(reducer, (ExportFrom) node);
+            case ExportLocals.TYPE:
+                return reduceExportLocals(reducer, (ExportLocals) node);
+            case ExpressionStatement.TYPE:
+                return reduceExpressionStatement(reducer, (ExpressionStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case IfStatement.TYPE:
+                return reduceIfStatement(reducer, (IfStatement) node);
+            case Import.TYPE:
+                return reduceImport(reducer, (Import) node);
+            case ImportNamespace.TYPE:
+                return reduceImportNamespace(reducer, (ImportNamespace) node);
+            case LabeledStatement.TYPE:
+                return reduceLabeledStatement(reducer, (LabeledStatement) node);
+            case ReturnStatement.TYPE:
+                return reduceReturnStatement(reducer, (ReturnStatement) node);
+            case SwitchStatement.TYPE:
+                return reduceSwitchStatement(reducer, (SwitchStatement) node);
+            case SwitchStatementWithDefault.TYPE:
+                return reduceSwitchStatementWithDefault(reducer, (SwitchStatementWithDefault) node);
+            case ThrowStatement.TYPE:
+                return reduceThrowStatement(reducer, (ThrowStatement) node);
+            case TryCatchStatement.TYPE:
+                return reduceTryCatchStatement(reducer, (TryCatchStatement) node);
+            case TryFinallyStatement.TYPE:
+                return reduceTryFinallyStatement(reducer, (TryFinallyStatement) node);
+            case VariableDeclarationStatement.TYPE:
+                return reduceVariableDeclarationStatement(reducer, (VariableDeclarationStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            case WithStatement.TYPE:
+                return reduceWithStatement(reducer, (WithStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceImportNamespace(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportNamespace node) {
+        return reducer.reduceImportNamespace(node, reduceMaybeBindingIdentifier(reducer, node.defaultBinding), reduceBindingIdentifier(reducer, node.namespaceBinding));
+    }
+
+    @Nonnull
+    public static <State> State reduceImportSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImportSpecifier node) {
+        return reducer.reduceImportSpecifier(node, reduceBindingIdentifier(reducer, node.binding));
+    }
+
+    @Nonnull
+    public static <State> State reduceIterationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull IterationStatement node) {
+        switch (node.type()) {
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceLabeledStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LabeledStatement node) {
+        return reducer.reduceLabeledStatement(node, reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListAssignmentTargetProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<AssignmentTargetProperty> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceAssignmentTargetProperty(reducer, x));
+        }
+        return list.map(x -> reduceAssignmentTargetProperty(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListBindingProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<BindingProperty> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceBindingProperty(reducer, x));
+        }
+        return list.map(x -> reduceBindingProperty(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListClassElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ClassElement> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceClassElement(reducer, x));
+        }
+        return list.map(x -> reduceClassElement(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListDirective(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Directive> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceDirective(reducer, x));
+        }
+        return list.map(x -> reduceDirective(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListExportFromSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ExportFromSpecifier> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceExportFromSpecifier(reducer, x));
+        }
+        return list.map(x -> reduceExportFromSpecifier(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListExportLocalSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ExportLocalSpecifier> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceExportLocalSpecifier(reducer, x));
+        }
+        return list.map(x -> reduceExportLocalSpecifier(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListExpressionTemplateElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ExpressionTemplateElement> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceExpressionTemplateElement(reducer, x));
+        }
+        return list.map(x -> reduceExpressionTemplateElement(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListImportDeclarationExportDeclarationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ImportDeclarationExportDeclarationStatement> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceImportDeclarationExportDeclarationStatement(reducer, x));
+        }
+        return list.map(x -> reduceImportDeclarationExportDeclarationStatement(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListImportSpecifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ImportSpecifier> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceImportSpecifier(reducer, x));
+        }
+        return list.map(x -> reduceImportSpecifier(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<Maybe<State>> reduceListMaybeAssignmentTargetAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Maybe<AssignmentTargetAssignmentTargetWithDefault>> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceMaybeAssignmentTargetAssignmentTargetWithDefault(reducer, x));
+        }
+        return list.map(x -> reduceMaybeAssignmentTargetAssignmentTargetWithDefault(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<Maybe<State>> reduceListMaybeBindingBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Maybe<BindingBindingWithDefault>> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceMaybeBindingBindingWithDefault(reducer, x));
+        }
+        return list.map(x -> reduceMaybeBindingBindingWithDefault(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<Maybe<State>> reduceListMaybeSpreadElementExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Maybe<SpreadElementExpression>> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceMaybeSpreadElementExpression(reducer, x));
+        }
+        return list.map(x -> reduceMaybeSpreadElementExpression(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListObjectProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<ObjectProperty> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceObjectProperty(reducer, x));
+        }
+        return list.map(x -> reduceObjectProperty(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListParameter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Parameter> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceParameter(reducer, x));
+        }
+        return list.map(x -> reduceParameter(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListSpreadElementExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<SpreadElementExpression> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceSpreadElementExpression(reducer, x));
+        }
+        return list.map(x -> reduceSpreadElementExpression(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<Statement> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceStatement(reducer, x));
+        }
+        return list.map(x -> reduceStatement(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListSwitchCase(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<SwitchCase> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceSwitchCase(reducer, x));
+        }
+        return list.map(x -> reduceSwitchCase(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> ImmutableList<State> reduceListVariableDeclarator(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ImmutableList<VariableDeclarator> list) {
+        if (list.length >= PARALLEL_THRESHOLD) {
+            return reduceConcurrently(list, x -> reduceVariableDeclarator(reducer, x));
+        }
+        return list.map(x -> reduceVariableDeclarator(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> State reduceLiteralBooleanExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralBooleanExpression node) {
+        return reducer.reduceLiteralBooleanExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralInfinityExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralInfinityExpression node) {
+        return reducer.reduceLiteralInfinityExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralNullExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralNullExpression node) {
+        return reducer.reduceLiteralNullExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralNumericExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralNumericExpression node) {
+        return reducer.reduceLiteralNumericExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralRegExpExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralRegExpExpression node) {
+        return reducer.reduceLiteralRegExpExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceLiteralStringExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull LiteralStringExpression node) {
+        return reducer.reduceLiteralStringExpression(node);
+    }
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<AssignmentTarget> maybe) {
+        return maybe.map(x -> reduceAssignmentTarget(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeAssignmentTargetAssignmentTargetWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<AssignmentTargetAssignmentTargetWithDefault> maybe) {
+        return maybe.map(x -> reduceAssignmentTargetAssignmentTargetWithDefault(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<Binding> maybe) {
+        return maybe.map(x -> reduceBinding(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeBindingBindingWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<BindingBindingWithDefault> maybe) {
+        return maybe.map(x -> reduceBindingBindingWithDefault(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeBindingIdentifier(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<BindingIdentifier> maybe) {
+        return maybe.map(x -> reduceBindingIdentifier(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeCatchClause(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<CatchClause> maybe) {
+        return maybe.map(x -> reduceCatchClause(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<Expression> maybe) {
+        return maybe.map(x -> reduceExpression(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeSpreadElementExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<SpreadElementExpression> maybe) {
+        return maybe.map(x -> reduceSpreadElementExpression(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<Statement> maybe) {
+        return maybe.map(x -> reduceStatement(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> Maybe<State> reduceMaybeVariableDeclarationExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Maybe<VariableDeclarationExpression> maybe) {
+        return maybe.map(x -> reduceVariableDeclarationExpression(reducer, x));
+      }
+
+
+    @Nonnull
+    public static <State> State reduceMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MemberAssignmentTarget node) {
+        switch (node.type()) {
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MemberExpression node) {
+        switch (node.type()) {
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceMethod(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Method node) {
+        return reducer.reduceMethod(node, reducePropertyName(reducer, node.name), reduceFormalParameters(reducer, node.params), reduceFunctionBody(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceMethodDefinition(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull MethodDefinition node) {
+        switch (node.type()) {
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceModule(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Module node) {
+        return reducer.reduceModule(node, reduceListDirective(reducer, node.directives), reduceListImportDeclarationExportDeclarationStatement(reducer, node.items));
+    }
+
+    @Nonnull
+    public static <State> State reduceNamedObjectProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NamedObjectProperty node) {
+        switch (node.type()) {
+            case DataProperty.TYPE:
+                return reduceDataProperty(reducer, (DataProperty) node);
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceNewExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NewExpression node) {
+        return reducer.reduceNewExpression(node, reduceExpression(reducer, node.callee), reduceListSpreadElementExpression(reducer, node.arguments));
+    }
+
+    @Nonnull
+    public static <State> State reduceNewTargetExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull NewTargetExpression node) {
+        return reducer.reduceNewTargetExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectAssignmentTarget node) {
+        return reducer.reduceObjectAssignmentTarget(node, reduceListAssignmentTargetProperty(reducer, node.properties), reduceMaybeAssignmentTarget(reducer, node.rest));
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectBinding(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectBinding node) {
+        return reducer.reduceObjectBinding(node, reduceListBindingProperty(reducer, node.properties), reduceMaybeBinding(reducer, node.rest));
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectExpression node) {
+        return reducer.reduceObjectExpression(node, reduceListObjectProperty(reducer, node.properties));
+    }
+
+    @Nonnull
+    public static <State> State reduceObjectProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ObjectProperty node) {
+        switch (node.type()) {
+            case DataProperty.TYPE:
+                return reduceDataProperty(reducer, (DataProperty) node);
+            case Getter.TYPE:
+                return reduceGetter(reducer, (Getter) node);
+            case Method.TYPE:
+                return reduceMethod(reducer, (Method) node);
+            case Setter.TYPE:
+                return reduceSetter(reducer, (Setter) node);
+            case ShorthandProperty.TYPE:
+                return reduceShorthandProperty(reducer, (ShorthandProperty) node);
+            case SpreadProperty.TYPE:
+                return reduceSpreadProperty(reducer, (SpreadProperty) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceParameter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Parameter node) {
+        switch (node.type()) {
+            case ArrayBinding.TYPE:
+                return reduceArrayBinding(reducer, (ArrayBinding) node);
+            case BindingIdentifier.TYPE:
+                return reduceBindingIdentifier(reducer, (BindingIdentifier) node);
+            case BindingWithDefault.TYPE:
+                return reduceBindingWithDefault(reducer, (BindingWithDefault) node);
+            case ObjectBinding.TYPE:
+                return reduceObjectBinding(reducer, (ObjectBinding) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceProgram(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Program node) {
+        switch (node.type()) {
+            case Module.TYPE:
+                return reduceModule(reducer, (Module) node);
+            case Script.TYPE:
+                return reduceScript(reducer, (Script) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reducePropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull PropertyName node) {
+        switch (node.type()) {
+            case ComputedPropertyName.TYPE:
+                return reduceComputedPropertyName(reducer, (ComputedPropertyName) node);
+            case StaticPropertyName.TYPE:
+                return reduceStaticPropertyName(reducer, (StaticPropertyName) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceReturnStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ReturnStatement node) {
+        return reducer.reduceReturnStatement(node, reduceMaybeExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceScript(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Script node) {
+        return reducer.reduceScript(node, reduceListDirective(reducer, node.directives), reduceListStatement(reducer, node.statements));
+    }
+
+    @Nonnull
+    public static <State> State reduceSetter(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Setter node) {
+        return reducer.reduceSetter(node, reducePropertyName(reducer, node.name), reduceParameter(reducer, node.param), reduceFunctionBody(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceShorthandProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ShorthandProperty node) {
+        return reducer.reduceShorthandProperty(node, reduceIdentifierExpression(reducer, node.name));
+    }
+
+    @Nonnull
+    public static <State> State reduceSimpleAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SimpleAssignmentTarget node) {
+        switch (node.type()) {
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadElement node) {
+        return reducer.reduceSpreadElement(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadElementExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadElementExpression node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case SpreadElement.TYPE:
+                return reduceSpreadElement(reducer, (SpreadElement) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceSpreadProperty(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SpreadProperty node) {
+        return reducer.reduceSpreadProperty(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Statement node) {
+        switch (node.type()) {
+            case BlockStatement.TYPE:
+                return reduceBlockStatement(reducer, (BlockStatement) node);
+            case BreakStatement.TYPE:
+                return reduceBreakStatement(reducer, (BreakStatement) node);
+            case ClassDeclaration.TYPE:
+                return reduceClassDeclaration(reducer, (ClassDeclaration) node);
+            case ContinueStatement.TYPE:
+                return reduceContinueStatement(reducer, (ContinueStatement) node);
+            case DebuggerStatement.TYPE:
+                return reduceDebuggerStatement(reducer, (DebuggerStatement) node);
+            case DoWhileStatement.TYPE:
+                return reduceDoWhileStatement(reducer, (DoWhileStatement) node);
+            case EmptyStatement.TYPE:
+                return reduceEmptyStatement(reducer, (EmptyStatement) node);
+            case ExpressionStatement.TYPE:
+                return reduceExpressionStatement(reducer, (ExpressionStatement) node);
+            case ForAwaitStatement.TYPE:
+                return reduceForAwaitStatement(reducer, (ForAwaitStatement) node);
+            case ForInStatement.TYPE:
+                return reduceForInStatement(reducer, (ForInStatement) node);
+            case ForOfStatement.TYPE:
+                return reduceForOfStatement(reducer, (ForOfStatement) node);
+            case ForStatement.TYPE:
+                return reduceForStatement(reducer, (ForStatement) node);
+            case FunctionDeclaration.TYPE:
+                return reduceFunctionDeclaration(reducer, (FunctionDeclaration) node);
+            case IfStatement.TYPE:
+                return reduceIfStatement(reducer, (IfStatement) node);
+            case LabeledStatement.TYPE:
+                return reduceLabeledStatement(reducer, (LabeledStatement) node);
+            case ReturnStatement.TYPE:
+                return reduceReturnStatement(reducer, (ReturnStatement) node);
+            case SwitchStatement.TYPE:
+                return reduceSwitchStatement(reducer, (SwitchStatement) node);
+            case SwitchStatementWithDefault.TYPE:
+                return reduceSwitchStatementWithDefault(reducer, (SwitchStatementWithDefault) node);
+            case ThrowStatement.TYPE:
+                return reduceThrowStatement(reducer, (ThrowStatement) node);
+            case TryCatchStatement.TYPE:
+                return reduceTryCatchStatement(reducer, (TryCatchStatement) node);
+            case TryFinallyStatement.TYPE:
+                return reduceTryFinallyStatement(reducer, (TryFinallyStatement) node);
+            case VariableDeclarationStatement.TYPE:
+                return reduceVariableDeclarationStatement(reducer, (VariableDeclarationStatement) node);
+            case WhileStatement.TYPE:
+                return reduceWhileStatement(reducer, (WhileStatement) node);
+            case WithStatement.TYPE:
+                return reduceWithStatement(reducer, (WithStatement) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticMemberAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticMemberAssignmentTarget node) {
+        return reducer.reduceStaticMemberAssignmentTarget(node, reduceExpressionSuper(reducer, node.object));
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticMemberExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticMemberExpression node) {
+        return reducer.reduceStaticMemberExpression(node, reduceExpressionSuper(reducer, node.object));
+    }
+
+    @Nonnull
+    public static <State> State reduceStaticPropertyName(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull StaticPropertyName node) {
+        return reducer.reduceStaticPropertyName(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceSuper(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull Super node) {
+        return reducer.reduceSuper(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchCase(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchCase node) {
+        return reducer.reduceSwitchCase(node, reduceExpression(reducer, node.test), reduceListStatement(reducer, node.consequent));
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchDefault node) {
+        return reducer.reduceSwitchDefault(node, reduceListStatement(reducer, node.consequent));
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchStatement node) {
+        return reducer.reduceSwitchStatement(node, reduceExpression(reducer, node.discriminant), reduceListSwitchCase(reducer, node.cases));
+    }
+
+    @Nonnull
+    public static <State> State reduceSwitchStatementWithDefault(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull SwitchStatementWithDefault node) {
+        return reducer.reduceSwitchStatementWithDefault(node, reduceExpression(reducer, node.discriminant), reduceListSwitchCase(reducer, node.preDefaultCases), reduceSwitchDefault(reducer, node.defaultCase), reduceListSwitchCase(reducer, node.postDefaultCases));
+    }
+
+    @Nonnull
+    public static <State> State reduceTemplateElement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TemplateElement node) {
+        return reducer.reduceTemplateElement(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceTemplateExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TemplateExpression node) {
+        return reducer.reduceTemplateExpression(node, reduceMaybeExpression(reducer, node.tag), reduceListExpressionTemplateElement(reducer, node.elements));
+    }
+
+    @Nonnull
+    public static <State> State reduceThisExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ThisExpression node) {
+        return reducer.reduceThisExpression(node);
+    }
+
+    @Nonnull
+    public static <State> State reduceThrowStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull ThrowStatement node) {
+        return reducer.reduceThrowStatement(node, reduceExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceTryCatchStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TryCatchStatement node) {
+        return reducer.reduceTryCatchStatement(node, reduceBlock(reducer, node.body), reduceCatchClause(reducer, node.catchClause));
+    }
+
+    @Nonnull
+    public static <State> State reduceTryFinallyStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull TryFinallyStatement node) {
+        return reducer.reduceTryFinallyStatement(node, reduceBlock(reducer, node.body), reduceMaybeCatchClause(reducer, node.catchClause), reduceBlock(reducer, node.finalizer));
+    }
+
+    @Nonnull
+    public static <State> State reduceUnaryExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull UnaryExpression node) {
+        return reducer.reduceUnaryExpression(node, reduceExpression(reducer, node.operand));
+    }
+
+    @Nonnull
+    public static <State> State reduceUpdateExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull UpdateExpression node) {
+        return reducer.reduceUpdateExpression(node, reduceSimpleAssignmentTarget(reducer, node.operand));
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclaration(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclaration node) {
+        return reducer.reduceVariableDeclaration(node, reduceListVariableDeclarator(reducer, node.declarators));
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationAssignmentTarget(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationAssignmentTarget node) {
+        switch (node.type()) {
+            case ArrayAssignmentTarget.TYPE:
+                return reduceArrayAssignmentTarget(reducer, (ArrayAssignmentTarget) node);
+            case AssignmentTargetIdentifier.TYPE:
+                return reduceAssignmentTargetIdentifier(reducer, (AssignmentTargetIdentifier) node);
+            case ComputedMemberAssignmentTarget.TYPE:
+                return reduceComputedMemberAssignmentTarget(reducer, (ComputedMemberAssignmentTarget) node);
+            case ObjectAssignmentTarget.TYPE:
+                return reduceObjectAssignmentTarget(reducer, (ObjectAssignmentTarget) node);
+            case StaticMemberAssignmentTarget.TYPE:
+                return reduceStaticMemberAssignmentTarget(reducer, (StaticMemberAssignmentTarget) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationExpression node) {
+        switch (node.type()) {
+            case ArrayExpression.TYPE:
+                return reduceArrayExpression(reducer, (ArrayExpression) node);
+            case ArrowExpression.TYPE:
+                return reduceArrowExpression(reducer, (ArrowExpression) node);
+            case AssignmentExpression.TYPE:
+                return reduceAssignmentExpression(reducer, (AssignmentExpression) node);
+            case AwaitExpression.TYPE:
+                return reduceAwaitExpression(reducer, (AwaitExpression) node);
+            case BinaryExpression.TYPE:
+                return reduceBinaryExpression(reducer, (BinaryExpression) node);
+            case CallExpression.TYPE:
+                return reduceCallExpression(reducer, (CallExpression) node);
+            case ClassExpression.TYPE:
+                return reduceClassExpression(reducer, (ClassExpression) node);
+            case CompoundAssignmentExpression.TYPE:
+                return reduceCompoundAssignmentExpression(reducer, (CompoundAssignmentExpression) node);
+            case ComputedMemberExpression.TYPE:
+                return reduceComputedMemberExpression(reducer, (ComputedMemberExpression) node);
+            case ConditionalExpression.TYPE:
+                return reduceConditionalExpression(reducer, (ConditionalExpression) node);
+            case FunctionExpression.TYPE:
+                return reduceFunctionExpression(reducer, (FunctionExpression) node);
+            case IdentifierExpression.TYPE:
+                return reduceIdentifierExpression(reducer, (IdentifierExpression) node);
+            case LiteralBooleanExpression.TYPE:
+                return reduceLiteralBooleanExpression(reducer, (LiteralBooleanExpression) node);
+            case LiteralInfinityExpression.TYPE:
+                return reduceLiteralInfinityExpression(reducer, (LiteralInfinityExpression) node);
+            case LiteralNullExpression.TYPE:
+                return reduceLiteralNullExpression(reducer, (LiteralNullExpression) node);
+            case LiteralNumericExpression.TYPE:
+                return reduceLiteralNumericExpression(reducer, (LiteralNumericExpression) node);
+            case LiteralRegExpExpression.TYPE:
+                return reduceLiteralRegExpExpression(reducer, (LiteralRegExpExpression) node);
+            case LiteralStringExpression.TYPE:
+                return reduceLiteralStringExpression(reducer, (LiteralStringExpression) node);
+            case NewExpression.TYPE:
+                return reduceNewExpression(reducer, (NewExpression) node);
+            case NewTargetExpression.TYPE:
+                return reduceNewTargetExpression(reducer, (NewTargetExpression) node);
+            case ObjectExpression.TYPE:
+                return reduceObjectExpression(reducer, (ObjectExpression) node);
+            case StaticMemberExpression.TYPE:
+                return reduceStaticMemberExpression(reducer, (StaticMemberExpression) node);
+            case TemplateExpression.TYPE:
+                return reduceTemplateExpression(reducer, (TemplateExpression) node);
+            case ThisExpression.TYPE:
+                return reduceThisExpression(reducer, (ThisExpression) node);
+            case UnaryExpression.TYPE:
+                return reduceUnaryExpression(reducer, (UnaryExpression) node);
+            case UpdateExpression.TYPE:
+                return reduceUpdateExpression(reducer, (UpdateExpression) node);
+            case VariableDeclaration.TYPE:
+                return reduceVariableDeclaration(reducer, (VariableDeclaration) node);
+            case YieldExpression.TYPE:
+                return reduceYieldExpression(reducer, (YieldExpression) node);
+            case YieldGeneratorExpression.TYPE:
+                return reduceYieldGeneratorExpression(reducer, (YieldGeneratorExpression) node);
+            default:
+                throw new RuntimeException("Not reached");
+        }
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarationStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarationStatement node) {
+        return reducer.reduceVariableDeclarationStatement(node, reduceVariableDeclaration(reducer, node.declaration));
+    }
+
+    @Nonnull
+    public static <State> State reduceVariableDeclarator(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull VariableDeclarator node) {
+        return reducer.reduceVariableDeclarator(node, reduceBinding(reducer, node.binding), reduceMaybeExpression(reducer, node.init));
+    }
+
+    @Nonnull
+    public static <State> State reduceWhileStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull WhileStatement node) {
+        return reducer.reduceWhileStatement(node, reduceExpression(reducer, node.test), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceWithStatement(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull WithStatement node) {
+        return reducer.reduceWithStatement(node, reduceExpression(reducer, node.object), reduceStatement(reducer, node.body));
+    }
+
+    @Nonnull
+    public static <State> State reduceYieldExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull YieldExpression node) {
+        return reducer.reduceYieldExpression(node, reduceMaybeExpression(reducer, node.expression));
+    }
+
+    @Nonnull
+    public static <State> State reduceYieldGeneratorExpression(
+      @Nonnull Reducer<State> reducer,
+      @Nonnull YieldGeneratorExpression node) {
+        return reducer.reduceYieldGeneratorExpression(node, reduceExpression(reducer, node.expression));
+    }
+}
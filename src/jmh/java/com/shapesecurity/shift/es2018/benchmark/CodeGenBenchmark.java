@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.codegen.CodeGen;
+import com.shapesecurity.shift.es2018.codegen.CodeRep;
+import com.shapesecurity.shift.es2018.codegen.DirectCodeGen;
+import com.shapesecurity.shift.es2018.codegen.PrettyCodeGen;
+import com.shapesecurity.shift.es2018.codegen.TokenStream;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class CodeGenBenchmark extends Corpus {
+    private Script script;
+    private CodeRep rep;
+
+    @Setup
+    public void setup() throws JsError {
+        this.script = Parser.parseScript(readLibrary(this.library));
+        this.rep = Director.reduceScript(CodeGen.COMPACT, this.script);
+    }
+
+    @Benchmark
+    public String compact() {
+        return CodeGen.codeGen(this.script);
+    }
+
+    @Benchmark
+    public String direct() {
+        return DirectCodeGen.codeGen(this.script);
+    }
+
+    // the TokenStream alone, writing out code already reduced
+    @Benchmark
+    public String emit() {
+        StringBuilder sb = new StringBuilder();
+        this.rep.emit(new TokenStream(sb), false);
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String pretty() {
+        return PrettyCodeGen.codeGen(this.script);
+    }
+}
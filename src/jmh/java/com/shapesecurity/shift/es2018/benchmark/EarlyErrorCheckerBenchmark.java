@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.EarlyError;
+import com.shapesecurity.shift.es2018.parser.EarlyErrorChecker;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class EarlyErrorCheckerBenchmark extends Corpus {
+    private String source;
+    private Script script;
+
+    @Setup
+    public void setup() throws JsError {
+        this.source = readLibrary(this.library);
+        this.script = Parser.parseScript(this.source);
+    }
+
+    @Benchmark
+    public ImmutableList<EarlyError> validate() {
+        return EarlyErrorChecker.validate(this.script);
+    }
+
+    @Benchmark
+    public ImmutableList<EarlyError> reduceWithEarlyErrorState() {
+        return EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), this.script));
+    }
+
+    @Benchmark
+    public ImmutableList<EarlyError> parseThenValidate() throws JsError {
+        return EarlyErrorChecker.validate(Parser.parseScript(this.source));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.ast.Statement;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.parser.ParserWithCompactLocation;
+import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class ParserBenchmark extends Corpus {
+    private String source;
+
+    @Setup
+    public void setup() {
+        this.source = readLibrary(this.library);
+    }
+
+    @Benchmark
+    public Script parseScript() throws JsError {
+        return Parser.parseScript(this.source);
+    }
+
+    @Benchmark
+    public Script parseScriptLazy() throws JsError {
+        return Parser.parseScriptLazy(this.source);
+    }
+
+    @Benchmark
+    public Script parseScriptParallel() throws JsError {
+        return Parser.parseScriptParallel(this.source);
+    }
+
+    @Benchmark
+    public Module parseModule() throws JsError {
+        return Parser.parseModule(this.source);
+    }
+
+    @Benchmark
+    public ParserWithLocation parseScriptWithLocation() throws JsError {
+        ParserWithLocation parser = new ParserWithLocation();
+        parser.parseScript(this.source);
+        return parser;
+    }
+
+    @Benchmark
+    public ParserWithLocation parseScriptWithStatementLocations() throws JsError {
+        ParserWithLocation parser = new ParserWithLocation(Statement.class::isAssignableFrom);
+        parser.parseScript(this.source);
+        return parser;
+    }
+
+    @Benchmark
+    public ParserWithCompactLocation parseScriptWithCompactLocation() throws JsError {
+        ParserWithCompactLocation parser = new ParserWithCompactLocation();
+        parser.parseScript(this.source);
+        return parser;
+    }
+}
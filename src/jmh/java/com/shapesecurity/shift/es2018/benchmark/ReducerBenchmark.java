@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Monoid;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import com.shapesecurity.shift.es2018.reducer.Flattener;
+import com.shapesecurity.shift.es2018.reducer.IterativeDirector;
+import com.shapesecurity.shift.es2018.reducer.MonoidalReducer;
+import com.shapesecurity.shift.es2018.reducer.ParallelDirector;
+import com.shapesecurity.shift.es2018.reducer.Reducer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+public class ReducerBenchmark extends Corpus {
+    private static final Reducer<Integer> COUNTER = new MonoidalReducer<>(Monoid.INTEGER_ADDITIVE);
+
+    private Script script;
+
+    @Setup
+    public void setup() throws JsError {
+        this.script = Parser.parseScript(readLibrary(this.library));
+    }
+
+    @Benchmark
+    public ImmutableList<Node> flatten() {
+        return Flattener.flatten(this.script);
+    }
+
+    @Benchmark
+    public Integer reduce() {
+        return Director.reduceScript(COUNTER, this.script);
+    }
+
+    @Benchmark
+    public Integer reduceIteratively() {
+        return IterativeDirector.reduceScript(COUNTER, this.script);
+    }
+
+    @Benchmark
+    public Integer reduceInParallel() {
+        return ParallelDirector.reduceScript(COUNTER, this.script);
+    }
+}
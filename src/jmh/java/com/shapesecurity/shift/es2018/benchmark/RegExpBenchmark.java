@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Parses a script consisting of a single regular expression literal of the given length, to check that the time
+// taken grows linearly with it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RegExpBenchmark {
+    // a repeating unit exercising escapes and character classes, which may contain an unescaped '/'
+    private static final String UNIT = "ab\\/[c/\\]]d|";
+
+    @Param({"16384", "131072", "1048576"})
+    public int length;
+
+    private String source;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(this.length + 16);
+        sb.append("x = /");
+        while (sb.length() < this.length) {
+            sb.append(UNIT);
+        }
+        sb.append("e/gi;");
+        this.source = sb.toString();
+    }
+
+    @Benchmark
+    public Script parseScript() throws JsError {
+        return Parser.parseScript(this.source);
+    }
+}
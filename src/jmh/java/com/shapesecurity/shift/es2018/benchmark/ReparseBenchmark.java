@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.shapesecurity.shift.es2018.benchmark;
+
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
+import com.shapesecurity.shift.es2018.parser.Token;
+import com.shapesecurity.shift.es2018.parser.TokenType;
+import com.shapesecurity.shift.es2018.parser.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+// Alternately lengthens and restores an identifier half way through the library, reparsing after each edit.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReparseBenchmark extends Corpus {
+    private ParserWithLocation parser;
+    private String source;
+    private String edited;
+    private Script script;
+    private ParserWithLocation.TextEdit insertion;
+    private ParserWithLocation.TextEdit removal;
+    private boolean isEdited;
+
+    @Setup
+    public void setup() throws JsError {
+        this.source = readLibrary(this.library);
+        this.parser = new ParserWithLocation();
+        this.script = this.parser.parseScript(this.source);
+        Iterator<Token> tokens = Tokenizer.stream(this.source, false);
+        Token token;
+        do {
+            token = tokens.next();
+        } while (token.type != TokenType.IDENTIFIER || token.slice.start < this.source.length() / 2);
+        int offset = token.slice.end;
+        this.insertion = new ParserWithLocation.TextEdit(offset, offset, "x");
+        this.removal = new ParserWithLocation.TextEdit(offset, offset + 1, "");
+        this.edited = this.source.substring(0, offset) + "x" + this.source.substring(offset);
+    }
+
+    @Benchmark
+    public Script reparseScript() throws JsError {
+        this.script = this.isEdited
+            ? this.parser.reparseScript(this.script, this.edited, this.removal)
+            : this.parser.reparseScript(this.script, this.source, this.insertion);
+        this.isEdited = !this.isEdited;
+        return this.script;
+    }
+}
@@ -29,6 +29,13 @@ import com.shapesecurity.shift.es2018.utils.D2A;
 import com.shapesecurity.shift.es2018.utils.Utils;
 import javax.annotation.Nonnull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,6 +61,36 @@ public class CodeGen implements Reducer<CodeRep> {
         return sb.toString();
     }
 
+    // Writes the code for the program to `out` as it is generated, rather than building it up as a single String.
+    public static void codeGen(@Nonnull Program program, @Nonnull Appendable out) throws IOException {
+        codeGen(program, COMPACT, out);
+    }
+
+    // Writes the code for the program to `channel` as UTF-8 as it is generated. The channel is left open.
+    public static void codeGen(@Nonnull Program program, @Nonnull WritableByteChannel channel) throws IOException {
+        codeGen(program, COMPACT, channel);
+    }
+
+    protected static void codeGen(@Nonnull Program program, @Nonnull CodeGen codeGen, @Nonnull Appendable out) throws IOException {
+        CodeRep rep = Director.reduceProgram(codeGen, program);
+        TokenStream ts = new TokenStream(out);
+        try {
+            rep.emit(ts, false);
+            ts.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected static void codeGen(@Nonnull Program program, @Nonnull CodeGen codeGen, @Nonnull WritableByteChannel channel) throws IOException {
+        // as String.getBytes, replaces unpaired surrogates rather than failing on them
+        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1);
+        codeGen(program, codeGen, writer);
+        writer.flush();
+    }
+
     @Deprecated
     @Nonnull
     public static String codeGen(@Nonnull Script script, boolean pretty) {
@@ -79,7 +116,7 @@ public class CodeGen implements Reducer<CodeRep> {
         }
     }
 
-    private boolean isIdentifierNameES6(String id) {
+    static boolean isIdentifierNameES6(String id) {
         char ch;
         char lowCh;
 
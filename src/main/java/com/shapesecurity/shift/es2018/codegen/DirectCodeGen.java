@@ -0,0 +1,1142 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.codegen;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.*;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.operators.BinaryOperator;
+import com.shapesecurity.shift.es2018.ast.operators.Precedence;
+import com.shapesecurity.shift.es2018.utils.D2A;
+import com.shapesecurity.shift.es2018.utils.Utils;
+import javax.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.regex.Pattern;
+
+/**
+ * Generates the same code as {@link CodeGen#COMPACT} in a single walk of the tree, writing each token to the {@link
+ * TokenStream} as it is reached instead of first reducing the tree to {@link CodeRep}s.
+ *
+ * Where CodeGen decides whether to parenthesize a node from flags its children's CodeReps computed bottom-up, this
+ * computes the same flags on demand, from the few descendants they depend on: {@link #startFlags} follows the
+ * leftmost operand of an expression, {@link #containsIn} the operands of binary, assignment and conditional
+ * expressions, and {@link #endsWithMissingElse} the bodies of nested statements. Each of these mirrors the
+ * corresponding reduce method of CodeGen exactly, including where its flags ignore the parentheses it adds.
+ */
+public final class DirectCodeGen {
+    // the flags of CodeRep which describe how its code starts
+    private static final int STARTS_WITH_OBJECT_CURLY = 1;
+    private static final int STARTS_WITH_FUNCTION_OR_CLASS = 2;
+    private static final int STARTS_WITH_LET = 4;
+    private static final int STARTS_WITH_LET_SQUARE_BRACKET = 8;
+    // those which expressions take from their first operand
+    private static final int INHERITED = STARTS_WITH_OBJECT_CURLY | STARTS_WITH_FUNCTION_OR_CLASS | STARTS_WITH_LET_SQUARE_BRACKET;
+
+    private static final Pattern NO_UNESCAPED_DOUBLE_QUOTE = Pattern.compile("^(?:[^\"]|\\\\.)*$");
+
+    @Nonnull
+    private final TokenStream ts;
+
+    private DirectCodeGen(@Nonnull TokenStream ts) {
+        this.ts = ts;
+    }
+
+    @Nonnull
+    public static String codeGen(@Nonnull Program program) {
+        StringBuilder sb = new StringBuilder();
+        new DirectCodeGen(new TokenStream(sb)).emitProgram(program);
+        return sb.toString();
+    }
+
+    // Writes the code for the program to `out` as it is generated.
+    public static void codeGen(@Nonnull Program program, @Nonnull Appendable out) throws IOException {
+        TokenStream ts = new TokenStream(out);
+        try {
+            new DirectCodeGen(ts).emitProgram(program);
+            ts.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean needsParens(@Nonnull Expression node, @Nonnull Precedence precedence) {
+        return node.getPrecedence().ordinal() < precedence.ordinal();
+    }
+
+    // The CodeRep flags of the code for a node which describe how it starts.
+    private static int startFlags(@Nonnull Node node) {
+        if (node instanceof ObjectExpression || node instanceof ObjectAssignmentTarget || node instanceof ObjectBinding) {
+            return STARTS_WITH_OBJECT_CURLY;
+        } else if (node instanceof FunctionExpression || node instanceof ClassExpression) {
+            return STARTS_WITH_FUNCTION_OR_CLASS;
+        } else if (node instanceof IdentifierExpression) {
+            return ((IdentifierExpression) node).name.equals("let") ? STARTS_WITH_LET : 0;
+        } else if (node instanceof BindingIdentifier) {
+            return ((BindingIdentifier) node).name.equals("let") ? STARTS_WITH_LET : 0;
+        } else if (node instanceof AssignmentExpression) {
+            return startFlags(((AssignmentExpression) node).binding) & INHERITED;
+        } else if (node instanceof CompoundAssignmentExpression) {
+            return startFlags(((CompoundAssignmentExpression) node).binding) & INHERITED;
+        } else if (node instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) node;
+            return needsParens(binary.left, binary.getPrecedence()) ? 0 : startFlags(binary.left) & INHERITED;
+        } else if (node instanceof CallExpression) {
+            return startFlags(((CallExpression) node).callee) & INHERITED;
+        } else if (node instanceof ConditionalExpression) {
+            return startFlags(((ConditionalExpression) node).test) & INHERITED;
+        } else if (node instanceof TemplateExpression) {
+            Maybe<Expression> tag = ((TemplateExpression) node).tag;
+            return tag.isJust() ? startFlags(tag.fromJust()) & INHERITED : 0;
+        } else if (node instanceof UpdateExpression) {
+            UpdateExpression update = (UpdateExpression) node;
+            return update.isPrefix ? 0 : startFlags(update.operand) & INHERITED;
+        } else if (node instanceof ComputedMemberExpression || node instanceof ComputedMemberAssignmentTarget) {
+            ExpressionSuper object = node instanceof ComputedMemberExpression ? ((ComputedMemberExpression) node).object : ((ComputedMemberAssignmentTarget) node).object;
+            int flags = startFlags(object);
+            if (object instanceof IdentifierExpression && ((IdentifierExpression) object).name.equals("let")) {
+                flags |= STARTS_WITH_LET_SQUARE_BRACKET;
+            }
+            return flags;
+        } else if (node instanceof StaticMemberExpression) {
+            return startFlags(((StaticMemberExpression) node).object);
+        } else if (node instanceof StaticMemberAssignmentTarget) {
+            return startFlags(((StaticMemberAssignmentTarget) node).object);
+        }
+        return 0;
+    }
+
+    // Whether the code for an expression contains an `in` operator which is not within parentheses of its own, by
+    // CodeRep's reckoning.
+    private static boolean containsIn(@Nonnull Expression node) {
+        if (node instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) node;
+            return binary.operator == BinaryOperator.In ||
+                    !needsParens(binary.left, binary.getPrecedence()) && containsIn(binary.left) ||
+                    binary.right.getPrecedence().ordinal() > binary.getPrecedence().ordinal() && containsIn(binary.right);
+        } else if (node instanceof AssignmentExpression) {
+            AssignmentExpression assignment = (AssignmentExpression) node;
+            return !needsParens(assignment.expression, assignment.getPrecedence()) && containsIn(assignment.expression);
+        } else if (node instanceof CompoundAssignmentExpression) {
+            CompoundAssignmentExpression assignment = (CompoundAssignmentExpression) node;
+            return !needsParens(assignment.expression, assignment.getPrecedence()) && containsIn(assignment.expression);
+        } else if (node instanceof ConditionalExpression) {
+            ConditionalExpression conditional = (ConditionalExpression) node;
+            return containsIn(conditional.test) || containsIn(conditional.alternate);
+        }
+        return false;
+    }
+
+    private static boolean containsGroup(@Nonnull Node node) {
+        return node instanceof BinaryExpression && ((BinaryExpression) node).operator == BinaryOperator.Sequence;
+    }
+
+    // Whether the code for a statement ends with an `if` without an `else`, which an `else` after it would attach to.
+    private static boolean endsWithMissingElse(@Nonnull Statement node) {
+        if (node instanceof IfStatement) {
+            Maybe<Statement> alternate = ((IfStatement) node).alternate;
+            return alternate.isNothing() || endsWithMissingElse(alternate.fromJust());
+        } else if (node instanceof ForStatement || node instanceof ForInStatement || node instanceof ForOfStatement ||
+                node instanceof ForAwaitStatement || node instanceof WhileStatement) {
+            return endsWithMissingElse(((IterationStatement) node).body);
+        } else if (node instanceof WithStatement) {
+            return endsWithMissingElse(((WithStatement) node).body);
+        } else if (node instanceof LabeledStatement) {
+            return endsWithMissingElse(((LabeledStatement) node).body);
+        }
+        return false;
+    }
+
+    private void put(@Nonnull String token) {
+        this.ts.put(token);
+    }
+
+    private void emitProgram(@Nonnull Program node) {
+        if (node instanceof Script) {
+            Script script = (Script) node;
+            this.emitDirectives(script.directives);
+            boolean first = true;
+            for (Statement statement : script.statements) {
+                this.emitListItem(statement, first);
+                first = false;
+            }
+        } else {
+            Module module = (Module) node;
+            this.emitDirectives(module.directives);
+            boolean first = true;
+            for (ImportDeclarationExportDeclarationStatement item : module.items) {
+                this.emitListItem(item, first);
+                first = false;
+            }
+        }
+    }
+
+    private void emitDirectives(@Nonnull ImmutableList<Directive> directives) {
+        for (Directive directive : directives) {
+            String delim = NO_UNESCAPED_DOUBLE_QUOTE.matcher(directive.rawValue).matches() ? "\"" : "\'";
+            this.put(delim + directive.rawValue + delim);
+            this.ts.putOptionalSemi();
+        }
+    }
+
+    // The first statement of a script, module or function body is parenthesized if it is a string literal, so that it
+    // is not read as a directive.
+    private void emitListItem(@Nonnull ImportDeclarationExportDeclarationStatement node, boolean isInDirectivePosition) {
+        if (isInDirectivePosition && node instanceof ExpressionStatement && ((ExpressionStatement) node).expression instanceof LiteralStringExpression) {
+            this.put("(");
+            this.emitExpression(((ExpressionStatement) node).expression);
+            this.put(")");
+            this.ts.putOptionalSemi();
+        } else if (node instanceof Statement) {
+            this.emitStatement((Statement) node);
+        } else {
+            this.emitModuleItem(node);
+        }
+    }
+
+    private void emitStatements(@Nonnull ImmutableList<Statement> statements) {
+        for (Statement statement : statements) {
+            this.emitStatement(statement);
+        }
+    }
+
+    private void emitStatement(@Nonnull Statement node) {
+        if (node instanceof ExpressionStatement) {
+            Expression expression = ((ExpressionStatement) node).expression;
+            boolean needsParens = !(expression instanceof LiteralStringExpression) && (startFlags(expression) & INHERITED) != 0;
+            if (needsParens) {
+                this.put("(");
+            }
+            this.emitExpression(expression);
+            if (needsParens) {
+                this.put(")");
+            }
+            this.ts.putOptionalSemi();
+        } else if (node instanceof VariableDeclarationStatement) {
+            this.emitVariableDeclaration(((VariableDeclarationStatement) node).declaration, false);
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ReturnStatement) {
+            this.put("return");
+            Maybe<Expression> expression = ((ReturnStatement) node).expression;
+            if (expression.isJust()) {
+                this.emitExpression(expression.fromJust());
+            }
+            this.ts.putOptionalSemi();
+        } else if (node instanceof IfStatement) {
+            IfStatement ifStatement = (IfStatement) node;
+            this.put("if");
+            this.emitParenthesized(ifStatement.test);
+            boolean brace = ifStatement.alternate.isJust() && endsWithMissingElse(ifStatement.consequent);
+            if (brace) {
+                this.put("{");
+            }
+            this.emitStatement(ifStatement.consequent);
+            if (brace) {
+                this.put("}");
+            }
+            if (ifStatement.alternate.isJust()) {
+                this.put("else");
+                this.emitStatement(ifStatement.alternate.fromJust());
+            }
+        } else if (node instanceof BlockStatement) {
+            this.emitBlock(((BlockStatement) node).block);
+        } else if (node instanceof FunctionDeclaration) {
+            FunctionDeclaration function = (FunctionDeclaration) node;
+            if (function.isAsync) {
+                this.put("async");
+            }
+            this.put("function");
+            if (function.isGenerator) {
+                this.put("*");
+            }
+            if (!function.name.name.equals("*default*")) {
+                this.put(function.name.name);
+            }
+            this.emitFormalParameters(function.params);
+            this.emitFunctionBody(function.body);
+        } else if (node instanceof ForStatement) {
+            ForStatement forStatement = (ForStatement) node;
+            this.put("for");
+            this.put("(");
+            if (forStatement.init.isJust()) {
+                VariableDeclarationExpression init = forStatement.init.fromJust();
+                if (init instanceof VariableDeclaration) {
+                    this.emitVariableDeclaration((VariableDeclaration) init, true);
+                } else if (containsIn((Expression) init)) {
+                    this.emitParenthesized((Expression) init);
+                } else {
+                    this.emitExpression((Expression) init);
+                }
+            }
+            this.put(";");
+            if (forStatement.test.isJust()) {
+                this.emitExpression(forStatement.test.fromJust());
+            }
+            this.put(";");
+            if (forStatement.update.isJust()) {
+                this.emitExpression(forStatement.update.fromJust());
+            }
+            this.put(")");
+            this.emitStatement(forStatement.body);
+        } else if (node instanceof ForInStatement) {
+            ForInStatement forIn = (ForInStatement) node;
+            this.put("for");
+            this.put("(");
+            if (forIn.left instanceof VariableDeclaration) {
+                this.emitVariableDeclaration((VariableDeclaration) forIn.left, true);
+            } else if (forIn.left instanceof AssignmentTargetIdentifier && ((AssignmentTargetIdentifier) forIn.left).name.equals("let")) {
+                this.put("(");
+                this.put("let");
+                this.put(")");
+            } else {
+                this.emitAssignmentTarget((AssignmentTarget) forIn.left);
+            }
+            this.put("in");
+            this.emitExpression(forIn.right);
+            this.put(")");
+            this.emitStatement(forIn.body);
+        } else if (node instanceof ForOfStatement) {
+            ForOfStatement forOf = (ForOfStatement) node;
+            this.put("for");
+            this.emitForOfHead(forOf.left, forOf.right);
+            this.emitStatement(forOf.body);
+        } else if (node instanceof ForAwaitStatement) {
+            ForAwaitStatement forAwait = (ForAwaitStatement) node;
+            this.put("for");
+            this.put("await");
+            this.emitForOfHead(forAwait.left, forAwait.right);
+            this.emitStatement(forAwait.body);
+        } else if (node instanceof WhileStatement) {
+            WhileStatement whileStatement = (WhileStatement) node;
+            this.put("while");
+            this.emitParenthesized(whileStatement.test);
+            this.emitStatement(whileStatement.body);
+        } else if (node instanceof DoWhileStatement) {
+            DoWhileStatement doWhile = (DoWhileStatement) node;
+            this.put("do");
+            this.emitStatement(doWhile.body);
+            this.put("while");
+            this.emitParenthesized(doWhile.test);
+            this.ts.putOptionalSemi();
+        } else if (node instanceof BreakStatement) {
+            this.put("break");
+            Maybe<String> label = ((BreakStatement) node).label;
+            if (label.isJust()) {
+                this.put(label.fromJust());
+            }
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ContinueStatement) {
+            this.put("continue");
+            Maybe<String> label = ((ContinueStatement) node).label;
+            if (label.isJust()) {
+                this.put(label.fromJust());
+            }
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ThrowStatement) {
+            this.put("throw");
+            this.emitExpression(((ThrowStatement) node).expression);
+            this.ts.putOptionalSemi();
+        } else if (node instanceof TryCatchStatement) {
+            TryCatchStatement tryCatch = (TryCatchStatement) node;
+            this.put("try");
+            this.emitBlock(tryCatch.body);
+            this.emitCatchClause(tryCatch.catchClause);
+        } else if (node instanceof TryFinallyStatement) {
+            TryFinallyStatement tryFinally = (TryFinallyStatement) node;
+            this.put("try");
+            this.emitBlock(tryFinally.body);
+            if (tryFinally.catchClause.isJust()) {
+                this.emitCatchClause(tryFinally.catchClause.fromJust());
+            }
+            this.put("finally");
+            this.emitBlock(tryFinally.finalizer);
+        } else if (node instanceof SwitchStatement) {
+            SwitchStatement switchStatement = (SwitchStatement) node;
+            this.put("switch");
+            this.emitParenthesized(switchStatement.discriminant);
+            this.put("{");
+            this.emitSwitchCases(switchStatement.cases);
+            this.put("}");
+        } else if (node instanceof SwitchStatementWithDefault) {
+            SwitchStatementWithDefault switchStatement = (SwitchStatementWithDefault) node;
+            this.put("switch");
+            this.emitParenthesized(switchStatement.discriminant);
+            this.put("{");
+            this.emitSwitchCases(switchStatement.preDefaultCases);
+            this.put("default");
+            this.put(":");
+            this.emitStatements(switchStatement.defaultCase.consequent);
+            this.emitSwitchCases(switchStatement.postDefaultCases);
+            this.put("}");
+        } else if (node instanceof LabeledStatement) {
+            LabeledStatement labeled = (LabeledStatement) node;
+            this.put(labeled.label);
+            this.put(":");
+            this.emitStatement(labeled.body);
+        } else if (node instanceof EmptyStatement) {
+            this.put(";");
+        } else if (node instanceof ClassDeclaration) {
+            ClassDeclaration classDeclaration = (ClassDeclaration) node;
+            this.put("class");
+            if (!classDeclaration.name.name.equals("*default*")) {
+                this.put(classDeclaration.name.name);
+            }
+            this.emitClassTail(classDeclaration._super, classDeclaration.elements);
+        } else if (node instanceof WithStatement) {
+            WithStatement with = (WithStatement) node;
+            this.put("with");
+            this.emitParenthesized(with.object);
+            this.emitStatement(with.body);
+        } else if (node instanceof DebuggerStatement) {
+            this.put("debugger");
+            this.ts.putOptionalSemi();
+        } else {
+            throw new IllegalArgumentException("Unknown statement type: " + node.getClass().getSimpleName());
+        }
+    }
+
+    private void emitModuleItem(@Nonnull ImportDeclarationExportDeclarationStatement node) {
+        if (node instanceof Import) {
+            Import importNode = (Import) node;
+            this.put("import");
+            if (importNode.defaultBinding.isJust() || importNode.namedImports.isNotEmpty()) {
+                if (importNode.defaultBinding.isJust()) {
+                    this.put(importNode.defaultBinding.fromJust().name);
+                    if (importNode.namedImports.isNotEmpty()) {
+                        this.put(",");
+                    }
+                }
+                if (importNode.namedImports.isNotEmpty()) {
+                    this.put("{");
+                    boolean first = true;
+                    for (ImportSpecifier specifier : importNode.namedImports) {
+                        if (!first) {
+                            this.put(",");
+                        }
+                        first = false;
+                        if (specifier.name.isJust()) {
+                            this.put(specifier.name.fromJust());
+                            this.put("as");
+                        }
+                        this.put(specifier.binding.name);
+                    }
+                    this.put("}");
+                }
+                this.put("from");
+            }
+            this.put(Utils.escapeStringLiteral(importNode.moduleSpecifier));
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ImportNamespace) {
+            ImportNamespace importNamespace = (ImportNamespace) node;
+            this.put("import");
+            if (importNamespace.defaultBinding.isJust()) {
+                this.put(importNamespace.defaultBinding.fromJust().name);
+                this.put(",");
+            }
+            this.put("*");
+            this.put("as");
+            this.put(importNamespace.namespaceBinding.name);
+            this.put("from");
+            this.put(Utils.escapeStringLiteral(importNamespace.moduleSpecifier));
+            this.ts.putOptionalSemi();
+        } else if (node instanceof Export) {
+            FunctionDeclarationClassDeclarationVariableDeclaration declaration = ((Export) node).declaration;
+            this.put("export");
+            if (declaration instanceof VariableDeclaration) {
+                this.emitVariableDeclaration((VariableDeclaration) declaration, false);
+                this.ts.putOptionalSemi();
+            } else {
+                this.emitStatement((Statement) declaration);
+            }
+        } else if (node instanceof ExportDefault) {
+            FunctionDeclarationClassDeclarationExpression body = ((ExportDefault) node).body;
+            this.put("export default");
+            if (body instanceof Expression) {
+                Expression expression = (Expression) body;
+                boolean needsParens = (startFlags(expression) & STARTS_WITH_FUNCTION_OR_CLASS) != 0;
+                if (needsParens) {
+                    this.put("(");
+                }
+                this.emitExpression(expression);
+                if (needsParens) {
+                    this.put(")");
+                }
+                this.ts.putOptionalSemi();
+            } else {
+                this.emitStatement((Statement) body);
+            }
+        } else if (node instanceof ExportAllFrom) {
+            this.put("export");
+            this.put("*");
+            this.put("from");
+            this.put(Utils.escapeStringLiteral(((ExportAllFrom) node).moduleSpecifier));
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ExportFrom) {
+            ExportFrom exportFrom = (ExportFrom) node;
+            this.put("export");
+            this.put("{");
+            boolean first = true;
+            for (ExportFromSpecifier specifier : exportFrom.namedExports) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                this.put(specifier.name);
+                if (specifier.exportedName.isJust()) {
+                    this.put("as");
+                    this.put(specifier.exportedName.fromJust());
+                }
+            }
+            this.put("}");
+            this.put("from");
+            this.put(Utils.escapeStringLiteral(exportFrom.moduleSpecifier));
+            this.ts.putOptionalSemi();
+        } else if (node instanceof ExportLocals) {
+            this.put("export");
+            this.put("{");
+            boolean first = true;
+            for (ExportLocalSpecifier specifier : ((ExportLocals) node).namedExports) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                this.put(specifier.name.name);
+                if (specifier.exportedName.isJust()) {
+                    this.put("as");
+                    this.put(specifier.exportedName.fromJust());
+                }
+            }
+            this.put("}");
+            this.ts.putOptionalSemi();
+        } else {
+            throw new IllegalArgumentException("Unknown module item type: " + node.getClass().getSimpleName());
+        }
+    }
+
+    // `noIn` is set within the head of a for statement, where the initializers are parenthesized if they contain `in`
+    private void emitVariableDeclaration(@Nonnull VariableDeclaration node, boolean noIn) {
+        this.put(node.kind.name);
+        boolean first = true;
+        for (VariableDeclarator declarator : node.declarators) {
+            if (!first) {
+                this.put(",");
+            }
+            first = false;
+            this.emitBinding(declarator.binding);
+            if (declarator.init.isJust()) {
+                Expression init = declarator.init.fromJust();
+                this.put("=");
+                if (containsGroup(init) || noIn && containsIn(init)) {
+                    this.emitParenthesized(init);
+                } else {
+                    this.emitExpression(init);
+                }
+            }
+        }
+    }
+
+    private void emitForOfHead(@Nonnull VariableDeclarationAssignmentTarget left, @Nonnull Expression right) {
+        this.put("(");
+        if (left instanceof VariableDeclaration) {
+            this.emitVariableDeclaration((VariableDeclaration) left, true);
+        } else if ((startFlags(left) & STARTS_WITH_LET) != 0) {
+            this.put("(");
+            this.emitAssignmentTarget((AssignmentTarget) left);
+            this.put(")");
+        } else {
+            this.emitAssignmentTarget((AssignmentTarget) left);
+        }
+        this.put("of");
+        this.emitExpression(right);
+        this.put(")");
+    }
+
+    private void emitBlock(@Nonnull Block node) {
+        this.put("{");
+        this.emitStatements(node.statements);
+        this.put("}");
+    }
+
+    private void emitCatchClause(@Nonnull CatchClause node) {
+        this.put("catch");
+        this.put("(");
+        this.emitBinding(node.binding);
+        this.put(")");
+        this.emitBlock(node.body);
+    }
+
+    private void emitSwitchCases(@Nonnull ImmutableList<SwitchCase> cases) {
+        for (SwitchCase switchCase : cases) {
+            this.put("case");
+            this.emitExpression(switchCase.test);
+            this.put(":");
+            this.emitStatements(switchCase.consequent);
+        }
+    }
+
+    private void emitFunctionBody(@Nonnull FunctionBody node) {
+        node = node.resolve();
+        this.put("{");
+        this.emitDirectives(node.directives);
+        boolean first = true;
+        for (Statement statement : node.statements) {
+            this.emitListItem(statement, first);
+            first = false;
+        }
+        this.put("}");
+    }
+
+    private void emitFormalParameters(@Nonnull FormalParameters node) {
+        this.put("(");
+        boolean first = true;
+        for (Parameter item : node.items) {
+            if (!first) {
+                this.put(",");
+            }
+            first = false;
+            this.emitBindingBindingWithDefault((BindingBindingWithDefault) item);
+        }
+        if (node.rest.isJust()) {
+            if (!first) {
+                this.put(",");
+            }
+            this.put("...");
+            this.emitBinding(node.rest.fromJust());
+        }
+        this.put(")");
+    }
+
+    private void emitClassTail(@Nonnull Maybe<Expression> _super, @Nonnull ImmutableList<ClassElement> elements) {
+        if (_super.isJust()) {
+            this.put("extends");
+            this.emitExpression(_super.fromJust(), Precedence.NEW);
+        }
+        this.put("{");
+        for (ClassElement element : elements) {
+            if (element.isStatic) {
+                this.put("static");
+            }
+            this.emitMethodDefinition(element.method);
+        }
+        this.put("}");
+    }
+
+    private void emitMethodDefinition(@Nonnull MethodDefinition node) {
+        if (node instanceof Method) {
+            Method method = (Method) node;
+            if (method.isAsync) {
+                this.put("async");
+            }
+            if (method.isGenerator) {
+                this.put("*");
+            }
+            this.emitPropertyName(method.name);
+            this.emitFormalParameters(method.params);
+        } else if (node instanceof Getter) {
+            this.put("get");
+            this.emitPropertyName(node.name);
+            this.put("(");
+            this.put(")");
+        } else {
+            Setter setter = (Setter) node;
+            this.put("set");
+            this.emitPropertyName(setter.name);
+            this.put("(");
+            this.emitBindingBindingWithDefault((BindingBindingWithDefault) setter.param);
+            this.put(")");
+        }
+        this.emitFunctionBody(node.body);
+    }
+
+    private void emitPropertyName(@Nonnull PropertyName node) {
+        if (node instanceof ComputedPropertyName) {
+            this.put("[");
+            this.emitExpression(((ComputedPropertyName) node).expression);
+            this.put("]");
+            return;
+        }
+        String value = ((StaticPropertyName) node).value;
+        if (CodeGen.isIdentifierNameES6(value) && !value.equals("Infinity")) {
+            this.put(value);
+            return;
+        }
+        try {
+            double n = Double.parseDouble(value);
+            if (n >= 0 && D2A.d2a(n).equals(value)) {
+                this.ts.putNumber(n);
+                return;
+            }
+        } catch (NumberFormatException ignored) {}
+        this.put(Utils.escapeStringLiteral(value));
+    }
+
+    private void emitObjectProperty(@Nonnull ObjectProperty node) {
+        if (node instanceof DataProperty) {
+            DataProperty property = (DataProperty) node;
+            this.emitPropertyName(property.name);
+            this.put(":");
+            this.emitAssignmentExpression(property.expression);
+        } else if (node instanceof ShorthandProperty) {
+            this.put(((ShorthandProperty) node).name.name);
+        } else if (node instanceof SpreadProperty) {
+            this.put("...");
+            this.emitAssignmentExpression(((SpreadProperty) node).expression);
+        } else {
+            this.emitMethodDefinition((MethodDefinition) node);
+        }
+    }
+
+    // an expression in a position where a comma would separate it from the next, as CodeGen.getAssignmentExpr
+    private void emitAssignmentExpression(@Nonnull Expression node) {
+        if (containsGroup(node)) {
+            this.emitParenthesized(node);
+        } else {
+            this.emitExpression(node);
+        }
+    }
+
+    private void emitBinding(@Nonnull Binding node) {
+        if (node instanceof BindingIdentifier) {
+            this.put(((BindingIdentifier) node).name);
+        } else if (node instanceof ArrayBinding) {
+            ArrayBinding array = (ArrayBinding) node;
+            this.put("[");
+            if (array.elements.isEmpty()) {
+                if (array.rest.isJust()) {
+                    this.put("...");
+                    this.emitBinding(array.rest.fromJust());
+                }
+            } else {
+                boolean first = true;
+                for (Maybe<BindingBindingWithDefault> element : array.elements) {
+                    if (!first) {
+                        this.put(",");
+                    }
+                    first = false;
+                    if (element.isJust()) {
+                        this.emitBindingBindingWithDefault(element.fromJust());
+                    }
+                }
+                if (array.elements.maybeLast().fromJust().isNothing() && array.rest.isNothing()) {
+                    this.put(",");
+                }
+                if (array.rest.isJust()) {
+                    this.put(",");
+                    this.put("...");
+                    this.emitBinding(array.rest.fromJust());
+                }
+            }
+            this.put("]");
+        } else {
+            ObjectBinding object = (ObjectBinding) node;
+            this.put("{");
+            boolean first = true;
+            for (BindingProperty property : object.properties) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                if (property instanceof BindingPropertyIdentifier) {
+                    BindingPropertyIdentifier identifier = (BindingPropertyIdentifier) property;
+                    this.put(identifier.binding.name);
+                    if (identifier.init.isJust()) {
+                        this.put("=");
+                        this.emitExpression(identifier.init.fromJust());
+                    }
+                } else {
+                    BindingPropertyProperty propertyProperty = (BindingPropertyProperty) property;
+                    this.emitPropertyName(propertyProperty.name);
+                    this.put(":");
+                    this.emitBindingBindingWithDefault(propertyProperty.binding);
+                }
+            }
+            if (object.rest.isJust()) {
+                this.put(",");
+                this.put("...");
+                this.emitBinding(object.rest.fromJust());
+            }
+            this.put("}");
+        }
+    }
+
+    private void emitBindingBindingWithDefault(@Nonnull BindingBindingWithDefault node) {
+        if (node instanceof BindingWithDefault) {
+            BindingWithDefault withDefault = (BindingWithDefault) node;
+            this.emitBinding(withDefault.binding);
+            this.put("=");
+            this.emitExpression(withDefault.init);
+        } else {
+            this.emitBinding((Binding) node);
+        }
+    }
+
+    private void emitAssignmentTarget(@Nonnull AssignmentTarget node) {
+        if (node instanceof AssignmentTargetIdentifier) {
+            this.put(((AssignmentTargetIdentifier) node).name);
+        } else if (node instanceof StaticMemberAssignmentTarget) {
+            StaticMemberAssignmentTarget member = (StaticMemberAssignmentTarget) node;
+            this.emitObject(member.object, Precedence.MEMBER);
+            this.put(".");
+            this.put(member.property);
+        } else if (node instanceof ComputedMemberAssignmentTarget) {
+            ComputedMemberAssignmentTarget member = (ComputedMemberAssignmentTarget) node;
+            this.emitObject(member.object, Precedence.MEMBER);
+            this.put("[");
+            this.emitExpression(member.expression);
+            this.put("]");
+        } else if (node instanceof ArrayAssignmentTarget) {
+            ArrayAssignmentTarget array = (ArrayAssignmentTarget) node;
+            this.put("[");
+            if (array.elements.isEmpty()) {
+                if (array.rest.isJust()) {
+                    this.put("...");
+                    this.emitAssignmentTarget(array.rest.fromJust());
+                }
+            } else {
+                boolean first = true;
+                for (Maybe<AssignmentTargetAssignmentTargetWithDefault> element : array.elements) {
+                    if (!first) {
+                        this.put(",");
+                    }
+                    first = false;
+                    if (element.isJust()) {
+                        this.emitAssignmentTargetAssignmentTargetWithDefault(element.fromJust());
+                    }
+                }
+                if (array.elements.maybeLast().fromJust().isNothing() && array.rest.isNothing()) {
+                    this.put(",");
+                }
+                if (array.rest.isJust()) {
+                    this.put(",");
+                    this.put("...");
+                    this.emitAssignmentTarget(array.rest.fromJust());
+                }
+            }
+            this.put("]");
+        } else {
+            ObjectAssignmentTarget object = (ObjectAssignmentTarget) node;
+            this.put("{");
+            boolean first = true;
+            for (AssignmentTargetProperty property : object.properties) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                if (property instanceof AssignmentTargetPropertyIdentifier) {
+                    AssignmentTargetPropertyIdentifier identifier = (AssignmentTargetPropertyIdentifier) property;
+                    this.put(identifier.binding.name);
+                    if (identifier.init.isJust()) {
+                        this.put("=");
+                        this.emitExpression(identifier.init.fromJust());
+                    }
+                } else {
+                    AssignmentTargetPropertyProperty propertyProperty = (AssignmentTargetPropertyProperty) property;
+                    this.emitPropertyName(propertyProperty.name);
+                    this.put(":");
+                    this.emitAssignmentTargetAssignmentTargetWithDefault(propertyProperty.binding);
+                }
+            }
+            if (object.rest.isJust()) {
+                this.put(",");
+                this.put("...");
+                this.emitAssignmentTarget(object.rest.fromJust());
+            }
+            this.put("}");
+        }
+    }
+
+    private void emitAssignmentTargetAssignmentTargetWithDefault(@Nonnull AssignmentTargetAssignmentTargetWithDefault node) {
+        if (node instanceof AssignmentTargetWithDefault) {
+            AssignmentTargetWithDefault withDefault = (AssignmentTargetWithDefault) node;
+            this.emitAssignmentTarget(withDefault.binding);
+            this.put("=");
+            this.emitExpression(withDefault.init);
+        } else {
+            this.emitAssignmentTarget((AssignmentTarget) node);
+        }
+    }
+
+    // the object of a member expression or call, which may be `super`
+    private void emitObject(@Nonnull ExpressionSuper node, @Nonnull Precedence precedence) {
+        if (node instanceof Expression) {
+            this.emitExpression((Expression) node, precedence);
+        } else {
+            this.put("super");
+        }
+    }
+
+    private void emitParenthesized(@Nonnull Expression node) {
+        this.put("(");
+        this.emitExpression(node);
+        this.put(")");
+    }
+
+    // the expression, parenthesized if it binds less tightly than `precedence`
+    private void emitExpression(@Nonnull Expression node, @Nonnull Precedence precedence) {
+        if (needsParens(node, precedence)) {
+            this.emitParenthesized(node);
+        } else {
+            this.emitExpression(node);
+        }
+    }
+
+    private void emitExpression(@Nonnull Expression node) {
+        if (node instanceof IdentifierExpression) {
+            this.put(((IdentifierExpression) node).name);
+        } else if (node instanceof StaticMemberExpression) {
+            StaticMemberExpression member = (StaticMemberExpression) node;
+            this.emitObject(member.object, member.getPrecedence());
+            this.put(".");
+            this.put(member.property);
+        } else if (node instanceof CallExpression) {
+            CallExpression call = (CallExpression) node;
+            this.emitObject(call.callee, call.getPrecedence());
+            this.put("(");
+            boolean first = true;
+            for (SpreadElementExpression argument : call.arguments) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                if (argument instanceof SpreadElement) {
+                    this.emitSpreadElement((SpreadElement) argument);
+                } else {
+                    this.emitExpression((Expression) argument, Precedence.ASSIGNMENT);
+                }
+            }
+            this.put(")");
+        } else if (node instanceof LiteralStringExpression) {
+            this.put(Utils.escapeStringLiteral(((LiteralStringExpression) node).value));
+        } else if (node instanceof LiteralNumericExpression) {
+            this.ts.putNumber(((LiteralNumericExpression) node).value);
+        } else if (node instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) node;
+            this.emitExpression(binary.left, binary.getPrecedence());
+            this.put(binary.operator.getName());
+            if (binary.right.getPrecedence().ordinal() <= binary.getPrecedence().ordinal()) {
+                this.emitParenthesized(binary.right);
+            } else {
+                this.emitExpression(binary.right);
+            }
+        } else if (node instanceof AssignmentExpression) {
+            AssignmentExpression assignment = (AssignmentExpression) node;
+            this.emitAssignmentTarget(assignment.binding);
+            this.put("=");
+            this.emitExpression(assignment.expression, assignment.getPrecedence());
+        } else if (node instanceof FunctionExpression) {
+            FunctionExpression function = (FunctionExpression) node;
+            if (function.isAsync) {
+                this.put("async");
+            }
+            this.put("function");
+            if (function.isGenerator) {
+                this.put("*");
+            }
+            if (function.name.isJust()) {
+                this.put(function.name.fromJust().name);
+            }
+            this.emitFormalParameters(function.params);
+            this.emitFunctionBody(function.body);
+        } else if (node instanceof ComputedMemberExpression) {
+            ComputedMemberExpression member = (ComputedMemberExpression) node;
+            this.emitObject(member.object, member.getPrecedence());
+            this.put("[");
+            this.emitExpression(member.expression);
+            this.put("]");
+        } else if (node instanceof ThisExpression) {
+            this.put("this");
+        } else if (node instanceof UnaryExpression) {
+            UnaryExpression unary = (UnaryExpression) node;
+            this.put(unary.operator.getName());
+            this.emitExpression(unary.operand, unary.getPrecedence());
+        } else if (node instanceof ObjectExpression) {
+            this.put("{");
+            boolean first = true;
+            for (ObjectProperty property : ((ObjectExpression) node).properties) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                this.emitObjectProperty(property);
+            }
+            this.put("}");
+        } else if (node instanceof ConditionalExpression) {
+            ConditionalExpression conditional = (ConditionalExpression) node;
+            this.emitExpression(conditional.test, Precedence.LOGICAL_OR);
+            this.put("?");
+            this.emitExpression(conditional.consequent, Precedence.ASSIGNMENT);
+            this.put(":");
+            this.emitExpression(conditional.alternate, Precedence.ASSIGNMENT);
+        } else if (node instanceof LiteralNullExpression) {
+            this.put("null");
+        } else if (node instanceof LiteralBooleanExpression) {
+            this.put(Boolean.toString(((LiteralBooleanExpression) node).value));
+        } else if (node instanceof ArrayExpression) {
+            ImmutableList<Maybe<SpreadElementExpression>> elements = ((ArrayExpression) node).elements;
+            this.put("[");
+            boolean first = true;
+            for (Maybe<SpreadElementExpression> element : elements) {
+                if (!first) {
+                    this.put(",");
+                }
+                first = false;
+                if (element.isJust()) {
+                    SpreadElementExpression e = element.fromJust();
+                    if (e instanceof SpreadElement) {
+                        this.emitSpreadElement((SpreadElement) e);
+                    } else {
+                        this.emitAssignmentExpression((Expression) e);
+                    }
+                }
+            }
+            if (elements.isNotEmpty() && elements.maybeLast().fromJust().isNothing()) {
+                this.put(",");
+            }
+            this.put("]");
+        } else if (node instanceof NewExpression) {
+            NewExpression newExpression = (NewExpression) node;
+            this.put("new");
+            if (newExpression.callee.getPrecedence() == Precedence.CALL) {
+                this.emitParenthesized(newExpression.callee);
+            } else {
+                this.emitExpression(newExpression.callee, newExpression.getPrecedence());
+            }
+            if (newExpression.arguments.isNotEmpty()) {
+                this.put("(");
+                boolean first = true;
+                for (SpreadElementExpression argument : newExpression.arguments) {
+                    if (!first) {
+                        this.put(",");
+                    }
+                    first = false;
+                    if (argument instanceof SpreadElement) {
+                        this.emitSpreadElement((SpreadElement) argument);
+                    } else {
+                        this.emitExpression((Expression) argument);
+                    }
+                }
+                this.put(")");
+            }
+        } else if (node instanceof UpdateExpression) {
+            UpdateExpression update = (UpdateExpression) node;
+            if (update.isPrefix) {
+                this.put(update.operator.getName());
+                this.emitAssignmentTarget(update.operand);
+            } else {
+                this.emitAssignmentTarget(update.operand);
+                this.put(update.operator.getName());
+            }
+        } else if (node instanceof CompoundAssignmentExpression) {
+            CompoundAssignmentExpression assignment = (CompoundAssignmentExpression) node;
+            this.emitAssignmentTarget(assignment.binding);
+            this.put(assignment.operator.getName());
+            this.emitExpression(assignment.expression, assignment.getPrecedence());
+        } else if (node instanceof ArrowExpression) {
+            ArrowExpression arrow = (ArrowExpression) node;
+            if (arrow.isAsync) {
+                this.put("async");
+            }
+            if (CodeGen.isComplexArrowHead(arrow.params)) {
+                this.emitFormalParameters(arrow.params);
+            } else {
+                this.put(((BindingIdentifier) arrow.params.items.maybeHead().fromJust()).name);
+            }
+            this.put("=>");
+            if (arrow.body instanceof FunctionBody) {
+                this.emitFunctionBody((FunctionBody) arrow.body);
+            } else {
+                Expression body = (Expression) arrow.body;
+                // as CodeGen, which may parenthesize it twice over
+                boolean curly = (startFlags(body) & STARTS_WITH_OBJECT_CURLY) != 0;
+                boolean low = needsParens(body, Precedence.ASSIGNMENT);
+                if (low) {
+                    this.put("(");
+                }
+                if (curly) {
+                    this.put("(");
+                }
+                this.emitExpression(body);
+                if (curly) {
+                    this.put(")");
+                }
+                if (low) {
+                    this.put(")");
+                }
+            }
+        } else if (node instanceof LiteralRegExpExpression) {
+            LiteralRegExpExpression regExp = (LiteralRegExpExpression) node;
+            this.put("/" + regExp.pattern + "/" + CodeGen.buildFlags(regExp));
+        } else if (node instanceof TemplateExpression) {
+            TemplateExpression template = (TemplateExpression) node;
+            if (template.tag.isJust()) {
+                this.emitExpression(template.tag.fromJust(), template.getPrecedence());
+            }
+            this.put("`");
+            int i = 0;
+            int l = template.elements.length;
+            for (ExpressionTemplateElement element : template.elements) {
+                if (element instanceof TemplateElement) {
+                    if (i > 0) {
+                        this.put("}");
+                    }
+                    this.ts.putRaw(((TemplateElement) element).rawValue);
+                    if (i < l - 1) {
+                        this.put("${");
+                    }
+                } else {
+                    this.emitExpression((Expression) element);
+                }
+                ++i;
+            }
+            this.put("`");
+        } else if (node instanceof ClassExpression) {
+            ClassExpression classExpression = (ClassExpression) node;
+            this.put("class");
+            if (classExpression.name.isJust()) {
+                this.put(classExpression.name.fromJust().name);
+            }
+            this.emitClassTail(classExpression._super, classExpression.elements);
+        } else if (node instanceof LiteralInfinityExpression) {
+            this.put("2e308");
+        } else if (node instanceof NewTargetExpression) {
+            this.put("new.target");
+        } else if (node instanceof YieldExpression) {
+            YieldExpression yield = (YieldExpression) node;
+            this.put("yield");
+            if (yield.expression.isJust()) {
+                this.emitExpression(yield.expression.fromJust(), yield.getPrecedence());
+            }
+        } else if (node instanceof YieldGeneratorExpression) {
+            YieldGeneratorExpression yield = (YieldGeneratorExpression) node;
+            this.put("yield");
+            this.put("*");
+            this.emitExpression(yield.expression, yield.getPrecedence());
+        } else if (node instanceof AwaitExpression) {
+            this.put("await");
+            this.emitExpression(((AwaitExpression) node).expression);
+        } else {
+            throw new IllegalArgumentException("Unknown expression type: " + node.getClass().getSimpleName());
+        }
+    }
+
+    private void emitSpreadElement(@Nonnull SpreadElement node) {
+        this.put("...");
+        this.emitExpression(node.expression, Precedence.ASSIGNMENT);
+    }
+}
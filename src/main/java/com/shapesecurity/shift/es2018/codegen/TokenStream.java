@@ -21,25 +21,106 @@ import com.shapesecurity.shift.es2018.utils.Utils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public class TokenStream {
+    // how much output a stream writing to an Appendable buffers before passing it on
+    private static final int BUFFER_SIZE = 8192;
+
     @Nonnull
     protected final StringBuilder writer;
+    @Nullable
+    private final Appendable out;
     protected int lastCodePoint = 0;
     @Nullable
     protected String lastNumber;
     protected boolean optionalSemi;
 
-    protected static final Pattern digitPattern = Pattern.compile("\\d+");
+    // Classes of the characters on either side of the boundary between two tokens, which decide whether a space is
+    // needed to keep them apart: identifiers would run together, as would `+ +` or `- -`, `/a/ /b/` would start a
+    // comment, and `/a/ in b` would give the regular expression flags.
+    private static final int OTHER = 0;
+    private static final int IDENTIFIER_PART = 1;
+    private static final int LETTER_I = 2;
+    private static final int BACKSLASH = 3;
+    private static final int PLUS = 4;
+    private static final int MINUS = 5;
+    private static final int SLASH = 6;
+
+    private static final byte[] ASCII_CLASSES = new byte[0x80];
+    // indexed by the classes of the last character before the boundary and the first after it
+    private static final boolean[][] NEEDS_SPACE = new boolean[7][7];
+
+    static {
+        for (int ch = 0; ch < 0x80; ++ch) {
+            ASCII_CLASSES[ch] = (byte) (Utils.isIdentifierPart(ch) ? IDENTIFIER_PART : OTHER);
+        }
+        ASCII_CLASSES['i'] = LETTER_I;
+        ASCII_CLASSES['\\'] = BACKSLASH;
+        ASCII_CLASSES['+'] = PLUS;
+        ASCII_CLASSES['-'] = MINUS;
+        ASCII_CLASSES['/'] = SLASH;
+
+        for (int left : new int[]{ IDENTIFIER_PART, LETTER_I }) {
+            for (int right : new int[]{ IDENTIFIER_PART, LETTER_I, BACKSLASH }) {
+                NEEDS_SPACE[left][right] = true;
+            }
+        }
+        NEEDS_SPACE[PLUS][PLUS] = true;
+        NEEDS_SPACE[MINUS][MINUS] = true;
+        NEEDS_SPACE[SLASH][LETTER_I] = true;
+        NEEDS_SPACE[SLASH][SLASH] = true;
+    }
 
     public TokenStream(@Nonnull StringBuilder writer) {
         this.writer = writer;
+        this.out = null;
+    }
+
+    // Writes the output to `out` as it is produced, holding no more than about BUFFER_SIZE characters of it at a time.
+    // Call flush() once done. Failures to write are thrown as UncheckedIOExceptions.
+    public TokenStream(@Nonnull Appendable out) {
+        this.writer = new StringBuilder(BUFFER_SIZE + 64);
+        this.out = out;
+    }
+
+    // Passes on all buffered output, if writing to an Appendable.
+    public void flush() {
+        this.flush(0);
+    }
+
+    // Passes on all but the last `keep` characters of the buffered output, which put may still need to look at.
+    private void flush(int keep) {
+        if (this.out == null || this.writer.length() <= keep) {
+            return;
+        }
+        int end = this.writer.length() - keep;
+        try {
+            this.out.append(this.writer, 0, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.writer.delete(0, end);
+    }
+
+    private void written() {
+        if (this.out != null && this.writer.length() >= BUFFER_SIZE) {
+            this.flush(2);
+        }
     }
 
     @Nonnull
     protected static boolean numberNeedsDoubleDot(@Nonnull String fragment) {
-        return digitPattern.matcher(fragment).matches();
+        // whether the number is all digits, so that a following `.` would be read as its decimal point
+        int length = fragment.length();
+        for (int i = 0; i < length; ++i) {
+            char ch = fragment.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return length > 0;
     }
 
     public void putNumber(double number) {
@@ -54,42 +135,64 @@ public class TokenStream {
 
     public void putRaw(@Nonnull String tokenStr) {
         this.writer.append(tokenStr);
+        this.written();
     }
 
     public void put(@Nonnull String tokenStr) {
+        char first = tokenStr.charAt(0);
+        int length = tokenStr.length();
         if (this.optionalSemi) {
             this.optionalSemi = false;
-            if (!tokenStr.equals("}")) {
-                this.put(";");
-            }
-        }
-        if (this.lastNumber != null && tokenStr.length() == 1) {
-            if (String.valueOf(tokenStr).equals(".")) {
-                this.writer.append(numberNeedsDoubleDot(this.lastNumber) ? ".." : ".");
+            if (length != 1 || first != '}') {
+                // no token needs to be separated from a semicolon
+                this.writer.append(';');
+                this.lastCodePoint = ';';
                 this.lastNumber = null;
-                this.lastCodePoint = '.';
-                return;
             }
         }
+        if (this.lastNumber != null && length == 1 && first == '.') {
+            this.writer.append(numberNeedsDoubleDot(this.lastNumber) ? ".." : ".");
+            this.lastNumber = null;
+            this.lastCodePoint = '.';
+            this.written();
+            return;
+        }
         this.lastNumber = null;
-        int rightCodePoint = tokenStr.codePointAt(0);
+        this.separate(tokenStr);
+        if (length == 1) {
+            this.writer.append(first);
+        } else {
+            this.writer.append(tokenStr);
+        }
+        this.written();
+    }
+
+    // Writes a space if one is needed between the last token and the given one, and records the last code point of the
+    // given one.
+    protected void separate(@Nonnull String tokenStr) {
+        char first = tokenStr.charAt(0);
+        int length = tokenStr.length();
+        int rightCodePoint = first < 0xD800 ? first : tokenStr.codePointAt(0);
         int lastCodePoint = this.lastCodePoint;
-        char lastChar = tokenStr.charAt(tokenStr.length() - 1);
+        char lastChar = tokenStr.charAt(length - 1);
         if (lastChar >= 0xDC00 && lastChar <= 0xDFFF) {
-            this.lastCodePoint = tokenStr.codePointAt(tokenStr.length() - 2);
+            this.lastCodePoint = tokenStr.codePointAt(length - 2);
         } else {
             this.lastCodePoint = lastChar;
         }
-        if ((lastCodePoint == '+' || lastCodePoint == '-') && lastCodePoint == rightCodePoint ||
-                Utils.isIdentifierPart(lastCodePoint) && (Utils.isIdentifierPart(rightCodePoint) || rightCodePoint == '\\') ||
-                lastCodePoint == '/' && (rightCodePoint == 'i' || rightCodePoint == '/')) {
+        if (NEEDS_SPACE[characterClass(lastCodePoint)][characterClass(rightCodePoint)]) {
             this.writer.append(' ');
         }
-        if (this.writer.length() >= 2 && tokenStr.equals("--") && this.writer.substring(this.writer.length() - 2,
-                this.writer.length()).equals("<!")) {
+        int end = this.writer.length();
+        if (length == 2 && first == '-' && lastChar == '-' && end >= 2 && this.writer.charAt(end - 2) == '<' && this.writer.charAt(end - 1) == '!') {
             this.writer.append(' ');
         }
+    }
 
-        this.writer.append(tokenStr);
+    private static int characterClass(int codePoint) {
+        if (codePoint < 0x80) {
+            return ASCII_CLASSES[codePoint];
+        }
+        return Utils.isIdentifierPart(codePoint) ? IDENTIFIER_PART : OTHER;
     }
 }
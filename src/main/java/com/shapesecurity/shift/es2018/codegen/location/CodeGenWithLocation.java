@@ -75,6 +75,16 @@ public class CodeGenWithLocation extends WrappedReducer<CodeRep> implements With
 		return sb.toString();
 	}
 
+	// As codeGen, adding a mapping to `sourceMap` for each token at which nodes start.
+	public String codeGen(@Nonnull Program program, @Nonnull SourceMap sourceMap) {
+		this.meta.sourceMap = sourceMap;
+		try {
+			return this.codeGen(program);
+		} finally {
+			this.meta.sourceMap = null;
+		}
+	}
+
 	@Nonnull
 	public Maybe<SourceSpan> getLocation(@Nonnull Node node) {
 		SourceLocation start = this.meta.nodeToStart.get(node);
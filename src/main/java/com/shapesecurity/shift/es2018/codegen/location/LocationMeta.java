@@ -13,8 +13,8 @@ import com.shapesecurity.shift.es2018.parser.SourceLocation;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -22,8 +22,10 @@ import java.util.Map;
 public class LocationMeta {
 	protected final Map<Node, SourceLocation> nodeToStart = new IdentityHashMap<>();
 	protected final Map<Node, SourceLocation> nodeToFinish = new IdentityHashMap<>();
-	protected final List<Node> finishingStatements = new LinkedList<>();
-	protected final List<Node> startingNodes = new LinkedList<>();
+	protected final List<Node> finishingStatements = new ArrayList<>();
+	protected final List<Node> startingNodes = new ArrayList<>();
+	@Nullable
+	protected SourceMap sourceMap;
 
 	@Nullable
 	protected LiteralNumericExpression lastNumberNode;
@@ -49,6 +51,12 @@ public class LocationMeta {
 	}
 
 	public void startNodes(@Nonnull SourceLocation location) {
+		if (this.startingNodes.isEmpty()) {
+			return;
+		}
+		if (this.sourceMap != null) {
+			this.sourceMap.addMapping(location, this.startingNodes);
+		}
 		for (Node node : this.startingNodes) {
 			this.nodeToStart.put(node, location);
 		}
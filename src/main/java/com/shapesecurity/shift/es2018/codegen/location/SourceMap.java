@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.codegen.location;
+
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetIdentifier;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.parser.SourceLocation;
+import com.shapesecurity.shift.es2018.parser.SourceSpan;
+import com.shapesecurity.shift.es2018.utils.WithLocation;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// A source map (revision 3) from code generated by CodeGenWithLocation to the source it was parsed from. Pass it to
+// CodeGenWithLocation.codeGen, which adds a mapping for each token at which nodes start, from the start of the innermost
+// of those nodes which `original` has a location for to that location. Mappings from identifiers are given their names.
+public class SourceMap {
+	private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+	@Nonnull
+	private final WithLocation original;
+	@Nonnull
+	private final String source;
+	@Nullable
+	private final String sourceContent;
+
+	@Nonnull
+	private final StringBuilder mappings = new StringBuilder();
+	@Nonnull
+	private final List<String> names = new ArrayList<>();
+	@Nonnull
+	private final Map<String, Integer> nameIndices = new HashMap<>();
+
+	// the last mapping added, to which each field of the next is relative; lines and columns are zero-based
+	private int generatedLine = 0;
+	private int generatedColumn = 0;
+	private int originalLine = 0;
+	private int originalColumn = 0;
+	private int nameIndex = 0;
+	private boolean lineHasMappings = false;
+
+	public SourceMap(@Nonnull WithLocation original, @Nonnull String source) {
+		this(original, source, null);
+	}
+
+	// `sourceContent`, if given, is included in the map so that it can be read without fetching the source.
+	public SourceMap(@Nonnull WithLocation original, @Nonnull String source, @Nullable String sourceContent) {
+		this.original = original;
+		this.source = source;
+		this.sourceContent = sourceContent;
+	}
+
+	// Adds a mapping from `generated` for the nodes starting there, outermost first.
+	void addMapping(@Nonnull SourceLocation generated, @Nonnull List<Node> nodes) {
+		for (int i = nodes.size() - 1; i >= 0; --i) {
+			Node node = nodes.get(i);
+			Maybe<SourceSpan> span = this.original.getLocation(node);
+			if (span.isJust()) {
+				this.addMapping(generated.line - 1, generated.column, span.fromJust().start, nameOf(node));
+				return;
+			}
+		}
+	}
+
+	@Nullable
+	private static String nameOf(@Nonnull Node node) {
+		String name = null;
+		if (node instanceof IdentifierExpression) {
+			name = ((IdentifierExpression) node).name;
+		} else if (node instanceof BindingIdentifier) {
+			name = ((BindingIdentifier) node).name;
+		} else if (node instanceof AssignmentTargetIdentifier) {
+			name = ((AssignmentTargetIdentifier) node).name;
+		}
+		return "*default*".equals(name) ? null : name;
+	}
+
+	private void addMapping(int generatedLine, int generatedColumn, @Nonnull SourceLocation original, @Nullable String name) {
+		if (this.lineHasMappings && generatedLine == this.generatedLine && generatedColumn == this.generatedColumn) {
+			return; // an empty raw token left the position where it was
+		}
+		if (generatedLine > this.generatedLine) {
+			for (int i = this.generatedLine; i < generatedLine; ++i) {
+				this.mappings.append(';');
+			}
+			this.generatedLine = generatedLine;
+			this.generatedColumn = 0;
+			this.lineHasMappings = false;
+		}
+		if (this.lineHasMappings) {
+			this.mappings.append(',');
+		}
+		this.lineHasMappings = true;
+
+		this.appendVlq(generatedColumn - this.generatedColumn);
+		this.generatedColumn = generatedColumn;
+		this.appendVlq(0); // the index of the source, of which there is only one
+		this.appendVlq(original.line - 1 - this.originalLine);
+		this.originalLine = original.line - 1;
+		this.appendVlq(original.column - this.originalColumn);
+		this.originalColumn = original.column;
+		if (name != null) {
+			Integer index = this.nameIndices.get(name);
+			if (index == null) {
+				index = this.names.size();
+				this.names.add(name);
+				this.nameIndices.put(name, index);
+			}
+			this.appendVlq(index - this.nameIndex);
+			this.nameIndex = index;
+		}
+	}
+
+	// Appends the base 64 VLQ for the value: the sign in the lowest bit, then groups of five bits, least significant
+	// first, each but the last with the continuation bit (32) set.
+	private void appendVlq(int value) {
+		int vlq = value < 0 ? (-value << 1) | 1 : value << 1;
+		do {
+			int digit = vlq & 31;
+			vlq >>>= 5;
+			if (vlq != 0) {
+				digit |= 32;
+			}
+			this.mappings.append(BASE64[digit]);
+		} while (vlq != 0);
+	}
+
+	@Nonnull
+	public String getMappings() {
+		return this.mappings.toString();
+	}
+
+	@Nonnull
+	public List<String> getNames() {
+		return this.names;
+	}
+
+	// Writes the map as JSON. `file` is the name of the generated code, if any.
+	public void write(@Nonnull Writer out, @Nullable String file) throws IOException {
+		out.write("{\"version\":3,");
+		if (file != null) {
+			out.write("\"file\":");
+			writeString(out, file);
+			out.write(',');
+		}
+		out.write("\"sources\":[");
+		writeString(out, this.source);
+		out.write("],");
+		if (this.sourceContent != null) {
+			out.write("\"sourcesContent\":[");
+			writeString(out, this.sourceContent);
+			out.write("],");
+		}
+		out.write("\"names\":[");
+		for (int i = 0; i < this.names.size(); ++i) {
+			if (i > 0) {
+				out.write(',');
+			}
+			writeString(out, this.names.get(i));
+		}
+		out.write("],\"mappings\":\"");
+		out.append(this.mappings);
+		out.write("\"}");
+	}
+
+	private static void writeString(@Nonnull Writer out, @Nonnull String string) throws IOException {
+		out.write('"');
+		int start = 0;
+		for (int i = 0, length = string.length(); i < length; ++i) {
+			char ch = string.charAt(i);
+			if (ch >= 0x20 && ch != '"' && ch != '\\') {
+				continue;
+			}
+			out.write(string, start, i - start);
+			start = i + 1;
+			switch (ch) {
+				case '"':
+					out.write("\\\"");
+					break;
+				case '\\':
+					out.write("\\\\");
+					break;
+				case '\n':
+					out.write("\\n");
+					break;
+				case '\r':
+					out.write("\\r");
+					break;
+				case '\t':
+					out.write("\\t");
+					break;
+				default:
+					out.write(String.format("\\u%04x", (int) ch));
+			}
+		}
+		out.write(string, start, string.length() - start);
+		out.write('"');
+	}
+}
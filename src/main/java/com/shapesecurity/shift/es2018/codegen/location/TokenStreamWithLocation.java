@@ -2,10 +2,8 @@ package com.shapesecurity.shift.es2018.codegen.location;
 
 import com.shapesecurity.shift.es2018.codegen.TokenStream;
 import com.shapesecurity.shift.es2018.parser.SourceLocation;
-import com.shapesecurity.shift.es2018.utils.Utils;
 import javax.annotation.Nonnull;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class TokenStreamWithLocation extends TokenStream {
@@ -17,6 +15,13 @@ public class TokenStreamWithLocation extends TokenStream {
 	private SourceLocation cachedSourceLocation;
 	private int lastCachedSourceLocation = -1;
 
+	/**
+	 * Matches a line terminator, of which "\r\n" is one.
+	 *
+	 * @deprecated no longer used: tokens are scanned for line terminators directly, see
+	 * {@link com.shapesecurity.shift.es2018.utils.Utils#isLineTerminator}
+	 */
+	@Deprecated
 	protected static final Pattern linebreakPattern = Pattern.compile("\r\n?|[\n\u2028\u2029]");
 
 	@Nonnull
@@ -39,11 +44,7 @@ public class TokenStreamWithLocation extends TokenStream {
 	public void putRaw(@Nonnull String tokenStr) {
 		this.meta.startNodes(this.getLocation());
 
-		Matcher linebreakMatcher = linebreakPattern.matcher(tokenStr);
-		while (linebreakMatcher.find()) {
-			this.line++;
-			this.lineStart = this.writer.length() + linebreakMatcher.end();
-		}
+		this.countLines(tokenStr);
 
 		this.writer.append(tokenStr);
 	}
@@ -54,7 +55,7 @@ public class TokenStreamWithLocation extends TokenStream {
 
 		if (this.optionalSemi) {
 			this.optionalSemi = false;
-			if (!tokenStr.equals("}")) {
+			if (tokenStr.length() != 1 || tokenStr.charAt(0) != '}') {
 				this.meta.incrementStatements();
 				this.writer.append(";");
 				this.lastCodePoint = '}';
@@ -62,47 +63,39 @@ public class TokenStreamWithLocation extends TokenStream {
 		}
 		this.meta.finishingStatements.clear();
 
-		if (this.lastNumber != null && tokenStr.length() == 1) {
-			if (String.valueOf(tokenStr).equals(".")) {
-				assert this.meta.startingNodes.isEmpty(); // so it's safe to not call startNodes
+		if (this.lastNumber != null && tokenStr.length() == 1 && tokenStr.charAt(0) == '.') {
+			assert this.meta.startingNodes.isEmpty(); // so it's safe to not call startNodes
 
-				boolean needsDoubleDot = numberNeedsDoubleDot(this.lastNumber);
-				if (needsDoubleDot) this.meta.incrementNumber();
-				this.writer.append(needsDoubleDot ? ".." : ".");
-				this.lastNumber = null;
-				this.lastCodePoint = '.';
-				return;
-			}
+			boolean needsDoubleDot = numberNeedsDoubleDot(this.lastNumber);
+			if (needsDoubleDot) this.meta.incrementNumber();
+			this.writer.append(needsDoubleDot ? ".." : ".");
+			this.lastNumber = null;
+			this.lastCodePoint = '.';
+			return;
 		}
 		this.lastNumber = null;
 		this.meta.lastNumberNode = null;
 
-		int rightCodePoint = tokenStr.codePointAt(0);
-		int lastCodePoint = this.lastCodePoint;
-		char lastChar = tokenStr.charAt(tokenStr.length() - 1);
-		if (lastChar >= 0xDC00 && lastChar <= 0xDFFF) {
-			this.lastCodePoint = tokenStr.codePointAt(tokenStr.length() - 2);
-		} else {
-			this.lastCodePoint = lastChar;
-		}
-		if ((lastCodePoint == '+' || lastCodePoint == '-') && lastCodePoint == rightCodePoint ||
-				Utils.isIdentifierPart(lastCodePoint) && (Utils.isIdentifierPart(rightCodePoint) || rightCodePoint == '\\') ||
-				lastCodePoint == '/' && (rightCodePoint == 'i' || rightCodePoint == '/')) {
-			this.writer.append(' ');
-		}
-		if (this.writer.length() >= 2 && tokenStr.equals("--") && this.writer.substring(this.writer.length() - 2,
-				this.writer.length()).equals("<!")) {
-			this.writer.append(' ');
-		}
+		this.separate(tokenStr);
 
 		this.meta.startNodes(this.getLocation());
 
-		Matcher linebreakMatcher = linebreakPattern.matcher(tokenStr);
-		while (linebreakMatcher.find()) {
-			this.line++;
-			this.lineStart = this.writer.length() + linebreakMatcher.end();
-		}
+		this.countLines(tokenStr);
 
 		this.writer.append(tokenStr);
 	}
+
+	// Counts the line terminators in a token about to be written, of which "\r\n" is one.
+	private void countLines(@Nonnull String tokenStr) {
+		for (int i = 0, length = tokenStr.length(); i < length; ++i) {
+			char ch = tokenStr.charAt(i);
+			if (ch == '\r' || ch == '\n' || ch == '\u2028' || ch == '\u2029') {
+				if (ch == '\r' && i + 1 < length && tokenStr.charAt(i + 1) == '\n') {
+					++i;
+				}
+				this.line++;
+				this.lineStart = this.writer.length() + i + 1;
+			}
+		}
+	}
 }
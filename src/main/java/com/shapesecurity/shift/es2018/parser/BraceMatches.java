@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * The positions of matching braces found while skipping over function bodies, so that the bodies nested within a
+ * skipped one need not be scanned again to find their extent. Braces are recorded in order of their opening offsets.
+ * Once a parse has finished recording, the table is only read, and can be shared between threads.
+ */
+final class BraceMatches {
+    private int[] opens = new int[64];
+    // offset, 0-based line and line start of each closing brace
+    private int[] closes = new int[64];
+    private int[] closeLines = new int[64];
+    private int[] closeLineStarts = new int[64];
+    private int size = 0;
+
+    // whether braces opened from `offset` on can be recorded without breaking the order of the records
+    boolean canRecordFrom(int offset) {
+        return this.size == 0 || this.opens[this.size - 1] < offset;
+    }
+
+    // index of the record for the brace opened at `offset`, whose close is yet to be filled in
+    int open(int offset) {
+        if (this.size == this.opens.length) {
+            int capacity = this.size * 2;
+            this.opens = Arrays.copyOf(this.opens, capacity);
+            this.closes = Arrays.copyOf(this.closes, capacity);
+            this.closeLines = Arrays.copyOf(this.closeLines, capacity);
+            this.closeLineStarts = Arrays.copyOf(this.closeLineStarts, capacity);
+        }
+        this.opens[this.size] = offset;
+        this.closes[this.size] = -1;
+        return this.size++;
+    }
+
+    void close(int record, @Nonnull TokenView close) {
+        this.closes[record] = close.start;
+        this.closeLines[record] = close.line - 1;
+        this.closeLineStarts[record] = close.start - close.column;
+    }
+
+    // Discards the records from `record` on, as when the block they are in turns out not to be closed.
+    void truncate(int record) {
+        this.size = record;
+    }
+
+    // The record of the brace opened at `offset`, or -1 if there is none or it was not closed.
+    int find(int offset) {
+        int index = Arrays.binarySearch(this.opens, 0, this.size, offset);
+        return index >= 0 && this.closes[index] >= 0 ? index : -1;
+    }
+
+    int closeOf(int record) {
+        return this.closes[record];
+    }
+
+    int closeLineOf(int record) {
+        return this.closeLines[record];
+    }
+
+    int closeLineStartOf(int record) {
+        return this.closeLineStarts[record];
+    }
+}
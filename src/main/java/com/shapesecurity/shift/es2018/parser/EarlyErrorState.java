@@ -1,5 +1,7 @@
 package com.shapesecurity.shift.es2018.parser;
 
+import com.shapesecurity.functional.F;
+import com.shapesecurity.functional.F2;
 import com.shapesecurity.functional.data.HashTable;
 import com.shapesecurity.functional.data.ImmutableList;
 import com.shapesecurity.functional.data.Monoid;
@@ -14,8 +16,10 @@ import com.shapesecurity.shift.es2018.ast.Node;
 import com.shapesecurity.shift.es2018.ast.Super;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 
-public class EarlyErrorState {
+public class EarlyErrorState implements GenericEarlyErrorChecker.State<EarlyErrorState, MultiHashTable<String, BindingIdentifier>> {
 
     public static final Monoid<EarlyErrorState> MONOID = new EarlyErrorContextMonoid();
 
@@ -188,6 +192,7 @@ public class EarlyErrorState {
 
 
     @Nonnull
+    @Override
     public EarlyErrorState addFreeBreakStatement(@Nonnull BreakStatement breakStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -215,6 +220,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState addFreeLabeledBreakStatement(@Nonnull BreakStatement breakStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -242,6 +248,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearFreeBreakStatements() {
         return new EarlyErrorState(
                 this.errors,
@@ -269,6 +276,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState addFreeContinueStatement(@Nonnull ContinueStatement continueStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -296,6 +304,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState addFreeLabeledContinueStatement(@Nonnull ContinueStatement continueStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -323,6 +332,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearFreeContinueStatements() {
         return new EarlyErrorState(
                 this.errors,
@@ -350,6 +360,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceFreeBreakStatementErrors() {
         return new EarlyErrorState(
                 this.errors.append(this.freeBreakStatements.map(ErrorMessages.FREE_BREAK)),
@@ -377,9 +388,10 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceFreeLabeledBreakStatementErrors() {
         return new EarlyErrorState(
-                this.errors.append(this.freeLabeledBreakStatements.gatherValues().map(ErrorMessages.UNBOUND_BREAK)),
+                this.errors.append(namesInOrder(this.freeLabeledBreakStatements, (label, statements) -> true).flatMap(label -> this.freeLabeledBreakStatements.get(label).map(ErrorMessages.UNBOUND_BREAK))),
                 this.strictErrors,
                 this.usedLabelNames,
                 this.freeBreakStatements,
@@ -404,6 +416,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceFreeContinueStatementErrors() {
         return new EarlyErrorState(
                 this.errors.append(this.freeContinueStatements.map(ErrorMessages.FREE_CONTINUE)),
@@ -431,9 +444,10 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceFreeLabeledContinueStatementErrors() {
         return new EarlyErrorState(
-                this.errors.append(this.freeLabeledContinueStatements.gatherValues().map(ErrorMessages.UNBOUND_CONTINUE)),
+                this.errors.append(namesInOrder(this.freeLabeledContinueStatements, (label, statements) -> true).flatMap(label -> this.freeLabeledContinueStatements.get(label).map(ErrorMessages.UNBOUND_CONTINUE))),
                 this.strictErrors,
                 this.usedLabelNames,
                 this.freeBreakStatements,
@@ -458,6 +472,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeIterationLabel(@Nonnull LabeledStatement labeledStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -485,6 +500,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeNonIterationLabel(@Nonnull LabeledStatement labeledStatement) {
         return new EarlyErrorState(
                 this.errors,
@@ -512,6 +528,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearUsedLabelNames() {
         return new EarlyErrorState(
                 this.errors,
@@ -538,7 +555,13 @@ public class EarlyErrorState {
         );
     }
 
+    @Override
+    public boolean isLabelUsed(@Nonnull String label) {
+        return this.usedLabelNames.get(label).isJust();
+    }
+
     @Nonnull
+    @Override
     public EarlyErrorState observeSuperCallExpression(@Nonnull Super node) {
         return new EarlyErrorState(
                 this.errors,
@@ -566,6 +589,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeConstructorMethod() {
         return new EarlyErrorState(
                 this.errors,
@@ -593,6 +617,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearSuperCallExpressionsInConstructorMethod() {
         return new EarlyErrorState(
                 this.errors,
@@ -620,6 +645,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceSuperCallExpressions() {
         return new EarlyErrorState(
                 this.errors.append(this.superCallExpressions.map(ErrorMessages.SUPERCALL_ERROR)).append(this.superCallExpressionsInConstructorMethod.map(ErrorMessages.SUPERCALL_ERROR)),
@@ -647,6 +673,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceSuperCallExpressionsInConstructorMethod() {
         return new EarlyErrorState(
                 this.errors.append(this.superCallExpressionsInConstructorMethod.map(ErrorMessages.SUPERCALL_ERROR)),
@@ -674,6 +701,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeSuperPropertyExpression(@Nonnull MemberExpression memberExpression) {
         return new EarlyErrorState(
                 this.errors,
@@ -701,6 +729,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearSuperPropertyExpressions() {
         return new EarlyErrorState(
                 this.errors,
@@ -728,6 +757,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceSuperPropertyExpressions() {
         return new EarlyErrorState(
                 this.errors.append(this.superPropertyExpressions.map(ErrorMessages.SUPERPROPERTY_ERROR)),
@@ -755,6 +785,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeNewTargetExpression(@Nonnull NewTargetExpression newTargetExpression) {
         return new EarlyErrorState(
                 this.errors,
@@ -782,6 +813,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearNewTargetExpressions() {
         return new EarlyErrorState(
                 this.errors,
@@ -809,6 +841,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public ImmutableList<NewTargetExpression> getNewTargetExpressions() {
+        return this.newTargetExpressions;
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState bindName(@Nonnull BindingIdentifier bindingIdentifier) {
         return new EarlyErrorState(
                 this.errors,
@@ -836,6 +875,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearBoundNames() {
         return new EarlyErrorState(
                 this.errors,
@@ -863,6 +903,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeLexicalDeclaration() {
         return new EarlyErrorState(
                 this.errors,
@@ -890,6 +931,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeLexicalBoundary() {
         return new EarlyErrorState(
                 this.errors,
@@ -917,11 +959,10 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState enforceDuplicateLexicallyDeclaredNames() {
-        HashTable<String, ImmutableList<EarlyError>> errorMap = this.lexicallyDeclaredNames.toHashTable(
-                l -> ((l.length > 1) ? l.maybeTail().fromJust().map(ErrorMessages.DUPLICATE_BINDING) : ImmutableList.empty())
-        );
-        ImmutableList<EarlyError> dupErrors = errorMap.entries().flatMap(p -> p.right()); // apparently this is too much for the type inference to do in one step
+        ImmutableList<EarlyError> dupErrors = namesInOrder(this.lexicallyDeclaredNames, (k, vs) -> vs.length > 1)
+                .flatMap(k -> this.lexicallyDeclaredNames.get(k).maybeTail().fromJust().map(ErrorMessages.DUPLICATE_BINDING));
         return new EarlyErrorState(
                 this.errors.append(dupErrors),
                 this.strictErrors,
@@ -948,11 +989,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
-    public EarlyErrorState enforceConflictingLexicallyDeclaredNames(@Nonnull MultiHashTable<String, BindingIdentifier> otherNames) {
-        HashTable<String, ImmutableList<EarlyError>> errorMap = this.lexicallyDeclaredNames.toHashTable(
-                (k, vs) -> (otherNames.get(k).isNotEmpty() ? vs.map(ErrorMessages.DUPLICATE_BINDING) : ImmutableList.empty())
-        );
-        ImmutableList<EarlyError> dupErrors = errorMap.entries().flatMap(p -> p.right()); // apparently this is too much for the type inference to do in one step
+    @Override
+    public EarlyErrorState enforceConflictingLexicallyDeclaredNames(@Nullable MultiHashTable<String, BindingIdentifier> otherNames) {
+        if (otherNames == null) {
+            return this;
+        }
+        ImmutableList<EarlyError> dupErrors = namesInOrder(this.lexicallyDeclaredNames, (k, vs) -> otherNames.get(k).isNotEmpty())
+                .flatMap(k -> this.lexicallyDeclaredNames.get(k).map(ErrorMessages.DUPLICATE_BINDING));
         return new EarlyErrorState(
                 this.errors.append(dupErrors),
                 this.strictErrors,
@@ -979,6 +1022,48 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public MultiHashTable<String, BindingIdentifier> getLexicallyDeclaredNames() {
+        return this.lexicallyDeclaredNames;
+    }
+
+    @Nonnull
+    @Override
+    public MultiHashTable<String, BindingIdentifier> getPreviousLexicallyDeclaredNames() {
+        return this.previousLexicallyDeclaredNames;
+    }
+
+    @Nonnull
+    @Override
+    public MultiHashTable<String, BindingIdentifier> getVarDeclaredNames() {
+        return this.varDeclaredNames;
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableList<BindingIdentifier> getLexicalDeclarationsOf(@Nonnull String name) {
+        return this.lexicallyDeclaredNames.get(name);
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableList<BindingIdentifier> getDuplicateLexicallyDeclaredNames() {
+        return namesInOrder(this.lexicallyDeclaredNames, (k, vs) -> vs.length > 1).reverse()
+                .flatMap(k -> this.lexicallyDeclaredNames.get(k).maybeTail().fromJust());
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableList<BindingIdentifier> getForOfVarDeclarationsOf(@Nullable MultiHashTable<String, BindingIdentifier> names) {
+        if (names == null) {
+            return ImmutableList.empty();
+        }
+        return namesInOrder(names, (k, vs) -> this.forOfVarDeclaredNames.get(k).isNotEmpty())
+                .flatMap(k -> names.get(k).flatMap(bi -> this.forOfVarDeclaredNames.get(k)));
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState observeFunctionDeclaration() {
         EarlyErrorState res = this.observeVarBoundary();
         MultiHashTable<String, BindingIdentifier> newFnDeclaredNames = res.functionDeclarationNames.merge(res.boundNames);
@@ -1008,6 +1093,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState functionDeclarationNamesAreLexical() {
         return new EarlyErrorState(
                 this.errors,
@@ -1035,6 +1121,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeVarDeclaration() {
         return new EarlyErrorState(
                 this.errors,
@@ -1062,6 +1149,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState recordForOfVars() {
         return new EarlyErrorState(
                 this.errors,
@@ -1089,6 +1177,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState observeVarBoundary() {
         return new EarlyErrorState(
                 this.errors,
@@ -1116,6 +1205,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState exportName(@Nonnull String name, @Nonnull Node node) {
         return new EarlyErrorState(
                 this.errors,
@@ -1143,6 +1233,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState exportDeclaredNames() {
         return new EarlyErrorState(
                 this.errors,
@@ -1170,6 +1261,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState exportBinding(@Nonnull String name, @Nonnull Node node) {
         return new EarlyErrorState(
                 this.errors,
@@ -1197,6 +1289,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearExportedBindings() {
         return new EarlyErrorState(
                 this.errors,
@@ -1224,6 +1317,21 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public EarlyErrorState enforceDuplicateExportedNames() {
+        return this.addErrors(namesInOrder(this.exportedNames, (k, vs) -> vs.length > 1)
+                .flatMap(k -> this.exportedNames.get(k).maybeTail().fromJust().map(dupeNode -> ErrorMessages.DUPLICATE_EXPORT.apply(dupeNode, k))));
+    }
+
+    @Nonnull
+    @Override
+    public EarlyErrorState enforceUndeclaredExportedBindings() {
+        return this.addErrors(namesInOrder(this.exportedBindings, (k, vs) -> !k.equals("*default*") && this.lexicallyDeclaredNames.get(k).isEmpty() && this.varDeclaredNames.get(k).isEmpty())
+                .flatMap(k -> this.exportedBindings.get(k).map(undeclaredNode -> ErrorMessages.UNDECLARED_EXPORT.apply(undeclaredNode, k))));
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState observeYieldExpression(@Nonnull Node yieldExpression) {
         return new EarlyErrorState(
                 this.errors,
@@ -1251,6 +1359,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearYieldExpressions() {
         return new EarlyErrorState(
                 this.errors,
@@ -1278,6 +1387,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public ImmutableList<Node> getYieldExpressions() {
+        return this.yieldExpressions;
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState observeAwaitExpression(@Nonnull Node awaitExpression) {
         return new EarlyErrorState(
                 this.errors,
@@ -1305,6 +1421,7 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
     public EarlyErrorState clearAwaitExpressions() {
         return new EarlyErrorState(
                 this.errors,
@@ -1332,6 +1449,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public ImmutableList<Node> getAwaitExpressions() {
+        return this.awaitExpressions;
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState addError(@Nonnull EarlyError error) {
         return new EarlyErrorState(
                 this.errors.cons(error),
@@ -1386,6 +1510,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public <T> EarlyErrorState addErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message) {
+        return nodes == null ? this : this.addErrors(errorsFor(nodes, message));
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState addStrictError(@Nonnull EarlyError error) {
         return new EarlyErrorState(
                 this.errors,
@@ -1440,6 +1571,13 @@ public class EarlyErrorState {
     }
 
     @Nonnull
+    @Override
+    public <T> EarlyErrorState addStrictErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message) {
+        return nodes == null ? this : this.addStrictErrors(errorsFor(nodes, message));
+    }
+
+    @Nonnull
+    @Override
     public EarlyErrorState enforceStrictErrors() {
         return new EarlyErrorState(
                 this.errors.append(this.strictErrors),
@@ -1466,6 +1604,21 @@ public class EarlyErrorState {
         );
     }
 
+    // the names in `table` for which `test` holds, in the order in which errors found by name are reported
+    @Nonnull
+    private static <V> ImmutableList<String> namesInOrder(@Nonnull MultiHashTable<String, V> table, @Nonnull F2<String, ImmutableList<V>, Boolean> test) {
+        return ImmutableList.from(GenericEarlyErrorChecker.inTableOrder(table.entries().filter(p -> test.apply(p.left, p.right)).map(p -> p.left)));
+    }
+
+    @Nonnull
+    private static <T> ImmutableList<EarlyError> errorsFor(@Nonnull Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message) {
+        ArrayList<EarlyError> errors = new ArrayList<>();
+        for (T node : nodes) {
+            errors.add(message.apply(node));
+        }
+        return ImmutableList.from(errors);
+    }
+
     private static final class EarlyErrorContextMonoid implements Monoid<EarlyErrorState> {
         @Nonnull
         @Override
@@ -0,0 +1,1025 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.F;
+import com.shapesecurity.functional.Pair;
+import com.shapesecurity.functional.Unit;
+import com.shapesecurity.functional.data.HashTable;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.functional.data.Monoid;
+import com.shapesecurity.shift.es2018.ast.*;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.operators.UnaryOperator;
+import com.shapesecurity.shift.es2018.reducer.MonoidalReducer;
+import com.shapesecurity.shift.es2018.utils.Utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The early error rules, written once against {@link State} so that {@link EarlyErrorChecker}, which reduces to
+ * persistent {@link EarlyErrorState}s, and {@link MutableEarlyErrorChecker}, which updates {@link MutableEarlyErrorState}s
+ * in place, find the same errors in the same order.
+ *
+ * A state passed to a reduce method may be consumed by it, so a state must not be used after it has been passed to an
+ * operation or appended to another; only the state returned may be.
+ *
+ * @param <S> the state
+ * @param <Names> the state's table of BindingIdentifiers by name
+ */
+abstract class GenericEarlyErrorChecker<S extends GenericEarlyErrorChecker.State<S, Names>, Names> extends MonoidalReducer<S> {
+    GenericEarlyErrorChecker(@Nonnull Monoid<S> monoidClass) {
+        super(monoidClass);
+    }
+
+    /**
+     * The operations the early error rules need of a state. Errors found by name are reported in the order given by
+     * {@link #inTableOrder}.
+     */
+    interface State<S extends State<S, Names>, Names> {
+        @Nonnull
+        S addFreeBreakStatement(@Nonnull BreakStatement breakStatement);
+
+        @Nonnull
+        S addFreeLabeledBreakStatement(@Nonnull BreakStatement breakStatement);
+
+        @Nonnull
+        S clearFreeBreakStatements();
+
+        @Nonnull
+        S addFreeContinueStatement(@Nonnull ContinueStatement continueStatement);
+
+        @Nonnull
+        S addFreeLabeledContinueStatement(@Nonnull ContinueStatement continueStatement);
+
+        @Nonnull
+        S clearFreeContinueStatements();
+
+        @Nonnull
+        S enforceFreeBreakStatementErrors();
+
+        @Nonnull
+        S enforceFreeLabeledBreakStatementErrors();
+
+        @Nonnull
+        S enforceFreeContinueStatementErrors();
+
+        @Nonnull
+        S enforceFreeLabeledContinueStatementErrors();
+
+        @Nonnull
+        S observeIterationLabel(@Nonnull LabeledStatement labeledStatement);
+
+        @Nonnull
+        S observeNonIterationLabel(@Nonnull LabeledStatement labeledStatement);
+
+        @Nonnull
+        S clearUsedLabelNames();
+
+        boolean isLabelUsed(@Nonnull String label);
+
+        @Nonnull
+        S observeSuperCallExpression(@Nonnull Super node);
+
+        @Nonnull
+        S observeConstructorMethod();
+
+        @Nonnull
+        S clearSuperCallExpressionsInConstructorMethod();
+
+        @Nonnull
+        S enforceSuperCallExpressions();
+
+        @Nonnull
+        S enforceSuperCallExpressionsInConstructorMethod();
+
+        @Nonnull
+        S observeSuperPropertyExpression(@Nonnull MemberExpression memberExpression);
+
+        @Nonnull
+        S clearSuperPropertyExpressions();
+
+        @Nonnull
+        S enforceSuperPropertyExpressions();
+
+        @Nonnull
+        S observeNewTargetExpression(@Nonnull NewTargetExpression newTargetExpression);
+
+        @Nonnull
+        S clearNewTargetExpressions();
+
+        @Nullable
+        Iterable<? extends Node> getNewTargetExpressions();
+
+        @Nonnull
+        S bindName(@Nonnull BindingIdentifier bindingIdentifier);
+
+        @Nonnull
+        S clearBoundNames();
+
+        @Nonnull
+        S observeLexicalDeclaration();
+
+        @Nonnull
+        S observeLexicalBoundary();
+
+        @Nonnull
+        S enforceDuplicateLexicallyDeclaredNames();
+
+        @Nonnull
+        S enforceConflictingLexicallyDeclaredNames(@Nullable Names otherNames);
+
+        @Nullable
+        Names getLexicallyDeclaredNames();
+
+        @Nullable
+        Names getPreviousLexicallyDeclaredNames();
+
+        @Nullable
+        Names getVarDeclaredNames();
+
+        // the lexical declarations of `name`
+        @Nullable
+        Iterable<BindingIdentifier> getLexicalDeclarationsOf(@Nonnull String name);
+
+        // the second and later lexical declarations of each name, from the last name to the first
+        @Nullable
+        Iterable<BindingIdentifier> getDuplicateLexicallyDeclaredNames();
+
+        // the for-of var declarations of each of `names`, once for each time it is declared there
+        @Nullable
+        Iterable<BindingIdentifier> getForOfVarDeclarationsOf(@Nullable Names names);
+
+        @Nonnull
+        S observeFunctionDeclaration();
+
+        @Nonnull
+        S functionDeclarationNamesAreLexical();
+
+        @Nonnull
+        S observeVarDeclaration();
+
+        @Nonnull
+        S recordForOfVars();
+
+        @Nonnull
+        S observeVarBoundary();
+
+        @Nonnull
+        S exportName(@Nonnull String name, @Nonnull Node node);
+
+        @Nonnull
+        S exportDeclaredNames();
+
+        @Nonnull
+        S exportBinding(@Nonnull String name, @Nonnull Node node);
+
+        @Nonnull
+        S clearExportedBindings();
+
+        @Nonnull
+        S enforceDuplicateExportedNames();
+
+        @Nonnull
+        S enforceUndeclaredExportedBindings();
+
+        @Nonnull
+        S observeYieldExpression(@Nonnull Node yieldExpression);
+
+        @Nonnull
+        S clearYieldExpressions();
+
+        @Nullable
+        Iterable<? extends Node> getYieldExpressions();
+
+        @Nonnull
+        S observeAwaitExpression(@Nonnull Node awaitExpression);
+
+        @Nonnull
+        S clearAwaitExpressions();
+
+        @Nullable
+        Iterable<? extends Node> getAwaitExpressions();
+
+        // adds an error before those already found
+        @Nonnull
+        S addError(@Nonnull EarlyError error);
+
+        // adds an error for each of `nodes`, after those already found
+        @Nonnull
+        <T> S addErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message);
+
+        @Nonnull
+        S addStrictError(@Nonnull EarlyError error);
+
+        // adds a strict error for each of `nodes`, after those already found
+        @Nonnull
+        <T> S addStrictErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message);
+
+        @Nonnull
+        S enforceStrictErrors();
+    }
+
+    // `names`, which must be distinct, in the order in which a HashTable lists them, except that names whose hash codes
+    // collide, which it lists in an order that depends on how it was built, are sorted
+    @Nonnull
+    static List<String> inTableOrder(@Nonnull Iterable<String> names) {
+        HashTable<String, Unit> table = HashTable.emptyUsingEquality();
+        for (String name : names) {
+            table = table.put(name, Unit.unit);
+        }
+        List<String> ordered = new ArrayList<>(table.length);
+        for (Pair<String, Unit> entry : table.entries()) {
+            ordered.add(entry.left);
+        }
+        // names with the same hash code share a bucket, so are listed together
+        for (int start = 0, end; start < ordered.size(); start = end) {
+            int hashCode = ordered.get(start).hashCode();
+            end = start + 1;
+            while (end < ordered.size() && ordered.get(end).hashCode() == hashCode) {
+                ++end;
+            }
+            if (end - start > 1) {
+                Collections.sort(ordered.subList(start, end));
+            }
+        }
+        return ordered;
+    }
+
+    private static boolean isStrictFunctionBody(@Nonnull FunctionBody functionBody) {
+        return isStrictDirectives(functionBody.resolve().directives);
+    }
+
+    private static boolean isStrictDirectives(@Nonnull ImmutableList<Directive> directives) {
+        return directives.exists(d -> d.rawValue.equals("use strict"));
+    }
+
+    private static boolean isLabeledFunction(@Nonnull Node node) {
+        if (!(node instanceof LabeledStatement)) {
+            return false;
+        }
+        LabeledStatement labeledStatement = (LabeledStatement) node;
+        return labeledStatement.body instanceof FunctionDeclaration || isLabeledFunction(labeledStatement.body);
+    }
+
+    private static boolean isIterationStatement(@Nonnull Node node) {
+        if (node instanceof LabeledStatement) {
+            return isIterationStatement(((LabeledStatement) node).body);
+        }
+        return (node instanceof DoWhileStatement
+                || node instanceof ForInStatement
+                || node instanceof ForOfStatement
+                || node instanceof ForStatement
+                || node instanceof WhileStatement);
+    }
+
+    private static boolean isConstructorName(@Nonnull PropertyName name) {
+        return name instanceof StaticPropertyName && ((StaticPropertyName) name).value.equals("constructor");
+    }
+
+    private static boolean isSpecialMethod(@Nonnull MethodDefinition methodDefinition) {
+        if (!isConstructorName(methodDefinition.name)) {
+            return false;
+        }
+        if (methodDefinition instanceof Getter || methodDefinition instanceof Setter) {
+            return true;
+        }
+        return ((Method) methodDefinition).isGenerator || ((Method) methodDefinition).isAsync;
+    }
+
+    private static boolean isSimpleParameterList(@Nonnull FormalParameters params) {
+        return params.rest.isNothing() && !params.items.exists(i -> !(i instanceof BindingIdentifier));
+    }
+
+    @Nonnull
+    private S enforceDuplicateConstructorMethods(@Nonnull ImmutableList<ClassElement> elements, @Nonnull S s) {
+        List<ClassElement> duplicates = null;
+        boolean seen = false;
+        for (ClassElement e : elements) {
+            if (!e.isStatic && e.method instanceof Method && !((Method) e.method).isGenerator && isConstructorName(e.method.name)) {
+                if (seen) {
+                    if (duplicates == null) {
+                        duplicates = new ArrayList<>(1);
+                    }
+                    duplicates.add(e);
+                }
+                seen = true;
+            }
+        }
+        return s.addErrors(duplicates, ErrorMessages.DUPLICATE_CTOR);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceArrowExpression(@Nonnull ArrowExpression node, @Nonnull S params, @Nonnull S body) {
+        params = params.enforceDuplicateLexicallyDeclaredNames();
+        if (node.body instanceof FunctionBody) {
+            body = body.enforceConflictingLexicallyDeclaredNames(params.getLexicallyDeclaredNames());
+            if (isStrictFunctionBody((FunctionBody) node.body)) {
+                params = params.enforceStrictErrors();
+                body = body.enforceStrictErrors();
+            }
+        }
+        body = body.addErrors(body.getYieldExpressions(), ErrorMessages.YIELD_IN_ARROW_BODY);
+        params = params.addErrors(params.getYieldExpressions(), ErrorMessages.YIELD_IN_ARROW_PARAMS);
+        params = params.addErrors(params.getAwaitExpressions(), ErrorMessages.AWAIT_IN_ARROW_PARAMS);
+
+        S s = super.reduceArrowExpression(node, params, body);
+        if (node.body instanceof FunctionBody && !isSimpleParameterList(node.params) && isStrictFunctionBody((FunctionBody) node.body)) {
+            s = s.addError(ErrorMessages.COMPLEX_PARAMS_WITH_USE_STRICT.apply(node));
+        }
+        s = s.clearYieldExpressions();
+        s = s.clearAwaitExpressions();
+        return s.observeVarBoundary();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceAssignmentExpression(@Nonnull AssignmentExpression node, @Nonnull S binding, @Nonnull S expression) {
+        return super.reduceAssignmentExpression(node, binding, expression).clearBoundNames();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceAwaitExpression(@Nonnull AwaitExpression node, @Nonnull S expression) {
+        return expression.observeAwaitExpression(node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceAssignmentTargetIdentifier(@Nonnull AssignmentTargetIdentifier node) {
+        S s = this.identity();
+        if (Utils.isRestrictedWord(node.name) || Utils.isStrictModeReservedWord(node.name)) {
+            s = s.addStrictError(ErrorMessages.TARGET_IDENTIFIER_STRICT.apply(node));
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceBindingIdentifier(@Nonnull BindingIdentifier node) {
+        S s = this.identity();
+        if (Utils.isRestrictedWord(node.name) || Utils.isStrictModeReservedWord(node.name)) {
+            s = s.addStrictError(ErrorMessages.BINDING_IDENTIFIER_STRICT.apply(node));
+        }
+        return s.bindName(node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceBlock(@Nonnull Block node, @Nonnull ImmutableList<S> statements) {
+        S s = super.reduceBlock(node, statements);
+        s = s.functionDeclarationNamesAreLexical();
+        s = s.enforceDuplicateLexicallyDeclaredNames();
+        s = s.enforceConflictingLexicallyDeclaredNames(s.getVarDeclaredNames());
+        s = s.observeLexicalBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceBreakStatement(@Nonnull BreakStatement node) {
+        S s = super.reduceBreakStatement(node);
+        return node.label.isJust() ? s.addFreeLabeledBreakStatement(node) : s.addFreeBreakStatement(node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceCallExpression(@Nonnull CallExpression node, @Nonnull S callee, @Nonnull ImmutableList<S> arguments) {
+        S s = super.reduceCallExpression(node, callee, arguments);
+        if (node.callee instanceof Super) {
+            s = s.observeSuperCallExpression((Super) node.callee);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceCatchClause(@Nonnull CatchClause node, @Nonnull S binding, @Nonnull S body) {
+        binding = binding.observeLexicalDeclaration();
+        binding = binding.enforceDuplicateLexicallyDeclaredNames();
+        binding = binding.enforceConflictingLexicallyDeclaredNames(body.getPreviousLexicallyDeclaredNames());
+        // for-of declarations in the body of the names bound by the catch parameter, found before the body is appended
+        Iterable<BindingIdentifier> redeclared = body.getForOfVarDeclarationsOf(binding.getLexicallyDeclaredNames());
+        S s = super.reduceCatchClause(node, binding, body);
+        s = s.addErrors(redeclared, ErrorMessages.DUPLICATE_BINDING);
+        return s.observeLexicalBoundary();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceClassDeclaration(@Nonnull ClassDeclaration node, @Nonnull S name, @Nonnull Maybe<S> _super, @Nonnull ImmutableList<S> elements) {
+        S s = name.enforceStrictErrors();
+        S sElements = this.fold(elements).enforceStrictErrors();
+        if (node._super.isJust()) {
+            s = this.append(s, _super.fromJust().enforceStrictErrors());
+            sElements = sElements.clearSuperCallExpressionsInConstructorMethod();
+        }
+        sElements = sElements.enforceSuperCallExpressions();
+        sElements = sElements.enforceSuperPropertyExpressions();
+        s = this.append(s, sElements);
+        s = enforceDuplicateConstructorMethods(node.elements, s);
+        return s.observeLexicalDeclaration();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceClassElement(@Nonnull ClassElement node, @Nonnull S method) {
+        S s = super.reduceClassElement(node, method);
+        if (!node.isStatic && isSpecialMethod(node.method)) {
+            s = s.addError(ErrorMessages.CTOR_SPECIAL.apply(node));
+        }
+        if (node.isStatic && node.method.name instanceof StaticPropertyName && ((StaticPropertyName) node.method.name).value.equals("prototype")) {
+            s = s.addError(ErrorMessages.PROTOTYPE_METHOD.apply(node));
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceClassExpression(@Nonnull ClassExpression node, @Nonnull Maybe<S> name, @Nonnull Maybe<S> _super, @Nonnull ImmutableList<S> elements) {
+        S s = this.o(name).enforceStrictErrors();
+        S sElements = this.fold(elements).enforceStrictErrors();
+        if (node._super.isJust()) {
+            s = this.append(s, _super.fromJust().enforceStrictErrors());
+            sElements = sElements.clearSuperCallExpressionsInConstructorMethod();
+        }
+        sElements = sElements.enforceSuperCallExpressions();
+        sElements = sElements.enforceSuperPropertyExpressions();
+        s = this.append(s, sElements);
+        s = enforceDuplicateConstructorMethods(node.elements, s);
+        return s.clearBoundNames();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceCompoundAssignmentExpression(@Nonnull CompoundAssignmentExpression node, @Nonnull S binding, @Nonnull S expression) {
+        return super.reduceCompoundAssignmentExpression(node, binding, expression).clearBoundNames();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceComputedMemberExpression(@Nonnull ComputedMemberExpression node, @Nonnull S object, @Nonnull S expression) {
+        S s = super.reduceComputedMemberExpression(node, object, expression);
+        if (node.object instanceof Super) {
+            s = s.observeSuperPropertyExpression(node);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceContinueStatement(@Nonnull ContinueStatement node) {
+        S s = super.reduceContinueStatement(node);
+        return node.label.isJust() ? s.addFreeLabeledContinueStatement(node) : s.addFreeContinueStatement(node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceDoWhileStatement(@Nonnull DoWhileStatement node, @Nonnull S body, @Nonnull S test) {
+        S s = super.reduceDoWhileStatement(node, body, test);
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.DO_WHILE_LABELED_FN.apply(node.body));
+        }
+        s = s.clearFreeContinueStatements();
+        s = s.clearFreeBreakStatements();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceExport(@Nonnull Export node, @Nonnull S declaration) {
+        S s = super.reduceExport(node, declaration);
+        s = s.functionDeclarationNamesAreLexical();
+        s = s.exportDeclaredNames();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceExportDefault(@Nonnull ExportDefault node, @Nonnull S body) {
+        S s = super.reduceExportDefault(node, body);
+        s = s.functionDeclarationNamesAreLexical();
+        s = s.exportName("default", node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceExportFrom(@Nonnull ExportFrom node, @Nonnull ImmutableList<S> namedExports) {
+        S s = super.reduceExportFrom(node, namedExports);
+        s = s.clearExportedBindings();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceExportFromSpecifier(@Nonnull ExportFromSpecifier node) {
+        return super.reduceExportFromSpecifier(node)
+                .exportName(node.exportedName.orJust(node.name), node)
+                .exportBinding(node.name, node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceExportLocalSpecifier(@Nonnull ExportLocalSpecifier node, @Nonnull S name) {
+        return super.reduceExportLocalSpecifier(node, name)
+                .exportName(node.exportedName.orJust(node.name.name), node)
+                .exportBinding(node.name.name, node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceForInStatement(@Nonnull ForInStatement node, @Nonnull S left, @Nonnull S right, @Nonnull S body) {
+        left = left.enforceDuplicateLexicallyDeclaredNames();
+        left = left.enforceConflictingLexicallyDeclaredNames(body.getVarDeclaredNames());
+        S s = super.reduceForInStatement(node, left, right, body);
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.FOR_IN_LABELED_FN.apply(node.body));
+        }
+        s = s.clearFreeContinueStatements();
+        s = s.clearFreeBreakStatements();
+        s = s.observeLexicalBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceForOfStatement(@Nonnull ForOfStatement node, @Nonnull S left, @Nonnull S right, @Nonnull S body) {
+        left = left.recordForOfVars();
+        left = left.enforceDuplicateLexicallyDeclaredNames();
+        left = left.enforceConflictingLexicallyDeclaredNames(body.getVarDeclaredNames());
+        S s = super.reduceForOfStatement(node, left, right, body);
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.FOR_OF_LABELED_FN.apply(node.body));
+        }
+        s = s.clearFreeContinueStatements();
+        s = s.clearFreeBreakStatements();
+        s = s.observeLexicalBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceForStatement(@Nonnull ForStatement node, @Nonnull Maybe<S> init, @Nonnull Maybe<S> test, @Nonnull Maybe<S> update, @Nonnull S body) {
+        init = init.map(i ->
+                i.enforceDuplicateLexicallyDeclaredNames()
+                        .enforceConflictingLexicallyDeclaredNames(body.getVarDeclaredNames())
+        );
+        S s = super.reduceForStatement(node, init, test, update, body);
+        if (node.init.isJust()) {
+            VariableDeclarationExpression i = node.init.fromJust();
+            if (i instanceof VariableDeclaration && ((VariableDeclaration) i).kind.equals(VariableDeclarationKind.Const)) {
+                s = s.addErrors(((VariableDeclaration) i).declarators.filter(d -> d.init.isNothing()), ErrorMessages.CONST_WITHOUT_INIT);
+            }
+        }
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.FOR_LABELED_FN.apply(node.body));
+        }
+        s = s.clearFreeContinueStatements();
+        s = s.clearFreeBreakStatements();
+        s = s.observeLexicalBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceFormalParameters(@Nonnull FormalParameters node, @Nonnull ImmutableList<S> items, @Nonnull Maybe<S> rest) {
+        return super.reduceFormalParameters(node, items, rest).observeLexicalDeclaration();
+    }
+
+    @Nonnull
+    @Override
+    public S reduceFunctionBody(@Nonnull FunctionBody node, @Nonnull ImmutableList<S> directives, @Nonnull ImmutableList<S> statements) {
+        S s = super.reduceFunctionBody(node, directives, statements);
+        s = s.enforceDuplicateLexicallyDeclaredNames();
+        s = s.enforceConflictingLexicallyDeclaredNames(s.getVarDeclaredNames());
+        s = s.enforceFreeContinueStatementErrors();
+        s = s.enforceFreeLabeledContinueStatementErrors();
+        s = s.enforceFreeBreakStatementErrors();
+        s = s.enforceFreeLabeledBreakStatementErrors();
+        s = s.clearUsedLabelNames();
+        s = s.clearYieldExpressions();
+        if (isStrictFunctionBody(node)) {
+            s = s.enforceStrictErrors();
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceFunctionDeclaration(@Nonnull FunctionDeclaration node, @Nonnull S name, @Nonnull S params, @Nonnull S body) {
+        boolean dupParamIsNonstrictError = !isSimpleParameterList(node.params) || node.isGenerator;
+
+        Iterable<BindingIdentifier> duplicates = params.getDuplicateLexicallyDeclaredNames();
+        params = dupParamIsNonstrictError ? params.addErrors(duplicates, ErrorMessages.DUPLICATE_BINDING) : params.addStrictErrors(duplicates, ErrorMessages.DUPLICATE_BINDING);
+        body = body.enforceConflictingLexicallyDeclaredNames(params.getLexicallyDeclaredNames());
+        body = body.enforceSuperCallExpressions();
+        body = body.enforceSuperPropertyExpressions();
+        params = params.enforceSuperCallExpressions();
+        params = params.enforceSuperPropertyExpressions();
+        if (node.isGenerator) {
+            params = params.addErrors(params.getYieldExpressions(), ErrorMessages.YIELD_IN_GENERATOR_PARAMS);
+        }
+        if (node.isAsync) {
+            params = params.addErrors(params.getAwaitExpressions(), ErrorMessages.AWAIT_IN_ASYNC_PARAMS);
+        }
+        params = params.clearNewTargetExpressions();
+        body = body.clearNewTargetExpressions();
+        if (isStrictFunctionBody(node.body)) {
+            params = params.enforceStrictErrors();
+            body = body.enforceStrictErrors();
+        }
+        S s = super.reduceFunctionDeclaration(node, name, params, body);
+        if (!isSimpleParameterList(node.params) && isStrictFunctionBody(node.body)) {
+            s = s.addError(ErrorMessages.COMPLEX_PARAMS_WITH_USE_STRICT.apply(node));
+        }
+        s = s.clearYieldExpressions();
+        s = s.clearAwaitExpressions();
+        s = s.observeFunctionDeclaration();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceFunctionExpression(@Nonnull FunctionExpression node, @Nonnull Maybe<S> name, @Nonnull S params, @Nonnull S body) {
+        boolean dupParamIsNonstrictError = !isSimpleParameterList(node.params) || node.isGenerator;
+
+        Iterable<BindingIdentifier> duplicates = params.getDuplicateLexicallyDeclaredNames();
+        params = dupParamIsNonstrictError ? params.addErrors(duplicates, ErrorMessages.DUPLICATE_BINDING) : params.addStrictErrors(duplicates, ErrorMessages.DUPLICATE_BINDING);
+        body = body.enforceConflictingLexicallyDeclaredNames(params.getLexicallyDeclaredNames());
+        body = body.enforceSuperCallExpressions();
+        body = body.enforceSuperPropertyExpressions();
+        params = params.enforceSuperCallExpressions();
+        params = params.enforceSuperPropertyExpressions();
+        if (node.isGenerator) {
+            params = params.addErrors(params.getYieldExpressions(), ErrorMessages.YIELD_IN_GENERATOR_PARAMS);
+        }
+        if (node.isAsync) {
+            params = params.addErrors(params.getAwaitExpressions(), ErrorMessages.AWAIT_IN_ASYNC_PARAMS);
+        }
+        params = params.clearNewTargetExpressions();
+        body = body.clearNewTargetExpressions();
+        if (isStrictFunctionBody(node.body)) {
+            params = params.enforceStrictErrors();
+            body = body.enforceStrictErrors();
+        }
+        S s = super.reduceFunctionExpression(node, name, params, body);
+        if (!isSimpleParameterList(node.params) && isStrictFunctionBody(node.body)) {
+            s = s.addError(ErrorMessages.COMPLEX_PARAMS_WITH_USE_STRICT.apply(node));
+        }
+        s = s.clearBoundNames();
+        s = s.clearYieldExpressions();
+        s = s.observeVarBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceGetter(@Nonnull Getter node, @Nonnull S name, @Nonnull S body) {
+        body = body.enforceSuperCallExpressions();
+        body = body.clearSuperPropertyExpressions();
+        body = body.clearNewTargetExpressions();
+        if (isStrictFunctionBody(node.body)) {
+            body = body.enforceStrictErrors();
+        }
+        S s = super.reduceGetter(node, name, body);
+        s = s.observeVarBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceIdentifierExpression(@Nonnull IdentifierExpression node) {
+        S s = this.identity();
+        if (Utils.isStrictModeReservedWord(node.name)) {
+            s = s.addStrictError(ErrorMessages.IDENTIFIER_EXP_STRICT.apply(node));
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceIfStatement(@Nonnull IfStatement node, @Nonnull S test, @Nonnull S consequent, @Nonnull Maybe<S> alternate) {
+        if (isLabeledFunction(node.consequent)) {
+            consequent = consequent.addError(ErrorMessages.CONSEQUENT_IS_LABELED_FN.apply(node.consequent));
+        }
+        if (node.consequent instanceof FunctionDeclaration) {
+            consequent = consequent.addStrictError(ErrorMessages.IF_FNDECL_STRICT.apply(node.consequent));
+            consequent = consequent.observeLexicalBoundary();
+        }
+        if (node.alternate.isJust()) {
+            Statement alternateNode = node.alternate.fromJust();
+            S a = alternate.fromJust();
+            if (isLabeledFunction(alternateNode)) {
+                a = a.addError(ErrorMessages.ALTERNATE_IS_LABELED_FN.apply(alternateNode));
+            }
+            if (alternateNode instanceof FunctionDeclaration) {
+                a = a.addStrictError(ErrorMessages.IF_FNDECL_STRICT.apply(alternateNode));
+                a = a.observeLexicalBoundary();
+            }
+            alternate = Maybe.of(a);
+        }
+        return super.reduceIfStatement(node, test, consequent, alternate);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceImport(@Nonnull Import node, @Nonnull Maybe<S> defaultBinding, @Nonnull ImmutableList<S> namedImports) {
+        S s = super.reduceImport(node, defaultBinding, namedImports);
+        s = s.observeLexicalDeclaration();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceImportNamespace(@Nonnull ImportNamespace node, @Nonnull Maybe<S> defaultBinding, @Nonnull S namespaceBinding) {
+        S s = super.reduceImportNamespace(node, defaultBinding, namespaceBinding);
+        s = s.observeLexicalDeclaration();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceLabeledStatement(@Nonnull LabeledStatement node, @Nonnull S body) {
+        S s = super.reduceLabeledStatement(node, body);
+        if (node.label.equals("yield")) {
+            s = s.addStrictError(ErrorMessages.YIELD_LABEL.apply(node));
+        }
+        if (s.isLabelUsed(node.label)) {
+            s = s.addError(ErrorMessages.DUPLICATE_LABEL.apply(node));
+        }
+        if (node.body instanceof FunctionDeclaration) {
+            s = s.addStrictError(ErrorMessages.FN_LABEL_STRICT.apply(node));
+        }
+        s = isIterationStatement(node.body)
+                ? s.observeIterationLabel(node)
+                : s.observeNonIterationLabel(node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceMethod(@Nonnull Method node, @Nonnull S name, @Nonnull S params, @Nonnull S body) {
+        params = params.enforceDuplicateLexicallyDeclaredNames();
+        body = body.enforceConflictingLexicallyDeclaredNames(params.getLexicallyDeclaredNames());
+        if (isConstructorName(node.name)) {
+            body = body.observeConstructorMethod();
+            params = params.observeConstructorMethod();
+        } else {
+            body = body.enforceSuperCallExpressions();
+            params = params.enforceSuperCallExpressions();
+        }
+        if (node.isGenerator) {
+            params = params.addErrors(params.getYieldExpressions(), ErrorMessages.YIELD_IN_GENERATOR_PARAMS);
+        }
+        if (node.isAsync) {
+            params = params.addErrors(params.getAwaitExpressions(), ErrorMessages.AWAIT_IN_ASYNC_PARAMS);
+        }
+        body = body.clearSuperPropertyExpressions();
+        params = params.clearSuperPropertyExpressions();
+        params = params.clearNewTargetExpressions();
+        body = body.clearNewTargetExpressions();
+        if (isStrictFunctionBody(node.body)) {
+            params = params.enforceStrictErrors();
+            body = body.enforceStrictErrors();
+        }
+        S s = super.reduceMethod(node, name, params, body);
+        if (!isSimpleParameterList(node.params) && isStrictFunctionBody(node.body)) {
+            s = s.addError(ErrorMessages.COMPLEX_PARAMS_WITH_USE_STRICT.apply(node));
+        }
+        s = s.clearYieldExpressions();
+        s = s.clearAwaitExpressions();
+        s = s.observeVarBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceModule(@Nonnull Module node, @Nonnull ImmutableList<S> directives, @Nonnull ImmutableList<S> items) {
+        S s = super.reduceModule(node, directives, items);
+        s = s.functionDeclarationNamesAreLexical();
+        s = s.enforceDuplicateLexicallyDeclaredNames();
+        s = s.enforceConflictingLexicallyDeclaredNames(s.getVarDeclaredNames());
+        s = s.enforceDuplicateExportedNames();
+        s = s.enforceUndeclaredExportedBindings();
+        s = s.addErrors(s.getNewTargetExpressions(), ErrorMessages.NEW_TARGET_TOP);
+
+        s = s.enforceFreeContinueStatementErrors();
+        s = s.enforceFreeLabeledContinueStatementErrors();
+        s = s.enforceFreeBreakStatementErrors();
+        s = s.enforceFreeLabeledBreakStatementErrors();
+        s = s.enforceSuperCallExpressions();
+        s = s.enforceSuperPropertyExpressions();
+        s = s.enforceStrictErrors();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceNewTargetExpression(@Nonnull NewTargetExpression node) {
+        return this.identity().observeNewTargetExpression(node);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceObjectExpression(@Nonnull ObjectExpression node, @Nonnull ImmutableList<S> properties) {
+        S s = super.reduceObjectExpression(node, properties);
+        s = s.enforceSuperCallExpressionsInConstructorMethod();
+        List<ObjectProperty> duplicates = null;
+        boolean seenProto = false;
+        for (ObjectProperty p : node.properties) {
+            if (p instanceof DataProperty && ((DataProperty) p).name instanceof StaticPropertyName && ((StaticPropertyName) ((DataProperty) p).name).value.equals("__proto__")) {
+                if (seenProto) {
+                    if (duplicates == null) {
+                        duplicates = new ArrayList<>(1);
+                    }
+                    duplicates.add(p);
+                }
+                seenProto = true;
+            }
+        }
+        return s.addErrors(duplicates, ErrorMessages.DUPLICATE_PROTO);
+    }
+
+    @Nonnull
+    @Override
+    public S reduceScript(@Nonnull Script node, @Nonnull ImmutableList<S> directives, @Nonnull ImmutableList<S> statements) {
+        S s = super.reduceScript(node, directives, statements);
+        s = s.enforceDuplicateLexicallyDeclaredNames();
+        s = s.enforceConflictingLexicallyDeclaredNames(s.getVarDeclaredNames());
+        s = s.addErrors(s.getNewTargetExpressions(), ErrorMessages.NEW_TARGET_TOP);
+        s = s.enforceFreeContinueStatementErrors();
+        s = s.enforceFreeLabeledContinueStatementErrors();
+        s = s.enforceFreeBreakStatementErrors();
+        s = s.enforceFreeLabeledBreakStatementErrors();
+        s = s.enforceSuperCallExpressions();
+        s = s.enforceSuperPropertyExpressions();
+        if (isStrictDirectives(node.directives)) {
+            s = s.enforceStrictErrors();
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceSetter(@Nonnull Setter node, @Nonnull S name, @Nonnull S param, @Nonnull S body) {
+        param = param.observeLexicalDeclaration();
+        param = param.enforceDuplicateLexicallyDeclaredNames();
+        body = body.enforceConflictingLexicallyDeclaredNames(param.getLexicallyDeclaredNames());
+        param = param.enforceSuperCallExpressions();
+        body = body.enforceSuperCallExpressions();
+        param = param.clearSuperPropertyExpressions();
+        body = body.clearSuperPropertyExpressions();
+        param = param.clearNewTargetExpressions();
+        body = body.clearNewTargetExpressions();
+        if (isStrictFunctionBody(node.body)) {
+            param = param.enforceStrictErrors();
+            body = body.enforceStrictErrors();
+        }
+        S s = super.reduceSetter(node, name, param, body);
+        if (!(node.param instanceof BindingIdentifier) && isStrictFunctionBody(node.body)) {
+            s = s.addError(ErrorMessages.COMPLEX_PARAMS_WITH_USE_STRICT.apply(node));
+        }
+        s = s.observeVarBoundary();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceStaticMemberExpression(@Nonnull StaticMemberExpression node, @Nonnull S object) {
+        S s = super.reduceStaticMemberExpression(node, object);
+        if (node.object instanceof Super) {
+            s = s.observeSuperPropertyExpression(node);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceSwitchStatement(@Nonnull SwitchStatement node, @Nonnull S discriminant, @Nonnull ImmutableList<S> cases) {
+        S sCases = this.fold(cases);
+        sCases = sCases.functionDeclarationNamesAreLexical();
+        sCases = sCases.enforceDuplicateLexicallyDeclaredNames();
+        sCases = sCases.enforceConflictingLexicallyDeclaredNames(sCases.getVarDeclaredNames());
+        sCases = sCases.observeLexicalBoundary();
+        S s = this.append(discriminant, sCases);
+        s = s.clearFreeBreakStatements();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceSwitchStatementWithDefault(@Nonnull SwitchStatementWithDefault node, @Nonnull S discriminant, @Nonnull ImmutableList<S> preDefaultCases, @Nonnull S defaultCase, @Nonnull ImmutableList<S> postDefaultCases) {
+        S sCases = this.append(defaultCase, this.fold(preDefaultCases), this.fold(postDefaultCases));
+        sCases = sCases.functionDeclarationNamesAreLexical();
+        sCases = sCases.enforceDuplicateLexicallyDeclaredNames();
+        sCases = sCases.enforceConflictingLexicallyDeclaredNames(sCases.getVarDeclaredNames());
+        sCases = sCases.observeLexicalBoundary();
+        S s = this.append(discriminant, sCases);
+        s = s.clearFreeBreakStatements();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceUnaryExpression(@Nonnull UnaryExpression node, @Nonnull S operand) {
+        S s = super.reduceUnaryExpression(node, operand);
+        if (node.operator.equals(UnaryOperator.Delete) && node.operand instanceof IdentifierExpression) {
+            s = s.addStrictError(ErrorMessages.DELETE_IDENTIFIER_EXP_STRICT.apply(node));
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceUpdateExpression(@Nonnull UpdateExpression node, @Nonnull S operand) {
+        S s = super.reduceUpdateExpression(node, operand);
+        s = s.clearBoundNames();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceVariableDeclaration(@Nonnull VariableDeclaration node, @Nonnull ImmutableList<S> declarators) {
+        S s = super.reduceVariableDeclaration(node, declarators);
+        switch (node.kind) {
+            case Const:
+            case Let:
+                s = s.observeLexicalDeclaration();
+                s = s.addErrors(s.getLexicalDeclarationsOf("let"), ErrorMessages.LEXICAL_LET_BINDING);
+                break;
+            case Var:
+                s = s.observeVarDeclaration();
+                break;
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceVariableDeclarationStatement(@Nonnull VariableDeclarationStatement node, @Nonnull S declaration) {
+        S s = super.reduceVariableDeclarationStatement(node, declaration);
+        if (node.declaration.kind.equals(VariableDeclarationKind.Const)) {
+            s = s.addErrors(node.declaration.declarators.filter(d -> d.init.isNothing()), ErrorMessages.CONST_WITHOUT_INIT);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceWhileStatement(@Nonnull WhileStatement node, @Nonnull S test, @Nonnull S body) {
+        S s = super.reduceWhileStatement(node, test, body);
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.WHILE_LABELED_FN.apply(node.body));
+        }
+        s = s.clearFreeContinueStatements().clearFreeBreakStatements();
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceWithStatement(@Nonnull WithStatement node, @Nonnull S object, @Nonnull S body) {
+        S s = super.reduceWithStatement(node, object, body);
+        if (isLabeledFunction(node.body)) {
+            s = s.addError(ErrorMessages.WITH_LABELED_FN.apply(node.body));
+        }
+        s = s.addStrictError(ErrorMessages.WITH_STRICT.apply(node));
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceYieldExpression(@Nonnull YieldExpression node, @Nonnull Maybe<S> expression) {
+        S s = super.reduceYieldExpression(node, expression);
+        s = s.observeYieldExpression(node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public S reduceYieldGeneratorExpression(@Nonnull YieldGeneratorExpression node, @Nonnull S expression) {
+        S s = super.reduceYieldGeneratorExpression(node, expression);
+        s = s.observeYieldExpression(node);
+        return s;
+    }
+}
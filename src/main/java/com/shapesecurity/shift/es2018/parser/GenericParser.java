@@ -49,6 +49,11 @@ public abstract class GenericParser<AdditionalStateT> extends Tokenizer {
         this.module = this.strict = isModule;
     }
 
+    protected GenericParser(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+        super(source, isModule, index, line, lineStart);
+        this.module = this.strict = isModule;
+    }
+
     boolean eat(@Nonnull TokenType subType) throws JsError {
         if (this.lookahead.type != subType) {
             return false;
@@ -193,7 +198,7 @@ public abstract class GenericParser<AdditionalStateT> extends Tokenizer {
             if (parsingDirectives) {
                 if (isStringLiteral && stmt instanceof ExpressionStatement && ((ExpressionStatement) stmt).expression instanceof LiteralStringExpression) {
                     if (directiveOctal == null && ((StringLiteralToken) token).octal != null) {
-                        directiveOctal = createErrorWithLocation(this.getLocation(), ErrorMessages.INVALID_STRICT_OCTAL + ((StringLiteralToken) token).octal);
+                        directiveOctal = this.createSpeculativeErrorWithLocation(this.getLocation(), ErrorMessages.INVALID_STRICT_OCTAL + "%s", ((StringLiteralToken) token).octal);
                     }
                     String rawValue = text.substring(1, text.length() - 1);
                     if (rawValue.equals("use strict")) {
@@ -1932,13 +1937,13 @@ public abstract class GenericParser<AdditionalStateT> extends Tokenizer {
             case DIV:
             case ASSIGN_DIV:
                 this.isBindingElement = this.isAssignmentTarget = false;
-                this.lookahead = this.scanRegExp(this.match(TokenType.DIV) ? "/" : "/=");
-                Token token = this.lex();
-                int lastSlash = ((RegularExpressionLiteralToken) token).getValueString().lastIndexOf("/");
-                String pattern = ((RegularExpressionLiteralToken) token).getValueString().substring(1, lastSlash);
-                String flags = ((RegularExpressionLiteralToken) token).getValueString().substring(lastSlash + 1);
+                this.lookahead = this.scanRegExp(this.lookahead.slice.start);
+                RegularExpressionLiteralToken token = (RegularExpressionLiteralToken) this.lex();
+                String pattern = token.getPattern().toString();
+                CharSequence flags = token.getFlags();
                 boolean gFlag = false, iFlag = false, mFlag = false, sFlag = false, uFlag = false, yFlag = false;
-                for (char c : flags.toCharArray()) {
+                for (int i = 0; i < flags.length(); ++i) {
+                    char c = flags.charAt(i);
                     switch (c) {
                         // duplicate or invalid flags are Early Syntax Errors per 12.2.8.1, but we can't represent them, so they are an early grammar error.
                         case 'g':
@@ -2269,7 +2274,7 @@ public abstract class GenericParser<AdditionalStateT> extends Tokenizer {
                 if (!this.isBindingElement) {
                     throw this.createUnexpected(this.lookahead);
                 }
-                this.firstExprError = this.firstExprError == null ? this.createUnexpected(this.lookahead) : this.firstExprError;
+                this.firstExprError = this.firstExprError == null ? this.createSpeculativeUnexpected(this.lookahead) : this.firstExprError;
                 mustBeArrowParameterList = true;
                 break;
             }
@@ -2358,7 +2363,7 @@ public abstract class GenericParser<AdditionalStateT> extends Tokenizer {
                         throw this.createError(ErrorMessages.INVALID_TOKEN_CONTEXT, "await");
                     }
                     Expression init = this.isolateCoverGrammar(this::parseAssignmentExpression).left().fromJust();
-                    this.firstExprError = this.createErrorWithLocation(startLocation, ErrorMessages.ILLEGAL_PROPERTY);
+                    this.firstExprError = this.createSpeculativeErrorWithLocation(startLocation, ErrorMessages.ILLEGAL_PROPERTY);
                     AssignmentTargetPropertyIdentifier toReturn = new AssignmentTargetPropertyIdentifier(this.transformDestructuring(staticPropertyName), Maybe.of(init));
                     return Either.right(this.finishNode(startState, toReturn));
                 }
@@ -16,10 +16,18 @@
 
 package com.shapesecurity.shift.es2018.parser;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 public class JsError extends Exception {
     private static final long serialVersionUID = -5526903161079226322L;
     private final int index, line, column;
-    private final String description;
+    private String description;
+    // if present, description is a format string which has not been applied to these yet
+    @Nullable
+    private transient Object[] args;
 
     public JsError(int index, int line, int column, String description) {
         super();
@@ -27,6 +35,18 @@ public class JsError extends Exception {
         this.line = line;
         this.column = column;
         this.description = description;
+        this.args = null;
+    }
+
+    // The description is formatted only when first requested. Errors which are created speculatively and usually
+    // discarded, such as GenericParser.firstExprError, also skip capturing a stack trace.
+    JsError(int index, int line, int column, @Nonnull String format, @Nonnull Object[] args, boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.index = index;
+        this.line = line;
+        this.column = column;
+        this.description = format;
+        this.args = args;
     }
 
     public int getIndex() {
@@ -42,12 +62,21 @@ public class JsError extends Exception {
     }
 
     public String getDescription() {
+        if (this.args != null) {
+            this.description = String.format(this.description, this.args);
+            this.args = null;
+        }
         return this.description;
     }
 
     @Override
     public String getMessage() {
         return String.format("JavaScript error: Line %d Column %d (Index = %d), %s.", this.line, this.column, this.index,
-                this.description);
+                this.getDescription());
+    }
+
+    private void writeObject(@Nonnull ObjectOutputStream out) throws IOException {
+        this.getDescription();
+        out.defaultWriteObject();
     }
 }
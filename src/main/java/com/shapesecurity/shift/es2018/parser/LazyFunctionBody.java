@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.shift.es2018.ast.FunctionBody;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * The body of a function whose parsing was deferred by {@link Parser#parseScriptLazy} or {@link Parser#parseModuleLazy}.
+ * Only the extent of the body has been determined, by matching braces, and syntax errors within it have not been
+ * reported. Its own {@code directives} and {@code statements} are always empty; the body stands for the one it parses
+ * to instead, which {@link #resolve} gives, which it equals, and which the directors reduce in its place.
+ *
+ * {@link #force} parses the body, again deferring any functions nested within it. {@link Parser#forceAll} forces every
+ * deferred body in a tree.
+ */
+public final class LazyFunctionBody extends FunctionBody {
+    @Nonnull
+    private final String source;
+    private final boolean isModule;
+    private final boolean strict;
+    private final boolean allowYieldExpression;
+    private final boolean allowAwaitExpression;
+    // position of the opening brace, with a 0-based line
+    private final int start, line, lineStart;
+    // offset just past the closing brace
+    private final int end;
+    @Nonnull
+    private final BraceMatches braces;
+    // bodies nested within this one shorter than this are parsed eagerly when it is forced
+    private final int deferThreshold;
+
+    @Nullable
+    private volatile FunctionBody forced = null;
+
+    LazyFunctionBody(
+            @Nonnull String source,
+            boolean isModule,
+            boolean strict,
+            boolean allowYieldExpression,
+            boolean allowAwaitExpression,
+            int start,
+            int line,
+            int lineStart,
+            int end,
+            @Nonnull BraceMatches braces,
+            int deferThreshold
+    ) {
+        super(ImmutableList.empty(), ImmutableList.empty());
+        this.source = source;
+        this.isModule = isModule;
+        this.strict = strict;
+        this.allowYieldExpression = allowYieldExpression;
+        this.allowAwaitExpression = allowAwaitExpression;
+        this.start = start;
+        this.line = line;
+        this.lineStart = lineStart;
+        this.end = end;
+        this.braces = braces;
+        this.deferThreshold = deferThreshold;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    public boolean isForced() {
+        return this.forced != null;
+    }
+
+    /**
+     * Parses the body, or returns the result of having done so before.
+     *
+     * @throws JsError if the body is not syntactically valid
+     */
+    @Nonnull
+    public FunctionBody force() throws JsError {
+        FunctionBody body = this.forced;
+        if (body == null) {
+            body = Parser.parseDeferredBody(this.source, this.isModule, this.strict, this.allowYieldExpression, this.allowAwaitExpression, this.start, this.line, this.lineStart, this.end, this.braces, this.deferThreshold, null);
+            this.forced = body;
+        }
+        return body;
+    }
+
+    /**
+     * Parses the body as {@link #force} does, for callers which cannot throw {@link JsError}.
+     *
+     * @throws ForcingException if the body is not syntactically valid
+     */
+    @Nonnull
+    public FunctionBody forceUnchecked() {
+        try {
+            return this.force();
+        } catch (JsError e) {
+            throw new ForcingException(e);
+        }
+    }
+
+    /**
+     * Returns the body this one parses to, forcing it as {@link #forceUnchecked} does.
+     *
+     * @throws ForcingException if the body is not syntactically valid
+     */
+    @Nonnull
+    @Override
+    public FunctionBody resolve() {
+        return this.forceUnchecked();
+    }
+
+    // Forces the body if it has not been already, adding the bodies deferred within it to `deferred`.
+    void forceRecordingDeferred(@Nonnull List<LazyFunctionBody> deferred) throws JsError {
+        if (this.forced == null) {
+            this.forced = Parser.parseDeferredBody(this.source, this.isModule, this.strict, this.allowYieldExpression, this.allowAwaitExpression, this.start, this.line, this.lineStart, this.end, this.braces, this.deferThreshold, deferred);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FunctionBody)) {
+            return false;
+        }
+        return this.forceUnchecked().equals(((FunctionBody) object).resolve());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.forceUnchecked().hashCode();
+    }
+
+    /**
+     * Thrown when a body which is not syntactically valid is forced by something which cannot throw {@link JsError},
+     * such as a director.
+     */
+    public static final class ForcingException extends RuntimeException {
+        private static final long serialVersionUID = -2471985521738190612L;
+
+        ForcingException(@Nonnull JsError cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Nonnull
+        public JsError getError() {
+            return (JsError) this.getCause();
+        }
+    }
+}
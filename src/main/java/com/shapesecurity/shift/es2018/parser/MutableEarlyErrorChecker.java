@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.Program;
+import com.shapesecurity.shift.es2018.reducer.Director;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Finds the same early errors as {@link EarlyErrorChecker}, with the same rules, but accumulates them in
+ * {@link MutableEarlyErrorState}s which are updated in place rather than copied at every node. The errors are the same,
+ * and are found in the same order.
+ */
+final class MutableEarlyErrorChecker extends GenericEarlyErrorChecker<MutableEarlyErrorState, HashMap<String, ArrayList<BindingIdentifier>>> {
+    MutableEarlyErrorChecker() {
+        super(MutableEarlyErrorState.MONOID);
+    }
+
+    @Nonnull
+    static ImmutableList<EarlyError> validate(@Nonnull Program program) {
+        return Director.reduceProgram(new MutableEarlyErrorChecker(), program).getErrors();
+    }
+}
@@ -0,0 +1,838 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.F;
+import com.shapesecurity.functional.F2;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Monoid;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.BreakStatement;
+import com.shapesecurity.shift.es2018.ast.ContinueStatement;
+import com.shapesecurity.shift.es2018.ast.LabeledStatement;
+import com.shapesecurity.shift.es2018.ast.MemberExpression;
+import com.shapesecurity.shift.es2018.ast.NewTargetExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Super;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The same information as {@link EarlyErrorState}, kept in mutable collections which are updated in place.
+ *
+ * Each state is the frame of the subtree it was reduced from, and is consumed exactly once by the reduction of its
+ * parent: appending two states moves the contents of the second into the first, and the boundaries at which
+ * {@link EarlyErrorState} would return a copy with a field emptied instead drop that field. A null field is empty. The
+ * shared {@link #EMPTY} state is never modified; operations which would add to it return a new state instead, so
+ * callers must always use the state an operation returns.
+ *
+ * Errors are found in the same order as with {@link EarlyErrorState}: what it conses is added at the front, what it
+ * appends at the back, and errors found by name are reported in the order of
+ * {@link GenericEarlyErrorChecker#inTableOrder}.
+ */
+final class MutableEarlyErrorState implements GenericEarlyErrorChecker.State<MutableEarlyErrorState, HashMap<String, ArrayList<BindingIdentifier>>> {
+
+    static final MutableEarlyErrorState EMPTY = new MutableEarlyErrorState();
+
+    static final Monoid<MutableEarlyErrorState> MONOID = new MutableEarlyErrorStateMonoid();
+
+    @Nullable
+    ArrayDeque<EarlyError> errors;
+    // errors that are only errors in strict mode code
+    @Nullable
+    ArrayDeque<EarlyError> strictErrors;
+
+    // Label values used in LabeledStatement nodes; cleared at function boundaries
+    @Nullable
+    HashSet<String> usedLabelNames;
+
+    // BreakStatement nodes; cleared at iteration, switch, and function boundaries
+    @Nullable
+    ArrayDeque<BreakStatement> freeBreakStatements;
+    // ContinueStatement nodes; cleared at iteration boundaries
+    @Nullable
+    ArrayDeque<ContinueStatement> freeContinueStatements;
+
+    // labeled BreakStatement nodes; cleared at LabeledStatement with same Label and function boundaries
+    @Nullable
+    HashMap<String, ArrayList<BreakStatement>> freeLabeledBreakStatements;
+    // labeled ContinueStatement nodes; cleared at labeled iteration statement with same Label and function boundaries
+    @Nullable
+    HashMap<String, ArrayList<ContinueStatement>> freeLabeledContinueStatements;
+
+    // NewTargetExpression nodes; cleared at function (besides arrow expression) boundaries
+    @Nullable
+    ArrayDeque<NewTargetExpression> newTargetExpressions;
+
+    // BindingIdentifier nodes; cleared at containing declaration node
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> boundNames;
+    // BindingIdentifiers that were found to be in a lexical binding position
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> previousLexicallyDeclaredNames;
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> lexicallyDeclaredNames;
+    // BindingIdentifiers that were the name of a FunctionDeclaration
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> functionDeclarationNames;
+    // BindingIdentifiers that were found to be in a variable binding position
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> varDeclaredNames;
+    // BindingIdentifiers that were found to be in a variable binding position
+    @Nullable
+    HashMap<String, ArrayList<BindingIdentifier>> forOfVarDeclaredNames;
+
+    // Names that this module exports
+    @Nullable
+    HashMap<String, ArrayList<Node>> exportedNames;
+    // Locally declared names that are referenced in export declarations
+    @Nullable
+    HashMap<String, ArrayList<Node>> exportedBindings;
+
+    // CallExpressions with Super callee
+    @Nullable
+    ArrayDeque<Super> superCallExpressions;
+    // SuperCall expressions in the context of a Method named "constructor"
+    @Nullable
+    ArrayDeque<Super> superCallExpressionsInConstructorMethod;
+    // MemberExpressions with Super object
+    @Nullable
+    ArrayDeque<MemberExpression> superPropertyExpressions;
+    // YieldExpressions which may be within parameters / concise arrow bodies
+    @Nullable
+    ArrayDeque<Node> yieldExpressions;
+    // AwaitExpressions which may be outside generator functions
+    @Nullable
+    ArrayDeque<Node> awaitExpressions;
+
+    private MutableEarlyErrorState() {}
+
+    @Nonnull
+    ImmutableList<EarlyError> getErrors() {
+        return this.errors == null ? ImmutableList.empty() : ImmutableList.from(this.errors);
+    }
+
+    // this state if it may be added to, or a new one in place of EMPTY
+    @Nonnull
+    private MutableEarlyErrorState writable() {
+        return this == EMPTY ? new MutableEarlyErrorState() : this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addFreeBreakStatement(@Nonnull BreakStatement breakStatement) {
+        MutableEarlyErrorState s = this.writable();
+        s.freeBreakStatements = cons(s.freeBreakStatements, breakStatement);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addFreeLabeledBreakStatement(@Nonnull BreakStatement breakStatement) {
+        MutableEarlyErrorState s = this.writable();
+        s.freeLabeledBreakStatements = put(s.freeLabeledBreakStatements, breakStatement.label.fromJust(), breakStatement);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearFreeBreakStatements() {
+        if (this.freeBreakStatements != null) {
+            this.freeBreakStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addFreeContinueStatement(@Nonnull ContinueStatement continueStatement) {
+        MutableEarlyErrorState s = this.writable();
+        s.freeContinueStatements = cons(s.freeContinueStatements, continueStatement);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addFreeLabeledContinueStatement(@Nonnull ContinueStatement continueStatement) {
+        MutableEarlyErrorState s = this.writable();
+        s.freeLabeledContinueStatements = put(s.freeLabeledContinueStatements, continueStatement.label.fromJust(), continueStatement);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearFreeContinueStatements() {
+        if (this.freeContinueStatements != null) {
+            this.freeContinueStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceFreeBreakStatementErrors() {
+        if (this.freeBreakStatements != null) {
+            this.addErrors(this.freeBreakStatements, ErrorMessages.FREE_BREAK);
+            this.freeBreakStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceFreeLabeledBreakStatementErrors() {
+        if (this.freeLabeledBreakStatements != null) {
+            for (String label : keysInTableOrder(this.freeLabeledBreakStatements, (label, statements) -> true)) {
+                this.addErrors(this.freeLabeledBreakStatements.get(label), ErrorMessages.UNBOUND_BREAK);
+            }
+            this.freeLabeledBreakStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceFreeContinueStatementErrors() {
+        if (this.freeContinueStatements != null) {
+            this.addErrors(this.freeContinueStatements, ErrorMessages.FREE_CONTINUE);
+            this.freeContinueStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceFreeLabeledContinueStatementErrors() {
+        if (this.freeLabeledContinueStatements != null) {
+            for (String label : keysInTableOrder(this.freeLabeledContinueStatements, (label, statements) -> true)) {
+                this.addErrors(this.freeLabeledContinueStatements.get(label), ErrorMessages.UNBOUND_CONTINUE);
+            }
+            this.freeLabeledContinueStatements = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeIterationLabel(@Nonnull LabeledStatement labeledStatement) {
+        MutableEarlyErrorState s = this.observeNonIterationLabel(labeledStatement);
+        if (s.freeLabeledContinueStatements != null) {
+            s.freeLabeledContinueStatements.remove(labeledStatement.label);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeNonIterationLabel(@Nonnull LabeledStatement labeledStatement) {
+        MutableEarlyErrorState s = this.writable();
+        if (s.usedLabelNames == null) {
+            s.usedLabelNames = new HashSet<>();
+        }
+        s.usedLabelNames.add(labeledStatement.label);
+        if (s.freeLabeledBreakStatements != null) {
+            s.freeLabeledBreakStatements.remove(labeledStatement.label);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearUsedLabelNames() {
+        if (this.usedLabelNames != null) {
+            this.usedLabelNames = null;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isLabelUsed(@Nonnull String label) {
+        return this.usedLabelNames != null && this.usedLabelNames.contains(label);
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeSuperCallExpression(@Nonnull Super node) {
+        MutableEarlyErrorState s = this.writable();
+        s.superCallExpressions = cons(s.superCallExpressions, node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeConstructorMethod() {
+        if (this.superCallExpressions != null || this.superCallExpressionsInConstructorMethod != null) {
+            this.superCallExpressionsInConstructorMethod = this.superCallExpressions;
+            this.superCallExpressions = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearSuperCallExpressionsInConstructorMethod() {
+        if (this.superCallExpressionsInConstructorMethod != null) {
+            this.superCallExpressionsInConstructorMethod = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceSuperCallExpressions() {
+        if (this.superCallExpressions != null) {
+            this.addErrors(this.superCallExpressions, ErrorMessages.SUPERCALL_ERROR);
+            this.superCallExpressions = null;
+        }
+        return this.enforceSuperCallExpressionsInConstructorMethod();
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceSuperCallExpressionsInConstructorMethod() {
+        if (this.superCallExpressionsInConstructorMethod != null) {
+            this.addErrors(this.superCallExpressionsInConstructorMethod, ErrorMessages.SUPERCALL_ERROR);
+            this.superCallExpressionsInConstructorMethod = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeSuperPropertyExpression(@Nonnull MemberExpression memberExpression) {
+        MutableEarlyErrorState s = this.writable();
+        s.superPropertyExpressions = cons(s.superPropertyExpressions, memberExpression);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearSuperPropertyExpressions() {
+        if (this.superPropertyExpressions != null) {
+            this.superPropertyExpressions = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceSuperPropertyExpressions() {
+        if (this.superPropertyExpressions != null) {
+            this.addErrors(this.superPropertyExpressions, ErrorMessages.SUPERPROPERTY_ERROR);
+            this.superPropertyExpressions = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeNewTargetExpression(@Nonnull NewTargetExpression newTargetExpression) {
+        MutableEarlyErrorState s = this.writable();
+        s.newTargetExpressions = cons(s.newTargetExpressions, newTargetExpression);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearNewTargetExpressions() {
+        if (this.newTargetExpressions != null) {
+            this.newTargetExpressions = null;
+        }
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public ArrayDeque<NewTargetExpression> getNewTargetExpressions() {
+        return this.newTargetExpressions;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState bindName(@Nonnull BindingIdentifier bindingIdentifier) {
+        MutableEarlyErrorState s = this.writable();
+        s.boundNames = put(s.boundNames, bindingIdentifier.name, bindingIdentifier);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearBoundNames() {
+        if (this.boundNames != null) {
+            this.boundNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeLexicalDeclaration() {
+        if (this.boundNames != null) {
+            this.lexicallyDeclaredNames = merge(this.lexicallyDeclaredNames, this.boundNames);
+            this.boundNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeLexicalBoundary() {
+        if (this.lexicallyDeclaredNames != null || this.previousLexicallyDeclaredNames != null || this.functionDeclarationNames != null) {
+            this.previousLexicallyDeclaredNames = this.lexicallyDeclaredNames;
+            this.lexicallyDeclaredNames = null;
+            this.functionDeclarationNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceDuplicateLexicallyDeclaredNames() {
+        for (String name : keysInTableOrder(this.lexicallyDeclaredNames, (name, names) -> names.size() > 1)) {
+            ArrayList<BindingIdentifier> names = this.lexicallyDeclaredNames.get(name);
+            this.addErrors(names.subList(1, names.size()), ErrorMessages.DUPLICATE_BINDING);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceConflictingLexicallyDeclaredNames(@Nullable HashMap<String, ArrayList<BindingIdentifier>> otherNames) {
+        if (otherNames != null) {
+            for (String name : keysInTableOrder(this.lexicallyDeclaredNames, (name, names) -> otherNames.containsKey(name))) {
+                this.addErrors(this.lexicallyDeclaredNames.get(name), ErrorMessages.DUPLICATE_BINDING);
+            }
+        }
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public HashMap<String, ArrayList<BindingIdentifier>> getLexicallyDeclaredNames() {
+        return this.lexicallyDeclaredNames;
+    }
+
+    @Nullable
+    @Override
+    public HashMap<String, ArrayList<BindingIdentifier>> getPreviousLexicallyDeclaredNames() {
+        return this.previousLexicallyDeclaredNames;
+    }
+
+    @Nullable
+    @Override
+    public HashMap<String, ArrayList<BindingIdentifier>> getVarDeclaredNames() {
+        return this.varDeclaredNames;
+    }
+
+    @Nullable
+    @Override
+    public ArrayList<BindingIdentifier> getLexicalDeclarationsOf(@Nonnull String name) {
+        return this.lexicallyDeclaredNames == null ? null : this.lexicallyDeclaredNames.get(name);
+    }
+
+    @Nullable
+    @Override
+    public List<BindingIdentifier> getDuplicateLexicallyDeclaredNames() {
+        List<String> names = keysInTableOrder(this.lexicallyDeclaredNames, (name, nodes) -> nodes.size() > 1);
+        if (names.isEmpty()) {
+            return null;
+        }
+        List<BindingIdentifier> duplicates = new ArrayList<>();
+        for (int i = names.size() - 1; i >= 0; --i) {
+            ArrayList<BindingIdentifier> nodes = this.lexicallyDeclaredNames.get(names.get(i));
+            duplicates.addAll(nodes.subList(1, nodes.size()));
+        }
+        return duplicates;
+    }
+
+    @Nullable
+    @Override
+    public List<BindingIdentifier> getForOfVarDeclarationsOf(@Nullable HashMap<String, ArrayList<BindingIdentifier>> names) {
+        if (this.forOfVarDeclaredNames == null) {
+            return null;
+        }
+        List<BindingIdentifier> declarations = null;
+        for (String name : keysInTableOrder(names, (name, nodes) -> this.forOfVarDeclaredNames.containsKey(name))) {
+            if (declarations == null) {
+                declarations = new ArrayList<>();
+            }
+            for (int i = 0; i < names.get(name).size(); ++i) {
+                declarations.addAll(this.forOfVarDeclaredNames.get(name));
+            }
+        }
+        return declarations;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeFunctionDeclaration() {
+        MutableEarlyErrorState s = this.observeVarBoundary();
+        if (s.boundNames != null) {
+            s.functionDeclarationNames = s.boundNames;
+            s.boundNames = null;
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState functionDeclarationNamesAreLexical() {
+        if (this.functionDeclarationNames != null) {
+            this.lexicallyDeclaredNames = merge(this.lexicallyDeclaredNames, this.functionDeclarationNames);
+            this.functionDeclarationNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeVarDeclaration() {
+        if (this.boundNames != null) {
+            this.varDeclaredNames = merge(this.varDeclaredNames, this.boundNames);
+            this.boundNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState recordForOfVars() {
+        if (this.varDeclaredNames != null) {
+            this.forOfVarDeclaredNames = mergeCopy(this.forOfVarDeclaredNames, this.varDeclaredNames);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeVarBoundary() {
+        if (this.lexicallyDeclaredNames != null || this.functionDeclarationNames != null || this.varDeclaredNames != null || this.forOfVarDeclaredNames != null) {
+            this.lexicallyDeclaredNames = null;
+            this.functionDeclarationNames = null;
+            this.varDeclaredNames = null;
+            this.forOfVarDeclaredNames = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState exportName(@Nonnull String name, @Nonnull Node node) {
+        MutableEarlyErrorState s = this.writable();
+        s.exportedNames = put(s.exportedNames, name, node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState exportDeclaredNames() {
+        if (this.lexicallyDeclaredNames != null) {
+            this.exportedNames = mergeCopy(this.exportedNames, this.lexicallyDeclaredNames);
+            this.exportedBindings = mergeCopy(this.exportedBindings, this.lexicallyDeclaredNames);
+        }
+        if (this.varDeclaredNames != null) {
+            this.exportedNames = mergeCopy(this.exportedNames, this.varDeclaredNames);
+            this.exportedBindings = mergeCopy(this.exportedBindings, this.varDeclaredNames);
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState exportBinding(@Nonnull String name, @Nonnull Node node) {
+        MutableEarlyErrorState s = this.writable();
+        s.exportedBindings = put(s.exportedBindings, name, node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearExportedBindings() {
+        if (this.exportedBindings != null) {
+            this.exportedBindings = null;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceDuplicateExportedNames() {
+        for (String name : keysInTableOrder(this.exportedNames, (name, nodes) -> nodes.size() > 1)) {
+            ArrayList<Node> nodes = this.exportedNames.get(name);
+            this.addErrors(nodes.subList(1, nodes.size()), duplicate -> ErrorMessages.DUPLICATE_EXPORT.apply(duplicate, name));
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceUndeclaredExportedBindings() {
+        for (String name : keysInTableOrder(this.exportedBindings, (name, nodes) -> !name.equals("*default*")
+                && (this.lexicallyDeclaredNames == null || !this.lexicallyDeclaredNames.containsKey(name))
+                && (this.varDeclaredNames == null || !this.varDeclaredNames.containsKey(name)))) {
+            this.addErrors(this.exportedBindings.get(name), undeclared -> ErrorMessages.UNDECLARED_EXPORT.apply(undeclared, name));
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeYieldExpression(@Nonnull Node yieldExpression) {
+        MutableEarlyErrorState s = this.writable();
+        s.yieldExpressions = cons(s.yieldExpressions, yieldExpression);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearYieldExpressions() {
+        if (this.yieldExpressions != null) {
+            this.yieldExpressions = null;
+        }
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public ArrayDeque<Node> getYieldExpressions() {
+        return this.yieldExpressions;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState observeAwaitExpression(@Nonnull Node awaitExpression) {
+        MutableEarlyErrorState s = this.writable();
+        s.awaitExpressions = cons(s.awaitExpressions, awaitExpression);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState clearAwaitExpressions() {
+        if (this.awaitExpressions != null) {
+            this.awaitExpressions = null;
+        }
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public ArrayDeque<Node> getAwaitExpressions() {
+        return this.awaitExpressions;
+    }
+
+    // adds an error before those already found, as EarlyErrorState does
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addError(@Nonnull EarlyError error) {
+        MutableEarlyErrorState s = this.writable();
+        s.errors = cons(s.errors, error);
+        return s;
+    }
+
+    // adds an error for each of `nodes`, after those already found
+    @Nonnull
+    @Override
+    public <T> MutableEarlyErrorState addErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message) {
+        MutableEarlyErrorState s = this;
+        if (nodes != null) {
+            for (T node : nodes) {
+                s = s.writable();
+                s.errors = add(s.errors, message.apply(node));
+            }
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState addStrictError(@Nonnull EarlyError error) {
+        MutableEarlyErrorState s = this.writable();
+        s.strictErrors = cons(s.strictErrors, error);
+        return s;
+    }
+
+    // adds a strict error for each of `nodes`, after those already found
+    @Nonnull
+    @Override
+    public <T> MutableEarlyErrorState addStrictErrors(@Nullable Iterable<? extends T> nodes, @Nonnull F<? super T, EarlyError> message) {
+        MutableEarlyErrorState s = this;
+        if (nodes != null) {
+            for (T node : nodes) {
+                s = s.writable();
+                s.strictErrors = add(s.strictErrors, message.apply(node));
+            }
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public MutableEarlyErrorState enforceStrictErrors() {
+        if (this.strictErrors != null) {
+            this.errors = appendList(this.errors, this.strictErrors);
+            this.strictErrors = null;
+        }
+        return this;
+    }
+
+    // the keys of `map` for which `test` holds, in the order in which the errors found by name are reported
+    @Nonnull
+    private static <V> List<String> keysInTableOrder(@Nullable Map<String, V> map, @Nonnull F2<String, V, Boolean> test) {
+        if (map == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>(1);
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            if (test.apply(entry.getKey(), entry.getValue())) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys.size() < 2 ? keys : GenericEarlyErrorChecker.inTableOrder(keys);
+    }
+
+    @Nonnull
+    private static <T> ArrayDeque<T> add(@Nullable ArrayDeque<T> list, @Nonnull T value) {
+        if (list == null) {
+            list = new ArrayDeque<>(4);
+        }
+        list.addLast(value);
+        return list;
+    }
+
+    // adds `value` at the front of `list`, where EarlyErrorState conses it
+    @Nonnull
+    private static <T> ArrayDeque<T> cons(@Nullable ArrayDeque<T> list, @Nonnull T value) {
+        if (list == null) {
+            list = new ArrayDeque<>(4);
+        }
+        list.addFirst(value);
+        return list;
+    }
+
+    // adds `value` at the front of the values for `key`, as MultiHashTable.put does
+    @Nonnull
+    private static <T> HashMap<String, ArrayList<T>> put(@Nullable HashMap<String, ArrayList<T>> map, @Nonnull String key, @Nonnull T value) {
+        if (map == null) {
+            map = new HashMap<>(4);
+        }
+        map.computeIfAbsent(key, k -> new ArrayList<>(1)).add(0, value);
+        return map;
+    }
+
+    // `b` is moved into `a`, and must not be used afterwards
+    @Nullable
+    private static <T> ArrayDeque<T> appendList(@Nullable ArrayDeque<T> a, @Nullable ArrayDeque<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b != null) {
+            a.addAll(b);
+        }
+        return a;
+    }
+
+    // `b` and its lists are moved into `a`, and must not be used afterwards
+    @Nullable
+    private static <T> HashMap<String, ArrayList<T>> merge(@Nullable HashMap<String, ArrayList<T>> a, @Nullable HashMap<String, ArrayList<T>> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b != null) {
+            for (Map.Entry<String, ArrayList<T>> entry : b.entrySet()) {
+                ArrayList<T> values = a.putIfAbsent(entry.getKey(), entry.getValue());
+                if (values != null) {
+                    values.addAll(entry.getValue());
+                }
+            }
+        }
+        return a;
+    }
+
+    // `b` is copied into `a`, and remains usable
+    @Nonnull
+    private static <T> HashMap<String, ArrayList<T>> mergeCopy(@Nullable HashMap<String, ArrayList<T>> a, @Nonnull HashMap<String, ? extends ArrayList<? extends T>> b) {
+        if (a == null) {
+            a = new HashMap<>(b.size() * 2);
+        }
+        for (Map.Entry<String, ? extends ArrayList<? extends T>> entry : b.entrySet()) {
+            a.computeIfAbsent(entry.getKey(), k -> new ArrayList<>(entry.getValue().size())).addAll(entry.getValue());
+        }
+        return a;
+    }
+
+    @Nullable
+    private static HashSet<String> union(@Nullable HashSet<String> a, @Nullable HashSet<String> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b != null) {
+            a.addAll(b);
+        }
+        return a;
+    }
+
+    private static final class MutableEarlyErrorStateMonoid implements Monoid<MutableEarlyErrorState> {
+        @Nonnull
+        @Override
+        public MutableEarlyErrorState identity() {
+            return EMPTY;
+        }
+
+        // `b` is moved into `a`, and must not be used afterwards
+        @Nonnull
+        @Override
+        public MutableEarlyErrorState append(MutableEarlyErrorState a, MutableEarlyErrorState b) {
+            if (a == EMPTY) {
+                return b;
+            }
+            if (b == EMPTY) {
+                return a;
+            }
+            a.errors = appendList(a.errors, b.errors);
+            a.strictErrors = appendList(a.strictErrors, b.strictErrors);
+            a.usedLabelNames = union(a.usedLabelNames, b.usedLabelNames);
+            a.freeBreakStatements = appendList(a.freeBreakStatements, b.freeBreakStatements);
+            a.freeContinueStatements = appendList(a.freeContinueStatements, b.freeContinueStatements);
+            a.freeLabeledBreakStatements = merge(a.freeLabeledBreakStatements, b.freeLabeledBreakStatements);
+            a.freeLabeledContinueStatements = merge(a.freeLabeledContinueStatements, b.freeLabeledContinueStatements);
+            a.newTargetExpressions = appendList(a.newTargetExpressions, b.newTargetExpressions);
+            a.boundNames = merge(a.boundNames, b.boundNames);
+            a.previousLexicallyDeclaredNames = merge(a.previousLexicallyDeclaredNames, b.previousLexicallyDeclaredNames);
+            a.lexicallyDeclaredNames = merge(a.lexicallyDeclaredNames, b.lexicallyDeclaredNames);
+            a.functionDeclarationNames = merge(a.functionDeclarationNames, b.functionDeclarationNames);
+            a.varDeclaredNames = merge(a.varDeclaredNames, b.varDeclaredNames);
+            a.forOfVarDeclaredNames = merge(a.forOfVarDeclaredNames, b.forOfVarDeclaredNames);
+            a.exportedNames = merge(a.exportedNames, b.exportedNames);
+            a.exportedBindings = merge(a.exportedBindings, b.exportedBindings);
+            a.superCallExpressions = appendList(a.superCallExpressions, b.superCallExpressions);
+            a.superCallExpressionsInConstructorMethod = appendList(a.superCallExpressionsInConstructorMethod, b.superCallExpressionsInConstructorMethod);
+            a.superPropertyExpressions = appendList(a.superPropertyExpressions, b.superPropertyExpressions);
+            a.yieldExpressions = appendList(a.yieldExpressions, b.yieldExpressions);
+            a.awaitExpressions = appendList(a.awaitExpressions, b.awaitExpressions);
+            return a;
+        }
+    }
+}
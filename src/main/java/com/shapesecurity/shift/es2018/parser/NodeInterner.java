@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetIdentifier;
+import com.shapesecurity.shift.es2018.ast.BinaryExpression;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.BreakStatement;
+import com.shapesecurity.shift.es2018.ast.ComputedMemberAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.ComputedMemberExpression;
+import com.shapesecurity.shift.es2018.ast.ConditionalExpression;
+import com.shapesecurity.shift.es2018.ast.ContinueStatement;
+import com.shapesecurity.shift.es2018.ast.DebuggerStatement;
+import com.shapesecurity.shift.es2018.ast.Directive;
+import com.shapesecurity.shift.es2018.ast.EmptyStatement;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralBooleanExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralInfinityExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralNullExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralNumericExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralRegExpExpression;
+import com.shapesecurity.shift.es2018.ast.LiteralStringExpression;
+import com.shapesecurity.shift.es2018.ast.NewTargetExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.ReturnStatement;
+import com.shapesecurity.shift.es2018.ast.StaticMemberAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.StaticMemberExpression;
+import com.shapesecurity.shift.es2018.ast.StaticPropertyName;
+import com.shapesecurity.shift.es2018.ast.Super;
+import com.shapesecurity.shift.es2018.ast.TemplateElement;
+import com.shapesecurity.shift.es2018.ast.ThisExpression;
+import com.shapesecurity.shift.es2018.ast.UnaryExpression;
+import com.shapesecurity.shift.es2018.ast.UpdateExpression;
+import javax.annotation.Nonnull;
+
+// Shares structurally equal nodes between the trees parsed with it (see Parser.parseScript(String, NodeInterner)), so
+// that each `undefined`, `this.length` or `a === null` is kept once rather than once per occurrence. Only leaves and
+// small expressions built of them are shared; larger subtrees are rarely repeated, and would cost more to look up than
+// they save. The table holds its nodes weakly, so it never keeps a tree alive, and may be shared between threads.
+//
+// Trees parsed this way are equal to those parsed without, but the same node may appear at many places in them, so they
+// must not be used with anything which tells nodes apart by identity, such as ParserWithLocation's locations or
+// ScopeAnalyzer's variable references.
+public final class NodeInterner {
+	// the height of the tallest tree shared: `a.b` is two nodes tall
+	private static final int MAX_HEIGHT = 2;
+
+	@Nonnull
+	private final Interner<Node> interner = Interners.newWeakInterner();
+
+	// Returns a node equal to the given one, which is the first such node interned if the node is small enough to share.
+	// Only nodes of the types isSmall admits are interned, and each of those equals only nodes of its own class, so the
+	// node returned is of the same class as the one given.
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	public <T extends Node> T intern(@Nonnull T node) {
+		return isSmall(node, MAX_HEIGHT) ? (T) this.interner.intern(node) : node;
+	}
+
+	private static boolean isSmall(@Nonnull Node node, int height) {
+		switch (node.type()) {
+			case AssignmentTargetIdentifier.TYPE:
+			case BindingIdentifier.TYPE:
+			case BreakStatement.TYPE:
+			case ContinueStatement.TYPE:
+			case DebuggerStatement.TYPE:
+			case Directive.TYPE:
+			case EmptyStatement.TYPE:
+			case IdentifierExpression.TYPE:
+			case LiteralBooleanExpression.TYPE:
+			case LiteralInfinityExpression.TYPE:
+			case LiteralNullExpression.TYPE:
+			case LiteralNumericExpression.TYPE:
+			case LiteralRegExpExpression.TYPE:
+			case LiteralStringExpression.TYPE:
+			case NewTargetExpression.TYPE:
+			case StaticPropertyName.TYPE:
+			case Super.TYPE:
+			case TemplateElement.TYPE:
+			case ThisExpression.TYPE:
+				return true;
+			case StaticMemberExpression.TYPE:
+				return height > 1 && isSmall(((StaticMemberExpression) node).object, height - 1);
+			case ComputedMemberExpression.TYPE: {
+				ComputedMemberExpression member = (ComputedMemberExpression) node;
+				return height > 1 && isSmall(member.object, height - 1) && isSmall(member.expression, height - 1);
+			}
+			case StaticMemberAssignmentTarget.TYPE:
+				return height > 1 && isSmall(((StaticMemberAssignmentTarget) node).object, height - 1);
+			case ComputedMemberAssignmentTarget.TYPE: {
+				ComputedMemberAssignmentTarget member = (ComputedMemberAssignmentTarget) node;
+				return height > 1 && isSmall(member.object, height - 1) && isSmall(member.expression, height - 1);
+			}
+			case UnaryExpression.TYPE:
+				return height > 1 && isSmall(((UnaryExpression) node).operand, height - 1);
+			case UpdateExpression.TYPE:
+				return height > 1 && isSmall(((UpdateExpression) node).operand, height - 1);
+			case BinaryExpression.TYPE: {
+				BinaryExpression binary = (BinaryExpression) node;
+				return height > 1 && isSmall(binary.left, height - 1) && isSmall(binary.right, height - 1);
+			}
+			case ConditionalExpression.TYPE: {
+				ConditionalExpression conditional = (ConditionalExpression) node;
+				return height > 1 && isSmall(conditional.test, height - 1) && isSmall(conditional.consequent, height - 1) && isSmall(conditional.alternate, height - 1);
+			}
+			case ReturnStatement.TYPE: {
+				ReturnStatement statement = (ReturnStatement) node;
+				return statement.expression.isNothing() || height > 1 && isSmall(statement.expression.fromJust(), height - 1);
+			}
+			default:
+				return false;
+		}
+	}
+}
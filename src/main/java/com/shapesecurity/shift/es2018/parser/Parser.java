@@ -1,17 +1,71 @@
 package com.shapesecurity.shift.es2018.parser;
 
+import com.shapesecurity.functional.F;
 import com.shapesecurity.functional.Unit;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.shift.es2018.ast.FunctionBody;
+import com.shapesecurity.shift.es2018.ast.ImportDeclarationExportDeclarationStatement;
 import com.shapesecurity.shift.es2018.ast.Module;
 import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Program;
 import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.ast.Statement;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import com.shapesecurity.shift.es2018.reducer.LazyReconstructingReducer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Parser extends GenericParser<Unit> {
+	// function bodies shorter than this are not worth parsing on a thread of their own
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	// whether function bodies are skipped over and represented by a LazyFunctionBody
+	private boolean deferBodies = false;
+
+	// bodies shorter than this are parsed eagerly, along with everything nested within them, even if bodies are deferred
+	private int deferThreshold = 0;
+
+	// braces matched while skipping bodies during this parse and any enclosing one
+	@Nullable
+	private BraceMatches braces = null;
+
+	// whether this parse adds to `braces`; only the outermost parse does, so that the table is read-only once bodies
+	// are being forced, possibly concurrently
+	private boolean recordBraces = false;
+
+	// if not null, the bodies deferred so far
+	@Nullable
+	private List<LazyFunctionBody> deferred = null;
+
+	// if not null, the top-level statements and module items which contain deferred bodies; recorded along with the
+	// deferred bodies so that they can be replaced without traversing the rest of the tree
+	@Nullable
+	private Set<Node> spine = null;
+
+	private int itemDepth = 0;
+
+	// whether the next function body is parsed even though bodies are deferred; set when forcing a deferred body
+	private boolean forcing = false;
+
+	// if not null, shares the nodes it can with other trees parsed with it
+	@Nullable
+	private NodeInterner interner = null;
 
 	protected Parser(@Nonnull String source, boolean isModule) throws JsError {
 		super(source, isModule);
 	}
 
+	private Parser(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+		super(source, isModule, index, line, lineStart);
+	}
+
 	@Nonnull
 	public static Script parseScript(@Nonnull String text) throws JsError {
 		return new Parser(text, false).parseScript();
@@ -22,10 +76,288 @@ public class Parser extends GenericParser<Unit> {
 		return new Parser(text, true).parseModule();
 	}
 
+	/**
+	 * Parses a script as {@link #parseScript(String)} does, sharing small subtrees equal to ones already seen with
+	 * {@code interner} so that they are kept only once. The same node may occur more than once in the result, which must
+	 * therefore not be used with anything that tells nodes apart by identity; see {@link NodeInterner}.
+	 */
+	@Nonnull
+	public static Script parseScript(@Nonnull String text, @Nonnull NodeInterner interner) throws JsError {
+		Parser parser = new Parser(text, false);
+		parser.interner = interner;
+		return parser.parseScript();
+	}
+
+	/**
+	 * Parses a module, sharing small subtrees with {@code interner} as {@link #parseScript(String, NodeInterner)} does.
+	 */
+	@Nonnull
+	public static Module parseModule(@Nonnull String text, @Nonnull NodeInterner interner) throws JsError {
+		Parser parser = new Parser(text, true);
+		parser.interner = interner;
+		return parser.parseModule();
+	}
+
+	/**
+	 * Parses a script without parsing the bodies of its functions, which are instead represented by
+	 * {@link LazyFunctionBody} nodes. Syntax errors within function bodies are not reported until they are forced.
+	 * Bodies whose extent cannot be found with certainty without parsing them are parsed eagerly.
+	 */
+	@Nonnull
+	public static Script parseScriptLazy(@Nonnull String text) throws JsError {
+		Parser parser = new Parser(text, false);
+		parser.deferBodies();
+		try {
+			return parser.parseScript();
+		} catch (JsError e) {
+			// a body skipped to the wrong brace would leave the rest of the script misread, so report the error a
+			// parse without skipping finds, if any
+			return parseScript(text);
+		}
+	}
+
+	/**
+	 * Parses a module without parsing the bodies of its functions, as {@link #parseScriptLazy} does for scripts.
+	 */
+	@Nonnull
+	public static Module parseModuleLazy(@Nonnull String text) throws JsError {
+		Parser parser = new Parser(text, true);
+		parser.deferBodies();
+		try {
+			return parser.parseModule();
+		} catch (JsError e) {
+			return parseModule(text);
+		}
+	}
+
+	/**
+	 * Parses a script, parsing large function bodies concurrently on the common {@link ForkJoinPool}. The result is
+	 * equal to that of {@link #parseScript}, and any error is the one it would throw. If any body fails to parse, or
+	 * its extent was misjudged, the script is parsed again sequentially on the calling thread.
+	 */
+	@Nonnull
+	public static Script parseScriptParallel(@Nonnull String text) throws JsError {
+		return parseScriptParallel(text, ForkJoinPool.commonPool());
+	}
+
+	@Nonnull
+	public static Script parseScriptParallel(@Nonnull String text, @Nonnull ForkJoinPool pool) throws JsError {
+		Parser parser = new Parser(text, false);
+		try {
+			Script script = parser.parseDeferring(parser::parseScript, pool);
+			LazyReconstructingReducer reducer = new LazyReconstructingReducer();
+			return new Script(script.directives, parser.reduceSpine(script.statements, s -> (Statement) Director.reduceStatement(reducer, s)));
+		} catch (JsError | LazyFunctionBody.ForcingException e) {
+			// Parse again sequentially, both to find the error sequential parsing would report and in case a body was
+			// skipped to the wrong brace.
+			return parseScript(text);
+		}
+	}
+
+	/**
+	 * Parses a module, parsing large function bodies concurrently, as {@link #parseScriptParallel(String)} does for
+	 * scripts.
+	 */
+	@Nonnull
+	public static Module parseModuleParallel(@Nonnull String text) throws JsError {
+		return parseModuleParallel(text, ForkJoinPool.commonPool());
+	}
+
+	@Nonnull
+	public static Module parseModuleParallel(@Nonnull String text, @Nonnull ForkJoinPool pool) throws JsError {
+		Parser parser = new Parser(text, true);
+		try {
+			Module module = parser.parseDeferring(parser::parseModule, pool);
+			LazyReconstructingReducer reducer = new LazyReconstructingReducer();
+			return new Module(module.directives, parser.reduceSpine(module.items, i -> (ImportDeclarationExportDeclarationStatement) Director.reduceImportDeclarationExportDeclarationStatement(reducer, i)));
+		} catch (JsError | LazyFunctionBody.ForcingException e) {
+			return parseModule(text);
+		}
+	}
+
+	// Parses the program, deferring large bodies, and then forces those bodies and the bodies deferred within them on
+	// the pool. A body which fails to parse there is left unforced, to fail again when it is forced on this thread.
+	@Nonnull
+	private <T extends Program> T parseDeferring(@Nonnull ExceptionalSupplier<T> parse, @Nonnull ForkJoinPool pool) throws JsError {
+		List<LazyFunctionBody> deferred = new ArrayList<>();
+		this.deferBodies();
+		this.deferThreshold = PARALLEL_THRESHOLD;
+		this.deferred = deferred;
+		this.spine = Collections.newSetFromMap(new IdentityHashMap<>());
+		T program = parse.get();
+		pool.invoke(new ForcingTask(deferred));
+		return program;
+	}
+
+	// Replaces the forced bodies among the items, descending only into those which contain them.
+	@Nonnull
+	private <T extends Node> ImmutableList<T> reduceSpine(@Nonnull ImmutableList<T> items, @Nonnull F<T, T> reduce) {
+		Set<Node> spine = this.spine;
+		return items.map(item -> spine.contains(item) ? reduce.apply(item) : item);
+	}
+
+	private void deferBodies() {
+		this.deferBodies = true;
+		this.braces = new BraceMatches();
+		this.recordBraces = true;
+	}
+
+	/**
+	 * Replaces every {@link LazyFunctionBody} in the script, including those nested within forced bodies, by the body
+	 * it represents. The result is equal to that of {@link #parseScript}.
+	 */
+	@Nonnull
+	public static Script forceAll(@Nonnull Script script) throws JsError {
+		try {
+			return (Script) Director.reduceScript(new LazyReconstructingReducer(), script);
+		} catch (LazyFunctionBody.ForcingException e) {
+			throw e.getError();
+		}
+	}
+
+	/**
+	 * Replaces every {@link LazyFunctionBody} in the module by the body it represents, as {@link #forceAll(Script)}
+	 * does for scripts.
+	 */
+	@Nonnull
+	public static Module forceAll(@Nonnull Module module) throws JsError {
+		try {
+			return (Module) Director.reduceModule(new LazyReconstructingReducer(), module);
+		} catch (LazyFunctionBody.ForcingException e) {
+			throw e.getError();
+		}
+	}
+
+	@Nonnull
+	static FunctionBody parseDeferredBody(
+		@Nonnull String source,
+		boolean isModule,
+		boolean strict,
+		boolean allowYieldExpression,
+		boolean allowAwaitExpression,
+		int start,
+		int line,
+		int lineStart,
+		int end,
+		@Nonnull BraceMatches braces,
+		int deferThreshold,
+		@Nullable List<LazyFunctionBody> deferred
+	) throws JsError {
+		Parser parser = new Parser(source, isModule, start, line, lineStart);
+		parser.deferBodies = true;
+		parser.braces = braces;
+		parser.deferThreshold = deferThreshold;
+		parser.deferred = deferred;
+		parser.forcing = true;
+		parser.strict = strict;
+		parser.allowYieldExpression = allowYieldExpression;
+		parser.allowAwaitExpression = allowAwaitExpression;
+		FunctionBody body = parser.parseFunctionBody();
+		if (parser.lastIndex != end) {
+			// the braces were matched differently when the body was skipped
+			throw parser.createUnexpected(parser.lookahead);
+		}
+		return body;
+	}
+
+	@Nonnull
+	@Override
+	protected FunctionBody parseFunctionBody() throws JsError {
+		if (!this.deferBodies || !this.match(TokenType.LBRACE)) {
+			return super.parseFunctionBody();
+		}
+		if (this.forcing) {
+			this.forcing = false;
+			return super.parseFunctionBody();
+		}
+
+		// The lookahead is the opening brace. Find the closing one without parsing in between, if it has not been found
+		// already; if that fails, parse the body after all, so that the error is reported as it would be otherwise.
+		int start = this.startIndex;
+		int line = this.startLine;
+		int lineStart = this.startLineStart;
+		BraceMatches braces = this.braces;
+		int closeStart, closeLine, closeLineStart;
+		int record = braces.find(start);
+		if (record >= 0) {
+			closeStart = braces.closeOf(record);
+			closeLine = braces.closeLineOf(record);
+			closeLineStart = braces.closeLineStartOf(record);
+		} else {
+			TokenView close;
+			try {
+				BraceMatches recordTo = this.recordBraces && braces.canRecordFrom(start) ? braces : null;
+				close = new TokenIterator(this.source, this.moduleIsTheGoalSymbol, start, line, lineStart).skipBlock(recordTo);
+			} catch (JsError e) {
+				close = null;
+			}
+			if (close == null || close.type != TokenType.RBRACE) {
+				return super.parseFunctionBody();
+			}
+			closeStart = close.start;
+			closeLine = close.line - 1;
+			closeLineStart = close.start - close.column;
+		}
+		int end = closeStart + 1;
+		if (end - start < this.deferThreshold) {
+			this.deferBodies = false;
+			try {
+				return super.parseFunctionBody();
+			} finally {
+				this.deferBodies = true;
+			}
+		}
+
+		LazyFunctionBody body = new LazyFunctionBody(this.source, this.moduleIsTheGoalSymbol, this.strict, this.allowYieldExpression, this.allowAwaitExpression, start, line, lineStart, end, braces, this.deferThreshold);
+		if (this.deferred != null) {
+			this.deferred.add(body);
+		}
+		this.index = closeStart;
+		this.line = closeLine;
+		this.lineStart = closeLineStart;
+		this.lookahead = this.collectToken();
+		this.expect(TokenType.RBRACE);
+		return body;
+	}
+
+	@Nonnull
+	@Override
+	protected Statement parseStatementListItem() throws JsError {
+		if (this.spine == null) {
+			return super.parseStatementListItem();
+		}
+		return this.parseItem(super::parseStatementListItem);
+	}
+
+	@Nonnull
+	@Override
+	protected ImportDeclarationExportDeclarationStatement parseModuleItem() throws JsError {
+		if (this.spine == null) {
+			return super.parseModuleItem();
+		}
+		return this.parseItem(super::parseModuleItem);
+	}
+
+	@Nonnull
+	private <T extends Node> T parseItem(@Nonnull ExceptionalSupplier<T> parse) throws JsError {
+		int deferredBefore = this.deferred == null ? 0 : this.deferred.size();
+		++this.itemDepth;
+		T item;
+		try {
+			item = parse.get();
+		} finally {
+			--this.itemDepth;
+		}
+		if (this.spine != null && this.itemDepth == 0 && this.deferred.size() > deferredBefore) {
+			this.spine.add(item);
+		}
+		return item;
+	}
+
 	@Nonnull
 	@Override
 	protected <T extends Node> T finishNode(@Nonnull Unit startState, @Nonnull T node) {
-		return node;
+		return this.interner == null ? node : this.interner.intern(node);
 	}
 
 	@Nonnull
@@ -39,4 +371,36 @@ public class Parser extends GenericParser<Unit> {
 	protected <T extends Node> T copyNode(@Nonnull Node src, @Nonnull T dest) {
 		return dest;
 	}
+
+	// Forces the given bodies concurrently, and then those deferred within them. A body which fails to parse is left
+	// unforced.
+	private static final class ForcingTask extends RecursiveAction {
+		private static final long serialVersionUID = 3957042917163452718L;
+
+		@Nonnull
+		private final List<LazyFunctionBody> bodies;
+
+		ForcingTask(@Nonnull List<LazyFunctionBody> bodies) {
+			this.bodies = bodies;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.bodies.size() > 1) {
+				List<ForcingTask> tasks = new ArrayList<>(this.bodies.size());
+				for (LazyFunctionBody body : this.bodies) {
+					tasks.add(new ForcingTask(Collections.singletonList(body)));
+				}
+				invokeAll(tasks);
+			} else if (this.bodies.size() == 1) {
+				List<LazyFunctionBody> nested = new ArrayList<>();
+				try {
+					this.bodies.get(0).forceRecordingDeferred(nested);
+				} catch (JsError e) {
+					return;
+				}
+				new ForcingTask(nested).compute();
+			}
+		}
+	}
 }
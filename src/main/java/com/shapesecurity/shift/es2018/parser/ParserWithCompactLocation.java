@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.ExpressionTemplateElement;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.ast.TemplateElement;
+import com.shapesecurity.shift.es2018.ast.TemplateExpression;
+import com.shapesecurity.shift.es2018.utils.Utils;
+import com.shapesecurity.shift.es2018.utils.WithLocation;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Records the same locations as {@link ParserWithLocation}, but compactly: each node is given an id, under which its
+ * start and end offsets are kept in parallel arrays. Lines and columns are computed from a table of the offsets at
+ * which lines start only when a location is asked for.
+ *
+ * Comments are not collected, and there is no incremental reparsing. Only the locations of the latest text parsed are
+ * kept.
+ */
+public class ParserWithCompactLocation implements WithLocation {
+	// start and end offsets, indexed by node id
+	@Nonnull
+	private int[] starts = new int[0];
+	@Nonnull
+	private int[] ends = new int[0];
+	@Nonnull
+	private Node[] nodes = new Node[0];
+	private int size = 0;
+
+	// open addressing by identity hash code; each slot holds a node id plus one, or 0 if it is empty
+	@Nonnull
+	private int[] table = new int[0];
+
+	// offset at which each line starts, the first being 0
+	@Nonnull
+	private int[] lineStarts = new int[]{0};
+
+	public ParserWithCompactLocation() {}
+
+	@Nonnull
+	public Script parseScript(@Nonnull String text) throws JsError {
+		this.reset(text);
+		Script script = new ParserWithCompactLocationInternal(text, false).parseScript();
+		this.trim();
+		return script;
+	}
+
+	@Nonnull
+	public Module parseModule(@Nonnull String text) throws JsError {
+		this.reset(text);
+		Module module = new ParserWithCompactLocationInternal(text, true).parseModule();
+		this.trim();
+		return module;
+	}
+
+	@Nonnull
+	public Maybe<SourceSpan> getLocation(@Nonnull Node node) {
+		int id = this.find(node);
+		if (id < 0) {
+			return Maybe.empty();
+		}
+		return Maybe.of(new SourceSpan(Maybe.empty(), this.location(this.starts[id]), this.location(this.ends[id])));
+	}
+
+	/**
+	 * The id of a node of the tree last parsed, or -1 if it is not in that tree. Ids are given out in the order in which
+	 * nodes are finished, from 0 up to {@link #getNodeCount} (exclusive).
+	 */
+	public int getNodeId(@Nonnull Node node) {
+		return this.find(node);
+	}
+
+	public int getNodeCount() {
+		return this.size;
+	}
+
+	// Typical code has a node for every 4 to 20 characters; the arrays start small and grow as needed.
+	private void reset(@Nonnull String text) {
+		int capacity = Math.max(16, text.length() / 16);
+		this.starts = new int[capacity];
+		this.ends = new int[capacity];
+		this.nodes = new Node[capacity];
+		this.size = 0;
+		this.table = new int[Integer.highestOneBit(capacity) * 4];
+		this.lineStarts = computeLineStarts(text);
+	}
+
+	// Nothing more is recorded once a parse is done.
+	private void trim() {
+		this.starts = Arrays.copyOf(this.starts, this.size);
+		this.ends = Arrays.copyOf(this.ends, this.size);
+		this.nodes = Arrays.copyOf(this.nodes, this.size);
+	}
+
+	@Nonnull
+	private static int[] computeLineStarts(@Nonnull String text) {
+		int[] lineStarts = new int[16];
+		int lines = 1;
+		for (int i = 0, length = text.length(); i < length; ++i) {
+			char ch = text.charAt(i);
+			if (ch == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+				++i;
+			} else if (!Utils.isLineTerminator(ch)) {
+				continue;
+			}
+			if (lines == lineStarts.length) {
+				lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+			}
+			lineStarts[lines++] = i + 1;
+		}
+		return Arrays.copyOf(lineStarts, lines);
+	}
+
+	@Nonnull
+	private SourceLocation location(int offset) {
+		int line = Arrays.binarySearch(this.lineStarts, offset);
+		if (line < 0) {
+			line = -line - 2;
+		}
+		return new SourceLocation(line + 1, offset - this.lineStarts[line], offset);
+	}
+
+	private int find(@Nonnull Node node) {
+		int mask = this.table.length - 1;
+		if (mask < 0) {
+			return -1;
+		}
+		for (int slot = hash(node) & mask; ; slot = (slot + 1) & mask) {
+			int entry = this.table[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			if (this.nodes[entry - 1] == node) {
+				return entry - 1;
+			}
+		}
+	}
+
+	private void record(@Nonnull Node node, int start, int end) {
+		int mask = this.table.length - 1;
+		int slot = hash(node) & mask;
+		for (int entry; (entry = this.table[slot]) != 0; slot = (slot + 1) & mask) {
+			if (this.nodes[entry - 1] == node) {
+				this.starts[entry - 1] = start;
+				this.ends[entry - 1] = end;
+				return;
+			}
+		}
+		if (this.size == this.nodes.length) {
+			int capacity = this.size * 2;
+			this.starts = Arrays.copyOf(this.starts, capacity);
+			this.ends = Arrays.copyOf(this.ends, capacity);
+			this.nodes = Arrays.copyOf(this.nodes, capacity);
+		}
+		int id = this.size++;
+		this.starts[id] = start;
+		this.ends[id] = end;
+		this.nodes[id] = node;
+		this.table[slot] = id + 1;
+		// keep the table at most half full
+		if (this.size * 2 > this.table.length) {
+			this.rehash();
+		}
+	}
+
+	private void rehash() {
+		int[] table = new int[this.table.length * 2];
+		int mask = table.length - 1;
+		for (int id = 0; id < this.size; ++id) {
+			int slot = hash(this.nodes[id]) & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = id + 1;
+		}
+		this.table = table;
+	}
+
+	private static int hash(@Nonnull Node node) {
+		int h = System.identityHashCode(node);
+		return h ^ (h >>> 16);
+	}
+
+	private class ParserWithCompactLocationInternal extends GenericParser<Integer> {
+		// the boxed start offset last returned by startNode, to avoid boxing it again for every node starting there
+		@Nonnull
+		private Integer boxedStart = 0;
+
+		protected ParserWithCompactLocationInternal(@Nonnull String source, boolean isModule) throws JsError {
+			super(source, isModule);
+		}
+
+		@Nonnull
+		@Override
+		protected <T extends Node> T finishNode(@Nonnull Integer startState, @Nonnull T node) {
+			if (node instanceof Script || node instanceof Module) {
+				// Special case: the start/end of the whole-program node is the whole text including leading and trailing whitespace.
+				record(node, 0, this.startIndex);
+				return node;
+			} else if (node instanceof BindingIdentifier && ((BindingIdentifier) node).name.equals("*default*")) {
+				// Special case: synthetic BindingIdentifier for export-default declarations should not have a location
+				return node;
+			} else if (node instanceof TemplateExpression) {
+				// Special case: adjust the locations of TemplateElement to not include surrounding backticks or braces
+				ImmutableList<ExpressionTemplateElement> elements = ((TemplateExpression) node).elements;
+				for (int i = 0; i < elements.length; i += 2) {
+					int endAdjustment = (i < elements.length - 1) ? 2 : 1; // discard '${' or '`' respectively
+
+					int id = find((TemplateElement) elements.index(i).fromJust());
+					starts[id] += 1; // discard '}' or '`'
+					ends[id] -= endAdjustment;
+				}
+			}
+			record(node, startState, this.lastIndex);
+			return node;
+		}
+
+		@Nonnull
+		@Override
+		protected Integer startNode() {
+			if (this.boxedStart != this.startIndex) {
+				this.boxedStart = this.startIndex;
+			}
+			return this.boxedStart;
+		}
+
+		@Nonnull
+		@Override
+		protected <T extends Node> T copyNode(@Nonnull Node src, @Nonnull T dest) {
+			int id = find(src);
+			if (id >= 0) {
+				record(dest, starts[id], ends[id]);
+			}
+			return dest;
+		}
+	}
+}
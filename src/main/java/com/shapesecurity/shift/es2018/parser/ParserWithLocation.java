@@ -3,16 +3,67 @@ package com.shapesecurity.shift.es2018.parser;
 import com.shapesecurity.functional.data.HashTable;
 import com.shapesecurity.functional.data.ImmutableList;
 import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.ArrayAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.ArrayBinding;
+import com.shapesecurity.shift.es2018.ast.ArrayExpression;
+import com.shapesecurity.shift.es2018.ast.ArrowExpression;
+import com.shapesecurity.shift.es2018.ast.AssignmentExpression;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetIdentifier;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetPropertyIdentifier;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetPropertyProperty;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetWithDefault;
 import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.BindingPropertyIdentifier;
+import com.shapesecurity.shift.es2018.ast.BindingPropertyProperty;
+import com.shapesecurity.shift.es2018.ast.BindingWithDefault;
+import com.shapesecurity.shift.es2018.ast.ComputedMemberAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.ComputedMemberExpression;
+import com.shapesecurity.shift.es2018.ast.DataProperty;
+import com.shapesecurity.shift.es2018.ast.Directive;
+import com.shapesecurity.shift.es2018.ast.ExpressionStatement;
 import com.shapesecurity.shift.es2018.ast.ExpressionTemplateElement;
+import com.shapesecurity.shift.es2018.ast.Function;
+import com.shapesecurity.shift.es2018.ast.FunctionBody;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.ImportDeclarationExportDeclarationStatement;
+import com.shapesecurity.shift.es2018.ast.LiteralStringExpression;
+import com.shapesecurity.shift.es2018.ast.Method;
+import com.shapesecurity.shift.es2018.ast.MethodDefinition;
 import com.shapesecurity.shift.es2018.ast.Module;
 import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.ObjectAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.ObjectBinding;
+import com.shapesecurity.shift.es2018.ast.ObjectExpression;
+import com.shapesecurity.shift.es2018.ast.Program;
 import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.ast.ShorthandProperty;
+import com.shapesecurity.shift.es2018.ast.Statement;
+import com.shapesecurity.shift.es2018.ast.StaticMemberAssignmentTarget;
+import com.shapesecurity.shift.es2018.ast.StaticMemberExpression;
+import com.shapesecurity.shift.es2018.ast.StaticPropertyName;
 import com.shapesecurity.shift.es2018.ast.TemplateElement;
 import com.shapesecurity.shift.es2018.ast.TemplateExpression;
+import com.shapesecurity.shift.es2018.reducer.LazyReconstructingReducer;
+import com.shapesecurity.shift.es2018.reducer.Thunked;
+import com.shapesecurity.shift.es2018.reducer.ThunkedDirector;
+import com.shapesecurity.shift.es2018.reducer.ThunkedReducer;
+import com.shapesecurity.shift.es2018.reducer.WrappedThunkedReducer;
 import com.shapesecurity.shift.es2018.utils.WithLocation;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.shapesecurity.shift.es2018.utils.Utils.isLineTerminator;
 
@@ -38,30 +89,673 @@ public class ParserWithLocation implements WithLocation {
 		}
 	}
 
-	protected HashTable<Node, SourceSpan> locations = HashTable.emptyUsingIdentity();
+	/**
+	 * A change to the text of a program: the characters from {@code start} (inclusive) to {@code end} (exclusive) are
+	 * replaced by {@code replacement}.
+	 */
+	public static class TextEdit {
+		public final int start;
+		public final int end;
+		@Nonnull
+		public final String replacement;
+
+		public TextEdit(int start, int end, @Nonnull String replacement) {
+			this.start = start;
+			this.end = end;
+			this.replacement = replacement;
+		}
+	}
+
+	// The classes of the nodes from whose locations copyNode gives those of nodes of each class.
+	private static final Map<Class<? extends Node>, List<Class<? extends Node>>> COPIED_FROM = new HashMap<>();
+
+	static {
+		COPIED_FROM.put(AssignmentTargetPropertyProperty.class, Collections.singletonList(DataProperty.class));
+		COPIED_FROM.put(AssignmentTargetPropertyIdentifier.class, Collections.singletonList(ShorthandProperty.class));
+		COPIED_FROM.put(AssignmentTargetIdentifier.class, Arrays.asList(IdentifierExpression.class, StaticPropertyName.class));
+		COPIED_FROM.put(ObjectAssignmentTarget.class, Collections.singletonList(ObjectExpression.class));
+		COPIED_FROM.put(ArrayAssignmentTarget.class, Collections.singletonList(ArrayExpression.class));
+		COPIED_FROM.put(ComputedMemberAssignmentTarget.class, Collections.singletonList(ComputedMemberExpression.class));
+		COPIED_FROM.put(StaticMemberAssignmentTarget.class, Collections.singletonList(StaticMemberExpression.class));
+		COPIED_FROM.put(AssignmentTargetWithDefault.class, Collections.singletonList(AssignmentExpression.class));
+		COPIED_FROM.put(BindingWithDefault.class, Collections.singletonList(AssignmentTargetWithDefault.class));
+		COPIED_FROM.put(BindingIdentifier.class, Collections.singletonList(AssignmentTargetIdentifier.class));
+		COPIED_FROM.put(ArrayBinding.class, Collections.singletonList(ArrayAssignmentTarget.class));
+		COPIED_FROM.put(ObjectBinding.class, Collections.singletonList(ObjectAssignmentTarget.class));
+		COPIED_FROM.put(BindingPropertyIdentifier.class, Collections.singletonList(AssignmentTargetPropertyIdentifier.class));
+		COPIED_FROM.put(BindingPropertyProperty.class, Collections.singletonList(AssignmentTargetPropertyProperty.class));
+	}
+
+	// Keyed by identity. Locations are only ever added, or replaced by a reparse, so there is no need for a persistent
+	// table; parsing presizes it from the length of the text.
+	private IdentityHashMap<Node, SourceSpan> spans = new IdentityHashMap<>();
+
+	// The persistent table of locations built for the deprecated getLocations, if it has been asked for since a location
+	// was last recorded.
+	@Nullable
+	private HashTable<Node, SourceSpan> locations = null;
+
+	// if not null, which classes of node have their locations recorded
+	@Nullable
+	private final Predicate<Class<? extends Node>> filter;
+
+	// whether the nodes of each class seen so far have their locations recorded; those the filter accepts, and those
+	// whose locations are copied to them
+	@Nullable
+	private final IdentityHashMap<Class<?>, Boolean> recordedClasses;
 
 	protected ImmutableList<Comment> comments = ImmutableList.empty();
 
-	public ParserWithLocation() {}
+	// Once a program has been reparsed, the offsets in locations and comments are virtual offsets in this map, and
+	// their lines and columns are those when they were recorded.
+	@Nullable
+	private TextMap textMap = null;
+
+	// The nodes recorded while reparsing a region, whose locations are by offset in the new text until it is done.
+	@Nullable
+	private Set<Node> reparsed = null;
+
+	public ParserWithLocation() {
+		this.filter = null;
+		this.recordedClasses = null;
+	}
+
+	/**
+	 * A parser which only records the locations of nodes whose classes {@code filter} accepts, such as
+	 * {@code type -> Statement.class.isAssignableFrom(type)}. The locations of some other nodes may be recorded as well.
+	 * Reparsing with such a parser always parses the whole text again.
+	 */
+	public ParserWithLocation(@Nonnull Predicate<Class<? extends Node>> filter) {
+		this.filter = filter;
+		this.recordedClasses = new IdentityHashMap<>();
+	}
 
 	@Nonnull
 	public Script parseScript(@Nonnull String text) throws JsError {
+		this.forgetEdits();
+		this.presize(text);
 		return new ParserWithLocationInternal(text, false).parseScript();
 	}
 
 	@Nonnull
 	public Module parseModule(@Nonnull String text) throws JsError {
+		this.forgetEdits();
+		this.presize(text);
 		return new ParserWithLocationInternal(text, true).parseModule();
 	}
 
+	/**
+	 * Parses {@code previousText} with {@code edit} applied, reusing the unaffected parts of {@code previous}, which must
+	 * be the result of the latest parse of {@code previousText} by this parser.
+	 *
+	 * Only the innermost statement or function body which encloses the edit is parsed again. All other nodes are shared
+	 * with {@code previous}, and their locations and the comments outside the reparsed region are adjusted to the new
+	 * text. If the edit is not within any statement, or the reparsed region would no longer end in the same place, the
+	 * whole text is parsed again.
+	 */
+	@Nonnull
+	public Script reparseScript(@Nonnull Script previous, @Nonnull String previousText, @Nonnull TextEdit edit) throws JsError {
+		return (Script) this.reparse(previous, previousText, edit, false);
+	}
+
+	/**
+	 * As {@link #reparseScript}, for modules.
+	 */
+	@Nonnull
+	public Module reparseModule(@Nonnull Module previous, @Nonnull String previousText, @Nonnull TextEdit edit) throws JsError {
+		return (Module) this.reparse(previous, previousText, edit, true);
+	}
+
 	@Nonnull
 	public Maybe<SourceSpan> getLocation(@Nonnull Node node) {
-		return this.locations.get(node);
+		SourceSpan span = this.spans.get(node);
+		if (this.textMap == null || span == null) {
+			return Maybe.fromNullable(span);
+		}
+		int start = this.textMap.toCurrent(span.start.offset);
+		int end = span.end.offset == span.start.offset ? start : this.textMap.toCurrent(span.end.offset - 1) + 1;
+		return Maybe.of(new SourceSpan(span.source, this.textMap.location(start), this.textMap.location(end)));
 	}
 
 	@Nonnull
 	public ImmutableList<Comment> getComments() {
-		return this.comments.reverse();
+		if (this.textMap == null) {
+			return this.comments.reverse();
+		}
+		TextMap textMap = this.textMap;
+		return this.comments.reverse().map(comment -> new Comment(comment.type, comment.text,
+			textMap.location(textMap.toCurrent(comment.start.offset)), textMap.location(textMap.toCurrent(comment.end.offset - 1) + 1)));
+	}
+
+	/**
+	 * The locations of the nodes of the latest parse, as {@link #getLocation} gives them. The table is built when it is
+	 * first asked for after each parse, and changes to it are not seen by {@link #getLocation}.
+	 *
+	 * @deprecated use {@link #getLocation}
+	 */
+	@Deprecated
+	@Nonnull
+	protected HashTable<Node, SourceSpan> getLocations() {
+		if (this.locations == null) {
+			HashTable<Node, SourceSpan> locations = HashTable.emptyUsingIdentity();
+			for (Node node : this.spans.keySet()) {
+				locations = locations.put(node, this.getLocation(node).fromJust());
+			}
+			this.locations = locations;
+		}
+		return this.locations;
+	}
+
+	// Locations under virtual offsets cannot be mixed with those of another text.
+	private void forgetEdits() {
+		if (this.textMap != null) {
+			this.reset();
+		}
+	}
+
+	// Unfiltered, there is about a node for every 8 characters of unminified code; minified code has more.
+	private void presize(@Nonnull String text) {
+		if (this.filter == null && this.spans.isEmpty()) {
+			this.spans = new IdentityHashMap<>(text.length() / 8);
+		}
+	}
+
+	private void reset() {
+		this.spans = new IdentityHashMap<>();
+		this.locations = null;
+		this.comments = ImmutableList.empty();
+		this.textMap = null;
+	}
+
+	@Nonnull
+	private Program reparse(@Nonnull Program previous, @Nonnull String previousText, @Nonnull TextEdit edit, boolean isModule) throws JsError {
+		if (edit.start < 0 || edit.start > edit.end || edit.end > previousText.length()) {
+			throw new IndexOutOfBoundsException("Edit from " + edit.start + " to " + edit.end + " is outside of the text");
+		}
+		char[] chars = new char[previousText.length() + edit.replacement.length() - (edit.end - edit.start)];
+		previousText.getChars(0, edit.start, chars, 0);
+		edit.replacement.getChars(0, edit.replacement.length(), chars, edit.start);
+		previousText.getChars(edit.end, previousText.length(), chars, edit.start + edit.replacement.length());
+		String text = new String(chars);
+		IdentityHashMap<Node, SourceSpan> previousLocations = this.spans;
+		ImmutableList<Comment> previousComments = this.comments;
+		TextMap previousTextMap = this.textMap;
+
+		// an edit next to half of a \r\n pair changes the number of lines by other than the number in the edit
+		boolean splitsLineTerminator = edit.start > 0 && previousText.charAt(edit.start - 1) == '\r'
+			|| edit.end < previousText.length() && previousText.charAt(edit.end) == '\n';
+		// splicing needs the locations of every statement and function body, and their ancestors
+		if (!splitsLineTerminator && this.filter == null) {
+			if (this.textMap == null) {
+				this.textMap = new TextMap(previousText);
+			}
+			TextMap textMap = this.textMap;
+			this.reparsed = Collections.newSetFromMap(new IdentityHashMap<>());
+			Splicer splicer = new Splicer(text, isModule, edit);
+			Program result = splicer.splice(previous);
+			if (result != null) {
+				// the old comments after and before the reparsed region, in reverse order like this.comments
+				ArrayList<Comment> after = new ArrayList<>();
+				ImmutableList<Comment> before = previousComments;
+				while (before.isNotEmpty() && textMap.toCurrent(before.maybeHead().fromJust().start.offset) >= splicer.regionEnd) {
+					after.add(before.maybeHead().fromJust());
+					before = before.maybeTail().fromJust();
+				}
+				while (before.isNotEmpty() && textMap.toCurrent(before.maybeHead().fromJust().start.offset) >= splicer.regionStart) {
+					before = before.maybeTail().fromJust();
+				}
+
+				textMap.apply(previousText, edit);
+				for (Node node : this.reparsed) {
+					SourceSpan span = this.spans.get(node);
+					this.spans.put(node, new SourceSpan(span.source, textMap.toVirtual(span.start.offset, false), textMap.toVirtual(span.end.offset, true)));
+				}
+				this.reparsed = null;
+
+				int regionEnd = splicer.regionEnd + edit.replacement.length() - (edit.end - edit.start);
+				ImmutableList<Comment> comments = this.comments.filter(c -> c.start.offset < regionEnd)
+					.map(c -> new Comment(c.type, c.text, textMap.toVirtual(c.start.offset, false), textMap.toVirtual(c.end.offset, true)))
+					.append(before);
+				for (int i = after.size() - 1; i >= 0; --i) {
+					comments = comments.cons(after.get(i));
+				}
+				this.comments = comments;
+				return result;
+			}
+			this.reparsed = null;
+		}
+
+		this.reset();
+		this.presize(text);
+		try {
+			ParserWithLocationInternal parser = new ParserWithLocationInternal(text, isModule);
+			return isModule ? parser.parseModule() : parser.parseScript();
+		} catch (JsError e) {
+			this.spans = previousLocations;
+			this.comments = previousComments;
+			this.textMap = previousTextMap;
+			throw e;
+		}
+	}
+
+	private void record(@Nonnull Node node, @Nonnull SourceSpan span) {
+		if (!this.isRecorded(node)) {
+			return;
+		}
+		this.spans.put(node, span);
+		this.locations = null;
+		if (this.reparsed != null) {
+			this.reparsed.add(node);
+		}
+	}
+
+	private boolean isRecorded(@Nonnull Node node) {
+		return this.recordedClasses == null || this.isRecorded(node.getClass());
+	}
+
+	private boolean isRecorded(@Nonnull Class<? extends Node> type) {
+		IdentityHashMap<Class<?>, Boolean> recordedClasses = Objects.requireNonNull(this.recordedClasses);
+		Boolean recorded = recordedClasses.get(type);
+		if (recorded == null) {
+			recorded = Objects.requireNonNull(this.filter).test(type);
+			for (Map.Entry<Class<? extends Node>, List<Class<? extends Node>>> entry : COPIED_FROM.entrySet()) {
+				if (!recorded && entry.getValue().contains(type)) {
+					recorded = this.isRecorded(entry.getKey());
+				}
+			}
+			recordedClasses.put(type, recorded);
+		}
+		return recorded;
+	}
+
+	// Maps between offsets in the current text and virtual offsets, under which each character keeps the offset it was
+	// given when it was first parsed: the characters of the text first parsed keep their offsets in it, and inserted
+	// characters are given offsets past all earlier ones. Under virtual offsets, an edit does not move any location.
+	private static final class TextMap {
+		// a run of characters of the current text with consecutive virtual offsets
+		private static final class Piece {
+			final int virtualStart;
+			int start;
+			int length;
+
+			Piece(int virtualStart, int start, int length) {
+				this.virtualStart = virtualStart;
+				this.start = start;
+				this.length = length;
+			}
+		}
+
+		@Nonnull
+		private final ArrayList<Piece> pieces = new ArrayList<>(); // in order of start
+		@Nonnull
+		private final TreeMap<Integer, Piece> piecesByVirtualStart = new TreeMap<>();
+		private int nextVirtual;
+
+		// the offsets at which the lines of the current text start
+		@Nonnull
+		private int[] lineStarts = new int[16];
+		private int lineCount = 0;
+
+		TextMap(@Nonnull String text) {
+			this.addPiece(0, new Piece(0, 0, text.length()));
+			this.nextVirtual = text.length();
+			this.addLineStart(0);
+			this.addLineStarts(text, 0);
+		}
+
+		int toCurrent(int virtual) {
+			Map.Entry<Integer, Piece> entry = this.piecesByVirtualStart.floorEntry(virtual);
+			Piece piece = entry.getValue();
+			return piece.start + Math.min(virtual - piece.virtualStart, piece.length);
+		}
+
+		// The virtual location of a current offset, with the current line and column. end is whether offset is an
+		// exclusive end, which belongs with the character before it.
+		@Nonnull
+		SourceLocation toVirtual(int offset, boolean end) {
+			int character = end && offset > 0 ? offset - 1 : offset;
+			Piece piece = this.pieces.get(this.pieceAt(character));
+			int virtual = piece.virtualStart + character - piece.start + (character == offset ? 0 : 1);
+			int line = this.lineAt(offset);
+			return new SourceLocation(line + 1, offset - this.lineStarts[line], virtual);
+		}
+
+		@Nonnull
+		SourceLocation location(int offset) {
+			int line = this.lineAt(offset);
+			return new SourceLocation(line + 1, offset - this.lineStarts[line], offset);
+		}
+
+		// the 0-based line containing offset
+		int lineAt(int offset) {
+			int line = Arrays.binarySearch(this.lineStarts, 0, this.lineCount, offset);
+			return line >= 0 ? line : -line - 2;
+		}
+
+		int lineStart(int line) {
+			return this.lineStarts[line];
+		}
+
+		void apply(@Nonnull String previousText, @Nonnull TextEdit edit) {
+			int delta = edit.replacement.length() - (edit.end - edit.start);
+
+			int index = this.split(edit.start);
+			int endIndex = this.split(edit.end);
+			for (int i = index; i < endIndex; ++i) {
+				this.piecesByVirtualStart.remove(this.pieces.get(i).virtualStart);
+			}
+			this.pieces.subList(index, endIndex).clear();
+			if (!edit.replacement.isEmpty()) {
+				this.addPiece(index++, new Piece(this.nextVirtual, edit.start, edit.replacement.length()));
+				this.nextVirtual += edit.replacement.length();
+			}
+			for (int i = index; i < this.pieces.size(); ++i) {
+				this.pieces.get(i).start += delta;
+			}
+
+			// line starts within the removed text are replaced by those in the replacement
+			int first = this.lineAt(edit.start) + 1;
+			int last = this.lineAt(edit.end) + 1;
+			int[] following = Arrays.copyOfRange(this.lineStarts, last, this.lineCount);
+			this.lineCount = first;
+			this.addLineStarts(edit.replacement, edit.start);
+			for (int lineStart : following) {
+				this.addLineStart(lineStart + delta);
+			}
+		}
+
+		// Splits the piece containing offset so that a piece starts there, and returns the index of that piece.
+		private int split(int offset) {
+			if (this.pieces.isEmpty()) {
+				return 0;
+			}
+			int index = this.pieceAt(offset);
+			Piece piece = this.pieces.get(index);
+			if (offset == piece.start) {
+				return index;
+			} else if (offset >= piece.start + piece.length) {
+				return index + 1;
+			}
+			int length = offset - piece.start;
+			this.addPiece(index + 1, new Piece(piece.virtualStart + length, offset, piece.length - length));
+			piece.length = length;
+			return index + 1;
+		}
+
+		// the index of the last piece starting at or before offset
+		private int pieceAt(int offset) {
+			int low = 0;
+			int high = this.pieces.size() - 1;
+			while (low < high) {
+				int middle = (low + high + 1) >>> 1;
+				if (this.pieces.get(middle).start <= offset) {
+					low = middle;
+				} else {
+					high = middle - 1;
+				}
+			}
+			return low;
+		}
+
+		private void addPiece(int index, @Nonnull Piece piece) {
+			this.pieces.add(index, piece);
+			this.piecesByVirtualStart.put(piece.virtualStart, piece);
+		}
+
+		private void addLineStarts(@Nonnull String text, int offset) {
+			for (int i = 0; i < text.length(); ++i) {
+				char c = text.charAt(i);
+				if (isLineTerminator(c) && !(c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n')) {
+					this.addLineStart(offset + i + 1);
+				}
+			}
+		}
+
+		private void addLineStart(int offset) {
+			if (this.lineCount == this.lineStarts.length) {
+				this.lineStarts = Arrays.copyOf(this.lineStarts, this.lineCount * 2);
+			}
+			this.lineStarts[this.lineCount++] = offset;
+		}
+	}
+
+	private interface Reparse<T extends Node> {
+		@Nonnull
+		T apply(@Nonnull ParserWithLocationInternal parser) throws JsError;
+	}
+
+	// Rebuilds the nodes enclosing the innermost reparsable statement or function body which contains an edit, sharing
+	// all others. It reduces the program as a ThunkedReducer, so that the subtrees which do not contain the edit are never
+	// entered. Offsets are in terms of the text before the edit unless noted otherwise.
+	private final class Splicer {
+		@Nonnull
+		private final String text; // after the edit
+		private final boolean isModule;
+		private final int start;
+		private final int end;
+		private final int delta;
+		@Nonnull
+		private final TextMap textMap;
+		@Nonnull
+		private final ThunkedReducer<Node> reconstructor = new Thunked<>(new LazyReconstructingReducer());
+
+		// the context of the node being reduced
+		private boolean strict = false;
+		@Nullable
+		private Node function = null;
+
+		private boolean spliced = false;
+		int regionStart;
+		int regionEnd;
+
+		Splicer(@Nonnull String text, boolean isModule, @Nonnull TextEdit edit) {
+			this.text = text;
+			this.isModule = isModule;
+			this.start = edit.start;
+			this.end = edit.end;
+			this.delta = edit.replacement.length() - (edit.end - edit.start);
+			this.textMap = Objects.requireNonNull(ParserWithLocation.this.textMap);
+		}
+
+		@Nullable
+		Program splice(@Nonnull Program program) {
+			Program result = (Program) ThunkedDirector.reduceProgram(new WrappedThunkedReducer<>(this::reduce, this.reconstructor), program);
+			return this.spliced ? result : null;
+		}
+
+		// Reconstructs the node by `reduction` if it contains the edit, and otherwise returns it as it is.
+		@Nonnull
+		private Node reduce(@Nonnull Node node, @Nonnull Supplier<Node> reduction) {
+			SourceSpan location = spans.get(node);
+			if (location == null) {
+				return node;
+			}
+			int nodeStart = this.startOf(location);
+			int nodeEnd = this.endOf(location);
+			if (!(node instanceof Program) && !(nodeStart < this.start && this.end < nodeEnd)) {
+				return node;
+			}
+
+			boolean outerStrict = this.strict;
+			Node outerFunction = this.function;
+			if (node instanceof Script) {
+				this.strict = isStrict(((Script) node).directives);
+			} else if (node instanceof Module) {
+				this.strict = true;
+			} else if (node instanceof FunctionBody) {
+				this.strict = this.strict || isStrict(((FunctionBody) node).directives);
+			} else if (node instanceof Function || node instanceof MethodDefinition || node instanceof ArrowExpression) {
+				this.function = node;
+			}
+
+			Node result = reduction.get();
+			if (!this.spliced && (node instanceof Program || node instanceof FunctionBody)) {
+				Node reparsed = this.reparseWithin(node, nodeEnd, outerStrict);
+				if (reparsed != null) {
+					this.spliced = true;
+					result = reparsed;
+				}
+			}
+
+			this.strict = outerStrict;
+			this.function = outerFunction;
+			if (result != node && !spans.containsKey(result)) {
+				// by offset in the text after the edit, like the nodes of the reparsed region
+				record(result, new SourceSpan(location.source, new SourceLocation(0, 0, nodeStart), new SourceLocation(0, 0, nodeEnd + this.delta)));
+			}
+			return result;
+		}
+
+		// Reparses the item of owner which contains the edit, or failing that, the whole of owner if it is a function
+		// body. Returns the new owner, or null if neither parse ends where it used to.
+		@Nullable
+		private Node reparseWithin(@Nonnull Node owner, int ownerEnd, boolean outerStrict) {
+			ImmutableList<? extends Node> items;
+			ImmutableList<Directive> directives;
+			if (owner instanceof Script) {
+				items = ((Script) owner).statements;
+				directives = ((Script) owner).directives;
+			} else if (owner instanceof Module) {
+				items = ((Module) owner).items;
+				directives = ((Module) owner).directives;
+			} else {
+				items = ((FunctionBody) owner).statements;
+				directives = ((FunctionBody) owner).directives;
+			}
+			Node previous = directives.maybeLast().toNullable();
+			int index = 0;
+			for (Node item : items) {
+				SourceSpan location = spans.get(item);
+				int itemStart = this.startOf(location);
+				if (itemStart >= this.end) {
+					break;
+				}
+				int itemEnd = this.endOf(location);
+				if (itemStart < this.start && this.end < itemEnd) {
+					Node reparsed = this.reparseItem(owner, index, previous, itemStart, itemEnd);
+					if (reparsed != null) {
+						return reparsed;
+					}
+					break;
+				}
+				previous = item;
+				++index;
+			}
+			if (owner instanceof FunctionBody) {
+				int bodyStart = this.startOf(spans.get(owner));
+				boolean wasStrict = isStrict(((FunctionBody) owner).directives);
+				return this.attempt(bodyStart, ownerEnd, parser -> {
+					parser.strict = outerStrict;
+					parser.allowYieldExpression = this.allowYield();
+					parser.allowAwaitExpression = this.allowAwait();
+					FunctionBody body = parser.parseFunctionBody();
+					// a change of strictness would affect the parameters, which are not reparsed
+					if (isStrict(body.directives) != wasStrict) {
+						throw parser.createError("Function body changed strictness");
+					}
+					return body;
+				});
+			}
+			return null;
+		}
+
+		@Nullable
+		private Node reparseItem(@Nonnull Node owner, int index, @Nullable Node previous, int itemStart, int itemEnd) {
+			// unless it ends in a semicolon, where the previous item ends depends on the type of the first token of this
+			// one, so that must not change
+			if (previous != null && this.text.charAt(this.endOf(spans.get(previous)) - 1) != ';') {
+				try {
+					int line = this.textMap.lineAt(itemStart);
+					Tokenizer tokenizer = new Tokenizer(this.text, this.isModule, itemStart, line, this.textMap.lineStart(line));
+					if (tokenizer.lookahead.slice.end >= this.start) {
+						return null;
+					}
+				} catch (JsError e) {
+					return null;
+				}
+			}
+			Node item = this.attempt(itemStart, itemEnd, parser -> {
+				parser.strict = this.strict;
+				Node result;
+				if (owner instanceof Module) {
+					result = parser.parseModuleItem();
+				} else {
+					parser.inFunctionBody = owner instanceof FunctionBody;
+					parser.allowYieldExpression = this.allowYield();
+					parser.allowAwaitExpression = this.allowAwait();
+					result = parser.parseStatementListItem();
+				}
+				// a string literal at the start of a body would be a directive
+				if (index == 0 && result instanceof ExpressionStatement && ((ExpressionStatement) result).expression instanceof LiteralStringExpression) {
+					throw parser.createError("Statement became a directive");
+				}
+				return result;
+			});
+			if (item == null) {
+				return null;
+			}
+			if (owner instanceof Script) {
+				Script script = (Script) owner;
+				return new Script(script.directives, script.statements.patch(index, 1, ImmutableList.of((Statement) item)));
+			} else if (owner instanceof Module) {
+				Module module = (Module) owner;
+				return new Module(module.directives, module.items.patch(index, 1, ImmutableList.of((ImportDeclarationExportDeclarationStatement) item)));
+			}
+			FunctionBody body = (FunctionBody) owner;
+			return new FunctionBody(body.directives, body.statements.patch(index, 1, ImmutableList.of((Statement) item)));
+		}
+
+		// Parses the text after the edit from start, which is before the edit, and returns the result if the parse ends
+		// at end, which is after it.
+		@Nullable
+		private <T extends Node> T attempt(int start, int end, @Nonnull Reparse<T> reparse) {
+			comments = ImmutableList.empty();
+			try {
+				int line = this.textMap.lineAt(start);
+				ParserWithLocationInternal parser = new ParserWithLocationInternal(this.text, this.isModule, start, line, this.textMap.lineStart(line));
+				T result = reparse.apply(parser);
+				if (parser.lastIndex == end + this.delta) {
+					this.regionStart = start;
+					this.regionEnd = end;
+					return result;
+				}
+			} catch (JsError ignored) {
+				// the edit affects more than this region
+			}
+			// nothing else has been recorded since the reparse began
+			Set<Node> recorded = Objects.requireNonNull(reparsed);
+			spans.keySet().removeAll(recorded);
+			recorded.clear();
+			return null;
+		}
+
+		private int startOf(@Nonnull SourceSpan span) {
+			return this.textMap.toCurrent(span.start.offset);
+		}
+
+		private int endOf(@Nonnull SourceSpan span) {
+			return span.end.offset == span.start.offset ? this.startOf(span) : this.textMap.toCurrent(span.end.offset - 1) + 1;
+		}
+
+		private boolean allowYield() {
+			if (this.function instanceof Function) {
+				return ((Function) this.function).isGenerator;
+			}
+			return this.function instanceof Method && ((Method) this.function).isGenerator;
+		}
+
+		private boolean allowAwait() {
+			if (this.function instanceof Function) {
+				return ((Function) this.function).isAsync;
+			} else if (this.function instanceof Method) {
+				return ((Method) this.function).isAsync;
+			}
+			return this.function instanceof ArrowExpression && ((ArrowExpression) this.function).isAsync;
+		}
+
+		private boolean isStrict(@Nonnull ImmutableList<Directive> directives) {
+			return directives.exists(directive -> directive.rawValue.equals("use strict"));
+		}
 	}
 
 	private class ParserWithLocationInternal extends GenericParser<SourceLocation> {
@@ -69,12 +763,16 @@ public class ParserWithLocation implements WithLocation {
 			super(source, isModule);
 		}
 
+		protected ParserWithLocationInternal(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+			super(source, isModule, index, line, lineStart);
+		}
+
 		@Nonnull
 		@Override
 		protected <T extends Node> T finishNode(@Nonnull SourceLocation startLocation, @Nonnull T node) {
 			if (node instanceof Script || node instanceof Module) {
 				// Special case: the start/end of the whole-program node is the whole text including leading and trailing whitespace.
-				locations = locations.put(node, new SourceSpan(Maybe.empty(), new SourceLocation(1, 0, 0), new SourceLocation(this.startLine + 1, this.startIndex - this.startLineStart, this.startIndex)));
+				record(node, new SourceSpan(Maybe.empty(), new SourceLocation(1, 0, 0), new SourceLocation(this.startLine + 1, this.startIndex - this.startLineStart, this.startIndex)));
 				return node;
 			} else if (node instanceof BindingIdentifier && ((BindingIdentifier) node).name.equals("*default*")) {
 				// Special case: synthetic BindingIdentifier for export-default declarations should not have a location
@@ -86,14 +784,20 @@ public class ParserWithLocation implements WithLocation {
 					int endAdjustment = (i < elements.length - 1) ? 2 : 1; // discard '${' or '`' respectively
 
 					TemplateElement element = (TemplateElement) elements.index(i).fromJust();
-					SourceSpan oldLocation = locations.get(element).fromJust();
+					SourceSpan oldLocation = spans.get(element);
+					if (oldLocation == null) {
+						continue;
+					}
 					SourceLocation newStart = new SourceLocation(oldLocation.start.line, oldLocation.start.column + 1, oldLocation.start.offset + 1); // discard '}' or '`'
 					SourceLocation newEnd = new SourceLocation(oldLocation.end.line, oldLocation.end.column - endAdjustment, oldLocation.end.offset - endAdjustment);
-					locations = locations.put(element, new SourceSpan(Maybe.empty(), newStart, newEnd));
+					record(element, new SourceSpan(Maybe.empty(), newStart, newEnd));
 				}
 			}
+			if (!isRecorded(node)) {
+				return node;
+			}
 			SourceLocation endLocation = this.getLastTokenEndLocation();
-			locations = locations.put(node, new SourceSpan(Maybe.empty(), startLocation, endLocation));
+			record(node, new SourceSpan(Maybe.empty(), startLocation, endLocation));
 			return node;
 		}
 
@@ -106,9 +810,10 @@ public class ParserWithLocation implements WithLocation {
 		@Nonnull
 		@Override
 		protected <T extends Node> T copyNode(@Nonnull Node src, @Nonnull T dest) {
-			locations.get(src).foreach(srcSpan -> {
-				locations = locations.put(dest, srcSpan);
-			});
+			SourceSpan srcSpan = spans.get(src);
+			if (srcSpan != null) {
+				record(dest, srcSpan);
+			}
 			return dest;
 		}
 
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.shift.es2018.parser.token.EOFToken;
+import com.shapesecurity.shift.es2018.parser.token.PunctuatorToken;
+import com.shapesecurity.shift.es2018.parser.token.TemplateToken;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The tokens of a program in source order, not including the final EOS token. Obtained from {@link Tokenizer#stream}.
+ *
+ * Tokens can either be consumed as {@link Token} objects through the {@link Iterator} interface, or through
+ * {@link #nextView()}, which updates a single {@link TokenView} in place and does not allocate anything for
+ * punctuators, whitespace or comments. The two styles should not be mixed on the same iterator.
+ *
+ * Tokens produced by this class do not record their {@link Token#leadingWhitespace}.
+ */
+public final class TokenIterator implements Iterator<Token> {
+    // kinds of open brackets, used to decide whether a following '/' starts a regular expression
+    private static final byte PAREN = 0;
+    private static final byte PAREN_AFTER_CONTROL_KEYWORD = 1; // `if (`, `while (`, `for (`, `with (`
+    private static final byte BRACKET = 2;
+    private static final byte BRACE_BLOCK = 3;
+    private static final byte BRACE_EXPRESSION = 4;
+    private static final byte BRACE_TEMPLATE = 5; // `${` within a template
+
+    @Nonnull
+    private final Scanner scanner;
+    @Nonnull
+    private final TokenView view;
+    @Nonnull
+    private byte[] brackets = new byte[16];
+    private int depth = 0;
+
+    @Nullable
+    private TokenType previous = null;
+    private boolean previousTemplateIsTail = false;
+    private boolean previousIsOf = false;
+    private byte lastClosed = PAREN;
+    // whether a '/' has been met which may have been taken for the wrong one of division or a regular expression
+    private boolean ambiguous = false;
+
+    @Nullable
+    private Token pending = null;
+
+    TokenIterator(@Nonnull String source, boolean isModule) throws JsError {
+        this.scanner = new Scanner(source, isModule);
+        this.view = new TokenView(source);
+    }
+
+    // Starts part way through the source, at the start of a token. The line is 0-based and lineStart is the offset at
+    // which it starts.
+    TokenIterator(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+        this.scanner = new Scanner(source, isModule, index, line, lineStart);
+        this.view = new TokenView(source);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.pending == null) {
+            try {
+                this.pending = this.scan(true);
+            } catch (JsError e) {
+                throw new TokenizationException(e);
+            }
+        }
+        return this.pending.type != TokenType.EOS;
+    }
+
+    /**
+     * @throws TokenizationException if the remaining input cannot be tokenized
+     */
+    @Override
+    @Nonnull
+    public Token next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Token token = this.pending;
+        this.pending = null;
+        return token;
+    }
+
+    /**
+     * Advances to the next token and returns the shared view of it, or null at the end of the input.
+     */
+    @Nullable
+    public TokenView nextView() throws JsError {
+        this.scan(false);
+        return this.view.type == TokenType.EOS ? null : this.view;
+    }
+
+    /**
+     * Skips past the balanced block opened by the next token, which must be '{'. Returns the view of the closing '}',
+     * or null if the input ends first or a '/' within the block might have been read the wrong way, so that the closing
+     * brace found might not be the right one. If `matches` is given, every pair of braces within the block, including
+     * its own, is recorded in it.
+     */
+    @Nullable
+    TokenView skipBlock(@Nullable BraceMatches matches) throws JsError {
+        int[] records = matches == null ? null : new int[16];
+        int open = 0;
+        int first = -1;
+        TokenView view;
+        do {
+            try {
+                view = this.nextView();
+            } catch (JsError e) {
+                if (first >= 0) {
+                    matches.truncate(first);
+                }
+                throw e;
+            }
+            if (matches != null && view != null) {
+                if (view.type == TokenType.LBRACE) {
+                    if (open == records.length) {
+                        records = Arrays.copyOf(records, open * 2);
+                    }
+                    records[open] = matches.open(view.start);
+                    if (first < 0) {
+                        first = records[open];
+                    }
+                    ++open;
+                } else if (view.type == TokenType.RBRACE && open > 0) {
+                    matches.close(records[--open], view);
+                }
+            }
+        } while (view != null && this.depth > 0 && !this.ambiguous);
+        if (this.ambiguous) {
+            view = null;
+        }
+        if (matches != null && (view == null || open > 0) && first >= 0) {
+            matches.truncate(first);
+        }
+        return view;
+    }
+
+    // Scans the next token into the view. Returns it as a Token if materialize is set; otherwise may return null.
+    @Nullable
+    private Token scan(boolean materialize) throws JsError {
+        Scanner s = this.scanner;
+        s.hasLineTerminatorBeforeNext = false;
+        s.skipComment();
+        s.startIndex = s.index;
+        s.startLine = s.line;
+        s.startLineStart = s.lineStart;
+
+        Token token = null;
+        TokenType type;
+        if (s.index >= s.source.length()) {
+            type = TokenType.EOS;
+            if (materialize) {
+                token = new EOFToken(new SourceRange(s.index, s.index, s.source));
+            }
+        } else {
+            char ch = s.source.charAt(s.index);
+            if (ch == '/' && this.slashIsAmbiguous()) {
+                this.ambiguous = true;
+            }
+            if (ch == '}' && this.depth > 0 && this.brackets[this.depth - 1] == BRACE_TEMPLATE) {
+                token = s.scanTemplateElement();
+                type = TokenType.TEMPLATE;
+            } else if (ch == '/' && this.regexAllowed()) {
+                int start = s.index;
+                s.index += s.index + 1 < s.source.length() && s.source.charAt(s.index + 1) == '=' ? 2 : 1;
+                token = s.scanRegExp(start);
+                type = TokenType.REGEXP;
+            } else {
+                type = s.skipPunctuator();
+                if (type == null) {
+                    token = s.advance();
+                    type = token.type;
+                } else if (materialize) {
+                    token = new PunctuatorToken(type, new SourceRange(s.startIndex, s.index, s.source));
+                }
+            }
+        }
+
+        this.track(type, token);
+
+        TokenView view = this.view;
+        view.type = type;
+        view.start = s.startIndex;
+        view.end = s.index;
+        view.line = s.startLine + 1;
+        view.column = s.startIndex - s.startLineStart;
+        view.hasLineTerminatorBefore = s.hasLineTerminatorBeforeNext;
+        return token;
+    }
+
+    private void track(@Nonnull TokenType type, @Nullable Token token) {
+        switch (type) {
+            case LPAREN:
+                // `for await (`, though also `await (x)`, which slashIsAmbiguous allows for
+                boolean afterControlKeyword = this.previous == TokenType.IF || this.previous == TokenType.WHILE || this.previous == TokenType.FOR || this.previous == TokenType.WITH || this.previous == TokenType.AWAIT;
+                this.push(afterControlKeyword ? PAREN_AFTER_CONTROL_KEYWORD : PAREN);
+                break;
+            case LBRACK:
+                this.push(BRACKET);
+                break;
+            case LBRACE:
+                this.push(this.braceStartsBlock() ? BRACE_BLOCK : BRACE_EXPRESSION);
+                break;
+            case RPAREN:
+            case RBRACK:
+            case RBRACE:
+                if (this.depth > 0) {
+                    this.lastClosed = this.brackets[--this.depth];
+                }
+                break;
+            case TEMPLATE:
+                // a template token ending in `${` opens a substitution, which the next template token closes
+                boolean tail = ((TemplateToken) token).tail;
+                if (this.depth > 0 && this.brackets[this.depth - 1] == BRACE_TEMPLATE && token.slice.charAt(0) == '}') {
+                    --this.depth;
+                }
+                if (!tail) {
+                    this.push(BRACE_TEMPLATE);
+                }
+                this.previousTemplateIsTail = tail;
+                break;
+            default:
+                break;
+        }
+        this.previous = type;
+        this.previousIsOf = type == TokenType.IDENTIFIER && token.slice.length() == 2 && token.slice.charAt(0) == 'o' && token.slice.charAt(1) == 'f';
+    }
+
+    private void push(byte kind) {
+        if (this.depth == this.brackets.length) {
+            this.brackets = Arrays.copyOf(this.brackets, this.depth * 2);
+        }
+        this.brackets[this.depth++] = kind;
+    }
+
+    private boolean braceStartsBlock() {
+        if (this.previous == null) {
+            return true;
+        }
+        switch (this.previous) {
+            case SEMICOLON:
+            case LBRACE:
+            case RBRACE:
+            case RPAREN:
+            case ARROW:
+            case ELSE:
+            case DO:
+            case TRY:
+            case FINALLY:
+                return true;
+            case COLON:
+                // a labelled block or a case body, unless directly within an object literal
+                return this.depth == 0 || this.brackets[this.depth - 1] == BRACE_BLOCK;
+            default:
+                return false;
+        }
+    }
+
+    // Whether regexAllowed is only a guess for a '/' here. The kind of a brace is decided from the token before it
+    // alone, which is wrong for `x\n{}`, where automatic semicolon insertion makes the braces a block, or for the body of
+    // a function expression; a keyword before a parenthesis may be a property name, as in `a.if(b)`; and `yield`,
+    // `await`, `of`, `++` and `--` each allow either reading, depending on what is around them.
+    private boolean slashIsAmbiguous() {
+        if (this.previous == null) {
+            return false;
+        }
+        switch (this.previous) {
+            case RBRACE:
+            case YIELD:
+            case AWAIT:
+            case INC:
+            case DEC:
+                return true;
+            case RPAREN:
+                return this.lastClosed == PAREN_AFTER_CONTROL_KEYWORD;
+            case IDENTIFIER:
+                return this.previousIsOf;
+            default:
+                return false;
+        }
+    }
+
+    private boolean regexAllowed() {
+        if (this.previous == null) {
+            return true;
+        }
+        switch (this.previous) {
+            case RPAREN:
+                return this.lastClosed == PAREN_AFTER_CONTROL_KEYWORD;
+            case RBRACE:
+                return this.lastClosed == BRACE_BLOCK;
+            case TEMPLATE:
+                return !this.previousTemplateIsTail;
+            case RBRACK:
+            case IDENTIFIER:
+            case NUMBER:
+            case STRING:
+            case REGEXP:
+            case THIS:
+            case SUPER:
+            case NULL_LITERAL:
+            case TRUE_LITERAL:
+            case FALSE_LITERAL:
+            case INC:
+            case DEC:
+            case LET:
+            case ASYNC:
+            case ESCAPED_KEYWORD:
+            case FUTURE_RESERVED_WORD:
+            case FUTURE_STRICT_RESERVED_WORD:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    public static final class TokenizationException extends RuntimeException {
+        private static final long serialVersionUID = 8410633285301815129L;
+
+        TokenizationException(@Nonnull JsError cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Nonnull
+        public JsError getError() {
+            return (JsError) this.getCause();
+        }
+    }
+
+    private static final class Scanner extends Tokenizer {
+        Scanner(@Nonnull String source, boolean isModule) throws JsError {
+            super(source, isModule);
+            // The constructor has already scanned a lookahead token without regard for regular expressions; start over.
+            this.index = this.line = this.lineStart = 0;
+        }
+
+        Scanner(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+            super(source, isModule, index, line, lineStart);
+            this.index = index;
+            this.line = line;
+            this.lineStart = lineStart;
+        }
+    }
+}
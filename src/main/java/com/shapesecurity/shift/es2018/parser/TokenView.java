@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.parser;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A mutable view of the current token of a {@link TokenIterator}. The same instance is updated in place by every
+ * call to {@link TokenIterator#nextView()}, so it must not be retained across calls.
+ */
+public final class TokenView {
+    @Nonnull
+    private final String source;
+    @Nonnull
+    TokenType type = TokenType.EOS;
+    int start, end, line, column;
+    boolean hasLineTerminatorBefore;
+
+    TokenView(@Nonnull String source) {
+        this.source = source;
+    }
+
+    @Nonnull
+    public TokenType getType() {
+        return this.type;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    public int getLine() {
+        return this.line;
+    }
+
+    public int getColumn() {
+        return this.column;
+    }
+
+    public boolean hasLineTerminatorBefore() {
+        return this.hasLineTerminatorBefore;
+    }
+
+    @Nonnull
+    public SourceRange getSlice() {
+        return new SourceRange(this.start, this.end, this.source);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return this.source.substring(this.start, this.end);
+    }
+}
@@ -21,9 +21,9 @@ import com.shapesecurity.shift.es2018.parser.token.*;
 import com.shapesecurity.shift.es2018.utils.Utils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.function.Function;
 
 public class Tokenizer {
@@ -97,59 +97,42 @@ public class Tokenizer {
         this.hasLineTerminatorBeforeNext = false;
     }
 
-    private static boolean cse2(@Nonnull CharSequence id, char ch1, char ch2) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2;
-    }
-
-    private static boolean cse3(@Nonnull CharSequence id, char ch1, char ch2, char ch3) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2 && id.charAt(3) == ch3;
-    }
-
-    private static boolean cse4(@Nonnull CharSequence id, char ch1, char ch2, char ch3, char ch4) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2 && id.charAt(3) == ch3 && id.charAt(4) == ch4;
-    }
-
-    private static boolean cse5(@Nonnull CharSequence id, char ch1, char ch2, char ch3, char ch4, char ch5) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2 && id.charAt(3) == ch3 && id.charAt(4) == ch4 && id.charAt(5)
-                == ch5;
-    }
-
-    private static boolean cse6(@Nonnull CharSequence id, char ch1, char ch2, char ch3, char ch4, char ch5, char ch6) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2 && id.charAt(3) == ch3 && id.charAt(4) == ch4 && id.charAt(5)
-                == ch5
-                && id.charAt(6) == ch6;
+    // Starts tokenizing part way through the source, at the start of a token. The line is 0-based and lineStart is the
+    // offset at which it starts.
+    protected Tokenizer(@Nonnull String source, boolean isModule, int index, int line, int lineStart) throws JsError {
+        this.moduleIsTheGoalSymbol = isModule;
+        this.source = source;
+        this.index = this.lastIndex = index;
+        this.line = this.lastLine = line;
+        this.lineStart = this.lastLineStart = lineStart;
+        this.lookahead = this.collectToken();
+        this.hasLineTerminatorBeforeNext = false;
     }
 
-    private static boolean cse7(
-            @Nonnull CharSequence id,
-            char ch1,
-            char ch2,
-            char ch3,
-            char ch4,
-            char ch5,
-            char ch6,
-            char ch7) {
-        return id.charAt(1) == ch1 && id.charAt(2) == ch2 && id.charAt(3) == ch3 && id.charAt(4) == ch4 && id.charAt(5)
-                == ch5
-                && id.charAt(6) == ch6 && id.charAt(7) == ch7;
+    /**
+     * Tokenizes a whole program without parsing it. Unlike the parser, the returned iterator has to decide on its own
+     * whether a '/' starts a regular expression or is a division operator; it does so from the preceding tokens, the
+     * way most standalone JavaScript tokenizers do. This can misclassify contrived inputs, such as a block statement
+     * directly following an expression statement which relies on automatic semicolon insertion.
+     */
+    @Nonnull
+    public static TokenIterator stream(@Nonnull String source, boolean isModule) throws JsError {
+        return new TokenIterator(source, isModule);
     }
 
     // 7.6.1.1 Keywords
-    @SuppressWarnings("ConfusingElseBranch")
+    // Classifies text.substring(start, start + length) without materializing it.
     @Nonnull
-    private TokenType getKeyword(@Nonnull CharSequence id) {
+    private TokenType getKeyword(@Nonnull String text, int start, int length) {
         // 'const' is specialized as Keyword in V8.
         // 'yield' and 'let' are for compatibility with SpiderMonkey and ES.next.
         // Some others are from future reserved words.
 
-        if (id.length() == 1 || id.length() > 10) {
-            return TokenType.IDENTIFIER;
-        }
-        switch (id.length()) {
+        switch (length) {
             case 2:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 'i':
-                        switch (id.charAt(1)) {
+                        switch (text.charAt(start + 1)) {
                             case 'f':
                                 return TokenType.IF;
                             case 'n':
@@ -159,7 +142,7 @@ public class Tokenizer {
                         }
                         break;
                     case 'd':
-                        if (id.charAt(1) == 'o') {
+                        if (text.charAt(start + 1) == 'o') {
                             return TokenType.DO;
                         }
                         break;
@@ -168,29 +151,29 @@ public class Tokenizer {
                 }
                 break;
             case 3:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 'v':
-                        if (cse2(id, 'a', 'r')) {
+                        if (text.startsWith("var", start)) {
                             return TokenType.VAR;
                         }
                         break;
                     case 'f':
-                        if (cse2(id, 'o', 'r')) {
+                        if (text.startsWith("for", start)) {
                             return TokenType.FOR;
                         }
                         break;
                     case 'n':
-                        if (cse2(id, 'e', 'w')) {
+                        if (text.startsWith("new", start)) {
                             return TokenType.NEW;
                         }
                         break;
                     case 't':
-                        if (cse2(id, 'r', 'y')) {
+                        if (text.startsWith("try", start)) {
                             return TokenType.TRY;
                         }
                         break;
                     case 'l':
-                        if (cse2(id, 'e', 't')) {
+                        if (text.startsWith("let", start)) {
                             return TokenType.LET;
                         }
                         break;
@@ -199,38 +182,38 @@ public class Tokenizer {
                 }
                 break;
             case 4:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 't':
-                        if (cse3(id, 'h', 'i', 's')) {
+                        if (text.startsWith("this", start)) {
                             return TokenType.THIS;
-                        } else if (cse3(id, 'r', 'u', 'e')) {
+                        } else if (text.startsWith("true", start)) {
                             return TokenType.TRUE_LITERAL;
                         }
                         break;
                     case 'n':
-                        if (cse3(id, 'u', 'l', 'l')) {
+                        if (text.startsWith("null", start)) {
                             return TokenType.NULL_LITERAL;
                         }
                         break;
                     case 'e':
-                        if (cse3(id, 'l', 's', 'e')) {
+                        if (text.startsWith("else", start)) {
                             return TokenType.ELSE;
-                        } else if (cse3(id, 'n', 'u', 'm')) {
+                        } else if (text.startsWith("enum", start)) {
                             return TokenType.FUTURE_RESERVED_WORD;
                         }
                         break;
                     case 'c':
-                        if (cse3(id, 'a', 's', 'e')) {
+                        if (text.startsWith("case", start)) {
                             return TokenType.CASE;
                         }
                         break;
                     case 'v':
-                        if (cse3(id, 'o', 'i', 'd')) {
+                        if (text.startsWith("void", start)) {
                             return TokenType.VOID;
                         }
                         break;
                     case 'w':
-                        if (cse3(id, 'i', 't', 'h')) {
+                        if (text.startsWith("with", start)) {
                             return TokenType.WITH;
                         }
                         break;
@@ -239,51 +222,50 @@ public class Tokenizer {
                 }
                 break;
             case 5:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 'a':
-                        if (cse4(id, 'w', 'a', 'i', 't')) {
+                        if (text.startsWith("await", start)) {
                             return TokenType.AWAIT;
-                        }
-                        if (cse4(id, 's', 'y', 'n', 'c')) {
+                        } else if (text.startsWith("async", start)) {
                             return TokenType.ASYNC;
                         }
                         break;
-                    case 'w': // WHILE
-                        if (cse4(id, 'h', 'i', 'l', 'e')) {
+                    case 'w':
+                        if (text.startsWith("while", start)) {
                             return TokenType.WHILE;
                         }
                         break;
-                    case 'b': // BREAK
-                        if (cse4(id, 'r', 'e', 'a', 'k')) {
+                    case 'b':
+                        if (text.startsWith("break", start)) {
                             return TokenType.BREAK;
                         }
                         break;
-                    case 'c': // CATCH
-                        if (cse4(id, 'a', 't', 'c', 'h')) {
+                    case 'c':
+                        if (text.startsWith("catch", start)) {
                             return TokenType.CATCH;
-                        } else if (cse4(id, 'o', 'n', 's', 't')) {
+                        } else if (text.startsWith("const", start)) {
                             return TokenType.CONST;
-                        } else if (cse4(id, 'l', 'a', 's', 's')) {
+                        } else if (text.startsWith("class", start)) {
                             return TokenType.CLASS;
                         }
                         break;
-                    case 't': // THROW
-                        if (cse4(id, 'h', 'r', 'o', 'w')) {
+                    case 't':
+                        if (text.startsWith("throw", start)) {
                             return TokenType.THROW;
                         }
                         break;
-                    case 'y': // YIELD
-                        if (cse4(id, 'i', 'e', 'l', 'd')) {
+                    case 'y':
+                        if (text.startsWith("yield", start)) {
                             return TokenType.YIELD;
                         }
                         break;
-                    case 's': // SUPER
-                        if (cse4(id, 'u', 'p', 'e', 'r')) {
+                    case 's':
+                        if (text.startsWith("super", start)) {
                             return TokenType.SUPER;
                         }
                         break;
                     case 'f':
-                        if (cse4(id, 'a', 'l', 's', 'e')) {
+                        if (text.startsWith("false", start)) {
                             return TokenType.FALSE_LITERAL;
                         }
                         break;
@@ -292,41 +274,41 @@ public class Tokenizer {
                 }
                 break;
             case 6:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 'r':
-                        if (cse5(id, 'e', 't', 'u', 'r', 'n')) {
+                        if (text.startsWith("return", start)) {
                             return TokenType.RETURN;
                         }
                         break;
                     case 't':
-                        if (cse5(id, 'y', 'p', 'e', 'o', 'f')) {
+                        if (text.startsWith("typeof", start)) {
                             return TokenType.TYPEOF;
                         }
                         break;
                     case 'd':
-                        if (cse5(id, 'e', 'l', 'e', 't', 'e')) {
+                        if (text.startsWith("delete", start)) {
                             return TokenType.DELETE;
                         }
                         break;
                     case 's':
-                        if (cse5(id, 'w', 'i', 't', 'c', 'h')) {
+                        if (text.startsWith("switch", start)) {
                             return TokenType.SWITCH;
-                        } else if (this.strict && cse5(id, 't', 'a', 't', 'i', 'c')) {
+                        } else if (this.strict && text.startsWith("static", start)) {
                             return TokenType.FUTURE_STRICT_RESERVED_WORD;
                         }
                         break;
                     case 'e':
-                        if (cse5(id, 'x', 'p', 'o', 'r', 't')) {
+                        if (text.startsWith("export", start)) {
                             return TokenType.EXPORT;
                         }
                         break;
                     case 'i':
-                        if (cse5(id, 'm', 'p', 'o', 'r', 't')) {
+                        if (text.startsWith("import", start)) {
                             return TokenType.IMPORT;
                         }
                         break;
                     case 'p':
-                        if (this.strict && cse5(id, 'u', 'b', 'l', 'i', 'c')) {
+                        if (this.strict && text.startsWith("public", start)) {
                             return TokenType.FUTURE_STRICT_RESERVED_WORD;
                         }
                         break;
@@ -335,28 +317,25 @@ public class Tokenizer {
                 }
                 break;
             case 7:
-                switch (id.charAt(0)) {
-                    case 'd': // default
-                        if (cse6(id, 'e', 'f', 'a', 'u', 'l', 't')) {
+                switch (text.charAt(start)) {
+                    case 'd':
+                        if (text.startsWith("default", start)) {
                             return TokenType.DEFAULT;
                         }
                         break;
-                    case 'f': // finally
-                        if (cse6(id, 'i', 'n', 'a', 'l', 'l', 'y')) {
+                    case 'f':
+                        if (text.startsWith("finally", start)) {
                             return TokenType.FINALLY;
                         }
                         break;
-                    case 'e': // extends
-                        if (cse6(id, 'x', 't', 'e', 'n', 'd', 's')) {
+                    case 'e':
+                        if (text.startsWith("extends", start)) {
                             return TokenType.EXTENDS;
                         }
                         break;
                     case 'p':
-                        if (this.strict) {
-                            String s = id.toString();
-                            if ("private".equals(s) || "package".equals(s)) {
-                                return TokenType.FUTURE_STRICT_RESERVED_WORD;
-                            }
+                        if (this.strict && (text.startsWith("private", start) || text.startsWith("package", start))) {
+                            return TokenType.FUTURE_STRICT_RESERVED_WORD;
                         }
                         break;
                     default:
@@ -364,19 +343,19 @@ public class Tokenizer {
                 }
                 break;
             case 8:
-                switch (id.charAt(0)) {
+                switch (text.charAt(start)) {
                     case 'f':
-                        if (cse7(id, 'u', 'n', 'c', 't', 'i', 'o', 'n')) {
+                        if (text.startsWith("function", start)) {
                             return TokenType.FUNCTION;
                         }
                         break;
                     case 'c':
-                        if (cse7(id, 'o', 'n', 't', 'i', 'n', 'u', 'e')) {
+                        if (text.startsWith("continue", start)) {
                             return TokenType.CONTINUE;
                         }
                         break;
                     case 'd':
-                        if (cse7(id, 'e', 'b', 'u', 'g', 'g', 'e', 'r')) {
+                        if (text.startsWith("debugger", start)) {
                             return TokenType.DEBUGGER;
                         }
                         break;
@@ -385,18 +364,14 @@ public class Tokenizer {
                 }
                 break;
             case 9:
-                if (this.strict && (id.charAt(0) == 'p' || id.charAt(0) == 'i')) {
-                    String s = id.toString();
-                    if ("protected".equals(s) || "interface".equals(s)) {
-                        return TokenType.FUTURE_STRICT_RESERVED_WORD;
-                    }
+                if (this.strict && (text.startsWith("protected", start) || text.startsWith("interface", start))) {
+                    return TokenType.FUTURE_STRICT_RESERVED_WORD;
                 }
                 break;
             case 10:
-                String s = id.toString();
-                if ("instanceof".equals(s)) {
+                if (text.startsWith("instanceof", start)) {
                     return TokenType.INSTANCEOF;
-                } else if (this.strict && "implements".equals(s)) {
+                } else if (this.strict && text.startsWith("implements", start)) {
                     return TokenType.FUTURE_STRICT_RESERVED_WORD;
                 }
                 break;
@@ -418,47 +393,63 @@ public class Tokenizer {
 
     @Nonnull
     protected JsError createUnexpected(@Nonnull Token token) {
+        return this.createUnexpected(token, true);
+    }
+
+    // For errors which are recorded in case they are needed later and are usually discarded, such as
+    // GenericParser.firstExprError; these do not capture a stack trace.
+    @Nonnull
+    protected JsError createSpeculativeUnexpected(@Nonnull Token token) {
+        return this.createUnexpected(token, false);
+    }
+
+    @Nonnull
+    private JsError createUnexpected(@Nonnull Token token, boolean writableStackTrace) {
         switch (token.type.klass) {
             case Eof:
-                return this.createError(ErrorMessages.UNEXPECTED_EOS);
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_EOS);
             case Ident:
-                return this.createError(ErrorMessages.UNEXPECTED_IDENTIFIER);
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_IDENTIFIER);
             case Keyword:
                 if ((token.type == TokenType.FUTURE_RESERVED_WORD)) {
-                    return this.createError(ErrorMessages.UNEXPECTED_RESERVED_WORD);
+                    return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_RESERVED_WORD);
                 }
                 if ((token.type == TokenType.FUTURE_STRICT_RESERVED_WORD)) {
-                    return this.createError(ErrorMessages.STRICT_RESERVED_WORD);
+                    return this.createError(writableStackTrace, ErrorMessages.STRICT_RESERVED_WORD);
                 }
-                return this.createError(ErrorMessages.UNEXPECTED_TOKEN, token.slice.getString());
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_TOKEN, token.slice.getString());
             case NumericLiteral:
-                return this.createError(ErrorMessages.UNEXPECTED_NUMBER);
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_NUMBER);
             case TemplateElement:
-                return this.createError(ErrorMessages.UNEXPECTED_TEMPLATE);
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_TEMPLATE);
             case Punctuator:
-                return this.createError(ErrorMessages.UNEXPECTED_TOKEN, token.type.toString());
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_TOKEN, token.type.toString());
             case StringLiteral:
-                return this.createError(ErrorMessages.UNEXPECTED_STRING);
+                return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_STRING);
             default:
                 break;
         }
-        return this.createError(ErrorMessages.UNEXPECTED_TOKEN, token.getValueString());
+        return this.createError(writableStackTrace, ErrorMessages.UNEXPECTED_TOKEN, token.getValueString());
     }
 
     @Nonnull
     protected JsError createError(@Nonnull String message, @Nonnull Object... args) {
-        ArrayList<String> escapedArgs = new ArrayList<>();
-        for (Object arg : args) {
-            escapedArgs.add(arg.toString());
-        }
-        String msg = String.format(message, escapedArgs.toArray());
-        return new JsError(this.startIndex, this.startLine + 1, this.startIndex - this.startLineStart, msg);
+        return this.createError(true, message, args);
+    }
+
+    @Nonnull
+    private JsError createError(boolean writableStackTrace, @Nonnull String message, @Nonnull Object... args) {
+        return new JsError(this.startIndex, this.startLine + 1, this.startIndex - this.startLineStart, message, args, writableStackTrace);
     }
 
     @Nonnull
     protected JsError createErrorWithLocation(@Nonnull SourceLocation location, @Nonnull String message, @Nonnull Object... args) {
-        String msg = String.format(message, args);
-        return new JsError(location.offset, location.line, location.column, msg);
+        return new JsError(location.offset, location.line, location.column, message, args, true);
+    }
+
+    @Nonnull
+    protected JsError createSpeculativeErrorWithLocation(@Nonnull SourceLocation location, @Nonnull String message, @Nonnull Object... args) {
+        return new JsError(location.offset, location.line, location.column, message, args, false);
     }
 
     @Nonnull
@@ -553,7 +544,7 @@ public class Tokenizer {
         throw this.createILLEGAL();
     }
 
-    private void skipComment() throws JsError {
+    protected void skipComment() throws JsError {
         boolean isLineStart = this.index == 0;
         int length = this.source.length();
 
@@ -608,21 +599,19 @@ public class Tokenizer {
         }
     }
 
+    // Scans the rest of a regular expression literal whose leading '/' or '/=', starting at `start`, has already been
+    // consumed as a punctuator. The token covers the whole literal, from that leading '/'.
     @Nonnull
-    protected RegularExpressionLiteralToken scanRegExp(String str) throws JsError {
-        int start = this.index;
+    protected RegularExpressionLiteralToken scanRegExp(int start) throws JsError {
         boolean terminated = false;
         boolean classMarker = false;
         while (this.index < this.source.length()) {
             char ch = this.source.charAt(this.index);
             if (ch == '\\') {
-                str += ch;
                 this.index++;
-                ch = this.source.charAt(this.index);
-                if (Utils.isLineTerminator(ch)) {
+                if (this.index >= this.source.length() || Utils.isLineTerminator(this.source.charAt(this.index))) {
                     throw this.createError(ErrorMessages.UNTERMINATED_REGEXP);
                 }
-                str += ch;
                 this.index++;
             } else if (Utils.isLineTerminator(ch)) {
                 throw this.createError(ErrorMessages.UNTERMINATED_REGEXP);
@@ -634,14 +623,12 @@ public class Tokenizer {
                 } else {
                     if (ch == '/') {
                         terminated = true;
-                        str += ch;
                         this.index++;
                         break;
                     } else if (ch == '[') {
                         classMarker = true;
                     }
                 }
-                str += ch;
                 this.index++;
             }
         }
@@ -649,6 +636,7 @@ public class Tokenizer {
         if (!terminated) {
             throw this.createError(ErrorMessages.UNTERMINATED_REGEXP);
         }
+        int closingSlash = this.index - 1 - start;
 
         while (this.index < this.source.length()) {
             char ch = this.source.charAt(this.index);
@@ -659,9 +647,8 @@ public class Tokenizer {
                 break;
             }
             this.index++;
-            str += ch;
         }
-        return new RegularExpressionLiteralToken(this.getSlice(start), str);
+        return new RegularExpressionLiteralToken(this.getSlice(start), closingSlash);
     }
 
     private int scanHexEscape2() {
@@ -680,57 +667,55 @@ public class Tokenizer {
         return r1 << 4 | r2;
     }
 
-    @Nonnull
-    private Pair<CharSequence, Boolean> getIdentifier() throws JsError {
-        int start = this.index;
+    // Scans an identifier without escapes or surrogate pairs and returns the index after it, or returns -1 and consumes
+    // nothing if it contains either.
+    private int getIdentifierEnd() {
         int l = this.source.length();
         int i = this.index;
-        Function<Integer, Boolean> check = Utils::isIdentifierStart;
+        char ch = this.source.charAt(i);
+        if (ch == '\\' || 0xD800 <= ch && ch <= 0xDBFF || !Utils.isIdentifierStart(ch)) {
+            return -1;
+        }
+        ++i;
         while (i < l) {
-            char ch = this.source.charAt(i);
-            int code = (int) ch;
-            if (ch == '\\' || 0xD800 <= code && code <= 0xDBFF) {
-                // Go back and try the hard one.
-                this.index = start;
-                return Pair.of(this.getEscapedIdentifier(), true);
+            ch = this.source.charAt(i);
+            if (ch == '\\' || 0xD800 <= ch && ch <= 0xDBFF) {
+                return -1;
             }
-            if (!check.apply(code)) {
-                this.index = i;
-                return Pair.of(this.source.subSequence(start, i), false);
+            if (!Utils.isIdentifierPart(ch)) {
+                break;
             }
             ++i;
-            check = Utils::isIdentifierPart;
         }
         this.index = i;
-        return Pair.of(this.source.subSequence(start, i), false);
+        return i;
     }
 
     @Nonnull
     private Token scanIdentifier() throws JsError {
         int start = this.index;
 
-        boolean escaped = this.source.charAt(this.index) == '\\';
-
-        // Backslash (U+005C) starts an escaped character.
-        CharSequence id;
-        if (escaped) {
-            id = this.getEscapedIdentifier();
-        } else {
-            Pair<CharSequence, Boolean> pair = this.getIdentifier();
-            id = pair.left;
-            escaped = pair.right;
+        // The common case: the name is exactly the source text, so the token refers to the source instead of a copy.
+        if (this.getIdentifierEnd() >= 0) {
+            SourceRange slice = this.getSlice(start);
+            TokenType subType = this.getKeyword(this.source, start, slice.length());
+            if (subType == TokenType.IDENTIFIER) {
+                return new IdentifierToken(slice, slice, false);
+            }
+            return new KeywordToken(subType, slice, slice);
         }
 
+        // Backslash (U+005C) starts an escaped character. Identifiers containing surrogate pairs are also decoded here
+        // and are reported as escaped.
+        CharSequence id = this.getEscapedIdentifier();
         SourceRange slice = this.getSlice(start);
 
-        TokenType subType = this.getKeyword(id);
+        String name = id.toString();
+        TokenType subType = this.getKeyword(name, 0, name.length());
         if (subType == TokenType.IDENTIFIER) {
-            return new IdentifierToken(slice, id, escaped);
-        } else if (escaped) {
-            return new KeywordToken(TokenType.ESCAPED_KEYWORD, slice, id);
-        } else {
-            return new KeywordToken(subType, slice, id);
+            return new IdentifierToken(slice, name, true);
         }
+        return new KeywordToken(TokenType.ESCAPED_KEYWORD, slice, name);
     }
 
     @Nonnull
@@ -852,6 +837,19 @@ public class Tokenizer {
         return ONE_CHAR_PUNCTUATOR[ch1];
     }
 
+    // Consumes the punctuator at the current index without allocating a token for it. Returns null and consumes
+    // nothing if the next token is not a punctuator.
+    @Nullable
+    protected TokenType skipPunctuator() {
+        char ch = this.source.charAt(this.index);
+        if (ch < 0x80 && PUNCTUATOR_START[ch] || ch == '.' && !(this.index + 1 < this.source.length() && Utils.isDecimalDigit(this.source.charAt(this.index + 1)))) {
+            TokenType subType = this.scanPunctuatorHelper();
+            this.index += subType.toString().length();
+            return subType;
+        }
+        return null;
+    }
+
     // 7.7 Punctuators
     @Nonnull
     private Token scanPunctuator() {
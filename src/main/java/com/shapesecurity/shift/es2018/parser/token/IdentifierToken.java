@@ -23,8 +23,9 @@ import javax.annotation.Nonnull;
 
 public class IdentifierToken extends IdentifierLikeToken {
 
+    // usually the token's slice of the source; replaced by its String value the first time it is requested
     @Nonnull
-    private final CharSequence name;
+    private CharSequence name;
     public final boolean escaped;
 
     public IdentifierToken(@Nonnull SourceRange slice, @Nonnull CharSequence name, boolean escaped) {
@@ -36,6 +37,8 @@ public class IdentifierToken extends IdentifierLikeToken {
     @Override
     @Nonnull
     public String toString() {
-        return String.valueOf(this.name);
+        String name = String.valueOf(this.name);
+        this.name = name;
+        return name;
     }
 }
@@ -23,17 +23,43 @@ import com.shapesecurity.shift.es2018.parser.TokenType;
 import javax.annotation.Nonnull;
 
 public class RegularExpressionLiteralToken extends Token {
+    // the whole literal, from the opening '/' to the end of the flags
     @Nonnull
-    private final String value;
+    private final CharSequence literal;
+    // offset of the closing '/' within the literal
+    private final int closingSlash;
 
+    public RegularExpressionLiteralToken(@Nonnull SourceRange slice, int closingSlash) {
+        super(TokenType.REGEXP, slice);
+        this.literal = slice;
+        this.closingSlash = closingSlash;
+    }
+
+    /**
+     * @deprecated the token's slice now covers the whole literal, so the value need not be given separately; use
+     * {@link #RegularExpressionLiteralToken(SourceRange, int)}
+     */
+    @Deprecated
     public RegularExpressionLiteralToken(@Nonnull SourceRange slice, @Nonnull String value) {
         super(TokenType.REGEXP, slice);
-        this.value = value;
+        this.literal = value;
+        this.closingSlash = value.lastIndexOf('/');
     }
 
     @Nonnull
     @Override
     public String getValueString() {
-        return this.value;
+        return this.literal.toString();
+    }
+
+    // the source between the slashes
+    @Nonnull
+    public CharSequence getPattern() {
+        return this.literal.subSequence(1, this.closingSlash);
+    }
+
+    @Nonnull
+    public CharSequence getFlags() {
+        return this.literal.subSequence(this.closingSlash + 1, this.literal.length());
     }
 }
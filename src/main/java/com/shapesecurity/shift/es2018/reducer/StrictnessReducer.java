@@ -40,7 +40,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceArrowExpression(@Nonnull ArrowExpression node, @Nonnull ImmutableSet<Node> params, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceArrowExpression(node, params, body);
-        if ((node.body instanceof FunctionBody) && hasStrict(((FunctionBody) node.body).directives)) {
+        if ((node.body instanceof FunctionBody) && hasStrict(((FunctionBody) node.body).resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
@@ -63,7 +63,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceFunctionDeclaration(@Nonnull FunctionDeclaration node, @Nonnull ImmutableSet<Node> name, @Nonnull ImmutableSet<Node> params, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceFunctionDeclaration(node, name, params, body);
-        if (hasStrict((node.body).directives)) {
+        if (hasStrict(node.body.resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
@@ -73,7 +73,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceFunctionExpression(@Nonnull FunctionExpression node, @Nonnull Maybe<ImmutableSet<Node>> name, @Nonnull ImmutableSet<Node> params, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceFunctionExpression(node, name, params, body);
-        if (hasStrict((node.body).directives)) {
+        if (hasStrict(node.body.resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
@@ -83,7 +83,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceGetter(@Nonnull Getter node, @Nonnull ImmutableSet<Node> name, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceGetter(node, name, body);
-        if (hasStrict((node.body).directives)) {
+        if (hasStrict(node.body.resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
@@ -93,7 +93,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceMethod(@Nonnull Method node, @Nonnull ImmutableSet<Node> name, @Nonnull ImmutableSet<Node> params, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceMethod(node, name, params, body);
-        if (hasStrict((node.body).directives)) {
+        if (hasStrict(node.body.resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
@@ -113,7 +113,7 @@ public class StrictnessReducer extends MonoidalReducer<ImmutableSet<Node>> {
     @Override
     public ImmutableSet<Node> reduceSetter(@Nonnull Setter node, @Nonnull ImmutableSet<Node> name, @Nonnull ImmutableSet<Node> param, @Nonnull ImmutableSet<Node> body) {
         ImmutableSet<Node> state = super.reduceSetter(node, name, param, body);
-        if (hasStrict((node.body).directives)) {
+        if (hasStrict(node.body.resolve().directives)) {
             return this.monoidClass.identity();
         }
         return state.put(node);
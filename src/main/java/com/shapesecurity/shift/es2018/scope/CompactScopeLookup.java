@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.scope;
+
+import com.shapesecurity.functional.Pair;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetIdentifier;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.ClassDeclaration;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.parser.ParserWithCompactLocation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * Answers the same queries as {@link ScopeLookup} for a tree parsed by a {@link ParserWithCompactLocation}, using the
+ * ids that parser gave its nodes. Variables and scopes are numbered, and each query is answered from an int array
+ * indexed by node id, in which 0 means there is no answer and any other value is one more than the number of the
+ * variable or scope.
+ *
+ * The parser must not have parsed anything else since the tree was parsed.
+ */
+public class CompactScopeLookup {
+    @Nonnull
+    private final ParserWithCompactLocation ids;
+    @Nonnull
+    private final GlobalScope globalScope;
+    @Nonnull
+    private final ArrayList<Variable> variables = new ArrayList<>();
+    @Nonnull
+    private final ArrayList<Scope> scopes = new ArrayList<>();
+    @Nonnull
+    private final int[] declaredBy;
+    // the second variable declared by the name of a function (under B.3.3) or class declaration, if any
+    @Nullable
+    private int[] alsoDeclaredBy = null;
+    @Nonnull
+    private final int[] referencedBy;
+    @Nonnull
+    private final int[] scopeFor; // the *outermost* scope associated with each node
+
+    public CompactScopeLookup(@Nonnull GlobalScope globalScope, @Nonnull ParserWithCompactLocation ids) {
+        this.ids = ids;
+        this.globalScope = globalScope;
+        int nodeCount = ids.getNodeCount();
+        this.declaredBy = new int[nodeCount];
+        this.referencedBy = new int[nodeCount];
+        this.scopeFor = new int[nodeCount];
+        this.scopeHelper(globalScope);
+    }
+
+    private void scopeHelper(@Nonnull Scope scope) {
+        scope.children.forEach(this::scopeHelper); // as in ScopeLookup, the answers depend on this occurring first
+        for (Variable v : scope.variables()) {
+            this.variableHelper(v);
+        }
+        int id = this.ids.getNodeId(scope.astNode);
+        if (id >= 0) {
+            this.scopes.add(scope);
+            this.scopeFor[id] = this.scopes.size();
+        }
+    }
+
+    private void variableHelper(@Nonnull Variable variable) {
+        this.variables.add(variable);
+        int index = this.variables.size();
+        for (Declaration decl : variable.declarations) {
+            int id = this.ids.getNodeId(decl.node);
+            if (id < 0) {
+                continue;
+            }
+            if (this.declaredBy[id] == 0) {
+                this.declaredBy[id] = index;
+            } else {
+                if (this.alsoDeclaredBy == null) {
+                    this.alsoDeclaredBy = new int[this.declaredBy.length];
+                }
+                this.alsoDeclaredBy[id] = index;
+            }
+        }
+        for (Reference ref : variable.references) {
+            int id = this.ids.getNodeId(ref.node);
+            if (id >= 0) {
+                this.referencedBy[id] = index;
+            }
+        }
+    }
+
+    @Nullable
+    private Variable lookup(@Nullable int[] table, @Nonnull Node node) {
+        int id = this.ids.getNodeId(node);
+        if (table == null || id < 0 || id >= table.length || table[id] == 0) {
+            return null;
+        }
+        return this.variables.get(table[id] - 1);
+    }
+
+    @Nonnull
+    public Maybe<Variable> findVariableDeclaredBy(@Nonnull BindingIdentifier bindingIdentifier) { // NB: as ScopeLookup, returns the lexical binding of a function declaration and the class-local binding of a class declaration.
+        return Maybe.fromNullable(this.lookup(this.declaredBy, bindingIdentifier));
+    }
+
+    @Nonnull
+    public Variable findVariableReferencedBy(@Nonnull AssignmentTargetIdentifier assignmentTargetIdentifier) {
+        Variable v = this.lookup(this.referencedBy, assignmentTargetIdentifier);
+        if (v == null) {
+            throw new NoSuchElementException("AssignmentTargetIdentifier not present in AST");
+        }
+        return v;
+    }
+
+    @Nonnull
+    public Maybe<Variable> findVariableReferencedBy(@Nonnull BindingIdentifier bindingIdentifier) {
+        return Maybe.fromNullable(this.lookup(this.referencedBy, bindingIdentifier));
+    }
+
+    @Nonnull
+    public Variable findVariableReferencedBy(@Nonnull IdentifierExpression identifierExpression) {
+        Variable v = this.lookup(this.referencedBy, identifierExpression);
+        if (v == null) {
+            throw new NoSuchElementException("IdentifierExpression not present in AST");
+        }
+        return v;
+    }
+
+    // See ScopeLookup.findVariablesForFuncDecl. Returns (lexical, variable)
+    @Nonnull
+    public Pair<Variable, Maybe<Variable>> findVariablesForFuncDecl(@Nonnull final FunctionDeclaration func) {
+        if (func.name.name.equals("*default*")) {
+            throw new IllegalArgumentException("Can't lookup default exports");
+        }
+        Variable v = this.lookup(this.declaredBy, func.name);
+        if (v == null) {
+            throw new NoSuchElementException("Function declaration present in AST");
+        }
+        return new Pair<>(v, Maybe.fromNullable(this.lookup(this.alsoDeclaredBy, func.name)));
+    }
+
+    // Class declarations always create two variables. This function returns both: (class-local, outer).
+    @Nonnull
+    public Pair<Variable, Variable> findVariablesForClassDecl(@Nonnull final ClassDeclaration cl) {
+        if (cl.name.name.equals("*default*")) {
+            throw new IllegalArgumentException("Can't lookup default exports");
+        }
+        Variable local = this.lookup(this.declaredBy, cl.name);
+        Variable outer = this.lookup(this.alsoDeclaredBy, cl.name);
+        if (local == null || outer == null) {
+            throw new NoSuchElementException("Class declaration not present in AST");
+        }
+        return new Pair<>(local, outer);
+    }
+
+    public boolean isGlobal(@Nonnull Variable variable) {
+        Maybe<Variable> global = this.globalScope.lookupVariable(variable.name);
+        return global.isJust() && global.fromJust() == variable;
+    }
+
+    @Nonnull
+    public Maybe<Scope> findScopeFor(@Nonnull Node node) {
+        int id = this.ids.getNodeId(node);
+        if (id < 0 || id >= this.scopeFor.length || this.scopeFor[id] == 0) {
+            return Maybe.empty();
+        }
+        return Maybe.of(this.scopes.get(this.scopeFor[id] - 1));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.scope;
+
+import com.shapesecurity.functional.Pair;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.AssignmentTargetIdentifier;
+import com.shapesecurity.shift.es2018.ast.BindingIdentifier;
+import com.shapesecurity.shift.es2018.ast.ClassDeclaration;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Answers the same queries as {@link ScopeLookup}, but builds nothing up front. A variable can only be referenced or
+ * declared by identifiers with its name, so the first query about an identifier indexes the variables of that name
+ * only. The scopes are indexed by node the first time {@link #findScopeFor} is called.
+ */
+public class LazyScopeLookup {
+    @Nonnull
+    private final GlobalScope globalScope;
+    // all scopes, each after its children, as ScopeLookup visits them
+    @Nullable
+    private List<Scope> scopes = null;
+    @Nonnull
+    private final Set<String> indexedNames = new HashSet<>();
+    @Nonnull
+    private final Map<BindingIdentifier, Variable> bindingIdentifierDeclarationCache = new IdentityHashMap<>();
+    @Nonnull
+    private final Map<Node, Variable> referenceCache = new IdentityHashMap<>(); // reference node to referenced variable
+    @Nonnull
+    private final Map<BindingIdentifier, Pair<Variable, Maybe<Variable>>> functionDeclarationCache = new IdentityHashMap<>();
+    @Nullable
+    private Map<Node, Scope> nodeScopeCache = null; // node to the *outermost* scope associated with it
+
+    public LazyScopeLookup(@Nonnull GlobalScope globalScope) {
+        this.globalScope = globalScope;
+    }
+
+    @Nonnull
+    private List<Scope> scopes() {
+        if (this.scopes == null) {
+            this.scopes = new ArrayList<>();
+            addScopes(this.globalScope, this.scopes);
+        }
+        return this.scopes;
+    }
+
+    private static void addScopes(@Nonnull Scope scope, @Nonnull List<Scope> scopes) {
+        scope.children.forEach(child -> addScopes(child, scopes));
+        scopes.add(scope);
+    }
+
+    private void index(@Nonnull String name) {
+        if (!this.indexedNames.add(name)) {
+            return;
+        }
+        for (Scope scope : this.scopes()) {
+            Maybe<Variable> maybeVariable = scope.lookupVariable(name);
+            if (maybeVariable.isNothing()) {
+                continue;
+            }
+            Variable variable = maybeVariable.fromJust();
+            for (Declaration decl : variable.declarations) {
+                Variable existing = this.bindingIdentifierDeclarationCache.get(decl.node);
+                if (existing != null) {
+                    this.functionDeclarationCache.put(decl.node, new Pair<>(existing, Maybe.of(variable)));
+                } else {
+                    this.bindingIdentifierDeclarationCache.put(decl.node, variable);
+                }
+            }
+            for (Reference ref : variable.references) {
+                this.referenceCache.put(ref.node, variable);
+            }
+        }
+    }
+
+    @Nonnull
+    public Maybe<Variable> findVariableDeclaredBy(@Nonnull BindingIdentifier bindingIdentifier) { // NB: as ScopeLookup, returns the lexical binding of a function declaration and the class-local binding of a class declaration.
+        this.index(bindingIdentifier.name);
+        return Maybe.fromNullable(this.bindingIdentifierDeclarationCache.get(bindingIdentifier));
+    }
+
+    @Nonnull
+    public Variable findVariableReferencedBy(@Nonnull AssignmentTargetIdentifier assignmentTargetIdentifier) {
+        this.index(assignmentTargetIdentifier.name);
+        Variable v = this.referenceCache.get(assignmentTargetIdentifier);
+        if (v == null) {
+            throw new NoSuchElementException("AssignmentTargetIdentifier not present in AST");
+        }
+        return v;
+    }
+
+    @Nonnull
+    public Maybe<Variable> findVariableReferencedBy(@Nonnull BindingIdentifier bindingIdentifier) {
+        this.index(bindingIdentifier.name);
+        return Maybe.fromNullable(this.referenceCache.get(bindingIdentifier));
+    }
+
+    @Nonnull
+    public Variable findVariableReferencedBy(@Nonnull IdentifierExpression identifierExpression) {
+        this.index(identifierExpression.name);
+        Variable v = this.referenceCache.get(identifierExpression);
+        if (v == null) {
+            throw new NoSuchElementException("IdentifierExpression not present in AST");
+        }
+        return v;
+    }
+
+    // See ScopeLookup.findVariablesForFuncDecl. Returns (lexical, variable)
+    @Nonnull
+    public Pair<Variable, Maybe<Variable>> findVariablesForFuncDecl(@Nonnull final FunctionDeclaration func) {
+        if (func.name.name.equals("*default*")) {
+            throw new IllegalArgumentException("Can't lookup default exports");
+        }
+        this.index(func.name.name);
+        Pair<Variable, Maybe<Variable>> vs = this.functionDeclarationCache.get(func.name);
+        if (vs != null) {
+            return vs;
+        }
+        Variable v = this.bindingIdentifierDeclarationCache.get(func.name);
+        if (v == null) {
+            throw new NoSuchElementException("Function declaration present in AST");
+        }
+        return new Pair<>(v, Maybe.empty());
+    }
+
+    // Class declarations always create two variables. This function returns both: (class-local, outer).
+    @Nonnull
+    public Pair<Variable, Variable> findVariablesForClassDecl(@Nonnull final ClassDeclaration cl) {
+        if (cl.name.name.equals("*default*")) {
+            throw new IllegalArgumentException("Can't lookup default exports");
+        }
+        this.index(cl.name.name);
+        Pair<Variable, Maybe<Variable>> vs = this.functionDeclarationCache.get(cl.name);
+        if (vs == null) {
+            throw new NoSuchElementException("Class declaration not present in AST");
+        }
+        return new Pair<>(vs.left(), vs.right().fromJust());
+    }
+
+    public boolean isGlobal(@Nonnull Variable variable) {
+        Maybe<Variable> global = this.globalScope.lookupVariable(variable.name);
+        return global.isJust() && global.fromJust() == variable;
+    }
+
+    @Nonnull
+    public Maybe<Scope> findScopeFor(@Nonnull Node node) {
+        if (this.nodeScopeCache == null) {
+            this.nodeScopeCache = new IdentityHashMap<>();
+            for (Scope scope : this.scopes()) {
+                this.nodeScopeCache.put(scope.astNode, scope);
+            }
+        }
+        return Maybe.fromNullable(this.nodeScopeCache.get(node));
+    }
+}
@@ -0,0 +1,982 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.scope;
+
+import com.shapesecurity.functional.F2;
+import com.shapesecurity.functional.data.HashTable;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.functional.data.Monoid;
+import com.shapesecurity.functional.data.NonEmptyImmutableList;
+import com.shapesecurity.shift.es2018.ast.*;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import com.shapesecurity.shift.es2018.reducer.MonoidalReducer;
+import com.shapesecurity.shift.es2018.reducer.Thunked;
+import com.shapesecurity.shift.es2018.reducer.ThunkedDirector;
+import com.shapesecurity.shift.es2018.reducer.WrappedThunkedReducer;
+import com.shapesecurity.shift.es2018.scope.Declaration.Kind;
+import com.shapesecurity.shift.es2018.scope.MutableScopeAnalyzer.State;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Computes the same scope tree as {@link ScopeAnalyzer}, but accumulates each subtree's free identifiers and
+ * declarations in mutable maps which are merged in place, instead of merging persistent tables at every node. The
+ * public immutable types are only built when a scope is finished.
+ *
+ * The order of the references and declarations of each variable, and of the children of each scope, is that of
+ * {@link ScopeAnalyzer}.
+ *
+ * Scripts are reduced through a {@link StrictnessTracker}, which works out top-down whether each function is strict
+ * as the tree is walked, rather than collecting the sloppy functions with a separate {@link
+ * com.shapesecurity.shift.es2018.reducer.StrictnessReducer} pass.
+ *
+ * After one subtree of a program has been replaced, {@link #reanalyze} reduces only the subtrees which may have
+ * changed, through a {@link Reuser}, and takes the state of each other function from the scope it had before.
+ */
+final class MutableScopeAnalyzer extends MonoidalReducer<State> {
+    // whether the innermost function, class, or program around the node being reduced is strict
+    private boolean strict;
+
+    private MutableScopeAnalyzer(boolean strict) {
+        super(new StateMonoid());
+        this.strict = strict;
+    }
+
+    @Nonnull
+    static GlobalScope analyze(@Nonnull Script script) {
+        return ThunkedDirector.reduceScript(new StrictnessTracker(new MutableScopeAnalyzer(false)), script).globalScope();
+    }
+
+    @Nonnull
+    static GlobalScope analyze(@Nonnull Module module) {
+        // modules are always strict
+        return Director.reduceModule(new MutableScopeAnalyzer(true), module).globalScope();
+    }
+
+    @Nonnull
+    static GlobalScope reanalyze(@Nonnull GlobalScope globalScope, @Nonnull Program program, @Nonnull Node oldRoot, @Nonnull Node newRoot) {
+        if (newRoot instanceof Program || StrictnessTracker.makesStrict(oldRoot) != StrictnessTracker.makesStrict(newRoot)) {
+            // the strictness of the functions around the new subtree, and so of the functions beside it, may have changed
+            return program instanceof Script ? analyze((Script) program) : analyze((Module) program);
+        }
+        return new Reuser(globalScope, newRoot, program instanceof Module).reduce(program).globalScope();
+    }
+
+    @Nonnull
+    private State finishFunction(@Nonnull Node fnNode, @Nonnull State params, @Nonnull State body) {
+        boolean isArrowFn = fnNode instanceof ArrowExpression;
+        Scope.Type fnType = isArrowFn ? Scope.Type.ArrowFunction : Scope.Type.Function;
+        if (params.hasParameterExpressions) {
+            params.hasParameterExpressions = false; // no need to pass that information on
+            return params.append(body.finish(fnNode, fnType, !isArrowFn, !this.strict)).finish(fnNode, Scope.Type.Parameters);
+        } else {
+            return params.append(body).finish(fnNode, fnType, !isArrowFn, !this.strict);
+        }
+    }
+
+    @Nonnull
+    // get the names of functions declared in the statement list, last first
+    private static ImmutableList<BindingIdentifier> getFunctionDeclarations(@Nonnull Iterable<Statement> statements) {
+        ImmutableList<BindingIdentifier> potentiallyVarScopedFunctionDeclarations = ImmutableList.empty();
+        for (Statement statement : statements) {
+            if (statement instanceof FunctionDeclaration) {
+                potentiallyVarScopedFunctionDeclarations = potentiallyVarScopedFunctionDeclarations.cons(((FunctionDeclaration) statement).name);
+            }
+        }
+        return potentiallyVarScopedFunctionDeclarations;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceArrowExpression(@Nonnull ArrowExpression node, @Nonnull State params, @Nonnull State body) {
+        return finishFunction(node, params, body);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceAssignmentExpression(@Nonnull AssignmentExpression node, @Nonnull State binding, @Nonnull State expression) {
+        return super.reduceAssignmentExpression(node, binding.addReferences(Accessibility.Write, false), expression);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceAssignmentTargetIdentifier(@Nonnull AssignmentTargetIdentifier node) {
+        State s = new State();
+        s.atsForParent = new ArrayList<>(1);
+        s.atsForParent.add(node);
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceBindingIdentifier(@Nonnull BindingIdentifier node) {
+        State s = new State();
+        if (!node.name.equals("*default*")) {
+            s.bindingsForParent = new ArrayList<>(1);
+            s.bindingsForParent.add(node);
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceBindingPropertyIdentifier(@Nonnull BindingPropertyIdentifier node, @Nonnull State binding, @Nonnull Maybe<State> init) {
+        State s = super.reduceBindingPropertyIdentifier(node, binding, init);
+        if (init.isJust()) {
+            return s.withParameterExpressions();
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceBindingWithDefault(@Nonnull BindingWithDefault node, @Nonnull State binding, @Nonnull State init) {
+        return super.reduceBindingWithDefault(node, binding, init).withParameterExpressions();
+    }
+
+    @Nonnull
+    @Override
+    public State reduceBlock(@Nonnull Block node, @Nonnull ImmutableList<State> statements) {
+        return super.reduceBlock(node, statements).addPotentialVarFunctions(getFunctionDeclarations(node.statements)).finish(node, Scope.Type.Block);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceCallExpression(@Nonnull CallExpression node, @Nonnull State callee, @Nonnull ImmutableList<State> arguments) {
+        State s = super.reduceCallExpression(node, callee, arguments);
+        if (node.callee instanceof IdentifierExpression && ((IdentifierExpression) node.callee).name.equals("eval")) {
+            return s.taint();
+        }
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceCatchClause(@Nonnull CatchClause node, @Nonnull State binding, @Nonnull State body) {
+        return super.reduceCatchClause(node, binding.addDeclarations(Kind.CatchParameter, false), body).finish(node, Scope.Type.Catch);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceClassDeclaration(@Nonnull ClassDeclaration node, @Nonnull State name, @Nonnull Maybe<State> _super, @Nonnull ImmutableList<State> elements) {
+        // the name is declared both inside the class and outside it, but its state is merged into the former
+        State outer = new State();
+        if (name.bindingsForParent != null) {
+            outer.bindingsForParent = new ArrayList<>(name.bindingsForParent);
+        }
+        State s = super.reduceClassDeclaration(node, name, _super, elements).addDeclarations(Kind.ClassName, false).finish(node, Scope.Type.ClassName);
+        return s.append(outer.addDeclarations(Kind.ClassDeclaration, false));
+    }
+
+    @Nonnull
+    @Override
+    public State reduceClassExpression(@Nonnull ClassExpression node, @Nonnull Maybe<State> name, @Nonnull Maybe<State> _super, @Nonnull ImmutableList<State> elements) {
+        return super.reduceClassExpression(node, name, _super, elements).addDeclarations(Kind.ClassName, false).finish(node, Scope.Type.ClassName);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceCompoundAssignmentExpression(@Nonnull CompoundAssignmentExpression node, @Nonnull State binding, @Nonnull State expression) {
+        return super.reduceCompoundAssignmentExpression(node, binding.addReferences(Accessibility.ReadWrite, false), expression);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceComputedMemberExpression(@Nonnull ComputedMemberExpression node, @Nonnull State object, @Nonnull State expression) {
+        return super.reduceComputedMemberExpression(node, object, expression).withParameterExpressions();
+    }
+
+    @Nonnull
+    @Override
+    public State reduceForInStatement(@Nonnull ForInStatement node, @Nonnull State left, @Nonnull State right, @Nonnull State body) {
+        return super.reduceForInStatement(node, left.addReferences(Accessibility.Write, false), right, body).finish(node, Scope.Type.Block);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceForOfStatement(@Nonnull ForOfStatement node, @Nonnull State left, @Nonnull State right, @Nonnull State body) {
+        return super.reduceForOfStatement(node, left.addReferences(Accessibility.Write, false), right, body).finish(node, Scope.Type.Block);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceForStatement(@Nonnull ForStatement node, @Nonnull Maybe<State> init, @Nonnull Maybe<State> test, @Nonnull Maybe<State> update, @Nonnull State body) {
+        return super.reduceForStatement(node, init.map(State::withoutBindingsForParent), test, update, body).finish(node, Scope.Type.Block);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceFormalParameters(@Nonnull FormalParameters node, @Nonnull ImmutableList<State> items, @Nonnull Maybe<State> rest) {
+        State s = rest.orJust(State.EMPTY);
+        Iterator<Parameter> itemNodes = node.items.iterator();
+        for (State item : items) {
+            Node itemNode = itemNodes.next();
+            s = s.append(item.hasParameterExpressions ? item.finish(itemNode, Scope.Type.ParameterExpression) : item);
+        }
+        return s.addDeclarations(Kind.Parameter, false);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceFunctionDeclaration(@Nonnull FunctionDeclaration node, @Nonnull State name, @Nonnull State params, @Nonnull State body) {
+        return name.append(finishFunction(node, params, body)).addFunctionDeclaration();
+    }
+
+    @Nonnull
+    @Override
+    public State reduceFunctionExpression(@Nonnull FunctionExpression node, @Nonnull Maybe<State> name, @Nonnull State params, @Nonnull State body) {
+        State primary = finishFunction(node, params, body);
+        if (name.isJust()) {
+            return name.fromJust().append(primary).addDeclarations(Kind.FunctionExpressionName, false).finish(node, Scope.Type.FunctionName);
+        } else {
+            return primary; // per spec, no function name scope is created for unnamed expressions.
+        }
+    }
+
+    @Nonnull
+    @Override
+    public State reduceGetter(@Nonnull Getter node, @Nonnull State name, @Nonnull State body) {
+        // variables defined in body are not in scope when evaluating name (which may be computed)
+        return name.append(body.finish(node, Scope.Type.Function, true, !this.strict));
+    }
+
+    @Nonnull
+    @Override
+    public State reduceIdentifierExpression(@Nonnull IdentifierExpression node) {
+        State s = new State();
+        s.freeIdentifiers = new HashMap<>(2);
+        s.freeIdentifiers.put(node.name, singleton(new Reference(node)));
+        return s;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceIfStatement(@Nonnull IfStatement node, @Nonnull State test, @Nonnull State consequent, @Nonnull Maybe<State> alternate) {
+        ImmutableList<Statement> statements = ImmutableList.of(node.consequent);
+        if (node.alternate.isJust()) {
+            statements = statements.cons(node.alternate.fromJust());
+        }
+        return super.reduceIfStatement(node, test, consequent, alternate).addPotentialVarFunctions(getFunctionDeclarations(statements));
+    }
+
+    @Nonnull
+    @Override
+    public State reduceImport(@Nonnull Import node, @Nonnull Maybe<State> defaultBinding, @Nonnull ImmutableList<State> namedImports) {
+        return super.reduceImport(node, defaultBinding, namedImports).addDeclarations(Kind.Import, false);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceImportNamespace(@Nonnull ImportNamespace node, @Nonnull Maybe<State> defaultBinding, @Nonnull State namespaceBinding) {
+        return super.reduceImportNamespace(node, defaultBinding, namespaceBinding).addDeclarations(Kind.Import, false);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceMethod(@Nonnull Method node, @Nonnull State name, @Nonnull State params, @Nonnull State body) {
+        return name.append(finishFunction(node, params, body));
+    }
+
+    @Nonnull
+    @Override
+    public State reduceModule(@Nonnull Module node, @Nonnull ImmutableList<State> directives, @Nonnull ImmutableList<State> statements) {
+        return super.reduceModule(node, directives, statements).finish(node, Scope.Type.Module);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceScript(@Nonnull Script node, @Nonnull ImmutableList<State> directives, @Nonnull ImmutableList<State> statements) {
+        return super.reduceScript(node, directives, statements).finish(node, Scope.Type.Script);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceSetter(@Nonnull Setter node, @Nonnull State name, @Nonnull State param, @Nonnull State body) {
+        param = param.hasParameterExpressions ? param.finish(node, Scope.Type.ParameterExpression) : param;
+        return name.append(finishFunction(node, param.addDeclarations(Kind.Parameter, false), body));
+    }
+
+    @Nonnull
+    @Override
+    public State reduceSwitchStatement(@Nonnull SwitchStatement node, @Nonnull State discriminant, @Nonnull ImmutableList<State> cases) {
+        ArrayList<Statement> statements = new ArrayList<>();
+        for (SwitchCase switchCase : node.cases) {
+            switchCase.consequent.forEach(statements::add);
+        }
+        return this.fold(cases).finish(node, Scope.Type.Block).addPotentialVarFunctions(getFunctionDeclarations(statements)).append(discriminant);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceSwitchStatementWithDefault(@Nonnull SwitchStatementWithDefault node, @Nonnull State discriminant, @Nonnull ImmutableList<State> preDefaultCases, @Nonnull State defaultCase, @Nonnull ImmutableList<State> postDefaultCases) {
+        ArrayList<Statement> statements = new ArrayList<>();
+        for (SwitchCase switchCase : node.preDefaultCases) {
+            switchCase.consequent.forEach(statements::add);
+        }
+        node.defaultCase.consequent.forEach(statements::add);
+        for (SwitchCase switchCase : node.postDefaultCases) {
+            switchCase.consequent.forEach(statements::add);
+        }
+        State casesState = this.append(this.fold(preDefaultCases), defaultCase, this.fold(postDefaultCases));
+        return casesState.finish(node, Scope.Type.Block).addPotentialVarFunctions(getFunctionDeclarations(statements)).append(discriminant);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceUpdateExpression(@Nonnull UpdateExpression node, @Nonnull State operand) {
+        // no-op if operand is a member expression (which will have no bindingsForParent)
+        return operand.addReferences(Accessibility.ReadWrite, false);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceVariableDeclaration(@Nonnull VariableDeclaration node, @Nonnull ImmutableList<State> declarators) {
+        // passes bindingsForParent up, for for-in and for-of to add their write-references
+        return super.reduceVariableDeclaration(node, declarators).addDeclarations(Kind.fromVariableDeclarationKind(node.kind), true);
+    }
+
+    @Nonnull
+    @Override
+    public State reduceVariableDeclarationStatement(@Nonnull VariableDeclarationStatement node, @Nonnull State declaration) {
+        return declaration.withoutBindingsForParent();
+    }
+
+    @Nonnull
+    @Override
+    public State reduceVariableDeclarator(@Nonnull VariableDeclarator node, @Nonnull State binding, @Nonnull Maybe<State> init) {
+        State res = super.reduceVariableDeclarator(node, binding, init);
+        if (init.isJust()) {
+            // passes bindingsForParent up, for variableDeclaration to add the appropriate type of declaration
+            return res.addReferences(Accessibility.Write, true);
+        }
+        return res;
+    }
+
+    @Nonnull
+    @Override
+    public State reduceWithStatement(@Nonnull WithStatement node, @Nonnull State object, @Nonnull State body) {
+        return super.reduceWithStatement(node, object, body.finish(node, Scope.Type.With));
+    }
+
+    @Nonnull
+    private static <T> ArrayDeque<T> singleton(@Nonnull T value) {
+        ArrayDeque<T> list = new ArrayDeque<>(1);
+        list.add(value);
+        return list;
+    }
+
+    // `first` followed by `second`, reusing whichever of the two is longer
+    @Nonnull
+    private static <T> ArrayDeque<T> concat(@Nonnull ArrayDeque<T> first, @Nonnull ArrayDeque<T> second) {
+        if (first.size() >= second.size()) {
+            first.addAll(second);
+            return first;
+        }
+        for (Iterator<T> it = first.descendingIterator(); it.hasNext(); ) {
+            second.addFirst(it.next());
+        }
+        return second;
+    }
+
+    // the lists of `a` followed by those of `b` for each name, reusing whichever of the two maps is larger
+    @Nullable
+    private static <T> HashMap<String, ArrayDeque<T>> merge(@Nullable HashMap<String, ArrayDeque<T>> a, @Nullable HashMap<String, ArrayDeque<T>> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.size() >= b.size()) {
+            for (Map.Entry<String, ArrayDeque<T>> entry : b.entrySet()) {
+                ArrayDeque<T> existing = a.get(entry.getKey());
+                a.put(entry.getKey(), existing == null ? entry.getValue() : concat(existing, entry.getValue()));
+            }
+            return a;
+        }
+        for (Map.Entry<String, ArrayDeque<T>> entry : a.entrySet()) {
+            ArrayDeque<T> existing = b.get(entry.getKey());
+            b.put(entry.getKey(), existing == null ? entry.getValue() : concat(entry.getValue(), existing));
+        }
+        return b;
+    }
+
+    @Nullable
+    private static <T> ArrayList<T> concat(@Nullable ArrayList<T> first, @Nullable ArrayList<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second != null) {
+            first.addAll(second);
+        }
+        return first;
+    }
+
+    @Nonnull
+    private static <T> ImmutableList<T> freeze(@Nullable ArrayDeque<T> list) {
+        ImmutableList<T> frozen = ImmutableList.empty();
+        if (list != null) {
+            for (Iterator<T> it = list.descendingIterator(); it.hasNext(); ) {
+                frozen = frozen.cons(it.next());
+            }
+        }
+        return frozen;
+    }
+
+    // Sets the analyzer's strictness for the subtree of each function, class, and script before reducing it, and restores
+    // it afterwards.
+    private static final class StrictnessTracker extends Thunked<State, MutableScopeAnalyzer> {
+        @Nonnull
+        private final MutableScopeAnalyzer analyzer;
+
+        private StrictnessTracker(@Nonnull MutableScopeAnalyzer analyzer) {
+            super(analyzer);
+            this.analyzer = analyzer;
+        }
+
+        private static boolean hasStrict(@Nonnull ImmutableList<Directive> directives) {
+            return directives.find(d -> d.rawValue.equals("use strict")).isJust();
+        }
+
+        private static boolean hasStrict(@Nonnull FunctionBody body) {
+            return hasStrict(body.resolve().directives);
+        }
+
+        // whether the node is, or holds among its directives, a "use strict" directive for the node around it
+        private static boolean makesStrict(@Nonnull Node node) {
+            if (node instanceof Directive) {
+                return ((Directive) node).rawValue.equals("use strict");
+            }
+            return node instanceof FunctionBody && hasStrict((FunctionBody) node);
+        }
+
+        @Nonnull
+        private State reduceWithin(boolean strict, @Nonnull Supplier<State> reduce) {
+            boolean outer = this.analyzer.strict;
+            this.analyzer.strict = outer || strict;
+            try {
+                return reduce.get();
+            } finally {
+                this.analyzer.strict = outer;
+            }
+        }
+
+        @Nonnull
+        @Override
+        public State reduceArrowExpression(@Nonnull ArrowExpression node, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            boolean strict = node.body instanceof FunctionBody && hasStrict((FunctionBody) node.body);
+            return this.reduceWithin(strict, () -> super.reduceArrowExpression(node, params, body));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceClassDeclaration(@Nonnull ClassDeclaration node, @Nonnull Supplier<State> name, @Nonnull Maybe<Supplier<State>> _super, @Nonnull ImmutableList<Supplier<State>> elements) {
+            return this.reduceWithin(true, () -> super.reduceClassDeclaration(node, name, _super, elements));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceClassExpression(@Nonnull ClassExpression node, @Nonnull Maybe<Supplier<State>> name, @Nonnull Maybe<Supplier<State>> _super, @Nonnull ImmutableList<Supplier<State>> elements) {
+            return this.reduceWithin(true, () -> super.reduceClassExpression(node, name, _super, elements));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceFunctionDeclaration(@Nonnull FunctionDeclaration node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            return this.reduceWithin(hasStrict(node.body), () -> super.reduceFunctionDeclaration(node, name, params, body));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceFunctionExpression(@Nonnull FunctionExpression node, @Nonnull Maybe<Supplier<State>> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            return this.reduceWithin(hasStrict(node.body), () -> super.reduceFunctionExpression(node, name, params, body));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceGetter(@Nonnull Getter node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> body) {
+            return this.reduceWithin(hasStrict(node.body), () -> super.reduceGetter(node, name, body));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceMethod(@Nonnull Method node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            return this.reduceWithin(hasStrict(node.body), () -> super.reduceMethod(node, name, params, body));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceScript(@Nonnull Script node, @Nonnull ImmutableList<Supplier<State>> directives, @Nonnull ImmutableList<Supplier<State>> statements) {
+            return this.reduceWithin(hasStrict(node.directives), () -> super.reduceScript(node, directives, statements));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceSetter(@Nonnull Setter node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> param, @Nonnull Supplier<State> body) {
+            return this.reduceWithin(hasStrict(node.body), () -> super.reduceSetter(node, name, param, body));
+        }
+    }
+
+    // Reduces a program in which one subtree has been replaced, so that each function outside that subtree which was
+    // analyzed before is never entered. Its state is rebuilt from the outermost scope it had instead: the free
+    // identifiers of a finished function are those its scope lets through, and it declares nothing outside that scope
+    // but its own name. The state of a function also records whether it holds any parameter expressions, which is only
+    // ever read within parameters, so the functions within parameters are reduced as usual.
+    private static final class Reuser extends WrappedThunkedReducer<State> {
+        @Nonnull
+        private final Afresh afresh;
+        @Nonnull
+        private final IdentityHashMap<Node, Scope> functionScopes = new IdentityHashMap<>(); // function node to its outermost scope
+
+        private Reuser(@Nonnull GlobalScope globalScope, @Nonnull Node newRoot, boolean isModule) {
+            this(new Afresh(newRoot), globalScope, isModule);
+        }
+
+        private Reuser(@Nonnull Afresh afresh, @Nonnull GlobalScope globalScope, boolean isModule) {
+            super(afresh, new StrictnessTracker(new MutableScopeAnalyzer(isModule)));
+            this.afresh = afresh;
+            this.addFunctionScopes(globalScope);
+        }
+
+        private void addFunctionScopes(@Nonnull Scope scope) {
+            switch (scope.type) {
+                case ArrowFunction:
+                case Function:
+                case FunctionName:
+                case Parameters:
+                    this.functionScopes.putIfAbsent(scope.astNode, scope);
+                    break;
+                default:
+                    break;
+            }
+            scope.children.forEach(this::addFunctionScopes);
+        }
+
+        @Nonnull
+        private State reduce(@Nonnull Program program) {
+            return ThunkedDirector.reduceProgram(this, program);
+        }
+
+        @Nonnull
+        @Override
+        public State reduceArrowExpression(@Nonnull ArrowExpression node, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            return scope == null ? super.reduceArrowExpression(node, params, body) : reuse(scope);
+        }
+
+        @Nonnull
+        @Override
+        public State reduceFunctionDeclaration(@Nonnull FunctionDeclaration node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            if (scope == null) {
+                return super.reduceFunctionDeclaration(node, name, params, body);
+            }
+            State s = reuse(scope);
+            if (!node.name.name.equals("*default*")) {
+                s.functionDeclarations = new HashMap<>();
+                s.functionDeclarations.put(node.name.name, singleton(new Declaration(node.name, Kind.FunctionDeclaration)));
+            }
+            return s;
+        }
+
+        @Nonnull
+        @Override
+        public State reduceFunctionExpression(@Nonnull FunctionExpression node, @Nonnull Maybe<Supplier<State>> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            return scope == null ? super.reduceFunctionExpression(node, name, params, body) : reuse(scope);
+        }
+
+        @Nonnull
+        @Override
+        public State reduceGetter(@Nonnull Getter node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            // the name, which may be computed, is outside the function's scopes, as for methods and setters
+            return scope == null ? super.reduceGetter(node, name, body) : name.get().append(reuse(scope));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceMethod(@Nonnull Method node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> params, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            return scope == null ? super.reduceMethod(node, name, params, body) : name.get().append(reuse(scope));
+        }
+
+        @Nonnull
+        @Override
+        public State reduceSetter(@Nonnull Setter node, @Nonnull Supplier<State> name, @Nonnull Supplier<State> param, @Nonnull Supplier<State> body) {
+            Scope scope = this.reusableScope(node);
+            // a setter's parameter is not within a FormalParameters node
+            return scope == null ? super.reduceSetter(node, name, () -> this.afresh.reduce(param), body) : name.get().append(reuse(scope));
+        }
+
+        @Nullable
+        private Scope reusableScope(@Nonnull Node function) {
+            return this.afresh.depth == 0 ? this.functionScopes.get(function) : null;
+        }
+
+        @Nonnull
+        private static State reuse(@Nonnull Scope scope) {
+            State s = new State();
+            s.children = new ArrayList<>(1);
+            s.children.add(scope);
+            if (scope.through.length > 0) {
+                HashMap<String, ArrayDeque<Reference>> freeIdentifiers = new HashMap<>();
+                scope.through.forEach(entry -> {
+                    ArrayDeque<Reference> references = new ArrayDeque<>(entry.right.length);
+                    entry.right.forEach(references::add);
+                    freeIdentifiers.put(entry.left, references);
+                });
+                s.freeIdentifiers = freeIdentifiers;
+            }
+            return s;
+        }
+    }
+
+    // Counts the nodes being reduced which are the new subtree or parameters, within which every function is reduced.
+    private static final class Afresh implements F2<Node, Supplier<State>, State> {
+        @Nonnull
+        private final Node newRoot;
+        private int depth = 0;
+
+        private Afresh(@Nonnull Node newRoot) {
+            this.newRoot = newRoot;
+        }
+
+        @Nonnull
+        @Override
+        public State apply(@Nonnull Node node, @Nonnull Supplier<State> reduce) {
+            return node == this.newRoot || node instanceof FormalParameters ? this.reduce(reduce) : reduce.get();
+        }
+
+        @Nonnull
+        private State reduce(@Nonnull Supplier<State> reduce) {
+            ++this.depth;
+            try {
+                return reduce.get();
+            } finally {
+                --this.depth;
+            }
+        }
+    }
+
+    // All of the collections are null when empty, and are taken over by the state a state is merged into. EMPTY is
+    // never modified; the methods which would modify it return a new state instead.
+    static final class State {
+        static final State EMPTY = new State();
+
+        boolean dynamic;
+        boolean hasParameterExpressions;
+        @Nullable
+        HashMap<String, ArrayDeque<Reference>> freeIdentifiers;
+        @Nullable
+        HashMap<String, ArrayDeque<Declaration>> functionScopedDeclarations;
+        @Nullable
+        HashMap<String, ArrayDeque<Declaration>> blockScopedDeclarations;
+        @Nullable
+        HashMap<String, ArrayDeque<Declaration>> functionDeclarations;
+        @Nullable
+        ArrayList<Scope> children;
+        @Nullable
+        ArrayList<BindingIdentifier> bindingsForParent;
+        @Nullable
+        ArrayList<AssignmentTargetIdentifier> atsForParent;
+        @Nullable
+        HashMap<String, ArrayDeque<Declaration>> potentiallyVarScopedFunctionDeclarations;
+
+        @Nonnull
+        State append(@Nonnull State b) {
+            if (b == EMPTY) {
+                return this;
+            }
+            if (this == EMPTY) {
+                return b;
+            }
+            this.freeIdentifiers = merge(this.freeIdentifiers, b.freeIdentifiers);
+            this.functionScopedDeclarations = merge(this.functionScopedDeclarations, b.functionScopedDeclarations);
+            this.blockScopedDeclarations = merge(this.blockScopedDeclarations, b.blockScopedDeclarations);
+            this.functionDeclarations = merge(this.functionDeclarations, b.functionDeclarations);
+            this.children = concat(this.children, b.children);
+            this.dynamic = this.dynamic || b.dynamic;
+            this.bindingsForParent = concat(this.bindingsForParent, b.bindingsForParent);
+            this.atsForParent = concat(this.atsForParent, b.atsForParent);
+            this.potentiallyVarScopedFunctionDeclarations = merge(this.potentiallyVarScopedFunctionDeclarations, b.potentiallyVarScopedFunctionDeclarations);
+            this.hasParameterExpressions = this.hasParameterExpressions || b.hasParameterExpressions;
+            return this;
+        }
+
+        @Nonnull
+        GlobalScope globalScope() {
+            return (GlobalScope) this.children.get(0);
+        }
+
+        @Nonnull
+        private HashTable<String, NonEmptyImmutableList<Reference>> through() {
+            HashTable<String, NonEmptyImmutableList<Reference>> through = HashTable.emptyUsingEquality();
+            if (this.freeIdentifiers != null) {
+                for (Map.Entry<String, ArrayDeque<Reference>> entry : this.freeIdentifiers.entrySet()) {
+                    through = through.put(entry.getKey(), (NonEmptyImmutableList<Reference>) freeze(entry.getValue()));
+                }
+            }
+            return through;
+        }
+
+        // Resolves the references to each of the given declarations, in order of name, into variables consed onto
+        // `variables`.
+        @Nonnull
+        private ImmutableList<Variable> resolve(@Nullable HashMap<String, ArrayDeque<Declaration>> declarations, @Nonnull ImmutableList<Variable> variables) {
+            if (declarations == null) {
+                return variables;
+            }
+            ArrayList<String> names = new ArrayList<>(declarations.keySet());
+            Collections.sort(names);
+            for (String name : names) {
+                ArrayDeque<Reference> references = this.freeIdentifiers == null ? null : this.freeIdentifiers.remove(name);
+                variables = variables.cons(new Variable(name, freeze(references), freeze(declarations.get(name))));
+            }
+            return variables;
+        }
+
+        /*
+         * Used when a scope boundary is encountered. It resolves the free identifiers
+         * and declarations found into variable objects. Any free identifiers remaining
+         * are carried forward.
+         */
+        @Nonnull
+        private State finish(@Nonnull Node astNode, @Nonnull Scope.Type scopeType) {
+            return finish(astNode, scopeType, false, false);
+        }
+
+        @Nonnull
+        private State finish(@Nonnull Node astNode, @Nonnull Scope.Type scopeType, boolean resolveArguments, boolean shouldB33) {
+            if (this == EMPTY) {
+                return new State().finish(astNode, scopeType, resolveArguments, shouldB33);
+            }
+            ImmutableList<Variable> variables = ImmutableList.empty();
+            ImmutableList<Scope> children = this.children == null ? ImmutableList.empty() : ImmutableList.from(this.children);
+            HashMap<String, ArrayDeque<Declaration>> functionScope = null;
+            HashMap<String, ArrayDeque<Declaration>> potentiallyVarScopedFunctionDeclarations = this.potentiallyVarScopedFunctionDeclarations;
+
+            if (potentiallyVarScopedFunctionDeclarations != null) {
+                if (this.blockScopedDeclarations != null) {
+                    potentiallyVarScopedFunctionDeclarations.keySet().removeAll(this.blockScopedDeclarations.keySet());
+                }
+                if (this.functionDeclarations != null) {
+                    for (Map.Entry<String, ArrayDeque<Declaration>> fdecl : this.functionDeclarations.entrySet()) {
+                        ArrayDeque<Declaration> existingDeclarations = potentiallyVarScopedFunctionDeclarations.get(fdecl.getKey());
+                        if (existingDeclarations != null && (existingDeclarations.size() != 1 || existingDeclarations.getFirst().node != fdecl.getValue().getFirst().node)) { // don't conflict with your own lexical declaration
+                            potentiallyVarScopedFunctionDeclarations.remove(fdecl.getKey());
+                        }
+                    }
+                }
+            }
+
+            switch (scopeType) {
+                case Block:
+                case Catch:
+                case With:
+                case FunctionName:
+                case ClassName:
+                case ParameterExpression:
+                    // resolve only block-scoped free declarations
+                    variables = this.resolve(merge(this.blockScopedDeclarations, this.functionDeclarations), variables);
+                    functionScope = this.functionScopedDeclarations;
+                    break;
+                case Parameters:
+                case ArrowFunction:
+                case Function:
+                case Module:
+                case Script:
+                    // resolve both block-scoped and function-scoped free declarations
+
+                    // first, block-scope declarations
+                    HashMap<String, ArrayDeque<Declaration>> newDeclarations = this.blockScopedDeclarations;
+
+                    // top-level lexical declarations in scripts are not globals, so create a separate scope for them
+                    if (scopeType == Scope.Type.Script) {
+                        variables = this.resolve(newDeclarations, variables);
+                        children = ImmutableList.of(new Scope(children, variables, this.through(), scopeType, this.dynamic, astNode));
+                        variables = ImmutableList.empty();
+                        newDeclarations = null;
+                    }
+
+                    // then, var-scope declarations
+                    if (resolveArguments) {
+                        if (newDeclarations == null) {
+                            newDeclarations = new HashMap<>();
+                        }
+                        newDeclarations.put("arguments", new ArrayDeque<>(0));
+                    }
+                    newDeclarations = merge(merge(newDeclarations, this.functionScopedDeclarations), this.functionDeclarations);
+
+                    // B.3.3: create an additional var-scoped binding for functions in blocks
+                    if (shouldB33) {
+                        newDeclarations = merge(newDeclarations, potentiallyVarScopedFunctionDeclarations);
+                    }
+
+                    variables = this.resolve(newDeclarations, variables);
+
+                    if (scopeType == Scope.Type.Module) { // no declarations in a module are global
+                        children = ImmutableList.of(new Scope(children, variables, this.through(), scopeType, this.dynamic, astNode));
+                        variables = ImmutableList.empty();
+                    }
+
+                    potentiallyVarScopedFunctionDeclarations = null;
+                    break;
+                default:
+                    throw new RuntimeException("Not reached");
+            }
+
+            Scope scope = (scopeType == Scope.Type.Script || scopeType == Scope.Type.Module) ?
+                    new GlobalScope(children, variables, this.through(), astNode) :
+                    new Scope(children, variables, this.through(), scopeType, this.dynamic, astNode);
+
+            this.functionScopedDeclarations = functionScope;
+            this.blockScopedDeclarations = null;
+            this.functionDeclarations = null;
+            this.children = new ArrayList<>(1);
+            this.children.add(scope);
+            this.dynamic = false;
+            this.potentiallyVarScopedFunctionDeclarations = potentiallyVarScopedFunctionDeclarations;
+            return this;
+        }
+
+        /*
+         * Observe variables entering scope
+         */
+        @Nonnull
+        private State addDeclarations(@Nonnull Kind kind, boolean keepBindingsForParent) {
+            if (this.bindingsForParent != null) {
+                HashMap<String, ArrayDeque<Declaration>> declMap = kind.isBlockScoped ? this.blockScopedDeclarations : this.functionScopedDeclarations;
+                if (declMap == null) {
+                    declMap = new HashMap<>();
+                }
+                for (BindingIdentifier binding : this.bindingsForParent) {
+                    declMap.computeIfAbsent(binding.name, k -> new ArrayDeque<>(1)).addFirst(new Declaration(binding, kind));
+                }
+                if (kind.isBlockScoped) {
+                    this.blockScopedDeclarations = declMap;
+                } else {
+                    this.functionScopedDeclarations = declMap;
+                }
+            }
+            if (!keepBindingsForParent) {
+                this.withoutBindingsForParent();
+            }
+            return this;
+        }
+
+        @Nonnull
+        private State addFunctionDeclaration() {
+            if (this.bindingsForParent == null || this.bindingsForParent.isEmpty()) { // i.e., this is `export default function () {...}`
+                return this;
+            }
+            BindingIdentifier binding = this.bindingsForParent.get(0);
+            this.functionDeclarations = new HashMap<>();
+            this.functionDeclarations.put(binding.name, singleton(new Declaration(binding, Kind.FunctionDeclaration)));
+            return this.withoutBindingsForParent();
+        }
+
+        /*
+         * Observe references
+         */
+        @Nonnull
+        private State addReferences(@Nonnull Accessibility accessibility, boolean keepBindingsForParent) {
+            if (this.bindingsForParent != null || this.atsForParent != null) {
+                if (this.freeIdentifiers == null) {
+                    this.freeIdentifiers = new HashMap<>();
+                }
+                if (this.bindingsForParent != null) {
+                    for (BindingIdentifier binding : this.bindingsForParent) {
+                        this.freeIdentifiers.computeIfAbsent(binding.name, k -> new ArrayDeque<>(1)).addFirst(new Reference(binding));
+                    }
+                }
+                if (this.atsForParent != null) {
+                    for (AssignmentTargetIdentifier ati : this.atsForParent) {
+                        this.freeIdentifiers.computeIfAbsent(ati.name, k -> new ArrayDeque<>(1)).addFirst(new Reference(ati, accessibility));
+                    }
+                }
+            }
+            if (!keepBindingsForParent) {
+                this.withoutBindingsForParent();
+            }
+            return this;
+        }
+
+        @Nonnull
+        private State withoutBindingsForParent() {
+            if (this.bindingsForParent != null || this.atsForParent != null) {
+                this.bindingsForParent = null;
+                this.atsForParent = null;
+            }
+            return this;
+        }
+
+        @Nonnull
+        private State taint() {
+            State s = this == EMPTY ? new State() : this;
+            s.dynamic = true;
+            return s;
+        }
+
+        @Nonnull
+        private State withParameterExpressions() {
+            State s = this == EMPTY ? new State() : this;
+            s.hasParameterExpressions = true;
+            return s;
+        }
+
+        @Nonnull
+        private State addPotentialVarFunctions(@Nonnull ImmutableList<BindingIdentifier> funcs) {
+            if (funcs.isEmpty()) {
+                return this;
+            }
+            State s = this == EMPTY ? new State() : this;
+            if (s.potentiallyVarScopedFunctionDeclarations == null) {
+                s.potentiallyVarScopedFunctionDeclarations = new HashMap<>();
+            }
+            for (BindingIdentifier bi : funcs) {
+                s.potentiallyVarScopedFunctionDeclarations.computeIfAbsent(bi.name, k -> new ArrayDeque<>(1)).addFirst(new Declaration(bi, Kind.FunctionB33));
+            }
+            return s;
+        }
+    }
+
+    private static final class StateMonoid implements Monoid<State> {
+        @Override
+        @Nonnull
+        public State identity() {
+            return State.EMPTY;
+        }
+
+        @Override
+        @Nonnull
+        public State append(State a, State b) {
+            return a.append(b);
+        }
+    }
+}
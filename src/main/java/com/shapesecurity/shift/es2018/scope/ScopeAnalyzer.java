@@ -50,11 +50,30 @@ public final class ScopeAnalyzer extends MonoidalReducer<State> {
 
     @Nonnull
     public static GlobalScope analyze(@Nonnull Script script) {
-        return (GlobalScope) Director.reduceScript(new ScopeAnalyzer(script), script).children.maybeHead().fromJust();
+        return MutableScopeAnalyzer.analyze(script);
     }
 
     @Nonnull
     public static GlobalScope analyze(@Nonnull Module module) {
+        return MutableScopeAnalyzer.analyze(module);
+    }
+
+    // Analyzes `program`, which must be the program `globalScope` was computed for with `oldRoot` replaced by `newRoot`
+    // (and so with only the nodes enclosing `oldRoot` rebuilt). The functions outside `newRoot` keep their scopes, which
+    // are shared with `globalScope`; only the scopes enclosing `newRoot`, and those within it, are computed anew.
+    @Nonnull
+    public static GlobalScope reanalyze(@Nonnull GlobalScope globalScope, @Nonnull Program program, @Nonnull Node oldRoot, @Nonnull Node newRoot) {
+        return MutableScopeAnalyzer.reanalyze(globalScope, program, oldRoot, newRoot);
+    }
+
+    // The analysis as it was done before MutableScopeAnalyzer, which must give the same results.
+    @Nonnull
+    static GlobalScope analyzeWithPersistentState(@Nonnull Script script) {
+        return (GlobalScope) Director.reduceScript(new ScopeAnalyzer(script), script).children.maybeHead().fromJust();
+    }
+
+    @Nonnull
+    static GlobalScope analyzeWithPersistentState(@Nonnull Module module) {
         return (GlobalScope) Director.reduceModule(new ScopeAnalyzer(module), module).children.maybeHead().fromJust();
     }
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.ast;
+
+import com.shapesecurity.shift.es2018.ast.operators.BinaryOperator;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashCodeTest {
+    @Test
+    public void testEquality() throws JsError, IOException {
+        String source = new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/everything-0.0.4.js")), StandardCharsets.UTF_8);
+        Script a = Parser.parseScript(source);
+        Script b = Parser.parseScript(source);
+        Script c = Parser.parseScript(source.replace("(function f(x,y){});", "(function f(x,z){});"));
+        // before any hash codes have been computed, then after
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a.hashCode(), c.hashCode());
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+        assertEquals(b, a);
+        assertNotEquals(c, a);
+    }
+
+    // -0.0 == 0.0, so whether the literals are equal must not depend on which hash codes have been computed
+    @Test
+    public void testNegativeZero() {
+        LiteralNumericExpression zero = new LiteralNumericExpression(0.0);
+        LiteralNumericExpression negativeZero = new LiteralNumericExpression(-0.0);
+        assertEquals(zero, negativeZero);
+        assertEquals(zero.hashCode(), negativeZero.hashCode());
+        assertEquals(zero, negativeZero);
+        assertEquals(negativeZero, zero);
+
+        negativeZero = new LiteralNumericExpression(-0.0);
+        negativeZero.hashCode();
+        assertEquals(zero, negativeZero);
+        assertNotEquals(zero, new LiteralNumericExpression(1.0));
+    }
+
+    // A node's hash code is computed from those of its children, once: hashing each node of a chain as it is built
+    // takes constant time and stack.
+    @Test
+    public void testDeepChain() {
+        Expression a = new IdentifierExpression("a");
+        Expression b = new IdentifierExpression("b");
+        assertNotEquals(a.hashCode(), b.hashCode());
+        for (int i = 0; i < 1000000; ++i) {
+            a = new BinaryExpression(a, BinaryOperator.Plus, new IdentifierExpression("x"));
+            b = new BinaryExpression(b, BinaryOperator.Plus, new IdentifierExpression("x"));
+            a.hashCode();
+            b.hashCode();
+        }
+        // neither needs to look further than the root
+        assertTrue(a.equals(a));
+        assertNotEquals(a, b);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.ast;
+
+import com.shapesecurity.shift.es2018.fuzzer.Fuzzer;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.reducer.Flattener;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NodeTypeTest {
+    @Test
+    public void testTypeTags() throws JsError, IOException, ReflectiveOperationException {
+        List<Program> programs = new ArrayList<>();
+        programs.add(Parser.parseScript(new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/everything-0.0.4.js")), StandardCharsets.UTF_8)));
+        for (int i = 0; i < 200; ++i) {
+            programs.add(Fuzzer.generate(new Random(i), 8));
+        }
+
+        Map<Integer, java.lang.Class<?>> classes = new TreeMap<>();
+        for (Program program : programs) {
+            for (Node node : Flattener.flatten(program)) {
+                java.lang.Class<?> nodeClass = node.getClass();
+                assertEquals(nodeClass.getName(), nodeClass.getField("TYPE").getInt(null), node.type());
+                java.lang.Class<?> previous = classes.put(node.type(), nodeClass);
+                assertTrue(previous == null || previous == nodeClass);
+            }
+        }
+        // the tags number the concrete classes in alphabetical order
+        List<String> names = new ArrayList<>();
+        for (java.lang.Class<?> nodeClass : classes.values()) {
+            assertTrue(!Modifier.isAbstract(nodeClass.getModifiers()));
+            names.add(nodeClass.getSimpleName());
+        }
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(null);
+        assertEquals(sorted, names);
+    }
+}
@@ -31,11 +31,13 @@ import com.shapesecurity.shift.es2018.ast.LabeledStatement;
 import com.shapesecurity.shift.es2018.ast.LiteralNullExpression;
 import com.shapesecurity.shift.es2018.ast.LiteralStringExpression;
 import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Program;
 import com.shapesecurity.shift.es2018.ast.Script;
 import com.shapesecurity.shift.es2018.ast.Statement;
 import com.shapesecurity.shift.es2018.ast.WhileStatement;
 import com.shapesecurity.shift.es2018.ast.WithStatement;
 import com.shapesecurity.shift.es2018.codegen.location.CodeGenWithLocation;
+import com.shapesecurity.shift.es2018.fuzzer.Fuzzer;
 import com.shapesecurity.shift.es2018.parser.JsError;
 import com.shapesecurity.shift.es2018.parser.Parser;
 import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
@@ -45,7 +47,22 @@ import com.shapesecurity.shift.es2018.reducer.WrappedReducer;
 import javax.annotation.Nonnull;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CodeGenTest {
 
@@ -60,6 +77,7 @@ public class CodeGenTest {
         Module module = parserWithLocation.parseModule(source);
         String code = codeGenWithLocation.codeGen(module);
         assertEquals(source, code);
+        assertEquals(source, DirectCodeGen.codeGen(module));
         assertEquals(module, Parser.parseModule(code));
 
         /*
@@ -81,21 +99,25 @@ public class CodeGenTest {
         Module module = Parser.parseModule(source);
         String code = CodeGen.codeGen(module);
         assertEquals(expected, code);
+        assertEquals(expected, DirectCodeGen.codeGen(module));
         assertEquals(module, Parser.parseModule(code));
     }
 
     private void testShift(@Nonnull String expected, @Nonnull Script script) {
         assertEquals(expected, CodeGen.codeGen(script));
+        assertEquals(expected, DirectCodeGen.codeGen(script));
     }
 
     private void testShift(@Nonnull String expected, @Nonnull Module module) {
         assertEquals(expected, CodeGen.codeGen(module));
+        assertEquals(expected, DirectCodeGen.codeGen(module));
     }
 
     private void testScript(String source) throws JsError {
         Script script = Parser.parseScript(source);
         String code = CodeGen.codeGen(script);
         assertEquals(source, code);
+        assertEquals(source, DirectCodeGen.codeGen(script));
         assertEquals(script, Parser.parseScript(code));
     }
 
@@ -940,4 +962,108 @@ public class CodeGenTest {
         test("function*f(){f(yield*a,yield*b)}");
         test("function*f(){yield*yield*(yield)*(yield)}");
     }
+
+    @Test
+    public void testTokenSeparation() throws JsError {
+        test("a<! --b");
+        test("a- --b");
+        test("a+ ++b");
+        test("a+-b");
+        test("a in b");
+        test("ä in b");
+        test("a in ä");
+        test("typeof ä");
+        test("typeof 𝐀;a");
+        test("𝐀 in 𝐀;a");
+        test("𝐀;1");
+        test("/a/ in b");
+        test("a/ /b/");
+        test("/a/+b");
+        test("1..a");
+        test("1.5.a");
+        test("16..a", "(16).a");
+        test("1e3.a", "(1000).a");
+        test("a;b", "a\nb");
+        test("{a}");
+    }
+
+    @Test
+    public void testStreaming() throws JsError, IOException {
+        for (String library : new String[]{ "angular-1.2.5.js", "everything-0.0.4.js", "jquery-1.9.1.js" }) {
+            Script script = Parser.parseScript(new String(Files.readAllBytes(Paths.get("src/test/resources/libraries", library)), StandardCharsets.UTF_8));
+            String expected = CodeGen.codeGen(script);
+
+            List<String> chunks = new ArrayList<>();
+            CodeGen.codeGen(script, new Appendable() {
+                @Override
+                public Appendable append(CharSequence csq) {
+                    chunks.add(csq.toString());
+                    return this;
+                }
+
+                @Override
+                public Appendable append(CharSequence csq, int start, int end) {
+                    return this.append(csq.subSequence(start, end));
+                }
+
+                @Override
+                public Appendable append(char c) {
+                    return this.append(String.valueOf(c));
+                }
+            });
+            assertEquals(library, expected, String.join("", chunks));
+            assertTrue(library, chunks.size() > expected.length() / 16384);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CodeGen.codeGen(script, Channels.newChannel(bytes));
+            assertEquals(library, expected, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        Script script = Parser.parseScript("a = '\u00e9\ud83d\ude00'; 0..toString(); a-- > b");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodeGen.codeGen(script, Channels.newChannel(bytes));
+        assertEquals(CodeGen.codeGen(script), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+
+        try {
+            CodeGen.codeGen(script, new Writer() {
+                @Override
+                public void write(@Nonnull char[] buffer, int offset, int length) throws IOException {
+                    throw new IOException("closed");
+                }
+
+                @Override
+                public void flush() {}
+
+                @Override
+                public void close() {}
+            });
+            fail("expected the failure to write to be thrown");
+        } catch (IOException e) {
+            assertEquals("closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testDirectCodeGen() throws JsError, IOException {
+        File[] libraries = new File("src/test/resources/libraries").listFiles();
+        assertNotNull(libraries);
+        for (File library : libraries) {
+            Script script = Parser.parseScript(new String(Files.readAllBytes(library.toPath()), StandardCharsets.UTF_8));
+            String code = DirectCodeGen.codeGen(script);
+            assertEquals(library.getName(), CodeGen.codeGen(script), code);
+            assertEquals(library.getName(), script, Parser.parseScript(code));
+
+            StringBuilder out = new StringBuilder();
+            DirectCodeGen.codeGen(script, out);
+            assertEquals(library.getName(), code, out.toString());
+        }
+    }
+
+    @Test
+    public void testDirectCodeGenFuzzed() {
+        for (int i = 0; i < 2000; ++i) {
+            Program program = Fuzzer.generate(new Random(i), 8);
+            assertEquals("seed " + i, CodeGen.codeGen(program), DirectCodeGen.codeGen(program));
+        }
+    }
 }
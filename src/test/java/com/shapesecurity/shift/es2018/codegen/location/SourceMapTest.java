@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.codegen.location;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.codegen.CodeGen;
+import com.shapesecurity.shift.es2018.codegen.CodeRepFactory;
+import com.shapesecurity.shift.es2018.codegen.FormattedCodeRepFactory;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
+import javax.annotation.Nonnull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SourceMapTest {
+    private static final String BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final Pattern UNICODE_ESCAPE = Pattern.compile("\\\\u(?:\\{([0-9a-fA-F]+)\\}|([0-9a-fA-F]{4}))");
+
+    // Decodes mappings into segments of absolute [generated line, generated column, original line, original column,
+    // name index or -1].
+    @Nonnull
+    private static List<int[]> decode(@Nonnull String mappings) {
+        List<int[]> segments = new ArrayList<>();
+        int[] previous = new int[5];
+        int line = 0;
+        int i = 0;
+        while (i < mappings.length()) {
+            char ch = mappings.charAt(i);
+            if (ch == ';') {
+                ++line;
+                previous[1] = 0;
+                ++i;
+                continue;
+            }
+            if (ch == ',') {
+                ++i;
+                continue;
+            }
+            List<Integer> fields = new ArrayList<>();
+            while (i < mappings.length() && mappings.charAt(i) != ',' && mappings.charAt(i) != ';') {
+                int value = 0;
+                int shift = 0;
+                int digit;
+                do {
+                    digit = BASE64.indexOf(mappings.charAt(i++));
+                    value |= (digit & 31) << shift;
+                    shift += 5;
+                } while ((digit & 32) != 0);
+                fields.add((value & 1) == 1 ? -(value >>> 1) : value >>> 1);
+            }
+            assertTrue(fields.size() == 4 || fields.size() == 5);
+            previous[1] += fields.get(0);
+            assertEquals(0, (int) fields.get(1));
+            previous[2] += fields.get(2);
+            previous[3] += fields.get(3);
+            int name = -1;
+            if (fields.size() == 5) {
+                previous[4] += fields.get(4);
+                name = previous[4];
+            }
+            segments.add(new int[]{ line, previous[1], previous[2], previous[3], name });
+        }
+        return segments;
+    }
+
+    @Nonnull
+    private static String[] lines(@Nonnull String text) {
+        return text.split("\r\n?|[\n\u2028\u2029]", -1);
+    }
+
+    @Nonnull
+    private static String unescape(@Nonnull String text) {
+        StringBuffer sb = new StringBuffer();
+        Matcher matcher = UNICODE_ESCAPE.matcher(text);
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(new String(Character.toChars(Integer.parseInt(matcher.group(1) == null ? matcher.group(2) : matcher.group(1), 16)))));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    // Checks that the mapped positions in the generated and original code are in order, and that both start with the
+    // name of each mapping which has one (though the original may spell it with escapes).
+    private static void checkSegments(@Nonnull String code, @Nonnull String source, @Nonnull SourceMap map) {
+        String[] generated = lines(code);
+        String[] original = lines(source);
+        int[] last = null;
+        for (int[] segment : decode(map.getMappings())) {
+            if (last != null) {
+                assertTrue(segment[0] > last[0] || segment[0] == last[0] && segment[1] > last[1]);
+            }
+            last = segment;
+            if (segment[4] >= 0) {
+                String name = map.getNames().get(segment[4]);
+                assertTrue(name, generated[segment[0]].startsWith(name, segment[1]));
+                assertTrue(name, unescape(original[segment[2]].substring(segment[3], Math.min(original[segment[2]].length(), segment[3] + 6 * name.length() + 4))).startsWith(name));
+            }
+        }
+    }
+
+    @Test
+    public void testMappings() throws JsError {
+        String source = "a = b;\nc(d)";
+        ParserWithLocation parser = new ParserWithLocation();
+        Script script = parser.parseScript(source);
+        SourceMap map = new SourceMap(parser, "a.js");
+        assertEquals("a=b;c(d)", new CodeGenWithLocation(CodeGen.COMPACT).codeGen(script, map));
+        assertEquals("AAAAA,EAAIC,EACJC,EAAEC", map.getMappings());
+        assertEquals(Arrays.asList("a", "b", "c", "d"), map.getNames());
+
+        source = "function f(a) {\n  return a + 1;\n}\nvar b = f(2), c = `x\ny${b}`;";
+        parser = new ParserWithLocation();
+        script = parser.parseScript(source);
+        map = new SourceMap(parser, "a.js");
+        String code = new CodeGenWithLocation(CodeGen.COMPACT).codeGen(script, map);
+        assertEquals("function f(a){return a+1}var b=f(2),c=`x\ny${b}`", code);
+        assertEquals(Arrays.asList("f", "a", "b", "c"), map.getNames());
+        List<int[]> segments = decode(map.getMappings());
+        // `b` in the template, after the line break in it, then the empty template element after that
+        assertEquals(Arrays.toString(new int[]{ 1, 3, 4, 3, 2 }), Arrays.toString(segments.get(segments.size() - 2)));
+        assertEquals(Arrays.toString(new int[]{ 1, 5, 4, 5, -1 }), Arrays.toString(segments.get(segments.size() - 1)));
+        checkSegments(code, source, map);
+
+        code = new CodeGenWithLocation(new CodeGen(new FormattedCodeRepFactory())).codeGen(script, map = new SourceMap(parser, "a.js"));
+        assertTrue(code.split("\n").length > 3);
+        checkSegments(code, source, map);
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        for (String library : new String[]{ "angular-1.2.5.js", "everything-0.0.4.js", "jquery-1.9.1.js" }) {
+            String source = new String(Files.readAllBytes(Paths.get("src/test/resources/libraries", library)), StandardCharsets.UTF_8);
+            ParserWithLocation parser = new ParserWithLocation();
+            Script script = parser.parseScript(source);
+            SourceMap map = new SourceMap(parser, library);
+            String code = new CodeGenWithLocation(new CodeGen(new CodeRepFactory())).codeGen(script, map);
+            assertEquals(library, CodeGen.codeGen(script), code);
+            checkSegments(code, source, map);
+            assertTrue(library, decode(map.getMappings()).size() > code.length() / 10);
+        }
+    }
+
+    @Test
+    public void testWrite() throws JsError, IOException {
+        String source = "'\u0001\"';\n\tx";
+        ParserWithLocation parser = new ParserWithLocation();
+        Script script = parser.parseScript(source);
+        SourceMap map = new SourceMap(parser, "dir/\"a\".js", source);
+        new CodeGenWithLocation(CodeGen.COMPACT).codeGen(script, map);
+
+        StringWriter out = new StringWriter();
+        map.write(out, "a.min.js");
+        JsonObject json = new JsonParser().parse(out.toString()).getAsJsonObject();
+        assertEquals(3, json.get("version").getAsInt());
+        assertEquals("a.min.js", json.get("file").getAsString());
+        assertEquals("dir/\"a\".js", json.getAsJsonArray("sources").get(0).getAsString());
+        assertEquals(source, json.getAsJsonArray("sourcesContent").get(0).getAsString());
+        assertEquals("x", json.getAsJsonArray("names").get(0).getAsString());
+        assertEquals(map.getMappings(), json.get("mappings").getAsString());
+
+        out = new StringWriter();
+        new SourceMap(parser, "a.js").write(out, null);
+        assertEquals("{\"version\":3,\"sources\":[\"a.js\"],\"names\":[],\"mappings\":\"\"}", out.toString());
+        json = new JsonParser().parse(out.toString()).getAsJsonObject();
+        assertFalse(json.has("sourcesContent"));
+    }
+}
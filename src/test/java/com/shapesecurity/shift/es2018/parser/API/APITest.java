@@ -2,6 +2,7 @@ package com.shapesecurity.shift.es2018.parser.API;
 
 import com.shapesecurity.functional.data.ImmutableList;
 import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
 import com.shapesecurity.shift.es2018.parser.ParserTestCase;
 
 import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
@@ -80,4 +81,24 @@ public class APITest extends ParserTestCase {
                 " a comment"
         )));
     }
+
+    @Test
+    public void testErrors() {
+        try {
+            Parser.parseScript("a b");
+            fail("parsing should fail");
+        } catch (JsError e) {
+            assertEquals("Unexpected identifier", e.getDescription());
+            assertTrue(e.getStackTrace().length > 0);
+        }
+
+        // errors recorded while the grammar is still ambiguous are only thrown if it is resolved the wrong way
+        try {
+            Parser.parseScript("({a = 0});");
+            fail("parsing should fail");
+        } catch (JsError e) {
+            assertEquals("JavaScript error: Line 1 Column 2 (Index = 2), Illegal property initializer.", e.getMessage());
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
 }
@@ -1,7 +1,16 @@
 package com.shapesecurity.shift.es2018.parser;
 
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.reducer.Director;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 public class EarlyErrorsTest extends ParserTestCase {
     @Test
     public void testEarlyGrammarErrors() throws JsError {
@@ -771,4 +780,88 @@ public class EarlyErrorsTest extends ParserTestCase {
     public void testNonErrors() throws JsError {
         testScriptNoEarlyError("'use strict';var await;");
     }
+
+    @Test
+    public void testMutableState() throws JsError, IOException {
+        // the errors found with mutable state are those found by reducing with EarlyErrorState
+        String[] sources = {
+                "function f(a, a) { 'use strict'; l: l: ; } (a, b) => { let c; var c; }; function g() { function h() { break; } return function (b, b) { 'use strict'; }; } [x] = 0; ({y}) => { let y; };",
+                "a: { b: while (0) { continue a; break c; continue; } } break; continue d; new.target;",
+                "class A extends B { constructor() { super(); } m() { super(); super.x; } constructor() {} static prototype() {} } ({ m() { super(); }, __proto__: 0, __proto__: 1 });",
+                "let let = 0; const a; for (const b;;); { function c() {} let c; } switch (0) { case 0: let d; default: var d; }",
+                "try {} catch (e) { let e; for (var e of 0); } for (let f in 0) { var f; } if (0) function g() {} else l: function h() {}",
+                "function* g(a = yield) { (b = yield) => yield; } async function h(c = await 0) { (d = await 0) => 0; } with (0) l: function i() {}",
+                "'use strict'; var arguments, eval; delete x; yield: ; implements; function j(k = 0) { 'use strict'; }",
+                // several errors of each kind, which must be found in the same order
+                "function f(a, b, c, a, b, c) { 'use strict'; break x; break y; continue z; continue w; } let p, q, r, p, q, r; var q, r; ({ m() { super(super(), super[super.x]); } });",
+                "function* g() { (a = yield yield) => 0; } try {} catch ([a, b, c]) { for (var c of 0); for (var a of 0); for (var b of 0); }",
+        };
+        Script script;
+        for (String source : sources) {
+            script = Parser.parseScript(source);
+            ImmutableList<EarlyError> expected = EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), script));
+            assertTrue(expected.length > 1);
+            assertSameEarlyErrors(expected, EarlyErrorChecker.validate(script));
+        }
+        String moduleSource = "export { a, b as c, d as c, i, j as c, k, l as a }; export default 0; export default 1; export let e; export function f() { function f() {} } export var g; let g; import h from 'h'; var h;";
+        Module module = Parser.parseModule(moduleSource);
+        ImmutableList<EarlyError> expected = EarlyErrorChecker.extract(Director.reduceModule(new EarlyErrorChecker(), module));
+        assertTrue(expected.length > 1);
+        assertSameEarlyErrors(expected, EarlyErrorChecker.validate(module));
+
+        // every library, as a script and, where it parses as one, as a module, in which it has strict mode errors
+        File[] libraries = new File("src/test/resources/libraries").listFiles();
+        assertNotNull(libraries);
+        for (File library : libraries) {
+            String source = new String(Files.readAllBytes(library.toPath()), StandardCharsets.UTF_8);
+            script = Parser.parseScript(source);
+            assertSameEarlyErrors(EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), script)), EarlyErrorChecker.validate(script));
+            try {
+                module = Parser.parseModule(source);
+            } catch (JsError e) {
+                continue;
+            }
+            assertSameEarlyErrors(EarlyErrorChecker.extract(Director.reduceModule(new EarlyErrorChecker(), module)), EarlyErrorChecker.validate(module));
+        }
+    }
+
+    @Test
+    public void testCollidingNames() throws JsError {
+        // errors found by name are reported in the same order by both engines, and in the same order however the names
+        // were declared, even when the names' hash codes collide
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        assertEquals("AaAa".hashCode(), "AaBB".hashCode());
+        String[][] scripts = {
+                {"let AaAa, BBBB, AaBB, AaAa, BBBB, AaBB;", "let AaBB, BBBB, AaAa, AaBB, BBBB, AaAa;", "let BBBB, AaBB, BBBB, AaAa, AaBB, AaAa;"},
+                {"function f(Aa, BB, Aa, BB) { 'use strict'; }", "function f(BB, Aa, BB, Aa) { 'use strict'; }"},
+                {"var Aa, BB; let BB, Aa;", "var BB, Aa; let Aa, BB;"},
+                {"try {} catch ([Aa, BB]) { for (var Aa of 0); for (var BB of 0); }", "try {} catch ([BB, Aa]) { for (var BB of 0); for (var Aa of 0); }"},
+                {"break Aa; break BB; while (0) { continue Aa; continue BB; }", "break BB; break Aa; while (0) { continue BB; continue Aa; }"},
+        };
+        for (String[] sources : scripts) {
+            ImmutableList<String> messages = null;
+            for (String source : sources) {
+                Script script = Parser.parseScript(source);
+                ImmutableList<EarlyError> errors = EarlyErrorChecker.validate(script);
+                assertTrue(errors.length > 1);
+                assertSameEarlyErrors(EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), script)), errors);
+                if (messages != null) {
+                    assertEquals(messages, errors.map(e -> e.message));
+                }
+                messages = errors.map(e -> e.message);
+            }
+        }
+        ImmutableList<String> messages = null;
+        for (String source : new String[]{"export { Aa, BB, Aa, BB };", "export { BB, Aa, BB, Aa };"}) {
+            Module module = Parser.parseModule(source);
+            ImmutableList<EarlyError> errors = EarlyErrorChecker.validate(module);
+            assertTrue(errors.length > 1);
+            assertSameEarlyErrors(EarlyErrorChecker.extract(Director.reduceModule(new EarlyErrorChecker(), module)), errors);
+            if (messages != null) {
+                assertEquals(messages, errors.map(e -> e.message));
+            }
+            messages = errors.map(e -> e.message);
+        }
+    }
 }
@@ -80,6 +80,7 @@ public class FailuresTest extends ParserTestCase {
         testScriptFailure("/", 0, "Invalid regular expression: missing /");
         testScriptFailure("/test", 0, "Invalid regular expression: missing /");
         testScriptFailure("/test\n/", 0, "Invalid regular expression: missing /");
+        testScriptFailure("/test\\", 0, "Invalid regular expression: missing /");
         testScriptFailure("for((1 + 1) in list) process(x);", 12, "Invalid left-hand side in for-in");
         testScriptFailure("[", 1, "Unexpected end of input");
         testScriptFailure("[,", 2, "Unexpected end of input");
@@ -0,0 +1,204 @@
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.functional.data.ImmutableSet;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.ExpressionStatement;
+import com.shapesecurity.shift.es2018.ast.FunctionBody;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.FunctionExpression;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.ReturnStatement;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.astpath.ASTPath;
+import com.shapesecurity.shift.es2018.codegen.CodeGen;
+import com.shapesecurity.shift.es2018.codegen.DirectCodeGen;
+import com.shapesecurity.shift.es2018.reducer.StrictnessReducer;
+import com.shapesecurity.shift.es2018.scope.ScopeAnalyzer;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class LazyParserTest extends TestCase {
+
+    private static void assertSameAsEager(@Nonnull String source) throws JsError {
+        assertEquals(Parser.parseScript(source), Parser.forceAll(Parser.parseScriptLazy(source)));
+    }
+
+    private static void assertForceFails(@Nonnull String source) throws JsError {
+        try {
+            Parser.parseScript(source);
+            fail("parsing should fail");
+        } catch (JsError expected) {
+            Script script = Parser.parseScriptLazy(source);
+            try {
+                Parser.forceAll(script);
+                fail("forcing should fail");
+            } catch (JsError e) {
+                assertEquals(expected.getMessage(), e.getMessage());
+            }
+        }
+    }
+
+    @Nonnull
+    private static LazyFunctionBody firstBody(@Nonnull Script script) {
+        return (LazyFunctionBody) ((FunctionDeclaration) script.statements.maybeHead().fromJust()).body;
+    }
+
+    @Test
+    public void testDeferred() throws JsError {
+        String source = "function f(a) { return function () { return a; }; }\nf(0);";
+        Script script = Parser.parseScriptLazy(source);
+        LazyFunctionBody body = firstBody(script);
+        assertFalse(body.isForced());
+        assertEquals(0, body.statements.length);
+        assertEquals(source.indexOf('{'), body.getStart());
+        assertEquals(source.indexOf('\n'), body.getEnd());
+        assertEquals(Parser.parseScript(source).statements.index(1).fromJust(), script.statements.index(1).fromJust());
+
+        FunctionBody forced = body.force();
+        assertTrue(body.isForced());
+        assertSame(forced, body.force());
+        assertEquals(1, forced.statements.length);
+        assertSameAsEager(source);
+    }
+
+    @Test
+    public void testNested() throws JsError {
+        String source = "function f() { return function g() { return 1; }; }";
+        FunctionBody forced = firstBody(Parser.parseScriptLazy(source)).force();
+        FunctionExpression g = (FunctionExpression) ((ReturnStatement) forced.statements.maybeHead().fromJust()).expression.fromJust();
+        // functions nested within a forced body are themselves deferred
+        assertTrue(g.body instanceof LazyFunctionBody);
+    }
+
+    @Test
+    public void testContext() throws JsError {
+        assertSameAsEager("function* g() { yield 1; } async function f() { await 1; }");
+        assertSameAsEager("class A { *m() { yield; } async n() { await 0; } get x() { return 0; } set x(v) {} }");
+        assertSameAsEager("({ m() { return { a: 1 }; }, n: async () => { await 0; }, o: x => x });");
+        assertSameAsEager("function f() { return `a${ { b: function () { return '}'; } } }c` / 2; }");
+        assertSameAsEager("function f() { if (a) /}/.test(b); return a / b / c; }");
+        assertSameAsEager("function f() { 'use strict'; return 0; }");
+        assertSameAsEager("function f() {} function g() { function h() {} }");
+        assertForceFails("function f() { 'use strict'; 010; }");
+        assertForceFails("'use strict'; function f() { 010; }");
+        assertForceFails("function* g() { function h() { yield 1; } }");
+        assertForceFails("async function f() { function g() { await 0; } }");
+    }
+
+    @Test
+    public void testAmbiguousSlashes() throws JsError {
+        // each `/` could be taken for the wrong one of division or a regular expression when matching braces
+        assertSameAsEager("function f(){ x\n{}\n/}/g.test(y) }");
+        assertSameAsEager("function f() { var g = function () {} / 2 / {}.x; }");
+        assertSameAsEager("function f() { return a.if(b) / 2 / c.while(d) / 3; }");
+        assertSameAsEager("function f() { for (x of /}/g); for (y of z) /}/.exec(y); }");
+        assertSameAsEager("function f() { ++/}/.lastIndex; }");
+        assertSameAsEager("function* g() { yield /}/g; } function h() { var yield = 1; return yield / 2 / 1; }");
+        assertSameAsEager("async function f() { for await (x of y) /}/g.exec(x); return await (a) / 2 / 1; }");
+        assertSameAsEager("function f() { var c = class { m() {} } / 2 / {}.y; }");
+    }
+
+    @Test
+    public void testUnforced() throws JsError {
+        // an unforced body stands for the body it parses to, rather than an empty one
+        String source = "function f() { 'use strict'; var a = 1; return { a: a }; }";
+        Script eager = Parser.parseScript(source);
+        Script lazy = Parser.parseScriptLazy(source);
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), Parser.parseScriptLazy(source).hashCode());
+        assertFalse(lazy.equals(Parser.parseScript("function f() {}")));
+        assertFalse(Parser.parseScript("function f() {}").equals(lazy));
+        assertEquals(CodeGen.codeGen(eager), CodeGen.codeGen(Parser.parseScriptLazy(source)));
+        assertEquals(CodeGen.codeGen(eager), DirectCodeGen.codeGen(Parser.parseScriptLazy(source)));
+        assertEquals(ScopeAnalyzer.analyze(eager).children.maybeHead().fromJust().variables().size(), ScopeAnalyzer.analyze(Parser.parseScriptLazy(source)).children.maybeHead().fromJust().variables().size());
+        lazy = Parser.parseScriptLazy(source);
+        ImmutableSet<Node> sloppy = StrictnessReducer.analyze(lazy);
+        assertEquals(1, sloppy.length());
+        assertTrue(sloppy.contains(lazy));
+        lazy = Parser.parseScriptLazy(source);
+        assertEquals(Maybe.of(((FunctionDeclaration) eager.statements.maybeHead().fromJust()).body.directives), ASTPath.FunctionBody_Directives.apply(firstBody(lazy)));
+
+        source = "function f() { 'use strict'; with (a) {} } function g(a, a) { 'use strict'; }";
+        assertEquals(EarlyErrorChecker.validate(Parser.parseScript(source)).length, EarlyErrorChecker.validate(Parser.parseScriptLazy(source)).length);
+        assertEquals(2, EarlyErrorChecker.validate(Parser.parseScriptLazy(source)).length);
+
+        // a body which does not parse cannot stand for anything
+        try {
+            CodeGen.codeGen(Parser.parseScriptLazy("function f() { a b }"));
+            fail("forcing should fail");
+        } catch (LazyFunctionBody.ForcingException e) {
+            assertEquals(17, e.getError().getIndex());
+        }
+    }
+
+    @Test
+    public void testModule() throws JsError {
+        String source = "export function f() { return 010 }";
+        Module module = Parser.parseModuleLazy(source);
+        try {
+            Parser.forceAll(module);
+            fail("forcing should fail");
+        } catch (JsError e) {
+            assertEquals(source.indexOf("010"), e.getIndex());
+        }
+        source = "import a from 'a'; export default function () { return a; }";
+        assertEquals(Parser.parseModule(source), Parser.forceAll(Parser.parseModuleLazy(source)));
+    }
+
+    @Test
+    public void testErrors() throws JsError {
+        // errors within a body are only reported once it is forced
+        assertForceFails("function f() { a b }");
+        assertForceFails("function f() { a = }");
+        // errors which prevent the braces from being matched are reported immediately, as when parsing eagerly
+        for (String source : new String[]{"function f() { ", "function f() { ( }", "function f() { /a }", "function f() { ` }"}) {
+            try {
+                Parser.parseScript(source);
+                fail("parsing should fail");
+            } catch (JsError expected) {
+                try {
+                    Parser.parseScriptLazy(source);
+                    fail("parsing should fail");
+                } catch (JsError e) {
+                    assertEquals(expected.getMessage(), e.getMessage());
+                }
+            }
+        }
+        // statements after a body are parsed as usual
+        try {
+            Parser.parseScriptLazy("function f() {} a b");
+            fail("parsing should fail");
+        } catch (JsError e) {
+            assertEquals(18, e.getIndex());
+        }
+        assertTrue(Parser.parseScriptLazy("function f() {}\n(0)").statements.index(1).fromJust() instanceof ExpressionStatement);
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        String[] libraries = {
+                "angular-1.2.5.js",
+                "angular-1.2.5.min.js",
+                "backbone-1.1.0.js",
+                "everything-0.0.4.js",
+                "jquery-1.9.1.js",
+                "jquery.min-2.1.1.js",
+                "mootools-1.4.5.js",
+                "three.min-r67.js",
+                "underscore-1.5.2.js",
+                "yui-3.12.0.js",
+        };
+        for (String library : libraries) {
+            byte[] encoded = Files.readAllBytes(Paths.get("src/test/resources/libraries", library));
+            assertSameAsEager(new String(encoded, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.shift.es2018.ast.BinaryExpression;
+import com.shapesecurity.shift.es2018.ast.ExpressionStatement;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.ReturnStatement;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.ast.StaticMemberExpression;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class NodeInternerTest extends TestCase {
+
+    @Nonnull
+    private static ExpressionStatement statement(@Nonnull Script script, int index) {
+        return (ExpressionStatement) script.statements.index(index).fromJust();
+    }
+
+    @Test
+    public void testShared() throws JsError {
+        NodeInterner interner = new NodeInterner();
+        Script a = Parser.parseScript("'use strict'; a.b; x === null; function f() { return this; }", interner);
+        Script b = Parser.parseScript("'use strict'; a.b; x === null; function g() { return this; }", interner);
+
+        assertSame(a.directives.maybeHead().fromJust(), b.directives.maybeHead().fromJust());
+        assertSame(statement(a, 0).expression, statement(b, 0).expression);
+        assertSame(statement(a, 1).expression, statement(b, 1).expression);
+        ReturnStatement returnA = (ReturnStatement) ((FunctionDeclaration) a.statements.index(2).fromJust()).body.statements.maybeHead().fromJust();
+        ReturnStatement returnB = (ReturnStatement) ((FunctionDeclaration) b.statements.index(2).fromJust()).body.statements.maybeHead().fromJust();
+        assertSame(returnA, returnB);
+        // the statements themselves, and the functions, are not shared
+        assertNotSame(statement(a, 0), statement(b, 0));
+        assertNotSame(a.statements.index(2).fromJust(), b.statements.index(2).fromJust());
+
+        // subtrees within a single tree are shared too
+        Script c = Parser.parseScript("x.y + x.y", interner);
+        BinaryExpression binary = (BinaryExpression) statement(c, 0).expression;
+        assertSame(binary.left, binary.right);
+    }
+
+    @Test
+    public void testTallSubtreesNotShared() throws JsError {
+        NodeInterner interner = new NodeInterner();
+        StaticMemberExpression a = (StaticMemberExpression) statement(Parser.parseScript("a.b.c", interner), 0).expression;
+        StaticMemberExpression b = (StaticMemberExpression) statement(Parser.parseScript("a.b.c", interner), 0).expression;
+        assertEquals(a, b);
+        assertNotSame(a, b);
+        assertSame(a.object, b.object);
+    }
+
+    @Test
+    public void testModule() throws JsError {
+        NodeInterner interner = new NodeInterner();
+        String source = "import a from 'b'; export default a.c + 1;";
+        Module module = Parser.parseModule(source, interner);
+        assertEquals(Parser.parseModule(source), module);
+        assertEquals(module, Parser.parseModule(source, interner));
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        String[] libraries = {
+            "angular-1.2.5.js",
+            "backbone-1.1.0.js",
+            "everything-0.0.4.js",
+            "jquery-1.9.1.js",
+            "yui-3.12.0.js",
+        };
+        NodeInterner interner = new NodeInterner();
+        for (String library : libraries) {
+            byte[] encoded = Files.readAllBytes(Paths.get("src/test/resources/libraries", library));
+            String source = new String(encoded, StandardCharsets.UTF_8);
+            assertEquals(library, Parser.parseScript(source), Parser.parseScript(source, interner));
+        }
+    }
+}
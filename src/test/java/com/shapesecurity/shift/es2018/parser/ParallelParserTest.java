@@ -0,0 +1,88 @@
+package com.shapesecurity.shift.es2018.parser;
+
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelParserTest extends TestCase {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    // large enough for the body containing it to be parsed on its own
+    private static final String PADDING = new String(new char[5000]).replace('\0', ' ');
+
+    private static void assertSameAsSequential(@Nonnull String source) throws JsError {
+        assertEquals(Parser.parseScript(source), Parser.parseScriptParallel(source, POOL));
+        assertEquals(Parser.parseModule(source), Parser.parseModuleParallel(source, POOL));
+    }
+
+    private static void assertSameErrorAsSequential(@Nonnull String source) {
+        try {
+            Parser.parseScript(source);
+            fail("parsing should fail");
+        } catch (JsError expected) {
+            try {
+                Parser.parseScriptParallel(source, POOL);
+                fail("parsing should fail");
+            } catch (JsError e) {
+                assertEquals(expected.getMessage(), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testNested() throws JsError {
+        assertSameAsSequential("function f() {" + PADDING + "function g() {" + PADDING + "return function () {" + PADDING + "}; } function h() {} }");
+        assertSameAsSequential("class A { m() {" + PADDING + "x; } *n() {" + PADDING + "yield 0; } async o() {" + PADDING + "await 0; } }");
+        assertSameAsSequential("(function () { 'use strict';" + PADDING + "(() => {" + PADDING + "0; })(); })();");
+    }
+
+    @Test
+    public void testErrors() {
+        assertSameErrorAsSequential("function f() {" + PADDING + "a b }");
+        assertSameErrorAsSequential("function f() {" + PADDING + "a b } c d");
+        assertSameErrorAsSequential("function f() {" + PADDING + "function g() {" + PADDING + "a b } } c d");
+        assertSameErrorAsSequential("function f() {" + PADDING + "a b } function g() {" + PADDING + "c d }");
+        assertSameErrorAsSequential("function f() { 'use strict';" + PADDING + "function g() {" + PADDING + "010 } }");
+    }
+
+    @Test
+    public void testAmbiguousSlashes() throws JsError {
+        StringBuilder statements = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            statements.append("var v").append(i).append(" = ").append(i).append(";\n");
+        }
+        String padding = statements.toString();
+        // each `/` could be taken for the wrong one of division or a regular expression when matching braces
+        assertSameAsSequential("function f(){ x\n{}\n/}/g.test(y)\n" + padding + "}");
+        assertSameAsSequential("function f() {" + padding + "var g = function () {} / 2 / {}.x; }");
+        assertSameAsSequential("function f() {" + padding + "return a.if(b) / 2 / c.while(d) / 3; }");
+        assertSameAsSequential("function f() {" + padding + "for (x of /}/g); for (y of z) /}/.exec(y); }");
+        assertSameAsSequential("function f() {" + padding + "function g() {" + padding + "x\n{}\n/}/g.test(y) } }");
+        assertSameAsSequential("async function f() {" + padding + "for await (x of y) /}/g.exec(x); return await (a) / 2 / 1; }");
+        assertSameErrorAsSequential("function f(){ x\n{}\n/}/g.test(y)\n" + padding + "} a b");
+        assertSameErrorAsSequential("function f() {" + padding + "x\n{}\n/}/g.test(y) c d }");
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        String[] libraries = {
+                "angular-1.2.5.js",
+                "backbone-1.1.0.js",
+                "jquery-1.9.1.js",
+                "jquery.min-2.1.1.js",
+                "three.min-r67.js",
+                "yui-3.12.0.js",
+        };
+        for (String library : libraries) {
+            byte[] encoded = Files.readAllBytes(Paths.get("src/test/resources/libraries", library));
+            String source = new String(encoded, StandardCharsets.UTF_8);
+            assertEquals(Parser.parseScript(source), Parser.parseScriptParallel(source, POOL));
+        }
+    }
+}
@@ -163,6 +163,7 @@ public abstract class ParserTestCase extends TestCase {
         ImmutableList<EarlyError> errors = EarlyErrorChecker.validate(script);
         assertEquals(1, errors.length);
         assertEquals(error, errors.maybeHead().fromJust().message);
+        assertSameEarlyErrors(errors, EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), script)));
     }
 
 
@@ -171,11 +172,19 @@ public abstract class ParserTestCase extends TestCase {
         ImmutableList<EarlyError> errors = EarlyErrorChecker.validate(module);
         assertEquals(1, errors.length);
         assertEquals(error, errors.maybeHead().fromJust().message);
+        assertSameEarlyErrors(errors, EarlyErrorChecker.extract(Director.reduceModule(new EarlyErrorChecker(), module)));
     }
 
     public static void testScriptNoEarlyError(@Nonnull String source) throws JsError {
         Script script = Parser.parseScript(source);
         ImmutableList<EarlyError> errors = EarlyErrorChecker.validate(script);
         assertEquals(0, errors.length);
+        assertEquals(0, EarlyErrorChecker.extract(Director.reduceScript(new EarlyErrorChecker(), script)).length);
+    }
+
+    // errors found in separately parsed trees are the same if they have the same messages for equal nodes, in order
+    public static void assertSameEarlyErrors(@Nonnull ImmutableList<EarlyError> expected, @Nonnull ImmutableList<EarlyError> actual) {
+        assertEquals(expected.map(e -> e.message), actual.map(e -> e.message));
+        assertEquals(expected.map(e -> e.node), actual.map(e -> e.node));
     }
 }
@@ -0,0 +1,191 @@
+package com.shapesecurity.shift.es2018.parser;
+
+import com.shapesecurity.shift.es2018.parser.token.IdentifierToken;
+import com.shapesecurity.shift.es2018.parser.token.RegularExpressionLiteralToken;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TokenIteratorTest extends TestCase {
+
+    // Records every token the parser scans, by offset; a rescan at the same offset (regular expressions and template
+    // continuations) replaces the earlier token.
+    private static class RecordingParser extends Parser {
+        final TreeMap<Integer, Token> tokens;
+
+        RecordingParser(@Nonnull String source, @Nonnull TreeMap<Integer, Token> tokens) throws JsError {
+            super(source, false);
+            this.tokens = tokens;
+        }
+
+        @Nonnull
+        @Override
+        public Token collectToken() throws JsError {
+            return this.record(super.collectToken());
+        }
+
+        @Nonnull
+        @Override
+        protected RegularExpressionLiteralToken scanRegExp(int start) throws JsError {
+            return this.record(super.scanRegExp(start));
+        }
+
+        @Nonnull
+        @Override
+        protected Token scanTemplateElement() throws JsError {
+            return this.record(super.scanTemplateElement());
+        }
+
+        private <T extends Token> T record(T token) {
+            // collectToken is called from the Tokenizer constructor, before this.tokens is assigned
+            if (token.type != TokenType.EOS && this.tokens != null) {
+                this.tokens.put(token.slice.start, token);
+            }
+            return token;
+        }
+    }
+
+    private static List<String> describe(@Nonnull Iterator<Token> tokens) {
+        List<String> result = new ArrayList<>();
+        while (tokens.hasNext()) {
+            Token token = tokens.next();
+            result.add(token.type + "@" + token.slice.start + ":" + token.slice);
+        }
+        return result;
+    }
+
+    private static void assertSameTokensAsParser(@Nonnull String source) throws JsError {
+        TreeMap<Integer, Token> recorded = new TreeMap<>();
+        RecordingParser parser = new RecordingParser(source, recorded);
+        // the first token is scanned by the Tokenizer constructor, before recording starts
+        parser.restoreTokenizerState(new TokenizerState(0, 0, 0, 0, 0, 0, 0, 0, 0, parser.lookahead, false));
+        parser.lookahead = parser.collectToken();
+        parser.parseScript();
+
+        List<String> expected = new ArrayList<>();
+        for (Map.Entry<Integer, Token> entry : recorded.entrySet()) {
+            expected.add(entry.getValue().type + "@" + entry.getKey() + ":" + entry.getValue().slice);
+        }
+        assertEquals(expected, describe(Tokenizer.stream(source, false)));
+    }
+
+    private static void assertTypes(@Nonnull String source, @Nonnull TokenType... expected) throws JsError {
+        List<TokenType> actual = new ArrayList<>();
+        Tokenizer.stream(source, false).forEachRemaining(token -> actual.add(token.type));
+        assertEquals(List.of(expected), actual);
+    }
+
+    @Test
+    public void testRegExpOrDivide() throws JsError {
+        assertTypes("/a/g", TokenType.REGEXP);
+        assertTypes("a / b / c", TokenType.IDENTIFIER, TokenType.DIV, TokenType.IDENTIFIER, TokenType.DIV, TokenType.IDENTIFIER);
+        assertTypes("a /= /=/", TokenType.IDENTIFIER, TokenType.ASSIGN_DIV, TokenType.REGEXP);
+        assertTypes("(a) / 2", TokenType.LPAREN, TokenType.IDENTIFIER, TokenType.RPAREN, TokenType.DIV, TokenType.NUMBER);
+        assertTypes("if (a) /b/", TokenType.IF, TokenType.LPAREN, TokenType.IDENTIFIER, TokenType.RPAREN, TokenType.REGEXP);
+        assertTypes("a[0] / 2", TokenType.IDENTIFIER, TokenType.LBRACK, TokenType.NUMBER, TokenType.RBRACK, TokenType.DIV, TokenType.NUMBER);
+        assertTypes("{} /b/", TokenType.LBRACE, TokenType.RBRACE, TokenType.REGEXP);
+        assertTypes("x = {} / 1", TokenType.IDENTIFIER, TokenType.ASSIGN, TokenType.LBRACE, TokenType.RBRACE, TokenType.DIV, TokenType.NUMBER);
+        assertTypes("return /b/", TokenType.RETURN, TokenType.REGEXP);
+        assertTypes("typeof /b/", TokenType.TYPEOF, TokenType.REGEXP);
+        assertTypes("this / 2", TokenType.THIS, TokenType.DIV, TokenType.NUMBER);
+        assertTypes("/[/]/.test(a)", TokenType.REGEXP, TokenType.PERIOD, TokenType.IDENTIFIER, TokenType.LPAREN, TokenType.IDENTIFIER, TokenType.RPAREN);
+    }
+
+    @Test
+    public void testTemplates() throws JsError {
+        assertTypes("`a${ {b: 1} }c${d}e` / 2", TokenType.TEMPLATE, TokenType.LBRACE, TokenType.IDENTIFIER, TokenType.COLON,
+                TokenType.NUMBER, TokenType.RBRACE, TokenType.TEMPLATE, TokenType.IDENTIFIER, TokenType.TEMPLATE, TokenType.DIV, TokenType.NUMBER);
+        assertTypes("`${`${a}`}`", TokenType.TEMPLATE, TokenType.TEMPLATE, TokenType.IDENTIFIER, TokenType.TEMPLATE, TokenType.TEMPLATE);
+    }
+
+    @Test
+    public void testIdentifiersAndKeywords() throws JsError {
+        assertTypes("instanceof instanceOf in i if do d0 function functions enum",
+                TokenType.INSTANCEOF, TokenType.IDENTIFIER, TokenType.IN, TokenType.IDENTIFIER, TokenType.IF, TokenType.DO,
+                TokenType.IDENTIFIER, TokenType.FUNCTION, TokenType.IDENTIFIER, TokenType.FUTURE_RESERVED_WORD);
+        assertTypes("\\u0069f i\\u{66} \\u0061b", TokenType.ESCAPED_KEYWORD, TokenType.ESCAPED_KEYWORD, TokenType.IDENTIFIER);
+
+        Iterator<Token> tokens = Tokenizer.stream("a\\u0062c 𝐀x await", false);
+        Token token = tokens.next();
+        assertEquals("abc", token.toString());
+        assertTrue(((IdentifierToken) token).escaped);
+        assertEquals("a\\u0062c", token.slice.toString());
+        token = tokens.next();
+        assertEquals("𝐀x", token.toString());
+        token = tokens.next();
+        assertEquals(TokenType.AWAIT, token.type);
+        assertEquals("await", token.toString());
+    }
+
+    @Test
+    public void testErrors() throws JsError {
+        Iterator<Token> tokens = Tokenizer.stream("a #", false);
+        assertEquals(TokenType.IDENTIFIER, tokens.next().type);
+        try {
+            tokens.hasNext();
+            fail("tokenization should fail");
+        } catch (TokenIterator.TokenizationException e) {
+            assertEquals(2, e.getError().getIndex());
+        }
+    }
+
+    @Test
+    public void testView() throws JsError {
+        String source = "a = /b/g;\n  c(`${d}`) // e\n/ 2";
+        Iterator<Token> tokens = Tokenizer.stream(source, false);
+        TokenIterator views = Tokenizer.stream(source, false);
+        TokenView first = null;
+        TokenView view;
+        while ((view = views.nextView()) != null) {
+            if (first == null) {
+                first = view;
+            }
+            assertSame(first, view);
+            assertTrue(tokens.hasNext());
+            Token token = tokens.next();
+            assertEquals(token.type, view.getType());
+            assertEquals(token.slice.start, view.getStart());
+            assertEquals(token.slice.end, view.getEnd());
+            assertEquals(token.slice.toString(), view.toString());
+        }
+        assertFalse(tokens.hasNext());
+
+        views = Tokenizer.stream(source, false);
+        for (int i = 0; i < 5; ++i) {
+            view = views.nextView();
+        }
+        assertEquals("c", view.toString());
+        assertEquals(2, view.getLine());
+        assertEquals(2, view.getColumn());
+        assertTrue(view.hasLineTerminatorBefore());
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        String[] libraries = {
+                "angular-1.2.5.js",
+                "angular-1.2.5.min.js",
+                "backbone-1.1.0.js",
+                "jquery-1.9.1.js",
+                "jquery.min-2.1.1.js",
+                "mootools-1.4.5.js",
+                "three.min-r67.js",
+                "underscore-1.5.2.js",
+                "yui-3.12.0.js",
+        };
+        for (String library : libraries) {
+            byte[] encoded = Files.readAllBytes(Paths.get("src/test/resources/libraries", library));
+            assertSameTokensAsParser(new String(encoded, StandardCharsets.UTF_8));
+        }
+    }
+}
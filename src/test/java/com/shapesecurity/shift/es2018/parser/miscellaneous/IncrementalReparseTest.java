@@ -0,0 +1,224 @@
+package com.shapesecurity.shift.es2018.parser.miscellaneous;
+
+import com.shapesecurity.functional.Pair;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.ExpressionStatement;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
+import com.shapesecurity.shift.es2018.parser.ParserWithLocation.TextEdit;
+import com.shapesecurity.shift.es2018.parser.SourceLocation;
+import com.shapesecurity.shift.es2018.parser.SourceSpan;
+import com.shapesecurity.shift.es2018.parser.Token;
+import com.shapesecurity.shift.es2018.parser.TokenType;
+import com.shapesecurity.shift.es2018.parser.Tokenizer;
+import com.shapesecurity.shift.es2018.path.BranchGetter;
+import com.shapesecurity.shift.es2018.path.BranchIterator;
+import junit.framework.TestCase;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class IncrementalReparseTest extends TestCase {
+	private ParserWithLocation parser;
+
+	private String source;
+
+	private Script tree;
+
+	private void init(@Nonnull String source) throws JsError {
+		this.parser = new ParserWithLocation();
+		this.source = source;
+		this.tree = this.parser.parseScript(source);
+	}
+
+	// Applies the edit and checks that the result, its locations and its comments are those of a fresh parse.
+	private Script edit(int start, int end, @Nonnull String replacement) throws JsError {
+		String text = this.source.substring(0, start) + replacement + this.source.substring(end);
+		ParserWithLocation fresh = new ParserWithLocation();
+		Script expected;
+		try {
+			expected = fresh.parseScript(text);
+		} catch (JsError e) {
+			try {
+				this.parser.reparseScript(this.tree, this.source, new TextEdit(start, end, replacement));
+				fail("reparsing should fail");
+			} catch (JsError expectedError) {
+				assertEquals(e.getIndex(), expectedError.getIndex());
+			}
+			return this.tree;
+		}
+		Script actual = this.parser.reparseScript(this.tree, this.source, new TextEdit(start, end, replacement));
+		assertEquals(expected, actual);
+
+		Iterator<Pair<BranchGetter, Node>> expectedNodes = new BranchIterator(expected).iterator();
+		for (Pair<BranchGetter, Node> entry : new BranchIterator(actual)) {
+			assertEquals(describe(fresh.getLocation(expectedNodes.next().right)), describe(this.parser.getLocation(entry.right)));
+		}
+		assertEquals(describe(fresh.getComments()), describe(this.parser.getComments()));
+
+		this.source = text;
+		this.tree = actual;
+		return actual;
+	}
+
+	private int at(@Nonnull String text) {
+		return this.source.indexOf(text);
+	}
+
+	@Nonnull
+	private static String describe(@Nonnull Maybe<SourceSpan> location) {
+		return location.map(span -> describe(span.start) + "-" + describe(span.end)).orJust("none");
+	}
+
+	@Nonnull
+	private static String describe(@Nonnull SourceLocation location) {
+		return location.line + ":" + location.column + "@" + location.offset;
+	}
+
+	@Nonnull
+	private static List<String> describe(@Nonnull ImmutableList<ParserWithLocation.Comment> comments) {
+		List<String> result = new ArrayList<>();
+		for (ParserWithLocation.Comment comment : comments) {
+			result.add(comment.type + " " + comment.text + " " + describe(comment.start) + "-" + describe(comment.end));
+		}
+		return result;
+	}
+
+	@Nonnull
+	private static Set<Node> nodes(@Nonnull Node root) {
+		Set<Node> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Pair<BranchGetter, Node> entry : new BranchIterator(root)) {
+			nodes.add(entry.right);
+		}
+		return nodes;
+	}
+
+	@Test
+	public void testSharing() throws JsError {
+		init("function f() {\n  a;\n  b + c; // c\n}\nfunction g() { d; }\n");
+		Script previous = this.tree;
+		Script script = edit(26, 27, "cc\n  + e");
+
+		assertSame(previous.statements.index(1).fromJust(), script.statements.index(1).fromJust());
+		FunctionDeclaration before = (FunctionDeclaration) previous.statements.maybeHead().fromJust();
+		FunctionDeclaration after = (FunctionDeclaration) script.statements.maybeHead().fromJust();
+		assertNotSame(before, after);
+		assertSame(before.name, after.name);
+		assertSame(before.params, after.params);
+		assertSame(before.body.statements.maybeHead().fromJust(), after.body.statements.maybeHead().fromJust());
+
+		Set<Node> shared = nodes(previous);
+		int fresh = 0;
+		for (Node node : nodes(script)) {
+			if (!shared.contains(node)) {
+				++fresh;
+			}
+		}
+		// the script, f, its body, and the reparsed statement `b + cc\n  + e;` with its five nodes
+		assertEquals(9, fresh);
+	}
+
+	@Test
+	public void testSequence() throws JsError {
+		init("/* a */\nvar a = 1; // b\nfunction f(x) {\n  'use strict';\n  return x * 2; /* c\n */\n}\n`${ a }`; // d\n");
+		edit(18, 18, "0");
+		edit(49, 50, "y");
+		edit(49, 50, "x\n +\n 1");
+		edit(2, 5, "\n"); // within a comment
+		edit(74, 74, "/* e\r\n*/");
+		edit(68, 68, "\r\n"); // next to an existing \r\n
+		edit(0, this.source.length(), "a b");
+	}
+
+	@Test
+	public void testFallback() throws JsError {
+		init("a; b;\nfunction f() { c; d }");
+		edit(1, 4, " + "); // spans statements
+		edit(0, 5, "e;");
+		edit(20, 21, "+"); // changes the extent of the body
+		edit(17, 18, "'x'"); // becomes a directive
+		edit(0, 0, "'use strict'; ");
+
+		init("'a' + x;\nb;");
+		edit(4, 7, "");
+
+		init("a\n++b");
+		edit(3, 4, ""); // joins the statements
+	}
+
+	@Test
+	public void testFailure() throws JsError {
+		init("function f() { a; }\nb;");
+		Script previous = this.tree;
+		edit(16, 16, "(");
+		assertSame(previous, this.tree);
+		edit(16, 16, "(0)");
+	}
+
+	@Test
+	public void testContext() throws JsError {
+		init("function* g() { yield 1; }\nasync function f() { await 1; }\nclass A { *m() { yield; } async n() { await 0; } }\nx => { x; }");
+		Node last = this.tree.statements.index(3).fromJust();
+		edit(at("1;"), at("1;") + 1, "2");
+		edit(at("1;"), at("1;") + 1, "2");
+		edit(at("yield;") + 5, at("yield;") + 5, " 1");
+		edit(at("0;"), at("0;") + 1, "1");
+		assertSame(last, this.tree.statements.index(3).fromJust());
+		edit(at("x; }"), at("x; }") + 1, "y");
+	}
+
+	@Test
+	public void testModule() throws JsError {
+		String source = "import a from 'a';\nexport function f() { a; }\nexport default 0;";
+		ParserWithLocation parser = new ParserWithLocation();
+		Module module = parser.parseModule(source);
+		Module reparsed = parser.reparseModule(module, source, new TextEdit(41, 42, "b"));
+		assertEquals(new ParserWithLocation().parseModule(source.substring(0, 41) + "b" + source.substring(42)), reparsed);
+		assertSame(module.items.maybeHead().fromJust(), reparsed.items.maybeHead().fromJust());
+		assertSame(module.items.index(2).fromJust(), reparsed.items.index(2).fromJust());
+	}
+
+	@Test
+	public void testLibrary() throws JsError, IOException {
+		byte[] encoded = Files.readAllBytes(Paths.get("src/test/resources/libraries", "underscore-1.5.2.js"));
+		init(new String(encoded, StandardCharsets.UTF_8));
+		List<Token> identifiers = new ArrayList<>();
+		Tokenizer.stream(this.source, false).forEachRemaining(token -> {
+			if (token.type == TokenType.IDENTIFIER) {
+				identifiers.add(token);
+			}
+		});
+
+		// enough edits to exceed the number of pending shifts, each lengthening an identifier or adding a comment
+		// with a line break before it
+		Random random = new Random(0);
+		int delta = 0;
+		for (int i = 0; i < 100; ++i) {
+			Token token = identifiers.get(i * (identifiers.size() / 100));
+			String replacement = random.nextBoolean() ? "x" : "/*\n*/";
+			int offset = (replacement.equals("x") ? token.slice.end : token.slice.start) + delta;
+			edit(offset, offset, replacement);
+			delta += replacement.length();
+			if (random.nextInt(4) == 0) {
+				edit(offset, offset + replacement.length(), "");
+				delta -= replacement.length();
+			}
+		}
+	}
+}
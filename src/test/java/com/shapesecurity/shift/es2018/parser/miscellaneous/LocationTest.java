@@ -4,14 +4,21 @@ import com.shapesecurity.functional.data.ImmutableList;
 import com.shapesecurity.functional.data.Maybe;
 import com.shapesecurity.shift.es2018.ast.*;
 import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.ParserWithCompactLocation;
 import com.shapesecurity.shift.es2018.parser.ParserWithLocation;
 import com.shapesecurity.shift.es2018.parser.SourceLocation;
 import com.shapesecurity.shift.es2018.parser.SourceSpan;
 import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.reducer.Flattener;
 import junit.framework.TestCase;
 import javax.annotation.Nonnull;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 public class LocationTest extends TestCase {
 	private String source;
 
@@ -322,4 +329,84 @@ public class LocationTest extends TestCase {
 		method = (Method)  ((ObjectExpression) ((ExpressionStatement) this.tree.items.maybeHead().fromJust()).expression).properties.maybeHead().fromJust();
 		checkText(method, "async m () {}");
 	}
+
+	@Test
+	public void testFilter() throws JsError, IOException {
+		String source = new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/angular-1.2.5.js")), StandardCharsets.UTF_8);
+		ParserWithLocation unfiltered = new ParserWithLocation();
+		Script script = unfiltered.parseScript(source);
+		// binding identifiers in parameters and assignment patterns get their locations from copied nodes
+		ParserWithLocation filtered = new ParserWithLocation(type -> Statement.class.isAssignableFrom(type) || type == FunctionBody.class || type == BindingIdentifier.class);
+		Script filteredScript = filtered.parseScript(source);
+		assertEquals(script, filteredScript);
+		ImmutableList<Node> nodes = Flattener.flatten(script);
+		ImmutableList<Node> filteredNodes = Flattener.flatten(filteredScript);
+		int statements = 0;
+		for (; nodes.isNotEmpty(); nodes = nodes.maybeTail().fromJust(), filteredNodes = filteredNodes.maybeTail().fromJust()) {
+			Node node = nodes.maybeHead().fromJust();
+			Node filteredNode = filteredNodes.maybeHead().fromJust();
+			if (node instanceof Statement || node instanceof FunctionBody || node instanceof BindingIdentifier) {
+				assertEquals(unfiltered.getLocation(node).fromJust(), filtered.getLocation(filteredNode).fromJust());
+				++statements;
+			} else if (node instanceof CallExpression || node instanceof BinaryExpression) {
+				assertTrue(filtered.getLocation(filteredNode).isNothing());
+			}
+		}
+		assertTrue(statements > 0);
+
+		init(" [a, b = c] = d; ");
+		filtered = new ParserWithLocation(type -> type == ArrayAssignmentTarget.class || type == AssignmentTargetIdentifier.class);
+		ExpressionStatement statement = (ExpressionStatement) filtered.parseModule(this.source).items.maybeHead().fromJust();
+		ArrayAssignmentTarget target = (ArrayAssignmentTarget) ((AssignmentExpression) statement.expression).binding;
+		SourceSpan location = filtered.getLocation(target).fromJust();
+		assertEquals("[a, b = c]", this.source.substring(location.start.offset, location.end.offset));
+		AssignmentTargetWithDefault element = (AssignmentTargetWithDefault) target.elements.index(1).fromJust().fromJust();
+		location = filtered.getLocation(element.binding).fromJust();
+		assertEquals("b", this.source.substring(location.start.offset, location.end.offset));
+		assertTrue(filtered.getLocation(statement).isNothing());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testSubclassLocations() throws JsError {
+		// subclasses may still read the locations from a persistent table
+		class Subclass extends ParserWithLocation {
+			@Nonnull
+			Maybe<SourceSpan> tableLocation(@Nonnull Node node) {
+				return this.getLocations().get(node);
+			}
+		}
+		Subclass parser = new Subclass();
+		Script script = parser.parseScript("a;\nfunction f() { return b; }");
+		for (Node node : Flattener.flatten(script)) {
+			assertEquals(parser.getLocation(node), parser.tableLocation(node));
+		}
+		String text = "a;\nfunction f() { return b; }";
+		script = parser.reparseScript(script, text, new ParserWithLocation.TextEdit(text.indexOf('b'), text.indexOf('b') + 1, "c + d"));
+		for (Node node : Flattener.flatten(script)) {
+			assertEquals(parser.getLocation(node), parser.tableLocation(node));
+		}
+	}
+
+	@Test
+	public void testCompact() throws JsError, IOException {
+		String[] sources = {
+			" a  + 1.  .b ;\r\n`a${ b }c${d}`\u2028export default function () {}\n\n[a, {b: c = d}] = e;  ",
+			new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/angular-1.2.5.js")), StandardCharsets.UTF_8),
+			new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/jquery-1.9.1.js")), StandardCharsets.UTF_8),
+			new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/three.min-r67.js")), StandardCharsets.UTF_8),
+		};
+		ParserWithCompactLocation compact = new ParserWithCompactLocation();
+		for (String source : sources) {
+			ParserWithLocation parser = new ParserWithLocation();
+			Module module = parser.parseModule(source);
+			Module compactModule = compact.parseModule(source);
+			assertEquals(module, compactModule);
+			ImmutableList<Node> nodes = Flattener.flatten(module);
+			ImmutableList<Node> compactNodes = Flattener.flatten(compactModule);
+			for (; nodes.isNotEmpty(); nodes = nodes.maybeTail().fromJust(), compactNodes = compactNodes.maybeTail().fromJust()) {
+				assertEquals(parser.getLocation(nodes.maybeHead().fromJust()), compact.getLocation(compactNodes.maybeHead().fromJust()));
+			}
+		}
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.reducer;
+
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Maybe;
+import com.shapesecurity.shift.es2018.ast.ArrayExpression;
+import com.shapesecurity.shift.es2018.ast.BinaryExpression;
+import com.shapesecurity.shift.es2018.ast.Expression;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Program;
+import com.shapesecurity.shift.es2018.ast.SpreadElement;
+import com.shapesecurity.shift.es2018.ast.SpreadElementExpression;
+import com.shapesecurity.shift.es2018.ast.operators.BinaryOperator;
+import com.shapesecurity.shift.es2018.fuzzer.Fuzzer;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+
+import javax.annotation.Nonnull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IterativeDirectorTest extends VisitorTestCase {
+    // Reduces the program with both directors, checking that the reducer is called on the same nodes in the same order
+    // and that the results are the same.
+    private static void check(@Nonnull Program program) {
+        List<Node> expectedCalls = new ArrayList<>();
+        Node expected = Director.reduceProgram(new WrappedReducer<>((node, result) -> {
+            expectedCalls.add(node);
+            return result;
+        }, new ReconstructingReducer()), program);
+
+        List<Node> actualCalls = new ArrayList<>();
+        Node actual = IterativeDirector.reduceProgram(new WrappedReducer<>((node, result) -> {
+            actualCalls.add(node);
+            return result;
+        }, new ReconstructingReducer()), program);
+
+        assertEquals(expectedCalls.size(), actualCalls.size());
+        for (int i = 0; i < expectedCalls.size(); ++i) {
+            assertSame(expectedCalls.get(i), actualCalls.get(i));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        for (String library : new String[]{ "angular-1.2.5.js", "everything-0.0.4.js", "jquery-1.9.1.js", "yui-3.12.0.js" }) {
+            check(Parser.parseScript(readFile("libraries/" + library)));
+        }
+        check(Parser.parseModule("import a, * as b from 'c'; export default class extends a { static *[b](...c) {} }"));
+    }
+
+    @Test
+    public void testFuzzed() {
+        for (int i = 0; i < 1000; ++i) {
+            check(Fuzzer.generate(new Random(i), 8));
+        }
+    }
+
+    @Test
+    public void testDeepBinaryExpression() {
+        Expression expression = new IdentifierExpression("a");
+        for (int i = 0; i < 1000000; ++i) {
+            expression = new BinaryExpression(expression, BinaryOperator.Plus, new IdentifierExpression("a"));
+        }
+        assertEquals(1000001, IterativeDirector.reduceExpression(new Counter.IdentifierCounter(), expression).intValue());
+    }
+
+    @Test
+    public void testDeepArrayExpression() {
+        Expression expression = new IdentifierExpression("a");
+        for (int i = 0; i < 100000; ++i) {
+            expression = new ArrayExpression(ImmutableList.of(Maybe.<SpreadElementExpression>empty(), Maybe.of(new SpreadElement(expression))));
+        }
+        assertEquals(1, IterativeDirector.reduceExpression(new Counter.IdentifierCounter(), expression).intValue());
+    }
+}
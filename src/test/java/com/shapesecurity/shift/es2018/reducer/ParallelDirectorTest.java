@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Shape Security, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.shapesecurity.shift.es2018.reducer;
+
+import com.shapesecurity.functional.data.ConcatList;
+import com.shapesecurity.functional.data.ImmutableList;
+import com.shapesecurity.functional.data.Monoid;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Program;
+import com.shapesecurity.shift.es2018.ast.Script;
+import com.shapesecurity.shift.es2018.parser.EarlyError;
+import com.shapesecurity.shift.es2018.parser.EarlyErrorChecker;
+import com.shapesecurity.shift.es2018.parser.JsError;
+import com.shapesecurity.shift.es2018.parser.Parser;
+
+import javax.annotation.Nonnull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+public class ParallelDirectorTest extends VisitorTestCase {
+    private static final Reducer<ConcatList<Node>> FLATTENER = new WrappedReducer<>(
+        (node, nodes) -> ConcatList.of(node).append(nodes),
+        new MonoidalReducer<>(new Monoid.ConcatListAppend<>())
+    );
+
+    private static void assertSameNodes(@Nonnull ImmutableList<Node> expected, @Nonnull ImmutableList<Node> actual) {
+        assertEquals(expected.length, actual.length);
+        for (; expected.isNotEmpty(); expected = expected.maybeTail().fromJust(), actual = actual.maybeTail().fromJust()) {
+            assertSame(expected.maybeHead().fromJust(), actual.maybeHead().fromJust());
+        }
+    }
+
+    private static void assertSameErrors(@Nonnull ImmutableList<EarlyError> expected, @Nonnull ImmutableList<EarlyError> actual) {
+        assertEquals(expected.length, actual.length);
+        for (; expected.isNotEmpty(); expected = expected.maybeTail().fromJust(), actual = actual.maybeTail().fromJust()) {
+            assertSame(expected.maybeHead().fromJust().node, actual.maybeHead().fromJust().node);
+            assertEquals(expected.maybeHead().fromJust().message, actual.maybeHead().fromJust().message);
+        }
+    }
+
+    private static void check(@Nonnull Program program) {
+        assertSameNodes(Director.reduceProgram(FLATTENER, program).toList(), ParallelDirector.reduceProgram(FLATTENER, program).toList());
+        assertSameErrors(
+            EarlyErrorChecker.extract(Director.reduceProgram(new EarlyErrorChecker(), program)),
+            EarlyErrorChecker.extract(ParallelDirector.reduceProgram(new EarlyErrorChecker(), program))
+        );
+        assertEquals(Director.reduceProgram(new ReconstructingReducer(), program), ParallelDirector.reduceProgram(new ReconstructingReducer(), program));
+        if (program instanceof Script) {
+            assertEquals(Director.reduceScript(StrictnessReducer.INSTANCE, (Script) program), ParallelDirector.reduceScript(StrictnessReducer.INSTANCE, (Script) program));
+        }
+    }
+
+    @Test
+    public void testLibraries() throws JsError, IOException {
+        for (String library : new String[]{ "angular-1.2.5.js", "everything-0.0.4.js", "jquery-1.9.1.js", "yui-3.12.0.js" }) {
+            check(Parser.parseScript(readFile("libraries/" + library)));
+        }
+        check(Parser.parseModule("import a, * as b from 'c'; export default class extends a { static *[b](...c) {} }"));
+    }
+
+    @Test
+    public void testEarlyErrors() throws JsError {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            source.append("break; function f").append(i).append("(a, a) { 'use strict'; [a, (b, c) => { continue; }, ").append(i).append("]; }\n");
+        }
+        Script script = Parser.parseScript(source.toString());
+        // the break, the duplicate parameter and the continue on each line
+        assertEquals(3000, EarlyErrorChecker.extract(ParallelDirector.reduceScript(new EarlyErrorChecker(), script)).length);
+        check(script);
+    }
+
+    @Test
+    public void testPool() throws JsError, IOException {
+        Script script = Parser.parseScript(readFile("libraries/jquery-1.9.1.js"));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // every call is made on one of the pool's threads
+            Reducer<ConcatList<Node>> reducer = new WrappedReducer<>((node, nodes) -> {
+                Thread thread = Thread.currentThread();
+                assertTrue(thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool);
+                return nodes;
+            }, FLATTENER);
+            assertSameNodes(Director.reduceScript(FLATTENER, script).toList(), ParallelDirector.reduceScript(reducer, script, pool).toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
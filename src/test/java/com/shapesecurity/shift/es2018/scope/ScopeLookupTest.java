@@ -32,13 +32,22 @@ import com.shapesecurity.shift.es2018.ast.Node;
 import com.shapesecurity.shift.es2018.ast.Script;
 import com.shapesecurity.shift.es2018.parser.JsError;
 import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.parser.ParserWithCompactLocation;
 import com.shapesecurity.shift.es2018.reducer.Flattener;
 import junit.framework.TestCase;
 
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 public class ScopeLookupTest {
     private static void assertThrows(Effect<Unit> f) {
@@ -255,4 +264,63 @@ public class ScopeLookupTest {
         checkScopeLookupSanity("export default function(){}", false);
         checkScopeLookupSanity("export default function f(){}", false);
     }
+
+    @Nonnull
+    private static <T> Maybe<T> orNothing(@Nonnull Supplier<T> query) {
+        try {
+            return Maybe.of(query.get());
+        } catch (NoSuchElementException | IllegalArgumentException e) {
+            return Maybe.empty();
+        }
+    }
+
+    private static <T> void assertSameAnswer(@Nonnull Supplier<T> expected, @Nonnull Supplier<T> lazy, @Nonnull Supplier<T> compact) {
+        Maybe<T> answer = orNothing(expected);
+        TestCase.assertEquals(answer, orNothing(lazy));
+        TestCase.assertEquals(answer, orNothing(compact));
+    }
+
+    // LazyScopeLookup and CompactScopeLookup must answer every query as ScopeLookup does.
+    private static void checkSameAsScopeLookup(String js, boolean asScript) throws JsError {
+        ParserWithCompactLocation parser = new ParserWithCompactLocation();
+        GlobalScope globalScope = asScript ? ScopeAnalyzer.analyze(parser.parseScript(js)) : ScopeAnalyzer.analyze(parser.parseModule(js));
+        ScopeLookup lookup = new ScopeLookup(globalScope);
+        LazyScopeLookup lazy = new LazyScopeLookup(globalScope);
+        CompactScopeLookup compact = new CompactScopeLookup(globalScope, parser);
+
+        for (Node node : getNodes(globalScope.astNode)) {
+            if (node instanceof BindingIdentifier) {
+                BindingIdentifier bi = (BindingIdentifier) node;
+                assertSameAnswer(() -> lookup.findVariableDeclaredBy(bi), () -> lazy.findVariableDeclaredBy(bi), () -> compact.findVariableDeclaredBy(bi));
+                assertSameAnswer(() -> lookup.findVariableReferencedBy(bi), () -> lazy.findVariableReferencedBy(bi), () -> compact.findVariableReferencedBy(bi));
+            } else if (node instanceof AssignmentTargetIdentifier) {
+                AssignmentTargetIdentifier ati = (AssignmentTargetIdentifier) node;
+                assertSameAnswer(() -> lookup.findVariableReferencedBy(ati), () -> lazy.findVariableReferencedBy(ati), () -> compact.findVariableReferencedBy(ati));
+            } else if (node instanceof IdentifierExpression) {
+                IdentifierExpression ie = (IdentifierExpression) node;
+                assertSameAnswer(() -> lookup.findVariableReferencedBy(ie), () -> lazy.findVariableReferencedBy(ie), () -> compact.findVariableReferencedBy(ie));
+            } else if (node instanceof FunctionDeclaration) {
+                FunctionDeclaration func = (FunctionDeclaration) node;
+                assertSameAnswer(() -> lookup.findVariablesForFuncDecl(func), () -> lazy.findVariablesForFuncDecl(func), () -> compact.findVariablesForFuncDecl(func));
+            } else if (node instanceof ClassDeclaration) {
+                ClassDeclaration cl = (ClassDeclaration) node;
+                assertSameAnswer(() -> lookup.findVariablesForClassDecl(cl), () -> lazy.findVariablesForClassDecl(cl), () -> compact.findVariablesForClassDecl(cl));
+            }
+            assertSameAnswer(() -> lookup.findScopeFor(node), () -> lazy.findScopeFor(node), () -> compact.findScopeFor(node));
+        }
+        for (Variable variable : getVariables(globalScope)) {
+            assertSameAnswer(() -> lookup.isGlobal(variable), () -> lazy.isGlobal(variable), () -> compact.isGlobal(variable));
+        }
+    }
+
+    @Test
+    public void testLazyAndCompact() throws JsError, IOException {
+        checkSameAsScopeLookup("var a, b = 1; let c, d = 1; const e, f = 1; a, b, c, d, e, f, g; a = b = c = d = e = f = g = 0; [a, {b}] = [c]; for (var h in a) h++;", true);
+        checkSameAsScopeLookup("function f(a, b = a) { { function g() {} } if (a) function h() {} return g + h + arguments; } function f() {} try {} catch (e) { var e; }", true);
+        checkSameAsScopeLookup("class C extends (C, null) { f(){C;} } C; (class D { g(){D;} }); D; (() => { { function h(){}; h; } h; });", true);
+        checkSameAsScopeLookup("import a, {b as c} from 'd'; export default class {} export function f() { return a + c; } export let g = f;", false);
+        checkSameAsScopeLookup("export default function(){} class C{} C;", false);
+        String library = new String(Files.readAllBytes(Paths.get("src/test/resources/libraries/backbone-1.1.0.js")), StandardCharsets.UTF_8);
+        checkSameAsScopeLookup(library, true);
+    }
 }
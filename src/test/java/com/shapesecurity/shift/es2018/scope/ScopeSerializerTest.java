@@ -1,14 +1,33 @@
 package com.shapesecurity.shift.es2018.scope;
 
+import com.shapesecurity.shift.es2018.ast.ArrowExpression;
+import com.shapesecurity.shift.es2018.ast.Directive;
+import com.shapesecurity.shift.es2018.ast.FunctionBody;
+import com.shapesecurity.shift.es2018.ast.FunctionDeclaration;
+import com.shapesecurity.shift.es2018.ast.FunctionExpression;
+import com.shapesecurity.shift.es2018.ast.IdentifierExpression;
 import com.shapesecurity.shift.es2018.ast.Module;
+import com.shapesecurity.shift.es2018.ast.Node;
+import com.shapesecurity.shift.es2018.ast.Program;
 import com.shapesecurity.shift.es2018.ast.Script;
 import com.shapesecurity.shift.es2018.parser.JsError;
 import com.shapesecurity.shift.es2018.parser.Parser;
+import com.shapesecurity.shift.es2018.reducer.Director;
+import com.shapesecurity.shift.es2018.reducer.Flattener;
+import com.shapesecurity.shift.es2018.reducer.LazyReconstructingReducer;
+import com.shapesecurity.shift.es2018.reducer.WrappedReducer;
 
 import junit.framework.TestCase;
 
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 public class ScopeSerializerTest {
 
     @Test
@@ -134,4 +153,137 @@ public class ScopeSerializerTest {
         serialized = ScopeSerializer.serialize(globalScope);
         TestCase.assertEquals("{\"node\": \"Script_0\", \"type\": \"Global\", \"isDynamic\": true, \"through\": [{\"node\": \"IdentifierExpression(a)_4\", \"accessibility\": \"Read\"}], \"variables\": [{\"name\": \"a\", \"references\": [{\"node\": \"IdentifierExpression(a)_4\", \"accessibility\": \"Read\"}], \"declarations\": []}], \"children\": [{\"node\": \"Script_0\", \"type\": \"Script\", \"isDynamic\": false, \"through\": [{\"node\": \"IdentifierExpression(a)_4\", \"accessibility\": \"Read\"}], \"variables\": [], \"children\": []}]}", serialized);
     }
+
+    @Test
+    public void testSameAsPersistentState() throws JsError, IOException {
+        String[] scripts = {
+                "var a = b, c; a = c = d; [a, {e: a, [f]: a}] = g; a++; a += a; for (a in b) for (var c of d) for (let c; c < a; ++c);",
+                "function f(a, b = a, [c] = [b], ...d) { var a; let e; { function f() {} function g() {} } if (a) function h() {} else function h() {} return arguments; }",
+                "function f() { let arguments; var arguments; } (function g(a = () => g) { 'use strict'; var g; })(); (a, b) => { var c = a + b; };",
+                "switch (a) { case 0: function b() {} let c; case 1: function b() {} default: var d = c; } switch (e) { case f: function e() {} }",
+                "class A extends B { constructor() { super(A); } get [c]() { return d; } set e(f = g) { var f; } static m(h) { return h; } } let C = class D { n() { return D; } };",
+                "try { a; } catch (e) { var e = e; function f() {} } try {} catch ({a, b = a}) { let c; } finally { b; }",
+                "with (a) { b = c; } function f() { eval('x'); var x; } function g(a = eval) { return a; } label: for (;;) { function h() {} break label; }",
+                "function f() { if (a) { function g() {} } var g; { let h; { function h() {} } } } function a() {} function a() {} var a;",
+                "async function f(a) { await a; for await (const b of c) b; } function* g() { yield* g(); } ({ a, b: c, [d]: e, f() { return this; } }); `${a}${b}`;",
+                "'use strict'; var a = b => b, c = function () { return this; }; let d = 0; const e = d; d = e; typeof f; delete g.h; new i(j);",
+                "function f() { 'use strict'; function g() { { function h() {} } h; } } function i() { { function j() {} } j; } (() => { 'use strict'; { function o() {} } o; })();",
+                "class K extends (function () { { function l() {} } return l; }) { m() { { function n() {} } n; } } ({ get p() { 'use strict'; { function q() {} } return q; }, set r(s) { { function t() {} } t; } });",
+                "'use strict'; function f() { { function g() {} } g; } (function () { if (a) function h() {} h; });",
+        };
+        for (String js : scripts) {
+            Script script = Parser.parseScript(js);
+            TestCase.assertEquals(js, ScopeSerializer.serialize(ScopeAnalyzer.analyzeWithPersistentState(script)), ScopeSerializer.serialize(ScopeAnalyzer.analyze(script)));
+        }
+        String[] modules = {
+                "import a, {b, c as d} from 'e'; import * as f from 'g'; export default function () { return a; } export {b as h}; export let i = d;",
+                "export default class { m() { return f; } } export function j() { return j; } export var k, l = k; export * from 'm';",
+                "export default function n(o = p) { let p; return n; } label: while (0) { class q {} }",
+        };
+        for (String js : modules) {
+            Module module = Parser.parseModule(js);
+            TestCase.assertEquals(js, ScopeSerializer.serialize(ScopeAnalyzer.analyzeWithPersistentState(module)), ScopeSerializer.serialize(ScopeAnalyzer.analyze(module)));
+        }
+        String[] libraries = {
+                "angular-1.2.5.js",
+                "backbone-1.1.0.js",
+                "everything-0.0.4.js",
+                "jquery-1.9.1.js",
+                "three.min-r67.js",
+                "yui-3.12.0.js",
+        };
+        for (String library : libraries) {
+            Script script = Parser.parseScript(new String(Files.readAllBytes(Paths.get("src/test/resources/libraries", library)), StandardCharsets.UTF_8));
+            TestCase.assertEquals(library, ScopeSerializer.serialize(ScopeAnalyzer.analyzeWithPersistentState(script)), ScopeSerializer.serialize(ScopeAnalyzer.analyze(script)));
+        }
+    }
+
+    @Nonnull
+    private static <T extends Node> T nth(@Nonnull Program program, @Nonnull Class<T> type, int index) {
+        return type.cast(Flattener.flatten(program).filter(type::isInstance).index(index).fromJust());
+    }
+
+    @Nonnull
+    private static Program replace(@Nonnull Program program, @Nonnull Node oldRoot, @Nonnull Node newRoot) {
+        return (Program) Director.reduceProgram(new WrappedReducer<>((node, result) -> node == oldRoot ? newRoot : result, new LazyReconstructingReducer()), program);
+    }
+
+    @Nonnull
+    private static String analyzeFully(@Nonnull Program program) {
+        return ScopeSerializer.serialize(program instanceof Script ? ScopeAnalyzer.analyze((Script) program) : ScopeAnalyzer.analyze((Module) program));
+    }
+
+    // replaces the index'th node of oldType in program with the first node of newType in replacement
+    @Nonnull
+    private static GlobalScope assertReanalyzes(@Nonnull GlobalScope globalScope, @Nonnull Class<? extends Node> oldType, int index, @Nonnull String replacement, @Nonnull Class<? extends Node> newType) throws JsError {
+        Program program = (Program) globalScope.astNode;
+        Node oldRoot = nth(program, oldType, index);
+        Node newRoot = nth(Parser.parseScript(replacement), newType, 0);
+        Program replaced = replace(program, oldRoot, newRoot);
+        GlobalScope reanalyzed = ScopeAnalyzer.reanalyze(globalScope, replaced, oldRoot, newRoot);
+        TestCase.assertSame(replaced, reanalyzed.astNode);
+        TestCase.assertEquals(replacement, analyzeFully(replaced), ScopeSerializer.serialize(reanalyzed));
+        return reanalyzed;
+    }
+
+    @Test
+    public void testReanalyze() throws JsError, IOException {
+        String body = "function x() { var g = a; { function h() {} } return function () { return g + h + f + arguments; }; }";
+        String[] scripts = {
+                "function f() { a; } function g(b) { { function h() {} } return b; } var i = function () { return g; };",
+                "function f() { var a = b; } function g() { return c; } var b; (function h() { return h; })();",
+                "class A { m() { return A; } n() { return this.m(); } } ({ get p() { return q; }, set r(s) { t = s; }, [u]() { return v; } });",
+                "function f() { function g() { return h; } return g(); } function h() {} with (a) { (() => { return b; })(); }",
+                "function f(a = function () { { function g() {} } return g; }) { return a; } var h = () => { return h; };",
+                "'use strict'; function f() { { function g() {} } return g; } var h = function () { eval(h); };",
+                "function f({ [function () { return b[c]; }()]: a }, { d } = {}) { return a; } ({ set e({ [function () { return f[g]; }()]: h }) {} });",
+        };
+        for (String js : scripts) {
+            Script script = Parser.parseScript(js);
+            int bodies = Flattener.flatten(script).filter(FunctionBody.class::isInstance).length;
+            for (int i = 0; i < bodies; ++i) {
+                assertReanalyzes(ScopeAnalyzer.analyze(script), FunctionBody.class, i, body, FunctionBody.class);
+                assertReanalyzes(ScopeAnalyzer.analyze(script), FunctionBody.class, i, "function x() { 'use strict'; return g + h; }", FunctionBody.class);
+            }
+        }
+
+        // each function beside the edit keeps its scope
+        Script script = Parser.parseScript(scripts[0]);
+        GlobalScope globalScope = ScopeAnalyzer.analyze(script);
+        GlobalScope reanalyzed = assertReanalyzes(globalScope, FunctionBody.class, 3, body, FunctionBody.class);
+        for (int i = 0; i < 3; ++i) {
+            FunctionDeclaration f = nth(script, FunctionDeclaration.class, i);
+            TestCase.assertSame(new ScopeLookup(globalScope).findScopeFor(f).fromJust(), new ScopeLookup(reanalyzed).findScopeFor(f).fromJust());
+        }
+
+        // other roots, in parameters, and changes of strictness
+        assertReanalyzes(ScopeAnalyzer.analyze(Parser.parseScript("function f(a = function () { { function g() {} } return g; }, b = c) { return function () { return a; }; }")),
+                IdentifierExpression.class, 1, "(function () { x[y]; { function z() {} } return z; })", FunctionExpression.class);
+        assertReanalyzes(ScopeAnalyzer.analyze(Parser.parseScript("var a = function b() { return b; }, c = function () { return a; };")),
+                FunctionExpression.class, 0, "(d) => { var e = d; return c; }", ArrowExpression.class);
+        assertReanalyzes(ScopeAnalyzer.analyze(Parser.parseScript("function f(a = function () { { function g() {} } return g; }) { 'a'; return a; }")),
+                Directive.class, 0, "'use strict';", Directive.class);
+        assertReanalyzes(ScopeAnalyzer.analyze(Parser.parseScript("'a'; function f() { { function g() {} } return g; }")),
+                Directive.class, 0, "'use strict';", Directive.class);
+        assertReanalyzes(ScopeAnalyzer.analyze(Parser.parseScript("var a = function () { return b; }; a();")),
+                Script.class, 0, "var a = 0;", Script.class);
+
+        Module module = Parser.parseModule("export function f() { return g; } export default function () { return f; } function g() { { function h() {} } }");
+        for (int i = 0; i < 3; ++i) {
+            assertReanalyzes(ScopeAnalyzer.analyze(module), FunctionBody.class, i, body, FunctionBody.class);
+        }
+
+        // successive edits, each to the result of the last
+        String[] libraries = {
+                "angular-1.2.5.js",
+                "backbone-1.1.0.js",
+        };
+        for (String library : libraries) {
+            globalScope = ScopeAnalyzer.analyze(Parser.parseScript(new String(Files.readAllBytes(Paths.get("src/test/resources/libraries", library)), StandardCharsets.UTF_8)));
+            int bodies = Flattener.flatten((Program) globalScope.astNode).filter(FunctionBody.class::isInstance).length;
+            for (int i = bodies - 1; i > 0; i -= bodies / 10) { // from the last, so that the bodies yet to be replaced keep their indices
+                globalScope = assertReanalyzes(globalScope, FunctionBody.class, i, body, FunctionBody.class);
+            }
+        }
+    }
 }